@@ -0,0 +1,169 @@
+package com.empleados.sistema.analytics;
+
+import com.empleados.sistema.event.EventoCambio;
+import com.empleados.sistema.event.SuscriptorCambios;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Mantiene la instantánea columnar de empleados. Los cambios confirmados solo la marcan como vieja;
+// se reconstruye en segundo plano, a lo sumo una vez por intervalo, leyendo únicamente cuatro columnas.
+@Component
+public class AlmacenAnalitico implements SuscriptorCambios, SmartInitializingSingleton {
+    
+    private static final Logger log = LoggerFactory.getLogger(AlmacenAnalitico.class);
+    
+    private final EmpleadoRepository empleadoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final int tamanoPaginaCarga;
+    
+    private volatile ColumnasEmpleados columnas;
+    private final AtomicBoolean desactualizado = new AtomicBoolean();
+    
+    private final AtomicLong reconstrucciones = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private volatile long ultimaReconstruccionMs;
+    private volatile long construidaEnMs;
+    
+    public AlmacenAnalitico(EmpleadoRepository empleadoRepository,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${analitica.habilitado:true}") boolean habilitado,
+                            @Value("${analitica.tamano-pagina-carga:10000}") int tamanoPaginaCarga) {
+        this.empleadoRepository = empleadoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.habilitado = habilitado;
+        this.tamanoPaginaCarga = tamanoPaginaCarga;
+    }
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (habilitado) {
+            reconstruirSinFallar();
+        }
+    }
+    
+    // Null mientras no haya una instantánea cargada; quien consulta debe ir por JPA
+    public ColumnasEmpleados columnasDisponibles() {
+        return habilitado ? columnas : null;
+    }
+    
+    @Override
+    public void alCambiar(List<EventoCambio> eventos) {
+        if (!habilitado) {
+            return;
+        }
+        for (EventoCambio evento : eventos) {
+            if (evento.tipoEntidad() == TipoEntidad.EMPLEADO) {
+                desactualizado.set(true);
+                return;
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${analitica.intervalo-reconstruccion-ms:1000}")
+    public void reconstruirSiHaceFalta() {
+        if (habilitado && (columnas == null || desactualizado.getAndSet(false))) {
+            reconstruirSinFallar();
+        }
+    }
+    
+    public synchronized void reconstruir() {
+        long inicio = System.nanoTime();
+        ColumnasEmpleados nuevas = transactionTemplate.execute(estado -> cargar());
+        columnas = nuevas;
+        reconstrucciones.incrementAndGet();
+        construidaEnMs = System.currentTimeMillis();
+        ultimaReconstruccionMs = Duration.ofNanos(System.nanoTime() - inicio).toMillis();
+        log.debug("Almacén analítico reconstruido: {} filas, {} bytes fuera del heap en {} ms",
+            nuevas.getFilas(), nuevas.getBytesFueraDelHeap(), ultimaReconstruccionMs);
+    }
+    
+    public Map<String, Object> obtenerEstadisticas() {
+        ColumnasEmpleados actuales = columnas;
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("habilitado", habilitado);
+        estadisticas.put("disponible", actuales != null);
+        estadisticas.put("filas", actuales == null ? 0 : actuales.getFilas());
+        estadisticas.put("bytesFueraDelHeap", actuales == null ? 0 : actuales.getBytesFueraDelHeap());
+        estadisticas.put("reconstrucciones", reconstrucciones.get());
+        estadisticas.put("ultimaReconstruccionMs", ultimaReconstruccionMs);
+        estadisticas.put("antiguedadMs", actuales == null ? 0 : System.currentTimeMillis() - construidaEnMs);
+        estadisticas.put("cambiosPendientes", desactualizado.get());
+        estadisticas.put("fallos", fallos.get());
+        return estadisticas;
+    }
+    
+    public static long aCentavos(BigDecimal monto) {
+        return monto.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+    
+    public static BigDecimal deCentavos(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+    
+    public static int aDia(LocalDate fecha) {
+        return Math.toIntExact(fecha.toEpochDay());
+    }
+    
+    private void reconstruirSinFallar() {
+        try {
+            reconstruir();
+        } catch (RuntimeException ex) {
+            fallos.incrementAndGet();
+            // Se reintenta en el próximo ciclo
+            desactualizado.set(true);
+            log.warn("No se pudo reconstruir el almacén analítico", ex);
+        }
+    }
+    
+    private ColumnasEmpleados cargar() {
+        int capacidad = Math.max(tamanoPaginaCarga, 16);
+        long[] ids = new long[capacidad];
+        long[] departamentos = new long[capacidad];
+        long[] salarios = new long[capacidad];
+        int[] dias = new int[capacidad];
+        int filas = 0;
+        long despuesDeId = 0;
+        while (true) {
+            List<Object[]> pagina = empleadoRepository.findColumnasAnaliticas(despuesDeId, PageRequest.of(0, tamanoPaginaCarga));
+            if (filas + pagina.size() > ids.length) {
+                int nuevaCapacidad = Math.max(ids.length * 2, filas + pagina.size());
+                ids = Arrays.copyOf(ids, nuevaCapacidad);
+                departamentos = Arrays.copyOf(departamentos, nuevaCapacidad);
+                salarios = Arrays.copyOf(salarios, nuevaCapacidad);
+                dias = Arrays.copyOf(dias, nuevaCapacidad);
+            }
+            for (Object[] fila : pagina) {
+                ids[filas] = (Long) fila[0];
+                departamentos[filas] = fila[1] == null ? ColumnasEmpleados.SIN_DEPARTAMENTO : (Long) fila[1];
+                salarios[filas] = aCentavos((BigDecimal) fila[2]);
+                dias[filas] = aDia((LocalDate) fila[3]);
+                filas++;
+            }
+            if (pagina.size() < tamanoPaginaCarga) {
+                break;
+            }
+            despuesDeId = ids[filas - 1];
+        }
+        return ColumnasEmpleados.construir(filas, ids, departamentos, salarios, dias);
+    }
+}
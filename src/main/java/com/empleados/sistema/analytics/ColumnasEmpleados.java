@@ -0,0 +1,213 @@
+package com.empleados.sistema.analytics;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+// Instantánea columnar de empleados fuera del heap (buffers directos), ordenada por (salario, id).
+// Las consultas son búsquedas binarias y recorridos sobre primitivos: no crean objetos por fila.
+// Es inmutable; el almacén la reemplaza entera y el GC libera los buffers viejos.
+public final class ColumnasEmpleados {
+    
+    // Sin departamento se guarda como 0 (los ids generados empiezan en 1)
+    public static final long SIN_DEPARTAMENTO = 0L;
+    
+    private final int filas;
+    private final LongBuffer ids;
+    private final LongBuffer departamentos;
+    private final LongBuffer salariosCentavos;
+    private final IntBuffer diasContratacion;
+    // acumulados[i] = suma de salarios de las filas [0, i); tiene filas + 1 posiciones
+    private final LongBuffer acumulados;
+    // Índice secundario por fecha: días ordenados y la fila a la que corresponde cada uno
+    private final IntBuffer diasOrdenados;
+    private final IntBuffer filaPorDia;
+    private final long bytes;
+    
+    private ColumnasEmpleados(int filas, long[] ids, long[] departamentos, long[] salariosCentavos,
+                              int[] diasContratacion) {
+        this.filas = filas;
+        int[] ordenSalario = Ordenamiento.permutacion(salariosCentavos, filas);
+        this.ids = columnaLong(filas);
+        this.departamentos = columnaLong(filas);
+        this.salariosCentavos = columnaLong(filas);
+        this.diasContratacion = columnaInt(filas);
+        this.acumulados = columnaLong(filas + 1);
+        long suma = 0;
+        acumulados.put(0, 0L);
+        for (int i = 0; i < filas; i++) {
+            int origen = ordenSalario[i];
+            this.ids.put(i, ids[origen]);
+            this.departamentos.put(i, departamentos[origen]);
+            this.salariosCentavos.put(i, salariosCentavos[origen]);
+            this.diasContratacion.put(i, diasContratacion[origen]);
+            suma += salariosCentavos[origen];
+            acumulados.put(i + 1, suma);
+        }
+        
+        long[] dias = new long[filas];
+        for (int i = 0; i < filas; i++) {
+            dias[i] = this.diasContratacion.get(i);
+        }
+        int[] ordenDia = Ordenamiento.permutacion(dias, filas);
+        this.diasOrdenados = columnaInt(filas);
+        this.filaPorDia = columnaInt(filas);
+        for (int i = 0; i < filas; i++) {
+            diasOrdenados.put(i, (int) dias[ordenDia[i]]);
+            filaPorDia.put(i, ordenDia[i]);
+        }
+        this.bytes = (long) filas * (Long.BYTES * 3 + Integer.BYTES * 3) + (long) (filas + 1) * Long.BYTES;
+    }
+    
+    // Las columnas de entrada pueden tener capacidad sobrante; solo se usan las primeras "filas" posiciones
+    public static ColumnasEmpleados construir(int filas, long[] ids, long[] departamentos, long[] salariosCentavos,
+                                              int[] diasContratacion) {
+        return new ColumnasEmpleados(filas, ids, departamentos, salariosCentavos, diasContratacion);
+    }
+    
+    public int getFilas() {
+        return filas;
+    }
+    
+    public long getBytesFueraDelHeap() {
+        return bytes;
+    }
+    
+    // Rango de salario [min, max] en centavos
+    
+    public long contarPorSalario(long minimo, long maximo) {
+        if (minimo > maximo) {
+            return 0;
+        }
+        return primeraConSalarioMayorA(maximo) - primeraConSalarioAlMenos(minimo);
+    }
+    
+    public long sumarPorSalario(long minimo, long maximo) {
+        if (minimo > maximo) {
+            return 0;
+        }
+        return acumulados.get(primeraConSalarioMayorA(maximo)) - acumulados.get(primeraConSalarioAlMenos(minimo));
+    }
+    
+    // Ids del rango, en orden de salario; el arreglo resultado es la única asignación
+    public long[] idsPorSalario(long minimo, long maximo, int limite) {
+        if (minimo > maximo) {
+            return new long[0];
+        }
+        int desde = primeraConSalarioAlMenos(minimo);
+        int hasta = Math.min(primeraConSalarioMayorA(maximo), desde + limite);
+        long[] resultado = new long[hasta - desde];
+        for (int i = desde; i < hasta; i++) {
+            resultado[i - desde] = ids.get(i);
+        }
+        return resultado;
+    }
+    
+    // Fecha de contratación [desde, hasta] en días desde la época
+    
+    public long contarPorContratacion(int desde, int hasta) {
+        if (desde > hasta) {
+            return 0;
+        }
+        return primerDiaMayorA(hasta) - primerDiaAlMenos(desde);
+    }
+    
+    public long sumarPorContratacion(int desde, int hasta) {
+        if (desde > hasta) {
+            return 0;
+        }
+        long suma = 0;
+        int fin = primerDiaMayorA(hasta);
+        for (int i = primerDiaAlMenos(desde); i < fin; i++) {
+            suma += salariosCentavos.get(filaPorDia.get(i));
+        }
+        return suma;
+    }
+    
+    // Departamento: recorrido secuencial de la columna
+    
+    public long contarPorDepartamento(long departamentoId) {
+        long cantidad = 0;
+        for (int i = 0; i < filas; i++) {
+            if (departamentos.get(i) == departamentoId) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+    
+    public long sumarPorDepartamento(long departamentoId) {
+        long suma = 0;
+        for (int i = 0; i < filas; i++) {
+            if (departamentos.get(i) == departamentoId) {
+                suma += salariosCentavos.get(i);
+            }
+        }
+        return suma;
+    }
+    
+    private int primeraConSalarioAlMenos(long valor) {
+        int bajo = 0;
+        int alto = filas;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (salariosCentavos.get(medio) < valor) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+    
+    private int primeraConSalarioMayorA(long valor) {
+        int bajo = 0;
+        int alto = filas;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (salariosCentavos.get(medio) <= valor) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+    
+    private int primerDiaAlMenos(int valor) {
+        int bajo = 0;
+        int alto = filas;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (diasOrdenados.get(medio) < valor) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+    
+    private int primerDiaMayorA(int valor) {
+        int bajo = 0;
+        int alto = filas;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (diasOrdenados.get(medio) <= valor) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+    
+    private static LongBuffer columnaLong(int tamano) {
+        return ByteBuffer.allocateDirect(Math.max(tamano, 1) * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+    }
+    
+    private static IntBuffer columnaInt(int tamano) {
+        return ByteBuffer.allocateDirect(Math.max(tamano, 1) * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+}
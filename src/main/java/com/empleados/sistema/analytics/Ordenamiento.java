@@ -0,0 +1,39 @@
+package com.empleados.sistema.analytics;
+
+// Ordenamiento estable de índices por una clave primitiva, sin encajonar (merge sort de abajo hacia arriba).
+// Al ser estable, filas cargadas en orden de id quedan ordenadas por (clave, id).
+final class Ordenamiento {
+    
+    private Ordenamiento() {
+    }
+    
+    static int[] permutacion(long[] claves, int tamano) {
+        int[] actual = new int[tamano];
+        for (int i = 0; i < tamano; i++) {
+            actual[i] = i;
+        }
+        int[] auxiliar = new int[tamano];
+        for (int ancho = 1; ancho < tamano; ancho *= 2) {
+            for (int izquierda = 0; izquierda < tamano; izquierda += 2 * ancho) {
+                int medio = Math.min(izquierda + ancho, tamano);
+                int fin = Math.min(izquierda + 2 * ancho, tamano);
+                int i = izquierda;
+                int j = medio;
+                int k = izquierda;
+                while (i < medio && j < fin) {
+                    auxiliar[k++] = claves[actual[j]] < claves[actual[i]] ? actual[j++] : actual[i++];
+                }
+                while (i < medio) {
+                    auxiliar[k++] = actual[i++];
+                }
+                while (j < fin) {
+                    auxiliar[k++] = actual[j++];
+                }
+            }
+            int[] intercambio = actual;
+            actual = auxiliar;
+            auxiliar = intercambio;
+        }
+        return actual;
+    }
+}
@@ -0,0 +1,184 @@
+package com.empleados.sistema.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Cuerpos de respuesta ya serializados, acotados por bytes con desalojo LRU e invalidación por etiquetas
+@Component
+public class CacheRespuestas {
+    
+    public record Entrada(byte[] cuerpo, String tipoContenido, String etag, Set<String> etiquetas, long expiraNanos) {
+        
+        boolean vencida(long ahora) {
+            return expiraNanos != 0 && expiraNanos - ahora <= 0;
+        }
+    }
+    
+    private final long presupuestoBytes;
+    private final int maxBytesEntrada;
+    
+    // Orden de acceso: el primero es el menos usado recientemente
+    private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Set<String>> clavesPorEtiqueta = new HashMap<>();
+    private final ReentrantLock candado = new ReentrantLock();
+    private long bytesUsados;
+    
+    // Una escritura confirmada incrementa la generación de sus etiquetas; una lectura que empezó
+    // antes no puede guardar su resultado
+    private final ConcurrentHashMap<String, AtomicLong> generaciones = new ConcurrentHashMap<>();
+    
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder almacenadas = new LongAdder();
+    private final LongAdder descartadasPorCarrera = new LongAdder();
+    private final LongAdder invalidadas = new LongAdder();
+    private final LongAdder desalojadas = new LongAdder();
+    
+    public CacheRespuestas(@Value("${cache.respuestas.presupuesto-bytes:33554432}") long presupuestoBytes,
+                           @Value("${cache.respuestas.max-bytes-entrada:1048576}") int maxBytesEntrada) {
+        this.presupuestoBytes = presupuestoBytes;
+        this.maxBytesEntrada = maxBytesEntrada;
+    }
+    
+    public int getMaxBytesEntrada() {
+        return maxBytesEntrada;
+    }
+    
+    public Entrada obtener(String clave) {
+        long ahora = System.nanoTime();
+        candado.lock();
+        try {
+            Entrada entrada = entradas.get(clave);
+            if (entrada != null && entrada.vencida(ahora)) {
+                quitar(clave);
+                entrada = null;
+            }
+            if (entrada == null) {
+                fallos.increment();
+            } else {
+                aciertos.increment();
+            }
+            return entrada;
+        } finally {
+            candado.unlock();
+        }
+    }
+    
+    public Map<String, Long> generaciones() {
+        Map<String, Long> copia = new HashMap<>();
+        generaciones.forEach((etiqueta, generacion) -> copia.put(etiqueta, generacion.get()));
+        return copia;
+    }
+    
+    public void guardar(String clave, Entrada entrada, Map<String, Long> generacionesPrevias) {
+        int tamano = entrada.cuerpo().length;
+        if (tamano > maxBytesEntrada || tamano > presupuestoBytes) {
+            return;
+        }
+        candado.lock();
+        try {
+            for (String etiqueta : entrada.etiquetas()) {
+                AtomicLong actual = generaciones.get(etiqueta);
+                if (actual != null && actual.get() != generacionesPrevias.getOrDefault(etiqueta, 0L)) {
+                    descartadasPorCarrera.increment();
+                    return;
+                }
+            }
+            quitar(clave);
+            entradas.put(clave, entrada);
+            bytesUsados += tamano;
+            for (String etiqueta : entrada.etiquetas()) {
+                clavesPorEtiqueta.computeIfAbsent(etiqueta, e -> new HashSet<>()).add(clave);
+            }
+            almacenadas.increment();
+            
+            Iterator<Map.Entry<String, Entrada>> menosUsadas = entradas.entrySet().iterator();
+            while (bytesUsados > presupuestoBytes && menosUsadas.hasNext()) {
+                Map.Entry<String, Entrada> victima = menosUsadas.next();
+                menosUsadas.remove();
+                desindexar(victima.getKey(), victima.getValue());
+                desalojadas.increment();
+            }
+        } finally {
+            candado.unlock();
+        }
+    }
+    
+    public void invalidar(Collection<String> etiquetas) {
+        // Primero la generación (descarta lecturas en curso), después las entradas
+        for (String etiqueta : etiquetas) {
+            generaciones.computeIfAbsent(etiqueta, e -> new AtomicLong()).incrementAndGet();
+        }
+        candado.lock();
+        try {
+            for (String etiqueta : etiquetas) {
+                Set<String> claves = clavesPorEtiqueta.remove(etiqueta);
+                if (claves == null) {
+                    continue;
+                }
+                for (String clave : claves) {
+                    if (quitar(clave)) {
+                        invalidadas.increment();
+                    }
+                }
+            }
+        } finally {
+            candado.unlock();
+        }
+    }
+    
+    public Map<String, Object> obtenerEstadisticas() {
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        candado.lock();
+        try {
+            estadisticas.put("entradas", entradas.size());
+            estadisticas.put("bytesUsados", bytesUsados);
+        } finally {
+            candado.unlock();
+        }
+        estadisticas.put("presupuestoBytes", presupuestoBytes);
+        estadisticas.put("aciertos", aciertos.sum());
+        estadisticas.put("fallos", fallos.sum());
+        estadisticas.put("almacenadas", almacenadas.sum());
+        estadisticas.put("descartadasPorCarrera", descartadasPorCarrera.sum());
+        estadisticas.put("invalidadas", invalidadas.sum());
+        estadisticas.put("desalojadas", desalojadas.sum());
+        return estadisticas;
+    }
+    
+    // Deben llamarse con el candado tomado
+    
+    private boolean quitar(String clave) {
+        Entrada anterior = entradas.remove(clave);
+        if (anterior == null) {
+            return false;
+        }
+        desindexar(clave, anterior);
+        return true;
+    }
+    
+    private void desindexar(String clave, Entrada entrada) {
+        bytesUsados -= entrada.cuerpo().length;
+        for (String etiqueta : entrada.etiquetas()) {
+            Set<String> claves = clavesPorEtiqueta.get(etiqueta);
+            if (claves != null) {
+                claves.remove(clave);
+                if (claves.isEmpty()) {
+                    clavesPorEtiqueta.remove(etiqueta);
+                }
+            }
+        }
+    }
+}
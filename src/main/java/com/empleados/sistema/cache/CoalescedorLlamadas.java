@@ -0,0 +1,153 @@
+package com.empleados.sistema.cache;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.EmbeddedValueResolverAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringValueResolver;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Single-flight para métodos @LlamadaCoalescida. Se ordena antes que @Transactional para que
+// quienes esperan el resultado de otra llamada no retengan una conexión.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CoalescedorLlamadas implements EmbeddedValueResolverAware {
+    
+    private final ConcurrentHashMap<Clave, Entrada> entradas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Method, Long> ttlPorMetodo = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Contadores> contadores = new ConcurrentHashMap<>();
+    private final int maxEntradas;
+    private StringValueResolver resolver;
+    
+    public CoalescedorLlamadas(@Value("${coalescencia.max-entradas:10000}") int maxEntradas) {
+        this.maxEntradas = maxEntradas;
+    }
+    
+    @Override
+    public void setEmbeddedValueResolver(StringValueResolver resolver) {
+        this.resolver = resolver;
+    }
+    
+    private record Clave(Method metodo, List<Object> argumentos) {
+    }
+    
+    private static final class Entrada {
+        final CompletableFuture<Object> resultado = new CompletableFuture<>();
+        volatile long expiraNanos;
+    }
+    
+    private static final class Contadores {
+        final LongAdder llamadas = new LongAdder();
+        final LongAdder ejecuciones = new LongAdder();
+        final LongAdder coalescidas = new LongAdder();
+        final LongAdder aciertosTtl = new LongAdder();
+    }
+    
+    @Around("@annotation(llamada)")
+    public Object coalescer(ProceedingJoinPoint punto, LlamadaCoalescida llamada) throws Throwable {
+        Method metodo = ((MethodSignature) punto.getSignature()).getMethod();
+        Contadores contador = contadores.computeIfAbsent(
+            metodo.getDeclaringClass().getSimpleName() + "." + metodo.getName(), k -> new Contadores());
+        contador.llamadas.increment();
+        Clave clave = new Clave(metodo, Arrays.asList(punto.getArgs().clone()));
+        
+        while (true) {
+            Entrada existente = entradas.get(clave);
+            if (existente != null) {
+                if (!existente.resultado.isDone()) {
+                    contador.coalescidas.increment();
+                    return esperar(existente.resultado);
+                }
+                if (existente.expiraNanos - System.nanoTime() > 0) {
+                    contador.aciertosTtl.increment();
+                    return esperar(existente.resultado);
+                }
+                entradas.remove(clave, existente);
+                continue;
+            }
+            
+            Entrada propia = new Entrada();
+            if (entradas.putIfAbsent(clave, propia) != null) {
+                continue;
+            }
+            contador.ejecuciones.increment();
+            try {
+                Object resultado = punto.proceed();
+                long ttl = ttlNanos(metodo, llamada);
+                if (ttl > 0) {
+                    // El vencimiento se publica antes de completar para que nadie lo lea en cero
+                    propia.expiraNanos = System.nanoTime() + ttl;
+                    purgarSiExcede();
+                } else {
+                    entradas.remove(clave, propia);
+                }
+                propia.resultado.complete(resultado);
+                return resultado;
+            } catch (Throwable ex) {
+                // Los errores no se reutilizan más allá de quienes ya estaban esperando
+                entradas.remove(clave, propia);
+                propia.resultado.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+    }
+    
+    public Map<String, Object> obtenerEstadisticas() {
+        Map<String, Object> metodos = new TreeMap<>();
+        contadores.forEach((nombre, contador) -> {
+            long llamadas = contador.llamadas.sum();
+            long ejecuciones = contador.ejecuciones.sum();
+            Map<String, Object> datos = new LinkedHashMap<>();
+            datos.put("llamadas", llamadas);
+            datos.put("ejecuciones", ejecuciones);
+            datos.put("coalescidas", contador.coalescidas.sum());
+            datos.put("aciertosTtl", contador.aciertosTtl.sum());
+            datos.put("consultasEvitadas", Math.max(0, llamadas - ejecuciones));
+            metodos.put(nombre, datos);
+        });
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("entradas", entradas.size());
+        estadisticas.put("metodos", metodos);
+        return estadisticas;
+    }
+    
+    private static Object esperar(CompletableFuture<Object> resultado) throws Throwable {
+        try {
+            return resultado.get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        }
+    }
+    
+    private long ttlNanos(Method metodo, LlamadaCoalescida llamada) {
+        return ttlPorMetodo.computeIfAbsent(metodo, m -> {
+            String valor = resolver != null ? resolver.resolveStringValue(llamada.ttl()) : llamada.ttl();
+            return TimeUnit.MILLISECONDS.toNanos(Long.parseLong(valor.trim()));
+        });
+    }
+    
+    private void purgarSiExcede() {
+        if (entradas.size() <= maxEntradas) {
+            return;
+        }
+        long ahora = System.nanoTime();
+        entradas.entrySet().removeIf(e -> e.getValue().resultado.isDone() && e.getValue().expiraNanos - ahora <= 0);
+    }
+}
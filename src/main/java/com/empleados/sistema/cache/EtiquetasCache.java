@@ -0,0 +1,12 @@
+package com.empleados.sistema.cache;
+
+// Etiquetas de dependencia compartidas por lecturas cacheadas y escrituras
+public final class EtiquetasCache {
+    
+    public static final String EMPLEADOS = "empleados";
+    public static final String DEPARTAMENTOS = "departamentos";
+    public static final String PROYECTOS = "proyectos";
+    
+    private EtiquetasCache() {
+    }
+}
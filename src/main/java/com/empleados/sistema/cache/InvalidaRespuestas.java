@@ -0,0 +1,14 @@
+package com.empleados.sistema.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marca un método de escritura: al confirmarse invalida las respuestas cacheadas con esas etiquetas
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface InvalidaRespuestas {
+    
+    String[] value();
+}
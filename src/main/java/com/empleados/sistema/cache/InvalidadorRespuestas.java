@@ -0,0 +1,43 @@
+package com.empleados.sistema.cache;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+// Aplica @InvalidaRespuestas. Corre por fuera de @Transactional: al volver del método la transacción
+// propia ya está confirmada; si hay una transacción externa se espera a su commit.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class InvalidadorRespuestas {
+    
+    private final CacheRespuestas cacheRespuestas;
+    
+    public InvalidadorRespuestas(CacheRespuestas cacheRespuestas) {
+        this.cacheRespuestas = cacheRespuestas;
+    }
+    
+    @Around("@annotation(invalida)")
+    public Object invalidar(ProceedingJoinPoint punto, InvalidaRespuestas invalida) throws Throwable {
+        Object resultado = punto.proceed();
+        List<String> etiquetas = List.of(invalida.value());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cacheRespuestas.invalidar(etiquetas);
+                }
+            });
+        } else {
+            cacheRespuestas.invalidar(etiquetas);
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,16 @@
+package com.empleados.sistema.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Las llamadas concurrentes con los mismos argumentos comparten una única ejecución.
+// Usar solo en métodos de lectura que devuelvan valores inmutables.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LlamadaCoalescida {
+    
+    // Milisegundos durante los que se reutiliza el resultado ya calculado; admite ${...}
+    String ttl() default "0";
+}
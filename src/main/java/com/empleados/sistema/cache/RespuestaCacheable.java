@@ -0,0 +1,18 @@
+package com.empleados.sistema.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marca un GET cuyo cuerpo serializado puede reutilizarse hasta que se invalide alguna de sus etiquetas
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RespuestaCacheable {
+    
+    // Datos de los que depende la representación
+    String[] etiquetas();
+    
+    // Vencimiento adicional para respuestas que dependen de algo más que los datos (p. ej. la fecha); 0 = sin vencimiento
+    long ttlSegundos() default 0;
+}
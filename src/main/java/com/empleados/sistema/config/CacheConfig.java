@@ -0,0 +1,22 @@
+package com.empleados.sistema.config;
+
+import com.empleados.sistema.cache.CacheRespuestas;
+import com.empleados.sistema.web.CacheRespuestasFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class CacheConfig {
+    
+    @Bean
+    public FilterRegistrationBean<CacheRespuestasFilter> cacheRespuestasFilter(CacheRespuestas cacheRespuestas) {
+        FilterRegistrationBean<CacheRespuestasFilter> registro =
+            new FilterRegistrationBean<>(new CacheRespuestasFilter(cacheRespuestas));
+        registro.addUrlPatterns("/api/*");
+        // Después de la medición de latencia, para que los aciertos también se midan
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 30);
+        return registro;
+    }
+}
@@ -0,0 +1,10 @@
+package com.empleados.sistema.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Habilita el despacho periódico del outbox
+@Configuration
+@EnableScheduling
+public class EventosConfig {
+}
@@ -0,0 +1,31 @@
+package com.empleados.sistema.config;
+
+import com.empleados.sistema.metrics.ContadorSentenciasSql;
+import com.empleados.sistema.metrics.RegistroLatencias;
+import com.empleados.sistema.web.LatenciaFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class MetricasConfig {
+    
+    @Bean
+    public FilterRegistrationBean<LatenciaFilter> latenciaFilter(RegistroLatencias registroLatencias,
+                                                                 ContadorSentenciasSql contadorSentencias) {
+        FilterRegistrationBean<LatenciaFilter> registro =
+            new FilterRegistrationBean<>(new LatenciaFilter(registroLatencias, contadorSentencias));
+        registro.addUrlPatterns("/api/*");
+        // Primero de la cadena para medir también el resto de los filtros
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer contadorSentenciasCustomizer(ContadorSentenciasSql contadorSentencias) {
+        return propiedades -> propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, contadorSentencias);
+    }
+}
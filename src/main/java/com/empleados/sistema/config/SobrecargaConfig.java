@@ -0,0 +1,61 @@
+package com.empleados.sistema.config;
+
+import com.empleados.sistema.overload.DataSourceConPlazos;
+import com.empleados.sistema.overload.LimitadorConcurrencia;
+import com.empleados.sistema.overload.PoliticaPlazos;
+import com.empleados.sistema.web.LimiteConcurrenciaFilter;
+import com.empleados.sistema.web.PlazoSolicitudFilter;
+import com.empleados.sistema.web.RespuestaError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SobrecargaConfig {
+    
+    @Bean
+    public RespuestaError respuestaError(ObjectMapper objectMapper) {
+        return new RespuestaError(objectMapper);
+    }
+    
+    @Bean
+    public FilterRegistrationBean<PlazoSolicitudFilter> plazoSolicitudFilter(PoliticaPlazos politicaPlazos,
+                                                                             RespuestaError respuestaError) {
+        FilterRegistrationBean<PlazoSolicitudFilter> registro =
+            new FilterRegistrationBean<>(new PlazoSolicitudFilter(politicaPlazos, respuestaError));
+        registro.addUrlPatterns("/api/*");
+        // Después de la medición de latencia y antes de la caché y el limitador
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registro;
+    }
+    
+    // Envuelve el DataSource del pool para que cada sentencia herede el plazo de la solicitud
+    @Bean
+    public static BeanPostProcessor dataSourceConPlazos() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nombre) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DataSourceConPlazos)) {
+                    return new DataSourceConPlazos(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+    
+    @Bean
+    public FilterRegistrationBean<LimiteConcurrenciaFilter> limiteConcurrenciaFilter(LimitadorConcurrencia limitador,
+                                                                                     RespuestaError respuestaError) {
+        FilterRegistrationBean<LimiteConcurrenciaFilter> registro =
+            new FilterRegistrationBean<>(new LimiteConcurrenciaFilter(limitador, respuestaError));
+        registro.addUrlPatterns("/api/*");
+        // Después de la caché de respuestas: los aciertos no ocupan lugar en el límite
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 40);
+        return registro;
+    }
+}
@@ -0,0 +1,49 @@
+package com.empleados.sistema.controller;
+
+import com.empleados.sistema.dto.ResumenSalarios;
+import com.empleados.sistema.service.AnaliticaService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analitica")
+public class AnaliticaController {
+    
+    private final AnaliticaService analiticaService;
+    
+    public AnaliticaController(AnaliticaService analiticaService) {
+        this.analiticaService = analiticaService;
+    }
+    
+    @GetMapping("/salarios")
+    public ResponseEntity<ResumenSalarios> resumirPorRangoSalario(
+            @RequestParam BigDecimal min,
+            @RequestParam BigDecimal max) {
+        return ResponseEntity.ok(analiticaService.resumirPorRangoSalario(min, max));
+    }
+    
+    @GetMapping("/salarios/ids")
+    public ResponseEntity<List<Long>> buscarIdsPorRangoSalario(
+            @RequestParam BigDecimal min,
+            @RequestParam BigDecimal max,
+            @RequestParam(defaultValue = "1000") int limite) {
+        return ResponseEntity.ok(analiticaService.buscarIdsPorRangoSalario(min, max, limite));
+    }
+    
+    @GetMapping("/contrataciones")
+    public ResponseEntity<ResumenSalarios> resumirPorFechaContratacion(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return ResponseEntity.ok(analiticaService.resumirPorFechaContratacion(desde, hasta));
+    }
+    
+    @GetMapping("/departamentos/{id}")
+    public ResponseEntity<ResumenSalarios> resumirPorDepartamento(@PathVariable Long id) {
+        return ResponseEntity.ok(analiticaService.resumirPorDepartamento(id));
+    }
+}
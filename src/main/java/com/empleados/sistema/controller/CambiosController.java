@@ -0,0 +1,56 @@
+package com.empleados.sistema.controller;
+
+import com.empleados.sistema.event.FeedCambios;
+import com.empleados.sistema.event.FormatoFeed;
+import com.empleados.sistema.model.TipoEntidad;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/cambios")
+public class CambiosController {
+    
+    private static final String NDJSON = "application/x-ndjson";
+    
+    private final FeedCambios feedCambios;
+    
+    public CambiosController(FeedCambios feedCambios) {
+        this.feedCambios = feedCambios;
+    }
+    
+    // Stream de cambios reanudable: ?desde=<cursor> o Last-Event-ID; sin cursor se envía primero una instantánea
+    
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> suscribirSse(
+            @RequestParam(required = false) Long desde,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEvento,
+            @RequestParam(required = false) Set<TipoEntidad> tipos) {
+        Long cursor = ultimoEvento != null ? ultimoEvento : desde;
+        return responder(MediaType.TEXT_EVENT_STREAM, feedCambios.suscribir(cursor, tiposOVacio(tipos), FormatoFeed.SSE));
+    }
+    
+    @GetMapping(produces = NDJSON)
+    public ResponseEntity<ResponseBodyEmitter> suscribirNdjson(
+            @RequestParam(required = false) Long desde,
+            @RequestParam(required = false) Set<TipoEntidad> tipos) {
+        return responder(MediaType.parseMediaType(NDJSON), feedCambios.suscribir(desde, tiposOVacio(tipos), FormatoFeed.NDJSON));
+    }
+    
+    private static Set<TipoEntidad> tiposOVacio(Set<TipoEntidad> tipos) {
+        return tipos != null ? tipos : Set.of();
+    }
+    
+    private static ResponseEntity<ResponseBodyEmitter> responder(MediaType tipo, ResponseBodyEmitter emitter) {
+        return ResponseEntity.ok()
+            .contentType(tipo)
+            .cacheControl(CacheControl.noCache())
+            // Evita que un proxy inverso acumule el stream
+            .header("X-Accel-Buffering", "no")
+            .body(emitter);
+    }
+}
@@ -0,0 +1,40 @@
+package com.empleados.sistema.controller;
+
+import com.empleados.sistema.dto.AlcanceColaboracion;
+import com.empleados.sistema.dto.CaminoColaboracion;
+import com.empleados.sistema.service.ColaboracionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/colaboraciones")
+public class ColaboracionController {
+    
+    private final ColaboracionService colaboracionService;
+    
+    public ColaboracionController(ColaboracionService colaboracionService) {
+        this.colaboracionService = colaboracionService;
+    }
+    
+    // Empleados que comparten al menos un proyecto con el indicado
+    @GetMapping("/empleados/{id}/companeros")
+    public ResponseEntity<long[]> obtenerCompaneros(@PathVariable Long id) {
+        return ResponseEntity.ok(colaboracionService.obtenerCompaneros(id));
+    }
+    
+    @GetMapping("/empleados/{id}/alcance")
+    public ResponseEntity<AlcanceColaboracion> obtenerAlcance(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "2") int saltos,
+            @RequestParam(defaultValue = "1000") int limite) {
+        return ResponseEntity.ok(colaboracionService.obtenerAlcance(id, saltos, limite));
+    }
+    
+    @GetMapping("/camino")
+    public ResponseEntity<CaminoColaboracion> buscarCamino(
+            @RequestParam Long origen,
+            @RequestParam Long destino,
+            @RequestParam(defaultValue = "6") int maxSaltos) {
+        return ResponseEntity.ok(colaboracionService.buscarCamino(origen, destino, maxSaltos));
+    }
+}
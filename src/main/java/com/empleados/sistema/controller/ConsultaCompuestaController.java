@@ -0,0 +1,31 @@
+package com.empleados.sistema.controller;
+
+import com.empleados.sistema.cache.EtiquetasCache;
+import com.empleados.sistema.cache.RespuestaCacheable;
+import com.empleados.sistema.dto.DetalleDepartamento;
+import com.empleados.sistema.service.ConsultaCompuestaService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/departamentos")
+public class ConsultaCompuestaController {
+    
+    private final ConsultaCompuestaService consultaCompuestaService;
+    
+    public ConsultaCompuestaController(ConsultaCompuestaService consultaCompuestaService) {
+        this.consultaCompuestaService = consultaCompuestaService;
+    }
+    
+    // Reemplaza departamento + empleados + proyectos de cada uno + promedio + cantidad.
+    // Ej.: /api/departamentos/3/detalle?incluir=empleados.proyectos,agregados
+    @GetMapping("/{id}/detalle")
+    @RespuestaCacheable(etiquetas = {EtiquetasCache.DEPARTAMENTOS, EtiquetasCache.EMPLEADOS, EtiquetasCache.PROYECTOS})
+    public ResponseEntity<DetalleDepartamento> obtenerDetalle(
+            @PathVariable Long id,
+            @RequestParam(required = false) List<String> incluir) {
+        return ResponseEntity.ok(consultaCompuestaService.obtenerDetalleDepartamento(id, incluir));
+    }
+}
@@ -0,0 +1,42 @@
+package com.empleados.sistema.controller;
+
+import com.empleados.sistema.dto.LineaTiempoEmpleado;
+import com.empleados.sistema.dto.ReporteSobreasignacion;
+import com.empleados.sistema.dto.ResultadoDedicacion;
+import com.empleados.sistema.service.DedicacionService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/dedicaciones")
+public class DedicacionController {
+    
+    private final DedicacionService dedicacionService;
+    
+    public DedicacionController(DedicacionService dedicacionService) {
+        this.dedicacionService = dedicacionService;
+    }
+    
+    // Asigna (o cambia el porcentaje); responde 409 si deja al empleado por encima del límite en algún día
+    @PutMapping("/empleados/{empleadoId}/proyectos/{proyectoId}")
+    public ResponseEntity<ResultadoDedicacion> asignar(@PathVariable Long empleadoId,
+                                                       @PathVariable Long proyectoId,
+                                                       @RequestParam int porcentaje) {
+        return ResponseEntity.ok(dedicacionService.asignar(empleadoId, proyectoId, porcentaje));
+    }
+    
+    @GetMapping("/empleados/{empleadoId}")
+    public ResponseEntity<LineaTiempoEmpleado> obtenerLineaTiempo(@PathVariable Long empleadoId) {
+        return ResponseEntity.ok(dedicacionService.obtenerLineaTiempo(empleadoId));
+    }
+    
+    // Sin "desde" se toma el día de hoy
+    @GetMapping("/sobreasignados")
+    public ResponseEntity<ReporteSobreasignacion> reporteSobreasignacion(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde) {
+        return ResponseEntity.ok(dedicacionService.reporteSobreasignacion(desde));
+    }
+}
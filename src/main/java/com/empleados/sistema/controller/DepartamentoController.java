@@ -1,14 +1,19 @@
 package com.empleados.sistema.controller;
 
+import com.empleados.sistema.cache.EtiquetasCache;
+import com.empleados.sistema.cache.RespuestaCacheable;
+import com.empleados.sistema.dto.ElementoPorId;
 import com.empleados.sistema.model.Departamento;
 import com.empleados.sistema.model.Empleado;
 import com.empleados.sistema.service.DepartamentoService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/departamentos")
@@ -23,11 +28,30 @@ public class DepartamentoController {
     // Operaciones CRUD básicas
     
     @GetMapping
-    public ResponseEntity<List<Departamento>> obtenerTodos() {
+    @RespuestaCacheable(etiquetas = EtiquetasCache.DEPARTAMENTOS)
+    public ResponseEntity<List<Departamento>> obtenerTodos(WebRequest request) {
+        String etag = departamentoService.calcularEtagListado();
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         List<Departamento> departamentos = departamentoService.obtenerTodos();
         return ResponseEntity.ok(departamentos);
     }
     
+    // Proyección parcial: ?fields=id,nombre,... selecciona solo esas columnas en SQL
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> obtenerTodosConCampos(@RequestParam("fields") List<String> campos) {
+        List<Map<String, Object>> departamentos = departamentoService.obtenerTodosConCampos(campos);
+        return ResponseEntity.ok(departamentos);
+    }
+    
+    // Varios por id en una sola consulta: ?ids=3,1,7 responde en ese orden, marcando los que no existen
+    @GetMapping(params = "ids")
+    @RespuestaCacheable(etiquetas = EtiquetasCache.DEPARTAMENTOS)
+    public ResponseEntity<List<ElementoPorId<Departamento>>> obtenerPorIds(@RequestParam("ids") List<Long> ids) {
+        return ResponseEntity.ok(departamentoService.buscarPorIds(ids));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Departamento> obtenerPorId(@PathVariable Long id) {
         Departamento departamento = departamentoService.buscarPorId(id);
@@ -1,15 +1,20 @@
 package com.empleados.sistema.controller;
 
+import com.empleados.sistema.cache.EtiquetasCache;
+import com.empleados.sistema.cache.RespuestaCacheable;
+import com.empleados.sistema.dto.ElementoPorId;
 import com.empleados.sistema.model.Empleado;
 import com.empleados.sistema.service.EmpleadoService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/empleados")
@@ -24,13 +29,33 @@ public class EmpleadoController {
     // Operaciones CRUD básicas
     
     @GetMapping
+    @RespuestaCacheable(etiquetas = {EtiquetasCache.EMPLEADOS, EtiquetasCache.DEPARTAMENTOS, EtiquetasCache.PROYECTOS})
     public ResponseEntity<List<Empleado>> obtenerTodos() {
         List<Empleado> empleados = empleadoService.obtenerTodos();
         return ResponseEntity.ok(empleados);
     }
     
+    // Proyección parcial: ?fields=id,nombre,... selecciona solo esas columnas en SQL
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> obtenerTodosConCampos(@RequestParam("fields") List<String> campos) {
+        List<Map<String, Object>> empleados = empleadoService.obtenerTodosConCampos(campos);
+        return ResponseEntity.ok(empleados);
+    }
+    
+    // Varios por id en una sola consulta: ?ids=3,1,7 responde en ese orden, marcando los que no existen
+    @GetMapping(params = "ids")
+    @RespuestaCacheable(etiquetas = {EtiquetasCache.EMPLEADOS, EtiquetasCache.DEPARTAMENTOS, EtiquetasCache.PROYECTOS})
+    public ResponseEntity<List<ElementoPorId<Empleado>>> obtenerPorIds(@RequestParam("ids") List<Long> ids) {
+        return ResponseEntity.ok(empleadoService.buscarPorIds(ids));
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<Empleado> obtenerPorId(@PathVariable Long id) {
+    public ResponseEntity<Empleado> obtenerPorId(@PathVariable Long id, WebRequest request) {
+        // Se responde 304 comparando solo versiones, antes de cargar el grafo
+        String etag = empleadoService.calcularEtag(id);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         Empleado empleado = empleadoService.buscarPorId(id);
         return ResponseEntity.ok(empleado);
     }
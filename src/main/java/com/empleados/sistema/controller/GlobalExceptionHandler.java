@@ -3,9 +3,15 @@ package com.empleados.sistema.controller;
 import com.empleados.sistema.exception.DepartamentoNoEncontradoException;
 import com.empleados.sistema.exception.EmailDuplicadoException;
 import com.empleados.sistema.exception.EmpleadoNoEncontradoException;
+import com.empleados.sistema.exception.ImportacionNoEncontradaException;
+import com.empleados.sistema.exception.IndiceNoDisponibleException;
+import com.empleados.sistema.exception.PlazoVencidoException;
 import com.empleados.sistema.exception.ProyectoNoEncontradoException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -55,6 +61,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
     
+    @ExceptionHandler(ImportacionNoEncontradaException.class)
+    public ResponseEntity<Map<String, Object>> handleImportacionNoEncontrada(
+            ImportacionNoEncontradaException ex, WebRequest request) {
+        Map<String, Object> response = createErrorResponse(
+            HttpStatus.NOT_FOUND.value(),
+            "Importación no encontrada",
+            ex.getMessage(),
+            request.getDescription(false)
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+    
     @ExceptionHandler(EmailDuplicadoException.class)
     public ResponseEntity<Map<String, Object>> handleEmailDuplicado(
             EmailDuplicadoException ex, WebRequest request) {
@@ -91,6 +109,49 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
     
+    // Sin conexión disponible en el pool a tiempo: es sobrecarga, no un error del servidor
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<Map<String, Object>> handleSinConexion(
+            CannotCreateTransactionException ex, WebRequest request) {
+        Map<String, Object> response = createErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Servicio sobrecargado",
+            "No hay conexiones disponibles con la base de datos. Reintente en unos instantes.",
+            request.getDescription(false)
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(response);
+    }
+    
+    // Índice en memoria recargándose tras un fallo y sin consulta equivalente en la base: conviene reintentar
+    @ExceptionHandler(IndiceNoDisponibleException.class)
+    public ResponseEntity<Map<String, Object>> handleIndiceNoDisponible(
+            IndiceNoDisponibleException ex, WebRequest request) {
+        Map<String, Object> response = createErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Índice no disponible",
+            ex.getMessage(),
+            request.getDescription(false)
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "30")
+            .body(response);
+    }
+    
+    // Plazo de la solicitud agotado, antes de consultar o por timeout de la sentencia: la base no llegó a tiempo
+    @ExceptionHandler({PlazoVencidoException.class, QueryTimeoutException.class, jakarta.persistence.QueryTimeoutException.class})
+    public ResponseEntity<Map<String, Object>> handlePlazoVencido(
+            RuntimeException ex, WebRequest request) {
+        Map<String, Object> response = createErrorResponse(
+            HttpStatus.GATEWAY_TIMEOUT.value(),
+            "Plazo vencido",
+            "La solicitud no se completó dentro del plazo",
+            request.getDescription(false)
+        );
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(response);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationErrors(
             MethodArgumentNotValidException ex, WebRequest request) {
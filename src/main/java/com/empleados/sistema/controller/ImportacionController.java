@@ -0,0 +1,50 @@
+package com.empleados.sistema.controller;
+
+import com.empleados.sistema.dto.EstadoImportacion;
+import com.empleados.sistema.service.ImportacionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/importaciones")
+public class ImportacionController {
+    
+    private final ImportacionService importacionService;
+    
+    public ImportacionController(ImportacionService importacionService) {
+        this.importacionService = importacionService;
+    }
+    
+    // Importación masiva de empleados desde CSV (procesamiento en segundo plano)
+    
+    @PostMapping(value = "/csv", consumes = {"text/csv", "text/plain", "application/octet-stream"})
+    public ResponseEntity<EstadoImportacion> importarCsv(InputStream contenido) {
+        EstadoImportacion estado = importacionService.iniciarImportacionCsv(contenido);
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/importaciones/" + estado.getId()))
+            .body(estado);
+    }
+    
+    // Ingesta de un arreglo JSON de empleados leído elemento por elemento
+    @PostMapping(value = "/json", consumes = "application/json")
+    public ResponseEntity<EstadoImportacion> importarJson(InputStream contenido) {
+        EstadoImportacion estado = importacionService.importarJson(contenido);
+        return ResponseEntity.ok(estado);
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<EstadoImportacion> obtenerEstado(@PathVariable String id) {
+        EstadoImportacion estado = importacionService.obtenerEstado(id);
+        return ResponseEntity.ok(estado);
+    }
+    
+    @GetMapping
+    public ResponseEntity<List<EstadoImportacion>> obtenerImportaciones() {
+        List<EstadoImportacion> importaciones = importacionService.obtenerImportaciones();
+        return ResponseEntity.ok(importaciones);
+    }
+}
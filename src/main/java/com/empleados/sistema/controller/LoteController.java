@@ -0,0 +1,35 @@
+package com.empleados.sistema.controller;
+
+import com.empleados.sistema.dto.ResultadoLote;
+import com.empleados.sistema.dto.SolicitudLote;
+import com.empleados.sistema.service.LoteService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/batch")
+public class LoteController {
+    
+    private final LoteService loteService;
+    
+    public LoteController(LoteService loteService) {
+        this.loteService = loteService;
+    }
+    
+    // 200 si el lote se confirmó (en MEJOR_ESFUERZO puede incluir operaciones fallidas);
+    // si se revirtió, el código de la operación que falló (409 si falló el commit)
+    @PostMapping
+    public ResponseEntity<ResultadoLote> ejecutar(@RequestBody SolicitudLote solicitud) {
+        ResultadoLote resultado = loteService.ejecutar(solicitud);
+        if (resultado.confirmado()) {
+            return ResponseEntity.ok(resultado);
+        }
+        int status = resultado.resultados().stream()
+            .filter(r -> r.estado() == ResultadoLote.EstadoOperacion.ERROR)
+            .mapToInt(ResultadoLote.ResultadoOperacion::status)
+            .findFirst()
+            .orElse(HttpStatus.CONFLICT.value());
+        return ResponseEntity.status(status).body(resultado);
+    }
+}
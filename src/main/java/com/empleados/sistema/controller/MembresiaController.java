@@ -0,0 +1,32 @@
+package com.empleados.sistema.controller;
+
+import com.empleados.sistema.dto.ResultadoMembresia;
+import com.empleados.sistema.service.MembresiaService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/membresias")
+public class MembresiaController {
+    
+    private final MembresiaService membresiaService;
+    
+    public MembresiaController(MembresiaService membresiaService) {
+        this.membresiaService = membresiaService;
+    }
+    
+    // Ej.: /api/membresias?expr=proyecto:1 AND proyecto:2 AND NOT proyecto:3
+    @GetMapping
+    public ResponseEntity<ResultadoMembresia> consultar(
+            @RequestParam String expr,
+            @RequestParam(defaultValue = "false") boolean conteo,
+            @RequestParam(defaultValue = "1000") int limite) {
+        return ResponseEntity.ok(membresiaService.consultar(expr, conteo, limite));
+    }
+    
+    // Proyectos en los que trabaja al menos un empleado del departamento
+    @GetMapping("/departamentos/{id}/proyectos")
+    public ResponseEntity<long[]> obtenerProyectosDeDepartamento(@PathVariable Long id) {
+        return ResponseEntity.ok(membresiaService.obtenerProyectosConEmpleadosDeDepartamento(id));
+    }
+}
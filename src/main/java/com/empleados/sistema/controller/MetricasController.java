@@ -0,0 +1,172 @@
+package com.empleados.sistema.controller;
+
+import com.empleados.sistema.analytics.AlmacenAnalitico;
+import com.empleados.sistema.cache.CacheRespuestas;
+import com.empleados.sistema.cache.CoalescedorLlamadas;
+import com.empleados.sistema.event.DespachadorEventos;
+import com.empleados.sistema.event.FeedCambios;
+import com.empleados.sistema.graph.IndiceColaboraciones;
+import com.empleados.sistema.index.IndiceEmails;
+import com.empleados.sistema.index.IndiceIntervalosProyectos;
+import com.empleados.sistema.index.IndiceMembresias;
+import com.empleados.sistema.metrics.MuestraSolicitudLenta;
+import com.empleados.sistema.metrics.RegistroLatencias;
+import com.empleados.sistema.overload.LimitadorConcurrencia;
+import com.empleados.sistema.readmodel.ModeloLectura;
+import com.empleados.sistema.scheduling.ArchivadorProyectos;
+import com.empleados.sistema.scheduling.CicloVidaProyectos;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/internal/metricas")
+public class MetricasController {
+    
+    private final RegistroLatencias registroLatencias;
+    private final IndiceEmails indiceEmails;
+    private final CoalescedorLlamadas coalescedorLlamadas;
+    private final CacheRespuestas cacheRespuestas;
+    private final DespachadorEventos despachadorEventos;
+    private final FeedCambios feedCambios;
+    private final ModeloLectura modeloLectura;
+    private final AlmacenAnalitico almacenAnalitico;
+    private final IndiceMembresias indiceMembresias;
+    private final IndiceColaboraciones indiceColaboraciones;
+    private final LimitadorConcurrencia limitadorConcurrencia;
+    private final CicloVidaProyectos cicloVidaProyectos;
+    private final ArchivadorProyectos archivadorProyectos;
+    private final IndiceIntervalosProyectos indiceIntervalosProyectos;
+    
+    public MetricasController(RegistroLatencias registroLatencias,
+                              IndiceEmails indiceEmails,
+                              CoalescedorLlamadas coalescedorLlamadas,
+                              CacheRespuestas cacheRespuestas,
+                              DespachadorEventos despachadorEventos,
+                              FeedCambios feedCambios,
+                              ModeloLectura modeloLectura,
+                              AlmacenAnalitico almacenAnalitico,
+                              IndiceMembresias indiceMembresias,
+                              IndiceColaboraciones indiceColaboraciones,
+                              LimitadorConcurrencia limitadorConcurrencia,
+                              CicloVidaProyectos cicloVidaProyectos,
+                              ArchivadorProyectos archivadorProyectos,
+                              IndiceIntervalosProyectos indiceIntervalosProyectos) {
+        this.registroLatencias = registroLatencias;
+        this.indiceEmails = indiceEmails;
+        this.coalescedorLlamadas = coalescedorLlamadas;
+        this.cacheRespuestas = cacheRespuestas;
+        this.despachadorEventos = despachadorEventos;
+        this.feedCambios = feedCambios;
+        this.modeloLectura = modeloLectura;
+        this.almacenAnalitico = almacenAnalitico;
+        this.indiceMembresias = indiceMembresias;
+        this.indiceColaboraciones = indiceColaboraciones;
+        this.limitadorConcurrencia = limitadorConcurrencia;
+        this.cicloVidaProyectos = cicloVidaProyectos;
+        this.archivadorProyectos = archivadorProyectos;
+        this.indiceIntervalosProyectos = indiceIntervalosProyectos;
+    }
+    
+    // Latencias por ruta
+    
+    @GetMapping("/latencias")
+    public ResponseEntity<Map<String, Object>> obtenerLatencias() {
+        Map<String, Object> respuesta = new LinkedHashMap<>();
+        respuesta.put("configuracion", registroLatencias.obtenerConfiguracion());
+        respuesta.put("rutas", registroLatencias.obtenerResumen());
+        return ResponseEntity.ok(respuesta);
+    }
+    
+    @GetMapping("/latencias/lentas")
+    public ResponseEntity<List<MuestraSolicitudLenta>> obtenerSolicitudesLentas() {
+        return ResponseEntity.ok(registroLatencias.obtenerMuestras());
+    }
+    
+    @PutMapping("/latencias/muestreo")
+    public ResponseEntity<Void> configurarMuestreo(@RequestParam boolean habilitado) {
+        registroLatencias.setMuestreoHabilitado(habilitado);
+        if (!habilitado) {
+            registroLatencias.limpiarMuestras();
+        }
+        return ResponseEntity.ok().build();
+    }
+    
+    // Índice de emails en memoria
+    
+    @GetMapping("/indice-emails")
+    public ResponseEntity<Map<String, Object>> obtenerIndiceEmails() {
+        return ResponseEntity.ok(indiceEmails.obtenerEstadisticas());
+    }
+    
+    // Coalescencia de lecturas agregadas
+    
+    @GetMapping("/coalescencia")
+    public ResponseEntity<Map<String, Object>> obtenerCoalescencia() {
+        return ResponseEntity.ok(coalescedorLlamadas.obtenerEstadisticas());
+    }
+    
+    // Caché de respuestas serializadas
+    
+    @GetMapping("/cache-respuestas")
+    public ResponseEntity<Map<String, Object>> obtenerCacheRespuestas() {
+        return ResponseEntity.ok(cacheRespuestas.obtenerEstadisticas());
+    }
+    
+    // Outbox y despacho de eventos de cambio
+    
+    @GetMapping("/eventos")
+    public ResponseEntity<Map<String, Object>> obtenerEventos() {
+        return ResponseEntity.ok(despachadorEventos.obtenerEstadisticas());
+    }
+    
+    @GetMapping("/cambios")
+    public ResponseEntity<Map<String, Object>> obtenerFeedCambios() {
+        return ResponseEntity.ok(feedCambios.obtenerEstadisticas());
+    }
+    
+    // Modelo de lectura en memoria: tamaño estimado y retraso respecto de la base
+    
+    @GetMapping("/modelo-lectura")
+    public ResponseEntity<Map<String, Object>> obtenerModeloLectura() {
+        return ResponseEntity.ok(modeloLectura.obtenerEstadisticas());
+    }
+    
+    @GetMapping("/analitica")
+    public ResponseEntity<Map<String, Object>> obtenerAlmacenAnalitico() {
+        return ResponseEntity.ok(almacenAnalitico.obtenerEstadisticas());
+    }
+    
+    @GetMapping("/membresias")
+    public ResponseEntity<Map<String, Object>> obtenerIndiceMembresias() {
+        return ResponseEntity.ok(indiceMembresias.obtenerEstadisticas());
+    }
+    
+    @GetMapping("/colaboraciones")
+    public ResponseEntity<Map<String, Object>> obtenerGrafoColaboraciones() {
+        return ResponseEntity.ok(indiceColaboraciones.obtenerEstadisticas());
+    }
+    
+    @GetMapping("/limitador")
+    public ResponseEntity<Map<String, Object>> obtenerLimitador() {
+        return ResponseEntity.ok(limitadorConcurrencia.obtenerEstadisticas());
+    }
+    
+    @GetMapping("/ciclo-vida-proyectos")
+    public ResponseEntity<Map<String, Object>> obtenerCicloVidaProyectos() {
+        return ResponseEntity.ok(cicloVidaProyectos.obtenerEstadisticas());
+    }
+    
+    @GetMapping("/archivo-proyectos")
+    public ResponseEntity<Map<String, Object>> obtenerArchivoProyectos() {
+        return ResponseEntity.ok(archivadorProyectos.obtenerEstadisticas());
+    }
+    
+    @GetMapping("/intervalos-proyectos")
+    public ResponseEntity<Map<String, Object>> obtenerIntervalosProyectos() {
+        return ResponseEntity.ok(indiceIntervalosProyectos.obtenerEstadisticas());
+    }
+}
@@ -0,0 +1,36 @@
+package com.empleados.sistema.controller;
+
+import com.empleados.sistema.dto.ResultadoOperacionMasiva;
+import com.empleados.sistema.dto.SolicitudAjusteSalarial;
+import com.empleados.sistema.dto.SolicitudTransferencia;
+import com.empleados.sistema.service.OperacionMasivaService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/operaciones-masivas")
+public class OperacionMasivaController {
+    
+    private final OperacionMasivaService operacionMasivaService;
+    
+    public OperacionMasivaController(OperacionMasivaService operacionMasivaService) {
+        this.operacionMasivaService = operacionMasivaService;
+    }
+    
+    @PostMapping("/ajustes-salariales")
+    public ResponseEntity<ResultadoOperacionMasiva> ajustarSalarios(@RequestBody SolicitudAjusteSalarial solicitud) {
+        return responder(operacionMasivaService.ajustarSalarios(solicitud.departamentoId(), solicitud.porcentaje()));
+    }
+    
+    @PostMapping("/transferencias")
+    public ResponseEntity<ResultadoOperacionMasiva> transferir(@RequestBody SolicitudTransferencia solicitud) {
+        return responder(operacionMasivaService.transferirEmpleados(solicitud.origenId(), solicitud.destinoId()));
+    }
+    
+    // Una operación interrumpida a mitad de camino informa lo aplicado con 500
+    private static ResponseEntity<ResultadoOperacionMasiva> responder(ResultadoOperacionMasiva resultado) {
+        HttpStatus status = resultado.completa() ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR;
+        return ResponseEntity.status(status).body(resultado);
+    }
+}
@@ -1,5 +1,8 @@
 package com.empleados.sistema.controller;
 
+import com.empleados.sistema.cache.EtiquetasCache;
+import com.empleados.sistema.cache.RespuestaCacheable;
+import com.empleados.sistema.dto.ElementoPorId;
 import com.empleados.sistema.model.Proyecto;
 import com.empleados.sistema.model.Empleado;
 import com.empleados.sistema.service.ProyectoService;
@@ -7,9 +10,11 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/proyectos")
@@ -29,9 +34,23 @@ public class ProyectoController {
         return ResponseEntity.ok(proyectos);
     }
     
+    // Proyección parcial: ?fields=id,nombre,... selecciona solo esas columnas en SQL
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> obtenerTodosConCampos(@RequestParam("fields") List<String> campos) {
+        List<Map<String, Object>> proyectos = proyectoService.obtenerTodosConCampos(campos);
+        return ResponseEntity.ok(proyectos);
+    }
+    
+    // Varios por id en una sola consulta: ?ids=3,1,7 responde en ese orden, marcando los que no existen
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<ElementoPorId<Proyecto>>> obtenerPorIds(@RequestParam("ids") List<Long> ids) {
+        return ResponseEntity.ok(proyectoService.buscarPorIds(ids));
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<Proyecto> obtenerPorId(@PathVariable Long id) {
-        Proyecto proyecto = proyectoService.buscarPorId(id);
+    public ResponseEntity<Proyecto> obtenerPorId(@PathVariable Long id,
+                                                 @RequestParam(defaultValue = "false") boolean incluirArchivados) {
+        Proyecto proyecto = proyectoService.buscarPorId(id, incluirArchivados);
         return ResponseEntity.ok(proyecto);
     }
     
@@ -62,14 +81,21 @@ public class ProyectoController {
     }
     
     @GetMapping("/activos")
-    public ResponseEntity<List<Proyecto>> buscarProyectosActivos() {
+    // Vencimiento corto: "activo" depende también de la fecha actual
+    @RespuestaCacheable(etiquetas = EtiquetasCache.PROYECTOS, ttlSegundos = 60)
+    public ResponseEntity<List<Proyecto>> buscarProyectosActivos(WebRequest request) {
+        String etag = proyectoService.calcularEtagActivos();
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         List<Proyecto> proyectos = proyectoService.buscarProyectosActivos();
         return ResponseEntity.ok(proyectos);
     }
     
     @GetMapping("/inactivos")
-    public ResponseEntity<List<Proyecto>> buscarProyectosInactivos() {
-        List<Proyecto> proyectos = proyectoService.buscarProyectosInactivos();
+    public ResponseEntity<List<Proyecto>> buscarProyectosInactivos(
+            @RequestParam(defaultValue = "false") boolean incluirArchivados) {
+        List<Proyecto> proyectos = proyectoService.buscarProyectosInactivos(incluirArchivados);
         return ResponseEntity.ok(proyectos);
     }
     
@@ -81,9 +107,35 @@ public class ProyectoController {
         return ResponseEntity.ok(proyectos);
     }
     
+    // Proyectos en curso en algún momento del rango (a diferencia de /por-fechas, que filtra por inicio)
+    @GetMapping("/en-curso")
+    public ResponseEntity<List<Proyecto>> buscarEnCurso(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        List<Proyecto> proyectos = proyectoService.buscarEnCurso(desde, hasta);
+        return ResponseEntity.ok(proyectos);
+    }
+    
+    @GetMapping(value = "/en-curso", params = "fecha")
+    public ResponseEntity<List<Proyecto>> buscarEnCursoEl(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+        List<Proyecto> proyectos = proyectoService.buscarEnCursoEl(fecha);
+        return ResponseEntity.ok(proyectos);
+    }
+    
     @GetMapping("/buscar")
-    public ResponseEntity<List<Proyecto>> buscarPorNombreContiene(@RequestParam String termino) {
-        List<Proyecto> proyectos = proyectoService.buscarPorNombreContiene(termino);
+    public ResponseEntity<List<Proyecto>> buscarPorNombreContiene(
+            @RequestParam String termino,
+            @RequestParam(defaultValue = "false") boolean incluirArchivados) {
+        List<Proyecto> proyectos = proyectoService.buscarPorNombreContiene(termino, incluirArchivados);
+        return ResponseEntity.ok(proyectos);
+    }
+    
+    @GetMapping("/empleado/{empleadoId}")
+    public ResponseEntity<List<Proyecto>> buscarPorEmpleado(
+            @PathVariable Long empleadoId,
+            @RequestParam(defaultValue = "false") boolean incluirArchivados) {
+        List<Proyecto> proyectos = proyectoService.buscarPorEmpleado(empleadoId, incluirArchivados);
         return ResponseEntity.ok(proyectos);
     }
     
@@ -0,0 +1,25 @@
+package com.empleados.sistema.controller;
+
+import com.empleados.sistema.dto.RespuestaSincronizacion;
+import com.empleados.sistema.service.SincronizacionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SincronizacionController {
+    
+    private final SincronizacionService sincronizacionService;
+    
+    public SincronizacionController(SincronizacionService sincronizacionService) {
+        this.sincronizacionService = sincronizacionService;
+    }
+    
+    // Cambios desde el token recibido (sin token: copia completa paginada)
+    @GetMapping
+    public ResponseEntity<RespuestaSincronizacion> sincronizar(
+            @RequestParam(required = false) String desde,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(sincronizacionService.sincronizar(desde, limite));
+    }
+}
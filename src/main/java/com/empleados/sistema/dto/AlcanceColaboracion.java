@@ -0,0 +1,6 @@
+package com.empleados.sistema.dto;
+
+// Empleados alcanzables en a lo sumo "saltos" proyectos compartidos; distancias[i] corresponde a empleadoIds[i]
+public record AlcanceColaboracion(long empleadoId, int saltos, long[] empleadoIds, int[] distancias,
+                                  boolean truncado, long duracionMicros) {
+}
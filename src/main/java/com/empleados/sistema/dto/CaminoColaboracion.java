@@ -0,0 +1,6 @@
+package com.empleados.sistema.dto;
+
+// proyectoIds[i] es el proyecto que comparten empleadoIds[i] y empleadoIds[i + 1]
+public record CaminoColaboracion(long origenId, long destinoId, boolean encontrado, long[] empleadoIds,
+                                 long[] proyectoIds, boolean truncado, long duracionMicros) {
+}
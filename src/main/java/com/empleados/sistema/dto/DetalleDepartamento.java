@@ -0,0 +1,27 @@
+package com.empleados.sistema.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Departamento con sus empleados, los proyectos de esos empleados y agregados, en una sola respuesta.
+// Los proyectos van una vez cada uno y los empleados los referencian por id. Lo no pedido va en null.
+public record DetalleDepartamento(
+    Long id,
+    String nombre,
+    String descripcion,
+    Agregados agregados,
+    List<Miembro> empleados,
+    List<ProyectoResumen> proyectos
+) {
+    
+    public record Agregados(long cantidadEmpleados, BigDecimal salarioPromedio, BigDecimal masaSalarial) {
+    }
+    
+    public record Miembro(Long id, String nombre, String apellido, String email, LocalDate fechaContratacion,
+                          BigDecimal salario, List<Long> proyectoIds) {
+    }
+    
+    public record ProyectoResumen(Long id, String nombre, String descripcion, LocalDate fechaInicio, LocalDate fechaFin) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.empleados.sistema.dto;
+
+// Un elemento de una consulta por lista de ids: se responde en el orden pedido y los faltantes van con encontrado = false
+public record ElementoPorId<T>(Long id, boolean encontrado, T dato) {
+    
+    public static <T> ElementoPorId<T> encontrado(Long id, T dato) {
+        return new ElementoPorId<>(id, true, dato);
+    }
+    
+    public static <T> ElementoPorId<T> noEncontrado(Long id) {
+        return new ElementoPorId<>(id, false, null);
+    }
+}
@@ -0,0 +1,4 @@
+package com.empleados.sistema.dto;
+
+public record ErrorImportacion(long linea, String mensaje) {
+}
@@ -0,0 +1,105 @@
+package com.empleados.sistema.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Progreso de una importación masiva; se actualiza desde el hilo del trabajo y se lee desde la API
+public class EstadoImportacion {
+    
+    public enum Estado {
+        EN_CURSO, COMPLETADA, FALLIDA
+    }
+    
+    private final String id;
+    private final Instant iniciadaEn = Instant.now();
+    private final int maxErroresReportados;
+    private final AtomicLong registrosProcesados = new AtomicLong();
+    private final AtomicLong importados = new AtomicLong();
+    private final AtomicLong conErrores = new AtomicLong();
+    private final List<ErrorImportacion> errores = new ArrayList<>();
+    
+    private volatile Estado estado = Estado.EN_CURSO;
+    private volatile Instant finalizadaEn;
+    private volatile String mensaje;
+    
+    public EstadoImportacion(String id, int maxErroresReportados) {
+        this.id = id;
+        this.maxErroresReportados = maxErroresReportados;
+    }
+    
+    public void registrarLote(int procesados, int guardados, List<ErrorImportacion> erroresLote) {
+        registrosProcesados.addAndGet(procesados);
+        importados.addAndGet(guardados);
+        conErrores.addAndGet(erroresLote.size());
+        synchronized (errores) {
+            for (ErrorImportacion error : erroresLote) {
+                if (errores.size() >= maxErroresReportados) {
+                    break;
+                }
+                errores.add(error);
+            }
+        }
+    }
+    
+    public void completar() {
+        this.finalizadaEn = Instant.now();
+        this.estado = Estado.COMPLETADA;
+    }
+    
+    public void fallar(String mensaje) {
+        this.mensaje = mensaje;
+        this.finalizadaEn = Instant.now();
+        this.estado = Estado.FALLIDA;
+    }
+    
+    public boolean isFinalizada() {
+        return estado != Estado.EN_CURSO;
+    }
+    
+    // Getters
+    public String getId() {
+        return id;
+    }
+    
+    public Estado getEstado() {
+        return estado;
+    }
+    
+    public Instant getIniciadaEn() {
+        return iniciadaEn;
+    }
+    
+    public Instant getFinalizadaEn() {
+        return finalizadaEn;
+    }
+    
+    public String getMensaje() {
+        return mensaje;
+    }
+    
+    public long getRegistrosProcesados() {
+        return registrosProcesados.get();
+    }
+    
+    public long getImportados() {
+        return importados.get();
+    }
+    
+    public long getConErrores() {
+        return conErrores.get();
+    }
+    
+    public long getErroresOmitidos() {
+        synchronized (errores) {
+            return Math.max(0, conErrores.get() - errores.size());
+        }
+    }
+    
+    public List<ErrorImportacion> getErrores() {
+        synchronized (errores) {
+            return new ArrayList<>(errores);
+        }
+    }
+}
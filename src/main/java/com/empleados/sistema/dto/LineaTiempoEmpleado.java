@@ -0,0 +1,12 @@
+package com.empleados.sistema.dto;
+
+import java.util.List;
+
+public record LineaTiempoEmpleado(
+    Long empleadoId,
+    int limite,
+    int maximo,
+    List<PeriodoDedicacion> tramos,
+    List<PeriodoDedicacion> excesos
+) {
+}
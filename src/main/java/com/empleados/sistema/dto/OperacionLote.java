@@ -0,0 +1,24 @@
+package com.empleados.sistema.dto;
+
+import com.empleados.sistema.model.Empleado;
+
+// Una operación de /api/batch; cada tipo usa solo los campos que necesita
+public record OperacionLote(
+    TipoOperacion tipo,
+    Long empleadoId,
+    Long departamentoId,
+    Long proyectoId,
+    Empleado empleado
+) {
+    
+    public enum TipoOperacion {
+        CREAR_EMPLEADO,
+        ACTUALIZAR_EMPLEADO,
+        ELIMINAR_EMPLEADO,
+        ASIGNAR_DEPARTAMENTO,
+        QUITAR_DEPARTAMENTO,
+        ASIGNAR_PROYECTO,
+        QUITAR_PROYECTO,
+        FINALIZAR_PROYECTO
+    }
+}
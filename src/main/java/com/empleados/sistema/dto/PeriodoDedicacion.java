@@ -0,0 +1,7 @@
+package com.empleados.sistema.dto;
+
+import java.time.LocalDate;
+
+// Período con dedicación total constante (o, en un exceso, la máxima del período); null = sin límite de ese lado
+public record PeriodoDedicacion(LocalDate desde, LocalDate hasta, int porcentaje) {
+}
@@ -0,0 +1,17 @@
+package com.empleados.sistema.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Empleados cuya dedicación total supera el límite en algún día desde "desde", ordenados por id
+public record ReporteSobreasignacion(
+    LocalDate desde,
+    int limite,
+    int empleadosAnalizados,
+    List<EmpleadoSobreasignado> sobreasignados,
+    long duracionMs
+) {
+    
+    public record EmpleadoSobreasignado(Long empleadoId, int maximo, List<PeriodoDedicacion> periodos) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.empleados.sistema.dto;
+
+import com.empleados.sistema.model.Empleado;
+import com.empleados.sistema.model.Proyecto;
+
+import java.util.List;
+
+// Página de cambios desde un token; completo indica que el cliente debe descartar su copia local
+public record RespuestaSincronizacion(
+    List<Empleado> empleados,
+    List<Proyecto> proyectos,
+    List<Eliminacion> eliminados,
+    String token,
+    boolean hayMas,
+    boolean completo
+) {
+    
+    public record Eliminacion(String tipo, Long id) {
+    }
+}
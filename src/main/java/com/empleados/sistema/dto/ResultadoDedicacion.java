@@ -0,0 +1,5 @@
+package com.empleados.sistema.dto;
+
+// maximo es la dedicación total más alta del empleado dentro de las fechas del proyecto, ya con el nuevo porcentaje
+public record ResultadoDedicacion(Long empleadoId, Long proyectoId, int porcentaje, int maximo, int limite) {
+}
@@ -0,0 +1,23 @@
+package com.empleados.sistema.dto;
+
+import java.util.List;
+
+// Resultado por operación, en el orden recibido. confirmado indica si la transacción del lote se confirmó.
+public record ResultadoLote(
+    SolicitudLote.ModoLote modo,
+    boolean confirmado,
+    int exitosas,
+    int fallidas,
+    String error,
+    List<ResultadoOperacion> resultados
+) {
+    
+    public enum EstadoOperacion {
+        OK, ERROR, REVERTIDA, NO_EJECUTADA
+    }
+    
+    // status es el código HTTP que habría tenido la operación sola; id es el del empleado creado, si aplica
+    public record ResultadoOperacion(int indice, OperacionLote.TipoOperacion tipo, EstadoOperacion estado,
+                                     int status, Long id, String error) {
+    }
+}
@@ -0,0 +1,5 @@
+package com.empleados.sistema.dto;
+
+// Resultado de una consulta de membresías; ids puede venir truncado al límite pedido (o vacío si solo se pidió el conteo)
+public record ResultadoMembresia(String expresion, long cantidad, long[] ids, long duracionMicros) {
+}
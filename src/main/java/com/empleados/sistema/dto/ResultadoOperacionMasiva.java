@@ -0,0 +1,12 @@
+package com.empleados.sistema.dto;
+
+// Cada tramo se confirma por separado: si completa es false, filasAfectadas indica lo que sí quedó aplicado
+public record ResultadoOperacionMasiva(
+    String operacion,
+    boolean completa,
+    long filasAfectadas,
+    int tramos,
+    long duracionMs,
+    String error
+) {
+}
@@ -0,0 +1,14 @@
+package com.empleados.sistema.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Cantidad, total y promedio de salarios de un conjunto de empleados
+public record ResumenSalarios(long cantidad, BigDecimal total, BigDecimal promedio) {
+    
+    public static ResumenSalarios de(long cantidad, BigDecimal total) {
+        BigDecimal promedio = cantidad == 0 ? BigDecimal.ZERO
+            : total.divide(BigDecimal.valueOf(cantidad), 2, RoundingMode.HALF_EVEN);
+        return new ResumenSalarios(cantidad, total, promedio);
+    }
+}
@@ -0,0 +1,7 @@
+package com.empleados.sistema.dto;
+
+import java.math.BigDecimal;
+
+// porcentaje: 10 sube un 10 %, -5 baja un 5 %
+public record SolicitudAjusteSalarial(Long departamentoId, BigDecimal porcentaje) {
+}
@@ -0,0 +1,14 @@
+package com.empleados.sistema.dto;
+
+import java.util.List;
+
+// Sin modo se asume TODO_O_NADA
+public record SolicitudLote(ModoLote modo, List<OperacionLote> operaciones) {
+    
+    public enum ModoLote {
+        // Si una operación falla se revierte todo el lote
+        TODO_O_NADA,
+        // Cada operación corre en su propia transacción: las que fallan se revierten y el resto se confirma
+        MEJOR_ESFUERZO
+    }
+}
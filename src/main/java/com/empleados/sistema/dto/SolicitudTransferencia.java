@@ -0,0 +1,5 @@
+package com.empleados.sistema.dto;
+
+// Mueve todos los empleados del departamento origen al destino
+public record SolicitudTransferencia(Long origenId, Long destinoId) {
+}
@@ -0,0 +1,62 @@
+package com.empleados.sistema.event;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Cursor sobre los ids del outbox (reanudación del feed y avance del despachador). Los ids salen de una columna
+// IDENTITY y no se confirman en orden: el 11 puede llegar antes que el 10. El cursor seguro es el mayor W tal que todo id <= W ya pasó por el feed,
+// o lleva más de "margen" faltando (transacción revertida o demasiado larga, como en /api/sync).
+// Reanudar desde W puede repetir eventos posteriores ya entregados, pero no saltea ninguno.
+final class CursorSeguro {
+    
+    // Un salto mayor (por ejemplo, tras purgar o restaurar la base) no se desglosa en huecos
+    static final int MAX_HUECOS_POR_SALTO = 10_000;
+    
+    private final long margenNanos;
+    private long maximoVisto;
+    // Id faltante -> momento (nanoTime) en que se detectó el hueco
+    private final TreeMap<Long, Long> huecos = new TreeMap<>();
+    
+    CursorSeguro(long maximoInicial, long margenNanos) {
+        this.maximoVisto = maximoInicial;
+        this.margenNanos = margenNanos;
+    }
+    
+    synchronized void registrar(long id, long ahora) {
+        if (id <= maximoVisto) {
+            huecos.remove(id);
+            return;
+        }
+        if (id - maximoVisto - 1 <= MAX_HUECOS_POR_SALTO) {
+            for (long faltante = maximoVisto + 1; faltante < id; faltante++) {
+                huecos.put(faltante, ahora);
+            }
+        }
+        maximoVisto = id;
+    }
+    
+    synchronized long valor(long ahora) {
+        Iterator<Map.Entry<Long, Long>> it = huecos.entrySet().iterator();
+        while (it.hasNext()) {
+            if (ahora - it.next().getValue() >= margenNanos) {
+                it.remove();
+            }
+        }
+        return huecos.isEmpty() ? maximoVisto : huecos.firstKey() - 1;
+    }
+    
+    synchronized long getMaximoVisto() {
+        return maximoVisto;
+    }
+    
+    // Los primeros ids todavía faltantes, para volver a buscarlos
+    synchronized List<Long> huecos(int limite) {
+        return huecos.keySet().stream().limit(limite).toList();
+    }
+    
+    synchronized int getHuecosAbiertos() {
+        return huecos.size();
+    }
+}
@@ -0,0 +1,235 @@
+package com.empleados.sistema.event;
+
+import com.empleados.sistema.model.EventoOutbox;
+import com.empleados.sistema.repository.EventoOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lee el outbox en lotes, en orden de id, y los entrega a los SuscriptorCambios de esta instancia.
+// Cada instancia avanza su propio cursor en memoria (el outbox no se consume): todas ven todos los eventos.
+// Un lote se da por entregado cuando cada suscriptor lo aceptó o lo descartó tras agotar los reintentos;
+// al reintentar solo se vuelve a entregar a los que fallaron.
+@Component
+public class DespachadorEventos {
+    
+    private static final Logger log = LoggerFactory.getLogger(DespachadorEventos.class);
+    
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final ObjectProvider<SuscriptorCambios> suscriptores;
+    private final PublicadorEventos publicadorEventos;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanoLote;
+    private final int lotesPorCiclo;
+    private final int reintentosMaximos;
+    private final Duration retencion;
+    private final Duration margenSeguridad;
+    private final Instant arranque = Instant.now();
+    
+    private final AtomicBoolean ejecutando = new AtomicBoolean();
+    private volatile CursorSeguro cursor;
+    private List<EventoCambio> loteEnCurso;
+    // Suscriptores que ya terminaron con el lote en curso (lo aceptaron o lo descartaron) e intentos de los demás
+    private final Set<SuscriptorCambios> terminados = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<SuscriptorCambios, Integer> intentosFallidos = new IdentityHashMap<>();
+    private long proximaLimpiezaNanos = System.nanoTime();
+    
+    private final LongAdder despachados = new LongAdder();
+    private final LongAdder lotes = new LongAdder();
+    private final LongAdder fallosEntrega = new LongAdder();
+    private final LongAdder descartados = new LongAdder();
+    private volatile long demoraUltimoLoteMs;
+    
+    // Ventana de un minuto para la tasa de despacho
+    private long inicioVentanaNanos = System.nanoTime();
+    private long despachadosAlInicioVentana;
+    private volatile double despachadosPorSegundo;
+    
+    public DespachadorEventos(EventoOutboxRepository eventoOutboxRepository,
+                              ObjectProvider<SuscriptorCambios> suscriptores,
+                              PublicadorEventos publicadorEventos,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${eventos.despacho.tamano-lote:200}") int tamanoLote,
+                              @Value("${eventos.despacho.lotes-por-ciclo:20}") int lotesPorCiclo,
+                              @Value("${eventos.despacho.reintentos-maximos:5}") int reintentosMaximos,
+                              @Value("${eventos.retencion-horas:720}") long horasRetencion,
+                              @Value("${eventos.despacho.margen-seguridad-ms:60000}") long margenSeguridadMs) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.suscriptores = suscriptores;
+        this.publicadorEventos = publicadorEventos;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanoLote = tamanoLote;
+        this.lotesPorCiclo = lotesPorCiclo;
+        this.reintentosMaximos = reintentosMaximos;
+        this.retencion = Duration.ofHours(horasRetencion);
+        this.margenSeguridad = Duration.ofMillis(margenSeguridadMs);
+    }
+    
+    @Scheduled(fixedDelayString = "${eventos.despacho.intervalo-ms:200}")
+    public void despachar() {
+        if (!ejecutando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (int i = 0; i < lotesPorCiclo; i++) {
+                if (loteEnCurso == null) {
+                    loteEnCurso = leerPendientes();
+                    if (loteEnCurso.isEmpty()) {
+                        loteEnCurso = null;
+                        break;
+                    }
+                }
+                if (!entregar(loteEnCurso)) {
+                    break;
+                }
+                loteEnCurso = null;
+            }
+            actualizarTasa();
+            limpiarSiCorresponde();
+        } finally {
+            ejecutando.set(false);
+        }
+    }
+    
+    // Mayor id W tal que todo evento <= W ya se despachó en esta instancia o faltó más que el margen: leer el
+    // outbox hasta W no saltea transacciones que todavía no confirmaron (ver /api/sync)
+    public long getCursorConfirmado() {
+        return cursor().valor(System.nanoTime());
+    }
+    
+    // Los suscriptores se cargan al arrancar desde la base; se reentrega lo registrado desde un margen antes del
+    // arranque para cubrir transacciones de otras instancias que confirmaron después de esa carga
+    private CursorSeguro cursor() {
+        CursorSeguro actual = cursor;
+        if (actual == null) {
+            synchronized (this) {
+                if (cursor == null) {
+                    Long maximo = eventoOutboxRepository.findMaxIdRegistradoAntesDe(arranque.minus(margenSeguridad));
+                    cursor = new CursorSeguro(maximo != null ? maximo : 0, margenSeguridad.toNanos());
+                }
+                actual = cursor;
+            }
+        }
+        return actual;
+    }
+    
+    // Primero los huecos que pudieron confirmarse desde el ciclo anterior y después los ids nuevos
+    private List<EventoCambio> leerPendientes() {
+        cursor().valor(System.nanoTime());
+        List<EventoOutbox> pendientes = new ArrayList<>();
+        List<Long> huecos = cursor().huecos(tamanoLote);
+        if (!huecos.isEmpty()) {
+            pendientes.addAll(eventoOutboxRepository.findByIdInOrderByIdAsc(huecos));
+        }
+        pendientes.addAll(eventoOutboxRepository.findByIdGreaterThanOrderByIdAsc(cursor().getMaximoVisto(),
+            PageRequest.of(0, tamanoLote)));
+        List<EventoCambio> eventos = new ArrayList<>(pendientes.size());
+        for (EventoOutbox pendiente : pendientes) {
+            eventos.add(EventoCambio.de(pendiente));
+        }
+        return List.copyOf(eventos);
+    }
+    
+    private boolean entregar(List<EventoCambio> lote) {
+        long primerId = lote.get(0).id();
+        boolean completo = true;
+        for (SuscriptorCambios suscriptor : suscriptores.orderedStream().toList()) {
+            if (terminados.contains(suscriptor)) {
+                continue;
+            }
+            try {
+                suscriptor.alCambiar(lote);
+                terminados.add(suscriptor);
+            } catch (RuntimeException ex) {
+                fallosEntrega.increment();
+                int intentos = intentosFallidos.merge(suscriptor, 1, Integer::sum);
+                if (intentos < reintentosMaximos) {
+                    log.warn("Falló la entrega del lote desde el evento {} a {}; se reintentará",
+                        primerId, suscriptor.getClass().getSimpleName(), ex);
+                    completo = false;
+                    continue;
+                }
+                // Un suscriptor que falla siempre no puede frenar a los demás indefinidamente
+                log.error("Se descarta el lote desde el evento {} para {} tras {} intentos",
+                    primerId, suscriptor.getClass().getSimpleName(), intentos, ex);
+                descartados.add(lote.size());
+                terminados.add(suscriptor);
+            }
+        }
+        if (!completo) {
+            return false;
+        }
+        
+        long ahora = System.nanoTime();
+        for (EventoCambio evento : lote) {
+            cursor().registrar(evento.id(), ahora);
+        }
+        terminados.clear();
+        intentosFallidos.clear();
+        despachados.add(lote.size());
+        lotes.increment();
+        demoraUltimoLoteMs = Duration.between(lote.get(0).registradoEn(), Instant.now()).toMillis();
+        return true;
+    }
+    
+    private void actualizarTasa() {
+        long ahora = System.nanoTime();
+        long transcurrido = ahora - inicioVentanaNanos;
+        if (transcurrido >= TimeUnit.MINUTES.toNanos(1)) {
+            long total = despachados.sum();
+            despachadosPorSegundo = (total - despachadosAlInicioVentana) / (transcurrido / 1e9);
+            despachadosAlInicioVentana = total;
+            inicioVentanaNanos = ahora;
+        }
+    }
+    
+    private void limpiarSiCorresponde() {
+        long ahora = System.nanoTime();
+        if (ahora - proximaLimpiezaNanos < 0) {
+            return;
+        }
+        proximaLimpiezaNanos = ahora + TimeUnit.MINUTES.toNanos(10);
+        Instant limite = Instant.now().minus(retencion);
+        Integer eliminados = transactionTemplate.execute(
+            estado -> eventoOutboxRepository.eliminarAnterioresA(limite));
+        if (eliminados != null && eliminados > 0) {
+            log.info("Se eliminaron {} eventos del outbox fuera de la retención", eliminados);
+        }
+    }
+    
+    public Map<String, Object> obtenerEstadisticas() {
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("publicados", publicadorEventos.getPublicados());
+        estadisticas.put("despachados", despachados.sum());
+        estadisticas.put("lotes", lotes.sum());
+        estadisticas.put("fallosEntrega", fallosEntrega.sum());
+        estadisticas.put("descartados", descartados.sum());
+        CursorSeguro actual = cursor;
+        if (actual != null) {
+            estadisticas.put("ultimoIdDespachado", actual.getMaximoVisto());
+            estadisticas.put("pendientes", eventoOutboxRepository.countByIdGreaterThan(actual.getMaximoVisto()));
+            estadisticas.put("huecosAbiertos", actual.getHuecosAbiertos());
+        }
+        estadisticas.put("despachadosPorSegundo", despachadosPorSegundo);
+        estadisticas.put("demoraUltimoLoteMs", demoraUltimoLoteMs);
+        return estadisticas;
+    }
+}
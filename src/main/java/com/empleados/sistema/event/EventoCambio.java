@@ -0,0 +1,17 @@
+package com.empleados.sistema.event;
+
+import com.empleados.sistema.model.EventoOutbox;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+
+import java.time.Instant;
+
+// Vista inmutable de un evento del outbox que se entrega a los suscriptores
+public record EventoCambio(long id, TipoEntidad tipoEntidad, Long entidadId, TipoCambio tipoCambio,
+                           Long relacionadoId, Instant registradoEn) {
+    
+    public static EventoCambio de(EventoOutbox evento) {
+        return new EventoCambio(evento.getId(), evento.getTipoEntidad(), evento.getEntidadId(),
+            evento.getTipoCambio(), evento.getRelacionadoId(), evento.getRegistradoEn());
+    }
+}
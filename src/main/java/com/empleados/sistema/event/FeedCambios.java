@@ -0,0 +1,283 @@
+package com.empleados.sistema.event;
+
+import com.empleados.sistema.model.Departamento;
+import com.empleados.sistema.model.Empleado;
+import com.empleados.sistema.model.EventoOutbox;
+import com.empleados.sistema.model.Proyecto;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import com.empleados.sistema.repository.EventoOutboxRepository;
+import com.empleados.sistema.repository.ProyeccionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Feed de cambios para /api/cambios. Es un único suscriptor del bus que serializa cada evento una vez
+// y lo reparte a todas las conexiones; las reconexiones se ponen al día leyendo el outbox por cursor.
+// El cursor que ve el cliente es el de CursorSeguro, no el id del evento, porque los ids no se confirman en orden.
+@Component
+public class FeedCambios implements SuscriptorCambios, SmartInitializingSingleton {
+    
+    private static final Logger log = LoggerFactory.getLogger(FeedCambios.class);
+    private static final int TAMANO_PAGINA = 500;
+    
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final EmpleadoRepository empleadoRepository;
+    private final ProyeccionRepository proyeccionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final int maxPendientes;
+    private final long margenNanos;
+    
+    private final Set<SuscripcionFeed> suscripciones = ConcurrentHashMap.newKeySet();
+    private final ExecutorService envio;
+    private final ExecutorService reproduccion;
+    private final AtomicLong ultimoIdVisto = new AtomicLong();
+    private volatile CursorSeguro cursorSeguro;
+    private final AtomicLong instantaneasEnviadas = new AtomicLong();
+    private final AtomicLong desconexionesPorLentitud = new AtomicLong();
+    private final MarcoFeed latidoSse = new MarcoFeed(0, null, ": ping\n\n".getBytes(StandardCharsets.UTF_8),
+        "{\"tipo\":\"ping\"}\n".getBytes(StandardCharsets.UTF_8));
+    
+    public FeedCambios(EventoOutboxRepository eventoOutboxRepository,
+                       EmpleadoRepository empleadoRepository,
+                       ProyeccionRepository proyeccionRepository,
+                       TransactionTemplate transactionTemplate,
+                       ObjectMapper objectMapper,
+                       @Value("${cambios.timeout-ms:1800000}") long timeoutMs,
+                       @Value("${cambios.max-pendientes:10000}") int maxPendientes,
+                       @Value("${cambios.margen-seguridad-ms:60000}") long margenSeguridadMs,
+                       @Value("${cambios.hilos-envio:4}") int hilosEnvio,
+                       @Value("${cambios.hilos-reproduccion:4}") int hilosReproduccion) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.empleadoRepository = empleadoRepository;
+        this.proyeccionRepository = proyeccionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.maxPendientes = maxPendientes;
+        this.margenNanos = TimeUnit.MILLISECONDS.toNanos(margenSeguridadMs);
+        this.envio = Executors.newFixedThreadPool(hilosEnvio);
+        this.reproduccion = Executors.newFixedThreadPool(hilosReproduccion);
+    }
+    
+    // Al arrancar no hay transacciones en curso: todo lo que está en el outbox ya está confirmado
+    @Override
+    public void afterSingletonsInstantiated() {
+        Long maximo = eventoOutboxRepository.findMaxId();
+        cursorSeguro = new CursorSeguro(maximo != null ? maximo : 0, margenNanos);
+    }
+    
+    @PreDestroy
+    public void detener() {
+        suscripciones.forEach(SuscripcionFeed::cerrar);
+        envio.shutdownNow();
+        reproduccion.shutdownNow();
+    }
+    
+    // Nueva conexión: sin cursor o con un hueco (eventos ya purgados) recibe una instantánea y luego el delta
+    public ResponseBodyEmitter suscribir(Long desde, Set<TipoEntidad> tipos, FormatoFeed formato) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMs);
+        SuscripcionFeed suscripcion = new SuscripcionFeed(emitter, formato, tipos, maxPendientes);
+        emitter.onCompletion(() -> suscripciones.remove(suscripcion));
+        emitter.onTimeout(suscripcion::cerrar);
+        emitter.onError(ex -> suscripcion.cerrar());
+        // Se registra antes de leer el historial para no perder lo que llegue mientras tanto
+        suscripciones.add(suscripcion);
+        reproduccion.execute(() -> ponerAlDia(suscripcion, desde));
+        return emitter;
+    }
+    
+    @Override
+    public void alCambiar(List<EventoCambio> eventos) {
+        long ahora = System.nanoTime();
+        for (EventoCambio evento : eventos) {
+            ultimoIdVisto.accumulateAndGet(evento.id(), Math::max);
+            cursorSeguro.registrar(evento.id(), ahora);
+        }
+        if (suscripciones.isEmpty()) {
+            return;
+        }
+        long seguro = cursorSeguro.valor(ahora);
+        List<MarcoFeed> marcos = new ArrayList<>(eventos.size());
+        for (EventoCambio evento : eventos) {
+            marcos.add(marcoCambio(evento, seguro));
+        }
+        for (SuscripcionFeed suscripcion : suscripciones) {
+            for (MarcoFeed marco : marcos) {
+                suscripcion.encolar(marco, envio);
+            }
+            if (suscripcion.isCerrada()) {
+                desconexionesPorLentitud.incrementAndGet();
+            }
+        }
+    }
+    
+    // Mantiene viva la conexión a través de proxies y detecta clientes caídos
+    @Scheduled(fixedDelayString = "${cambios.latido-ms:15000}")
+    public void enviarLatidos() {
+        for (SuscripcionFeed suscripcion : suscripciones) {
+            suscripcion.encolar(latidoSse, envio);
+        }
+    }
+    
+    public Map<String, Object> obtenerEstadisticas() {
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("suscriptores", suscripciones.size());
+        estadisticas.put("pendientes", suscripciones.stream().mapToInt(SuscripcionFeed::getPendientes).sum());
+        estadisticas.put("ultimoId", ultimoIdVisto.get());
+        estadisticas.put("cursorSeguro", cursorSeguro.valor(System.nanoTime()));
+        estadisticas.put("huecosAbiertos", cursorSeguro.getHuecosAbiertos());
+        estadisticas.put("instantaneasEnviadas", instantaneasEnviadas.get());
+        estadisticas.put("desconexionesPorLentitud", desconexionesPorLentitud.get());
+        return estadisticas;
+    }
+    
+    private void ponerAlDia(SuscripcionFeed suscripcion, Long desde) {
+        try {
+            long cursor;
+            if (hayHueco(desde)) {
+                // El corte se toma antes de leer: lo que cambie durante la instantánea llega como delta.
+                // Con el cursor seguro, un id menor que todavía no se confirmó tampoco queda fuera
+                cursor = cursorSeguro.valor(System.nanoTime());
+                enviarInstantanea(suscripcion, cursor);
+                instantaneasEnviadas.incrementAndGet();
+            } else {
+                cursor = desde;
+            }
+            
+            suscripcion.reproducirDesde(cursor);
+            List<EventoOutbox> pagina;
+            do {
+                pagina = eventoOutboxRepository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, TAMANO_PAGINA));
+                long seguro = cursorSeguro.valor(System.nanoTime());
+                for (EventoOutbox evento : pagina) {
+                    suscripcion.enviarDirecto(marcoCambio(EventoCambio.de(evento), seguro));
+                    cursor = evento.getId();
+                }
+            } while (pagina.size() == TAMANO_PAGINA && !suscripcion.isCerrada());
+            
+            suscripcion.pasarAEnVivo(envio);
+        } catch (IOException | IllegalStateException ex) {
+            suscripcion.cerrar();
+        } catch (RuntimeException ex) {
+            log.error("Error poniendo al día una suscripción al feed de cambios", ex);
+            suscripcion.getEmitter().completeWithError(ex);
+        }
+    }
+    
+    private boolean hayHueco(Long desde) {
+        if (desde == null) {
+            return true;
+        }
+        Long minimo = eventoOutboxRepository.findMinId();
+        if (minimo == null) {
+            return desde < ultimoIdVisto.get();
+        }
+        // Conservador: un id faltante por una transacción revertida también provoca instantánea
+        return desde < minimo - 1;
+    }
+    
+    private void enviarInstantanea(SuscripcionFeed suscripcion, long cursor) throws IOException {
+        enviarEntidades(suscripcion, TipoEntidad.DEPARTAMENTO, Departamento.class);
+        enviarEntidades(suscripcion, TipoEntidad.PROYECTO, Proyecto.class);
+        enviarEntidades(suscripcion, TipoEntidad.EMPLEADO, Empleado.class);
+        
+        Map<String, Object> fin = new LinkedHashMap<>();
+        fin.put("tipo", "snapshot-fin");
+        fin.put("cursor", cursor);
+        String json = json(fin);
+        suscripcion.enviarDirecto(new MarcoFeed(cursor, null,
+            bytes("id: " + cursor + "\nevent: snapshot-fin\ndata: " + json + "\n\n"), bytes(json + "\n")));
+    }
+    
+    private void enviarEntidades(SuscripcionFeed suscripcion, TipoEntidad tipo, Class<?> entidad) throws IOException {
+        if (!suscripcion.acepta(tipo)) {
+            return;
+        }
+        long despuesDe = 0;
+        List<Map<String, Object>> pagina;
+        do {
+            long desdeId = despuesDe;
+            pagina = transactionTemplate.execute(estado -> {
+                List<Map<String, Object>> filas = proyeccionRepository.buscarPaginaCompleta(entidad, desdeId, TAMANO_PAGINA);
+                if (tipo == TipoEntidad.EMPLEADO && !filas.isEmpty()) {
+                    agregarProyectos(filas);
+                }
+                return filas;
+            });
+            for (Map<String, Object> fila : pagina) {
+                Map<String, Object> mensaje = new LinkedHashMap<>();
+                mensaje.put("tipo", "snapshot");
+                mensaje.put("tipoEntidad", tipo);
+                mensaje.put("datos", fila);
+                String json = json(mensaje);
+                // Sin id: el cursor solo avanza con snapshot-fin
+                suscripcion.enviarDirecto(new MarcoFeed(0, tipo,
+                    bytes("event: snapshot\ndata: " + json + "\n\n"), bytes(json + "\n")));
+                despuesDe = ((Number) fila.get("id")).longValue();
+            }
+        } while (pagina.size() == TAMANO_PAGINA && !suscripcion.isCerrada());
+    }
+    
+    private void agregarProyectos(List<Map<String, Object>> empleados) {
+        List<Long> ids = new ArrayList<>(empleados.size());
+        for (Map<String, Object> empleado : empleados) {
+            ids.add(((Number) empleado.get("id")).longValue());
+        }
+        Map<Long, List<Long>> proyectosPorEmpleado = new HashMap<>();
+        for (Object[] par : empleadoRepository.findAsignacionesByEmpleadoIds(ids)) {
+            proyectosPorEmpleado.computeIfAbsent((Long) par[0], k -> new ArrayList<>()).add((Long) par[1]);
+        }
+        for (Map<String, Object> empleado : empleados) {
+            empleado.put("proyectoIds", proyectosPorEmpleado.getOrDefault(((Number) empleado.get("id")).longValue(), List.of()));
+        }
+    }
+    
+    // El cursor de reanudación de cada evento no pasa de su propio id ni del cursor seguro; el id real
+    // viaja dentro del evento para que el cliente descarte repetidos
+    private MarcoFeed marcoCambio(EventoCambio evento, long seguro) {
+        long reanudacion = Math.min(evento.id(), seguro);
+        String datos = json(evento);
+        String linea = "{\"tipo\":\"cambio\",\"cursor\":" + reanudacion + ",\"evento\":" + datos + "}\n";
+        return new MarcoFeed(evento.id(), evento.tipoEntidad(),
+            bytes("id: " + reanudacion + "\nevent: cambio\ndata: " + datos + "\n\n"), bytes(linea));
+    }
+    
+    private String json(Object valor) {
+        try {
+            return objectMapper.writeValueAsString(valor);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+}
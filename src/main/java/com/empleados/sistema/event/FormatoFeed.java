@@ -0,0 +1,6 @@
+package com.empleados.sistema.event;
+
+public enum FormatoFeed {
+    SSE,
+    NDJSON
+}
@@ -0,0 +1,11 @@
+package com.empleados.sistema.event;
+
+import com.empleados.sistema.model.TipoEntidad;
+
+// Un mensaje del feed ya serializado en ambos formatos; se comparte entre todos los suscriptores
+record MarcoFeed(long id, TipoEntidad tipoEntidad, byte[] sse, byte[] ndjson) {
+    
+    byte[] bytes(FormatoFeed formato) {
+        return formato == FormatoFeed.SSE ? sse : ndjson;
+    }
+}
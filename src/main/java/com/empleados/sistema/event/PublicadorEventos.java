@@ -0,0 +1,48 @@
+package com.empleados.sistema.event;
+
+import com.empleados.sistema.model.EventoOutbox;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.EventoOutboxRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// Registra cambios en el outbox; exige la transacción del cambio para que ambos se confirmen juntos
+@Component
+public class PublicadorEventos {
+    
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final LongAdder publicados = new LongAdder();
+    
+    public PublicadorEventos(EventoOutboxRepository eventoOutboxRepository) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publicar(TipoEntidad tipoEntidad, Long entidadId, TipoCambio tipoCambio) {
+        publicar(tipoEntidad, entidadId, tipoCambio, null);
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publicar(TipoEntidad tipoEntidad, Long entidadId, TipoCambio tipoCambio, Long relacionadoId) {
+        eventoOutboxRepository.save(new EventoOutbox(tipoEntidad, entidadId, tipoCambio, relacionadoId));
+        publicados.increment();
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publicarTodos(List<EventoOutbox> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        eventoOutboxRepository.saveAll(eventos);
+        publicados.add(eventos.size());
+    }
+    
+    public long getPublicados() {
+        return publicados.sum();
+    }
+}
@@ -0,0 +1,162 @@
+package com.empleados.sistema.event;
+
+import com.empleados.sistema.model.TipoEntidad;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Un cliente conectado al feed. Mientras se reproduce el historial los mensajes en vivo se acumulan;
+// luego se envían desde una cola propia para que un cliente lento no frene al resto. Al pasar a vivo se
+// descartan solo los ids que la reproducción ya envió: un id menor confirmado tarde sigue llegando.
+final class SuscripcionFeed {
+    
+    private final ResponseBodyEmitter emitter;
+    private final FormatoFeed formato;
+    private final Set<TipoEntidad> tipos;
+    private final int maxPendientes;
+    
+    private final ConcurrentLinkedQueue<MarcoFeed> cola = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendientes = new AtomicInteger();
+    private final AtomicBoolean enviando = new AtomicBoolean();
+    private volatile boolean cerrada;
+    
+    private List<MarcoFeed> enEspera = new ArrayList<>();
+    private boolean enVivo;
+    // Ids enviados durante la reproducción, relativos al cursor desde el que empezó (un bit por id)
+    private long baseReproduccion;
+    private BitSet enviadosEnReproduccion = new BitSet();
+    
+    SuscripcionFeed(ResponseBodyEmitter emitter, FormatoFeed formato, Set<TipoEntidad> tipos, int maxPendientes) {
+        this.emitter = emitter;
+        this.formato = formato;
+        this.tipos = tipos;
+        this.maxPendientes = maxPendientes;
+    }
+    
+    ResponseBodyEmitter getEmitter() {
+        return emitter;
+    }
+    
+    FormatoFeed getFormato() {
+        return formato;
+    }
+    
+    boolean isCerrada() {
+        return cerrada;
+    }
+    
+    int getPendientes() {
+        return pendientes.get();
+    }
+    
+    boolean acepta(TipoEntidad tipoEntidad) {
+        return tipoEntidad == null || tipos.isEmpty() || tipos.contains(tipoEntidad);
+    }
+    
+    void encolar(MarcoFeed marco, Executor envio) {
+        if (cerrada || !acepta(marco.tipoEntidad())) {
+            return;
+        }
+        synchronized (this) {
+            if (!enVivo) {
+                if (marco.id() <= 0) {
+                    return;
+                }
+                if (enEspera.size() >= maxPendientes) {
+                    cerrar();
+                } else {
+                    enEspera.add(marco);
+                }
+                return;
+            }
+        }
+        // Un cliente que no consume se desconecta; al reconectar retoma desde su cursor
+        if (pendientes.incrementAndGet() > maxPendientes) {
+            cerrar();
+            return;
+        }
+        cola.add(marco);
+        programar(envio);
+    }
+    
+    // reproducirDesde, enviarDirecto y pasarAEnVivo solo se llaman desde el hilo que reproduce el historial
+    
+    void reproducirDesde(long cursor) {
+        baseReproduccion = cursor;
+    }
+    
+    void enviarDirecto(MarcoFeed marco) throws IOException {
+        if (!cerrada && acepta(marco.tipoEntidad())) {
+            escribir(marco);
+        }
+        long posicion = marco.id() - baseReproduccion;
+        if (enviadosEnReproduccion != null && posicion > 0 && posicion <= Integer.MAX_VALUE) {
+            enviadosEnReproduccion.set((int) posicion);
+        }
+    }
+    
+    void pasarAEnVivo(Executor envio) {
+        synchronized (this) {
+            for (MarcoFeed marco : enEspera) {
+                // Lo ya enviado durante la reproducción no se repite
+                if (!enviadoEnReproduccion(marco.id())) {
+                    pendientes.incrementAndGet();
+                    cola.add(marco);
+                }
+            }
+            enEspera = null;
+            enviadosEnReproduccion = null;
+            enVivo = true;
+        }
+        programar(envio);
+    }
+    
+    private boolean enviadoEnReproduccion(long id) {
+        long posicion = id - baseReproduccion;
+        return posicion > 0 && posicion <= Integer.MAX_VALUE && enviadosEnReproduccion.get((int) posicion);
+    }
+    
+    void cerrar() {
+        if (!cerrada) {
+            cerrada = true;
+            cola.clear();
+            emitter.complete();
+        }
+    }
+    
+    private void programar(Executor envio) {
+        if (!cola.isEmpty() && enviando.compareAndSet(false, true)) {
+            envio.execute(this::vaciar);
+        }
+    }
+    
+    private void vaciar() {
+        do {
+            try {
+                MarcoFeed marco;
+                while (!cerrada && (marco = cola.poll()) != null) {
+                    pendientes.decrementAndGet();
+                    escribir(marco);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Cliente desconectado
+                cerrar();
+            } finally {
+                enviando.set(false);
+            }
+        } while (!cerrada && !cola.isEmpty() && enviando.compareAndSet(false, true));
+    }
+    
+    private void escribir(MarcoFeed marco) throws IOException {
+        emitter.send(marco.bytes(formato), MediaType.APPLICATION_OCTET_STREAM);
+    }
+}
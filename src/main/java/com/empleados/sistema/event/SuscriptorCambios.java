@@ -0,0 +1,10 @@
+package com.empleados.sistema.event;
+
+import java.util.List;
+
+// Consumidor en proceso de los cambios confirmados. La entrega es al menos una vez y en orden de
+// registro, así que la implementación debe ser idempotente; si lanza una excepción el lote se reintenta.
+public interface SuscriptorCambios {
+    
+    void alCambiar(List<EventoCambio> eventos);
+}
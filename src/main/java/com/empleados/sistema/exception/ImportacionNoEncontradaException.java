@@ -0,0 +1,12 @@
+package com.empleados.sistema.exception;
+
+public class ImportacionNoEncontradaException extends RuntimeException {
+    
+    public ImportacionNoEncontradaException(String mensaje) {
+        super(mensaje);
+    }
+    
+    public ImportacionNoEncontradaException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
@@ -0,0 +1,8 @@
+package com.empleados.sistema.exception;
+
+public class IndiceNoDisponibleException extends RuntimeException {
+    
+    public IndiceNoDisponibleException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -0,0 +1,12 @@
+package com.empleados.sistema.exception;
+
+public class PlazoVencidoException extends RuntimeException {
+    
+    public PlazoVencidoException(String mensaje) {
+        super(mensaje);
+    }
+    
+    public PlazoVencidoException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
@@ -0,0 +1,330 @@
+package com.empleados.sistema.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+// Grafo bipartito empleado <-> proyecto en formato CSR (filas comprimidas) sobre arreglos de int.
+// Los ids se traducen a índices densos por búsqueda binaria; dos empleados son compañeros si comparten
+// un proyecto. Es inmutable: los cambios producen un grafo nuevo.
+public final class GrafoColaboracion {
+    
+    private static final int[] SIN_NODOS = new int[0];
+    
+    private final long[] empleadoIds;
+    private final long[] proyectoIds;
+    // Proyectos del empleado i: proyectosDe[inicioProyectos[i] .. inicioProyectos[i + 1])
+    private final int[] inicioProyectos;
+    private final int[] proyectosDe;
+    // Empleados del proyecto p: empleadosDe[inicioEmpleados[p] .. inicioEmpleados[p + 1])
+    private final int[] inicioEmpleados;
+    private final int[] empleadosDe;
+    
+    private GrafoColaboracion(long[] empleadoIds, long[] proyectoIds, int[] inicioProyectos, int[] proyectosDe,
+                              int[] inicioEmpleados, int[] empleadosDe) {
+        this.empleadoIds = empleadoIds;
+        this.proyectoIds = proyectoIds;
+        this.inicioProyectos = inicioProyectos;
+        this.proyectosDe = proyectosDe;
+        this.inicioEmpleados = inicioEmpleados;
+        this.empleadosDe = empleadosDe;
+    }
+    
+    public static GrafoColaboracion vacio() {
+        return construir(new long[0], new long[0], 0);
+    }
+    
+    // Pares (empleados[i], proyectos[i]) para i en [0, cantidad), sin repetidos
+    public static GrafoColaboracion construir(long[] empleados, long[] proyectos, int cantidad) {
+        long[] empleadoIds = distintosOrdenados(empleados, cantidad);
+        long[] proyectoIds = distintosOrdenados(proyectos, cantidad);
+        int[] origen = new int[cantidad];
+        int[] destino = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            origen[i] = Arrays.binarySearch(empleadoIds, empleados[i]);
+            destino[i] = Arrays.binarySearch(proyectoIds, proyectos[i]);
+        }
+        int[] inicioProyectos = new int[empleadoIds.length + 1];
+        int[] proyectosDe = new int[cantidad];
+        filas(origen, destino, cantidad, inicioProyectos, proyectosDe);
+        int[] inicioEmpleados = new int[proyectoIds.length + 1];
+        int[] empleadosDe = new int[cantidad];
+        filas(destino, origen, cantidad, inicioEmpleados, empleadosDe);
+        return new GrafoColaboracion(empleadoIds, proyectoIds, inicioProyectos, proyectosDe, inicioEmpleados, empleadosDe);
+    }
+    
+    // Reemplaza los proyectos de los empleados indicados (vacío = sin asignaciones) y quita los proyectos eliminados
+    public GrafoColaboracion conCambios(Map<Long, long[]> proyectosPorEmpleado, Set<Long> proyectosEliminados) {
+        int capacidad = proyectosDe.length;
+        for (long[] nuevos : proyectosPorEmpleado.values()) {
+            capacidad += nuevos.length;
+        }
+        long[] empleados = new long[capacidad];
+        long[] proyectos = new long[capacidad];
+        int cantidad = 0;
+        for (int i = 0; i < empleadoIds.length; i++) {
+            if (proyectosPorEmpleado.containsKey(empleadoIds[i])) {
+                continue;
+            }
+            for (int j = inicioProyectos[i]; j < inicioProyectos[i + 1]; j++) {
+                long proyectoId = proyectoIds[proyectosDe[j]];
+                if (!proyectosEliminados.contains(proyectoId)) {
+                    empleados[cantidad] = empleadoIds[i];
+                    proyectos[cantidad++] = proyectoId;
+                }
+            }
+        }
+        for (Map.Entry<Long, long[]> entrada : proyectosPorEmpleado.entrySet()) {
+            for (long proyectoId : entrada.getValue()) {
+                if (!proyectosEliminados.contains(proyectoId)) {
+                    empleados[cantidad] = entrada.getKey();
+                    proyectos[cantidad++] = proyectoId;
+                }
+            }
+        }
+        return construir(empleados, proyectos, cantidad);
+    }
+    
+    public int getTotalEmpleados() {
+        return empleadoIds.length;
+    }
+    
+    public int getTotalProyectos() {
+        return proyectoIds.length;
+    }
+    
+    public int getTotalAsignaciones() {
+        return proyectosDe.length;
+    }
+    
+    public long getBytesEstimados() {
+        return 8L * (empleadoIds.length + proyectoIds.length)
+            + 4L * (inicioProyectos.length + proyectosDe.length + inicioEmpleados.length + empleadosDe.length);
+    }
+    
+    // Un empleado sin proyectos no forma parte del grafo
+    public boolean contieneEmpleado(long empleadoId) {
+        return Arrays.binarySearch(empleadoIds, empleadoId) >= 0;
+    }
+    
+    // Empleados a lo sumo a "saltos" proyectos compartidos del origen, por distancia y luego id.
+    // Los niveles con al menos "umbralParalelo" empleados se expanden en paralelo en el pool.
+    public Alcance alcance(long empleadoId, int saltos, int limite, long plazoNanos,
+                           ForkJoinPool pool, int umbralParalelo) {
+        int origen = Arrays.binarySearch(empleadoIds, empleadoId);
+        if (origen < 0) {
+            return new Alcance(new long[0], new int[0], false);
+        }
+        Recorrido recorrido = new Recorrido(plazoNanos, false);
+        recorrido.empleados.marcar(origen);
+        List<int[]> niveles = new ArrayList<>();
+        int total = 0;
+        boolean truncado = false;
+        int[] frontera = {origen};
+        for (int nivel = 1; nivel <= saltos && frontera.length > 0; nivel++) {
+            frontera = expandir(frontera, recorrido, pool, umbralParalelo);
+            Arrays.sort(frontera);
+            niveles.add(frontera);
+            total += frontera.length;
+            if (recorrido.vencido.get() || total >= limite) {
+                truncado = recorrido.vencido.get() || total > limite || (nivel < saltos && hayMas(frontera, recorrido));
+                break;
+            }
+        }
+        int cantidad = Math.min(total, limite);
+        long[] ids = new long[cantidad];
+        int[] distancias = new int[cantidad];
+        int escritos = 0;
+        for (int nivel = 0; nivel < niveles.size() && escritos < cantidad; nivel++) {
+            for (int indice : niveles.get(nivel)) {
+                if (escritos == cantidad) {
+                    break;
+                }
+                ids[escritos] = empleadoIds[indice];
+                distancias[escritos++] = nivel + 1;
+            }
+        }
+        return new Alcance(ids, distancias, truncado);
+    }
+    
+    // Camino más corto entre dos empleados alternando empleado -> proyecto compartido -> empleado.
+    // Devuelve null si no hay camino de a lo sumo "maxSaltos" proyectos (o si se agotó el plazo).
+    public Camino caminoMasCorto(long origenId, long destinoId, int maxSaltos, long plazoNanos,
+                                 ForkJoinPool pool, int umbralParalelo) {
+        int origen = Arrays.binarySearch(empleadoIds, origenId);
+        int destino = Arrays.binarySearch(empleadoIds, destinoId);
+        if (origen < 0 || destino < 0) {
+            return null;
+        }
+        if (origen == destino) {
+            return new Camino(new long[]{origenId}, new long[0], false);
+        }
+        Recorrido recorrido = new Recorrido(plazoNanos, true);
+        recorrido.empleados.marcar(origen);
+        int[] frontera = {origen};
+        for (int nivel = 1; nivel <= maxSaltos && frontera.length > 0; nivel++) {
+            frontera = expandir(frontera, recorrido, pool, umbralParalelo);
+            if (recorrido.empleados.contiene(destino)) {
+                return reconstruir(origen, destino, nivel, recorrido);
+            }
+            if (recorrido.vencido.get()) {
+                return new Camino(new long[0], new long[0], true);
+            }
+        }
+        return null;
+    }
+    
+    private Camino reconstruir(int origen, int destino, int saltos, Recorrido recorrido) {
+        long[] empleados = new long[saltos + 1];
+        long[] proyectos = new long[saltos];
+        int actual = destino;
+        empleados[saltos] = empleadoIds[destino];
+        for (int i = saltos - 1; i >= 0; i--) {
+            int proyecto = recorrido.padreEmpleado[actual];
+            actual = recorrido.padreProyecto[proyecto];
+            proyectos[i] = proyectoIds[proyecto];
+            empleados[i] = empleadoIds[actual];
+        }
+        return new Camino(empleados, proyectos, false);
+    }
+    
+    // Un nivel del recorrido en anchura. Cada proyecto se expande una sola vez y cada empleado se
+    // reclama de forma atómica, así que los hilos no se pisan ni repiten nodos.
+    private int[] expandir(int[] frontera, Recorrido recorrido, ForkJoinPool pool, int umbralParalelo) {
+        if (pool != null && frontera.length >= umbralParalelo) {
+            return pool.submit(() -> IntStream.of(frontera).parallel()
+                .flatMap(empleado -> IntStream.of(vecinos(empleado, recorrido)))
+                .toArray()).join();
+        }
+        return IntStream.of(frontera).flatMap(empleado -> IntStream.of(vecinos(empleado, recorrido))).toArray();
+    }
+    
+    private int[] vecinos(int empleado, Recorrido recorrido) {
+        if (System.nanoTime() - recorrido.limite > 0) {
+            recorrido.vencido.set(true);
+            return SIN_NODOS;
+        }
+        int[] nuevos = SIN_NODOS;
+        int cantidad = 0;
+        for (int j = inicioProyectos[empleado]; j < inicioProyectos[empleado + 1]; j++) {
+            int proyecto = proyectosDe[j];
+            if (!recorrido.proyectos.marcar(proyecto)) {
+                continue;
+            }
+            if (recorrido.padreProyecto != null) {
+                recorrido.padreProyecto[proyecto] = empleado;
+            }
+            for (int k = inicioEmpleados[proyecto]; k < inicioEmpleados[proyecto + 1]; k++) {
+                int companero = empleadosDe[k];
+                if (recorrido.empleados.marcar(companero)) {
+                    if (recorrido.padreEmpleado != null) {
+                        recorrido.padreEmpleado[companero] = proyecto;
+                    }
+                    if (cantidad == nuevos.length) {
+                        nuevos = Arrays.copyOf(nuevos, Math.max(8, cantidad * 2));
+                    }
+                    nuevos[cantidad++] = companero;
+                }
+            }
+        }
+        return cantidad == nuevos.length ? nuevos : Arrays.copyOf(nuevos, cantidad);
+    }
+    
+    // ¿Queda algún proyecto sin visitar desde el último nivel? Solo se usa para informar truncado
+    private boolean hayMas(int[] frontera, Recorrido recorrido) {
+        for (int empleado : frontera) {
+            for (int j = inicioProyectos[empleado]; j < inicioProyectos[empleado + 1]; j++) {
+                if (!recorrido.proyectos.contiene(proyectosDe[j])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private static void filas(int[] origen, int[] destino, int cantidad, int[] inicio, int[] adyacentes) {
+        for (int i = 0; i < cantidad; i++) {
+            inicio[origen[i] + 1]++;
+        }
+        for (int i = 1; i < inicio.length; i++) {
+            inicio[i] += inicio[i - 1];
+        }
+        int[] siguiente = Arrays.copyOf(inicio, inicio.length - 1);
+        for (int i = 0; i < cantidad; i++) {
+            adyacentes[siguiente[origen[i]]++] = destino[i];
+        }
+        for (int i = 0; i + 1 < inicio.length; i++) {
+            Arrays.sort(adyacentes, inicio[i], inicio[i + 1]);
+        }
+    }
+    
+    private static long[] distintosOrdenados(long[] valores, int cantidad) {
+        long[] copia = Arrays.copyOf(valores, cantidad);
+        Arrays.sort(copia);
+        int distintos = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (i == 0 || copia[i] != copia[i - 1]) {
+                copia[distintos++] = copia[i];
+            }
+        }
+        return Arrays.copyOf(copia, distintos);
+    }
+    
+    // Estado de un recorrido: marcas atómicas de visitados y, para caminos, de dónde se llegó a cada nodo
+    private final class Recorrido {
+        
+        private final MarcasAtomicas empleados = new MarcasAtomicas(empleadoIds.length);
+        private final MarcasAtomicas proyectos = new MarcasAtomicas(proyectoIds.length);
+        private final int[] padreEmpleado;
+        private final int[] padreProyecto;
+        private final long limite;
+        private final AtomicBoolean vencido = new AtomicBoolean();
+        
+        private Recorrido(long plazoNanos, boolean conPadres) {
+            this.limite = System.nanoTime() + plazoNanos;
+            this.padreEmpleado = conPadres ? new int[empleadoIds.length] : null;
+            this.padreProyecto = conPadres ? new int[proyectoIds.length] : null;
+        }
+    }
+    
+    private static final class MarcasAtomicas {
+        
+        private final AtomicLongArray palabras;
+        
+        private MarcasAtomicas(int tamano) {
+            this.palabras = new AtomicLongArray((tamano + 63) >>> 6);
+        }
+        
+        // true si este llamador fue quien la marcó
+        private boolean marcar(int indice) {
+            int palabra = indice >>> 6;
+            long bit = 1L << indice;
+            while (true) {
+                long actual = palabras.get(palabra);
+                if ((actual & bit) != 0) {
+                    return false;
+                }
+                if (palabras.compareAndSet(palabra, actual, actual | bit)) {
+                    return true;
+                }
+            }
+        }
+        
+        private boolean contiene(int indice) {
+            return (palabras.get(indice >>> 6) & (1L << indice)) != 0;
+        }
+    }
+    
+    public record Alcance(long[] empleadoIds, int[] distancias, boolean truncado) {
+    }
+    
+    // proyectoIds[i] es el proyecto que comparten empleadoIds[i] y empleadoIds[i + 1]
+    public record Camino(long[] empleadoIds, long[] proyectoIds, boolean truncado) {
+    }
+}
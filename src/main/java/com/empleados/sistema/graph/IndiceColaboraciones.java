@@ -0,0 +1,205 @@
+package com.empleados.sistema.graph;
+
+import com.empleados.sistema.event.EventoCambio;
+import com.empleados.sistema.event.SuscriptorCambios;
+import com.empleados.sistema.exception.IndiceNoDisponibleException;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.overload.PlazoSolicitud;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Mantiene el grafo de colaboración (empleado_proyecto) en memoria. Se carga al arrancar y cada lote de
+// cambios confirmados relee solo las asignaciones de los empleados afectados. Si la carga o un lote fallan,
+// el grafo deja de estar listo (los recorridos responden 503) hasta que una recarga tenga éxito.
+@Component
+public class IndiceColaboraciones implements SuscriptorCambios, SmartInitializingSingleton {
+    
+    private static final Logger log = LoggerFactory.getLogger(IndiceColaboraciones.class);
+    
+    private final EmpleadoRepository empleadoRepository;
+    private final ForkJoinPool pool;
+    private final int umbralParalelo;
+    
+    // Serializa cargas y lotes de cambios; las consultas leen la referencia sin bloquear
+    private final Object candado = new Object();
+    private volatile GrafoColaboracion grafo = GrafoColaboracion.vacio();
+    private volatile boolean listo;
+    
+    private final AtomicLong cargasCompletas = new AtomicLong();
+    private final AtomicLong empleadosActualizados = new AtomicLong();
+    private final AtomicLong recorridos = new AtomicLong();
+    private final AtomicLong recorridosTruncados = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    
+    public IndiceColaboraciones(EmpleadoRepository empleadoRepository,
+                                @Value("${colaboraciones.paralelismo:0}") int paralelismo,
+                                @Value("${colaboraciones.umbral-paralelo:2048}") int umbralParalelo) {
+        this.empleadoRepository = empleadoRepository;
+        this.pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+        this.umbralParalelo = umbralParalelo;
+    }
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        recargarSinFallar();
+    }
+    
+    @PreDestroy
+    public void detener() {
+        pool.shutdownNow();
+    }
+    
+    public void recargar() {
+        synchronized (candado) {
+            long inicio = System.nanoTime();
+            List<Object[]> asignaciones = empleadoRepository.findTodasLasAsignaciones();
+            long[] empleados = new long[asignaciones.size()];
+            long[] proyectos = new long[asignaciones.size()];
+            for (int i = 0; i < asignaciones.size(); i++) {
+                empleados[i] = (Long) asignaciones.get(i)[0];
+                proyectos[i] = (Long) asignaciones.get(i)[1];
+            }
+            GrafoColaboracion nuevo = GrafoColaboracion.construir(empleados, proyectos, empleados.length);
+            grafo = nuevo;
+            listo = true;
+            cargasCompletas.incrementAndGet();
+            log.info("Grafo de colaboración cargado: {} empleados, {} proyectos, {} asignaciones en {} ms",
+                nuevo.getTotalEmpleados(), nuevo.getTotalProyectos(), nuevo.getTotalAsignaciones(),
+                Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+        }
+    }
+    
+    public boolean isListo() {
+        return listo;
+    }
+    
+    @Override
+    public void alCambiar(List<EventoCambio> eventos) {
+        if (!listo) {
+            return;
+        }
+        Set<Long> empleadoIds = new HashSet<>();
+        Set<Long> proyectosEliminados = new HashSet<>();
+        for (EventoCambio evento : eventos) {
+            if (evento.tipoEntidad() == TipoEntidad.EMPLEADO) {
+                empleadoIds.add(evento.entidadId());
+            } else if (evento.tipoEntidad() == TipoEntidad.PROYECTO && evento.tipoCambio().esBaja()) {
+                proyectosEliminados.add(evento.entidadId());
+            }
+        }
+        if (empleadoIds.isEmpty() && proyectosEliminados.isEmpty()) {
+            return;
+        }
+        synchronized (candado) {
+            if (!listo) {
+                return;
+            }
+            try {
+                // Los empleados sin filas quedan sin proyectos (o fueron eliminados)
+                Map<Long, long[]> proyectosPorEmpleado = new HashMap<>();
+                if (!empleadoIds.isEmpty()) {
+                    Map<Long, List<Long>> leidos = new HashMap<>();
+                    for (Object[] par : empleadoRepository.findAsignacionesByEmpleadoIds(empleadoIds)) {
+                        leidos.computeIfAbsent((Long) par[0], k -> new ArrayList<>()).add((Long) par[1]);
+                    }
+                    for (Long empleadoId : empleadoIds) {
+                        List<Long> proyectos = leidos.getOrDefault(empleadoId, List.of());
+                        proyectosPorEmpleado.put(empleadoId, proyectos.stream().mapToLong(Long::longValue).toArray());
+                    }
+                }
+                grafo = grafo.conCambios(proyectosPorEmpleado, proyectosEliminados);
+                empleadosActualizados.addAndGet(empleadoIds.size());
+            } catch (RuntimeException ex) {
+                // Un lote perdido dejaría el grafo desactualizado para siempre: no se recorre hasta recargarlo
+                fallos.incrementAndGet();
+                listo = false;
+                log.warn("No se pudo aplicar un lote al grafo de colaboración; se recargará", ex);
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${colaboraciones.reintento-ms:30000}")
+    public void reintentarCarga() {
+        if (!listo) {
+            recargarSinFallar();
+        }
+    }
+    
+    public GrafoColaboracion.Alcance alcance(long empleadoId, int saltos, int limite, Duration plazo) {
+        verificarListo();
+        GrafoColaboracion.Alcance alcance = grafo.alcance(empleadoId, saltos, limite,
+            PlazoSolicitud.acotarNanos(plazo.toNanos()), pool, umbralParalelo);
+        contar(alcance.truncado());
+        return alcance;
+    }
+    
+    public GrafoColaboracion.Camino caminoMasCorto(long origenId, long destinoId, int maxSaltos, Duration plazo) {
+        verificarListo();
+        GrafoColaboracion.Camino camino = grafo.caminoMasCorto(origenId, destinoId, maxSaltos,
+            PlazoSolicitud.acotarNanos(plazo.toNanos()), pool, umbralParalelo);
+        contar(camino != null && camino.truncado());
+        return camino;
+    }
+    
+    // Sin grafo listo responde false y el llamador verifica contra la base
+    public boolean contieneEmpleado(long empleadoId) {
+        return listo && grafo.contieneEmpleado(empleadoId);
+    }
+    
+    public Map<String, Object> obtenerEstadisticas() {
+        GrafoColaboracion actual = grafo;
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("listo", listo);
+        estadisticas.put("empleados", actual.getTotalEmpleados());
+        estadisticas.put("proyectos", actual.getTotalProyectos());
+        estadisticas.put("asignaciones", actual.getTotalAsignaciones());
+        estadisticas.put("bytesEstimados", actual.getBytesEstimados());
+        estadisticas.put("paralelismo", pool.getParallelism());
+        estadisticas.put("umbralParalelo", umbralParalelo);
+        estadisticas.put("cargasCompletas", cargasCompletas.get());
+        estadisticas.put("empleadosActualizados", empleadosActualizados.get());
+        estadisticas.put("recorridos", recorridos.get());
+        estadisticas.put("recorridosTruncados", recorridosTruncados.get());
+        estadisticas.put("fallos", fallos.get());
+        return estadisticas;
+    }
+    
+    private void recargarSinFallar() {
+        try {
+            recargar();
+        } catch (RuntimeException ex) {
+            fallos.incrementAndGet();
+            log.warn("No se pudo cargar el grafo de colaboración; se reintentará", ex);
+        }
+    }
+    
+    private void verificarListo() {
+        if (!listo) {
+            throw new IndiceNoDisponibleException("El grafo de colaboración se está recargando");
+        }
+    }
+    
+    private void contar(boolean truncado) {
+        recorridos.incrementAndGet();
+        if (truncado) {
+            recorridosTruncados.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.empleados.sistema.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Árbol de intervalos centrado e inmutable sobre intervalos cerrados [inicio, fin] en días desde la época.
+// Punzada (intervalos que contienen un día): O(log n + k). Solapamiento con [a, b]: los que contienen a
+// más los que empiezan en (a, b], que se encuentran por búsqueda binaria sobre los inicios ordenados;
+// ambos conjuntos son disjuntos, así que también es O(log n + k). Los cambios generan un árbol nuevo.
+public final class ArbolIntervalos {
+    
+    // Extremos abiertos: sin fecha de inicio o sin fecha de fin
+    public static final int SIN_INICIO = Integer.MIN_VALUE;
+    public static final int SIN_FIN = Integer.MAX_VALUE;
+    
+    private static final ArbolIntervalos VACIO = new ArbolIntervalos(new long[0], new int[0], new int[0]);
+    
+    // Intervalos ordenados por (inicio, id)
+    private final long[] ids;
+    private final int[] inicios;
+    private final int[] fines;
+    private final Nodo raiz;
+    private final int profundidad;
+    
+    private static final class Nodo {
+        final int centro;
+        // Posiciones de los intervalos que contienen el centro, por inicio ascendente y por fin descendente
+        final int[] porInicio;
+        final int[] porFin;
+        Nodo izquierdo;
+        Nodo derecho;
+        
+        Nodo(int centro, int[] porInicio, int[] porFin) {
+            this.centro = centro;
+            this.porInicio = porInicio;
+            this.porFin = porFin;
+        }
+    }
+    
+    private ArbolIntervalos(long[] ids, int[] inicios, int[] fines) {
+        this.ids = ids;
+        this.inicios = inicios;
+        this.fines = fines;
+        int[] todos = new int[ids.length];
+        for (int i = 0; i < todos.length; i++) {
+            todos[i] = i;
+        }
+        int[] altura = new int[1];
+        this.raiz = construirNodo(todos, 1, altura);
+        this.profundidad = altura[0];
+    }
+    
+    public static ArbolIntervalos vacio() {
+        return VACIO;
+    }
+    
+    // Un fin anterior al inicio se toma como un intervalo de un solo día
+    public static ArbolIntervalos construir(long[] ids, int[] inicios, int[] fines) {
+        Integer[] orden = new Integer[ids.length];
+        for (int i = 0; i < orden.length; i++) {
+            orden[i] = i;
+        }
+        Arrays.sort(orden, Comparator.<Integer>comparingInt(i -> inicios[i]).thenComparingLong(i -> ids[i]));
+        long[] idsOrdenados = new long[ids.length];
+        int[] iniciosOrdenados = new int[ids.length];
+        int[] finesOrdenados = new int[ids.length];
+        for (int i = 0; i < orden.length; i++) {
+            int origen = orden[i];
+            idsOrdenados[i] = ids[origen];
+            iniciosOrdenados[i] = inicios[origen];
+            finesOrdenados[i] = Math.max(fines[origen], inicios[origen]);
+        }
+        return new ArbolIntervalos(idsOrdenados, iniciosOrdenados, finesOrdenados);
+    }
+    
+    // Árbol nuevo con los intervalos reemplazados ({inicio, fin} por id) y los eliminados quitados
+    public ArbolIntervalos conCambios(Map<Long, int[]> actualizados, Set<Long> eliminados) {
+        int capacidad = ids.length + actualizados.size();
+        long[] nuevosIds = new long[capacidad];
+        int[] nuevosInicios = new int[capacidad];
+        int[] nuevosFines = new int[capacidad];
+        int n = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (!actualizados.containsKey(ids[i]) && !eliminados.contains(ids[i])) {
+                nuevosIds[n] = ids[i];
+                nuevosInicios[n] = inicios[i];
+                nuevosFines[n] = fines[i];
+                n++;
+            }
+        }
+        for (Map.Entry<Long, int[]> entrada : actualizados.entrySet()) {
+            if (!eliminados.contains(entrada.getKey())) {
+                nuevosIds[n] = entrada.getKey();
+                nuevosInicios[n] = entrada.getValue()[0];
+                nuevosFines[n] = entrada.getValue()[1];
+                n++;
+            }
+        }
+        return construir(Arrays.copyOf(nuevosIds, n), Arrays.copyOf(nuevosInicios, n), Arrays.copyOf(nuevosFines, n));
+    }
+    
+    // Ids de los intervalos que contienen el día
+    public long[] contienen(int dia) {
+        Resultado resultado = new Resultado();
+        punzar(dia, resultado);
+        return resultado.aArreglo();
+    }
+    
+    // Ids de los intervalos que se solapan con [desde, hasta]
+    public long[] solapan(int desde, int hasta) {
+        if (desde > hasta) {
+            return new long[0];
+        }
+        Resultado resultado = new Resultado();
+        punzar(desde, resultado);
+        // Los que empiezan después de "desde" y hasta "hasta" no contienen "desde": no hay repetidos
+        for (int i = primerInicioMayorA(desde); i < inicios.length && inicios[i] <= hasta; i++) {
+            resultado.agregar(ids[i]);
+        }
+        return resultado.aArreglo();
+    }
+    
+    public int getTamano() {
+        return ids.length;
+    }
+    
+    public int getProfundidad() {
+        return profundidad;
+    }
+    
+    private void punzar(int dia, Resultado resultado) {
+        Nodo nodo = raiz;
+        while (nodo != null) {
+            if (dia < nodo.centro) {
+                for (int posicion : nodo.porInicio) {
+                    if (inicios[posicion] > dia) {
+                        break;
+                    }
+                    resultado.agregar(ids[posicion]);
+                }
+                nodo = nodo.izquierdo;
+            } else if (dia > nodo.centro) {
+                for (int posicion : nodo.porFin) {
+                    if (fines[posicion] < dia) {
+                        break;
+                    }
+                    resultado.agregar(ids[posicion]);
+                }
+                nodo = nodo.derecho;
+            } else {
+                for (int posicion : nodo.porInicio) {
+                    resultado.agregar(ids[posicion]);
+                }
+                return;
+            }
+        }
+    }
+    
+    private int primerInicioMayorA(int valor) {
+        int bajo = 0;
+        int alto = inicios.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (inicios[medio] <= valor) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+    
+    // El centro es la mediana de los extremos: cada lado recibe a lo sumo la mitad de los intervalos,
+    // así la profundidad es logarítmica
+    private Nodo construirNodo(int[] posiciones, int nivel, int[] altura) {
+        if (posiciones.length == 0) {
+            return null;
+        }
+        altura[0] = Math.max(altura[0], nivel);
+        int[] extremos = new int[posiciones.length * 2];
+        for (int i = 0; i < posiciones.length; i++) {
+            extremos[2 * i] = inicios[posiciones[i]];
+            extremos[2 * i + 1] = fines[posiciones[i]];
+        }
+        Arrays.sort(extremos);
+        int centro = extremos[posiciones.length];
+        
+        List<Integer> izquierda = new ArrayList<>();
+        List<Integer> derecha = new ArrayList<>();
+        List<Integer> contienen = new ArrayList<>();
+        for (int posicion : posiciones) {
+            if (fines[posicion] < centro) {
+                izquierda.add(posicion);
+            } else if (inicios[posicion] > centro) {
+                derecha.add(posicion);
+            } else {
+                contienen.add(posicion);
+            }
+        }
+        // Las posiciones ya están ordenadas por inicio
+        int[] porInicio = contienen.stream().mapToInt(Integer::intValue).toArray();
+        int[] porFin = contienen.stream()
+            .sorted(Comparator.<Integer>comparingInt(p -> fines[p]).reversed())
+            .mapToInt(Integer::intValue)
+            .toArray();
+        Nodo nodo = new Nodo(centro, porInicio, porFin);
+        nodo.izquierdo = construirNodo(izquierda.stream().mapToInt(Integer::intValue).toArray(), nivel + 1, altura);
+        nodo.derecho = construirNodo(derecha.stream().mapToInt(Integer::intValue).toArray(), nivel + 1, altura);
+        return nodo;
+    }
+    
+    private static final class Resultado {
+        private long[] valores = new long[16];
+        private int tamano;
+        
+        void agregar(long valor) {
+            if (tamano == valores.length) {
+                valores = Arrays.copyOf(valores, tamano * 2);
+            }
+            valores[tamano++] = valor;
+        }
+        
+        long[] aArreglo() {
+            return Arrays.copyOf(valores, tamano);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.empleados.sistema.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+// Álgebra de conjuntos sobre membresías, por ejemplo "proyecto:1 AND proyecto:2 AND NOT proyecto:3"
+// o "(departamento:4 OR departamento:5) AND NOT p:9". Precedencia: NOT > AND > OR.
+// Átomos: proyecto:<id> (p:<id>), departamento:<id> (d:<id>) y todos.
+final class ExpresionMembresia {
+    
+    enum TipoAtomo {
+        PROYECTO, DEPARTAMENTO, TODOS
+    }
+    
+    record Atomo(TipoAtomo tipo, long id) {
+    }
+    
+    private static final int MAX_LONGITUD = 2000;
+    
+    private final List<String> tokens;
+    private final Function<Atomo, MapaBits> resolver;
+    private int posicion;
+    
+    private ExpresionMembresia(List<String> tokens, Function<Atomo, MapaBits> resolver) {
+        this.tokens = tokens;
+        this.resolver = resolver;
+    }
+    
+    // El resolver devuelve el mapa del átomo (o uno vacío). El resultado puede ser uno de esos mapas,
+    // así que debe leerse mientras no se modifiquen
+    static MapaBits evaluar(String expresion, Function<Atomo, MapaBits> resolver) {
+        if (expresion == null || expresion.isBlank()) {
+            throw new IllegalArgumentException("La expresión es obligatoria");
+        }
+        if (expresion.length() > MAX_LONGITUD) {
+            throw new IllegalArgumentException("La expresión supera los " + MAX_LONGITUD + " caracteres");
+        }
+        ExpresionMembresia parser = new ExpresionMembresia(tokenizar(expresion), resolver);
+        MapaBits resultado = parser.disyuncion();
+        if (parser.posicion < parser.tokens.size()) {
+            throw new IllegalArgumentException("Símbolo inesperado en la expresión: " + parser.tokens.get(parser.posicion));
+        }
+        return resultado;
+    }
+    
+    private MapaBits disyuncion() {
+        MapaBits resultado = conjuncion();
+        while (aceptar("OR", "|")) {
+            resultado = resultado.or(conjuncion());
+        }
+        return resultado;
+    }
+    
+    private MapaBits conjuncion() {
+        MapaBits resultado = null;
+        do {
+            // "A AND NOT B" se resuelve como diferencia, sin materializar el complemento de B
+            boolean negado = aceptar("NOT", "!", "-");
+            if (resultado == null) {
+                resultado = negado ? resolver.apply(new Atomo(TipoAtomo.TODOS, 0)).andNot(factor()) : factor();
+            } else if (negado) {
+                resultado = resultado.andNot(factor());
+            } else {
+                resultado = resultado.and(factor());
+            }
+        } while (aceptar("AND", "&"));
+        return resultado;
+    }
+    
+    private MapaBits factor() {
+        if (aceptar("NOT", "!", "-")) {
+            return resolver.apply(new Atomo(TipoAtomo.TODOS, 0)).andNot(factor());
+        }
+        if (aceptar("(")) {
+            MapaBits resultado = disyuncion();
+            if (!aceptar(")")) {
+                throw new IllegalArgumentException("Falta cerrar un paréntesis en la expresión");
+            }
+            return resultado;
+        }
+        if (posicion >= tokens.size()) {
+            throw new IllegalArgumentException("La expresión está incompleta");
+        }
+        return resolver.apply(atomo(tokens.get(posicion++)));
+    }
+    
+    private static Atomo atomo(String token) {
+        String texto = token.toLowerCase(Locale.ROOT);
+        if (texto.equals("todos")) {
+            return new Atomo(TipoAtomo.TODOS, 0);
+        }
+        int separador = texto.indexOf(':');
+        if (separador < 0) {
+            throw new IllegalArgumentException("Término inválido en la expresión: " + token);
+        }
+        String tipo = texto.substring(0, separador);
+        long id;
+        try {
+            id = Long.parseLong(texto.substring(separador + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Id inválido en la expresión: " + token);
+        }
+        return switch (tipo) {
+            case "proyecto", "p" -> new Atomo(TipoAtomo.PROYECTO, id);
+            case "departamento", "d" -> new Atomo(TipoAtomo.DEPARTAMENTO, id);
+            default -> throw new IllegalArgumentException("Término inválido en la expresión: " + token);
+        };
+    }
+    
+    private boolean aceptar(String... alternativas) {
+        if (posicion >= tokens.size()) {
+            return false;
+        }
+        String actual = tokens.get(posicion);
+        for (String alternativa : alternativas) {
+            if (actual.equalsIgnoreCase(alternativa)) {
+                posicion++;
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static List<String> tokenizar(String expresion) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < expresion.length()) {
+            char c = expresion.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if ("()&|!".indexOf(c) >= 0 || (c == '-' && (i + 1 >= expresion.length() || !Character.isDigit(expresion.charAt(i + 1))))) {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else {
+                int inicio = i;
+                while (i < expresion.length() && !Character.isWhitespace(expresion.charAt(i))
+                        && "()&|!".indexOf(expresion.charAt(i)) < 0) {
+                    i++;
+                }
+                tokens.add(expresion.substring(inicio, i));
+            }
+        }
+        return tokens;
+    }
+}
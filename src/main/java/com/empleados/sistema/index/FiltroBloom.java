@@ -0,0 +1,74 @@
+package com.empleados.sistema.index;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Filtro de Bloom concurrente: sin falsos negativos, falsos positivos acotados por la tasa configurada
+public class FiltroBloom {
+    
+    private final AtomicLongArray palabras;
+    private final long cantidadBits;
+    private final int cantidadHashes;
+    
+    public FiltroBloom(long elementosEsperados, double tasaFalsosPositivos) {
+        long n = Math.max(1, elementosEsperados);
+        long bits = (long) Math.ceil(-n * Math.log(tasaFalsosPositivos) / (Math.log(2) * Math.log(2)));
+        int palabrasNecesarias = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) >>> 6));
+        this.palabras = new AtomicLongArray(palabrasNecesarias);
+        this.cantidadBits = (long) palabrasNecesarias << 6;
+        this.cantidadHashes = Math.max(1, (int) Math.round((double) cantidadBits / n * Math.log(2)));
+    }
+    
+    public void agregar(String clave) {
+        long h1 = hash(clave);
+        long h2 = mezclar(h1) | 1;
+        for (int i = 0; i < cantidadHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, cantidadBits);
+            int indice = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long actual = palabras.get(indice);
+            // Evita la escritura (y el tráfico de coherencia) si el bit ya está encendido
+            while ((actual & mascara) == 0 && !palabras.compareAndSet(indice, actual, actual | mascara)) {
+                actual = palabras.get(indice);
+            }
+        }
+    }
+    
+    public boolean puedeContener(String clave) {
+        long h1 = hash(clave);
+        long h2 = mezclar(h1) | 1;
+        for (int i = 0; i < cantidadHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, cantidadBits);
+            if ((palabras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public long getCantidadBits() {
+        return cantidadBits;
+    }
+    
+    public int getCantidadHashes() {
+        return cantidadHashes;
+    }
+    
+    // FNV-1a de 64 bits sobre los caracteres, seguido de una mezcla final
+    private static long hash(String clave) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < clave.length(); i++) {
+            h ^= clave.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mezclar(h);
+    }
+    
+    private static long mezclar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe1a85ec9L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,220 @@
+package com.empleados.sistema.index;
+
+import com.empleados.sistema.repository.EmpleadoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice en memoria email -> id, precedido por un filtro de Bloom. Compara los emails tal cual, con la misma
+// regla que la restricción única de la tabla. Se carga al arrancar y se mantiene con los cambios confirmados
+// (ver SincronizadorIndiceEmails); si la carga o un cambio fallan, deja de estar listo (las consultas van a la
+// base) hasta que una recarga tenga éxito.
+@Component
+public class IndiceEmails implements SmartInitializingSingleton {
+    
+    private static final Logger log = LoggerFactory.getLogger(IndiceEmails.class);
+    
+    private final EmpleadoRepository empleadoRepository;
+    private final long capacidadInicial;
+    private final double tasaFalsosPositivos;
+    
+    private final ConcurrentHashMap<String, Long> idPorEmail = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, String> emailPorId = new ConcurrentHashMap<>();
+    
+    // Las altas toman el candado compartido; la reconstrucción del filtro, el exclusivo
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+    private volatile FiltroBloom filtro;
+    private volatile long capacidadFiltro;
+    private final AtomicLong altasEnFiltro = new AtomicLong();
+    private volatile boolean listo;
+    
+    private final AtomicLong consultas = new AtomicLong();
+    private final AtomicLong descartesPorFiltro = new AtomicLong();
+    private final AtomicLong falsosPositivos = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    
+    public IndiceEmails(EmpleadoRepository empleadoRepository,
+                        @Value("${indice.emails.capacidad-inicial:100000}") long capacidadInicial,
+                        @Value("${indice.emails.tasa-falsos-positivos:0.01}") double tasaFalsosPositivos) {
+        this.empleadoRepository = empleadoRepository;
+        this.capacidadInicial = capacidadInicial;
+        this.tasaFalsosPositivos = tasaFalsosPositivos;
+        this.capacidadFiltro = capacidadInicial;
+        this.filtro = new FiltroBloom(capacidadInicial, tasaFalsosPositivos);
+    }
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        recargarSinFallar();
+    }
+    
+    // Reconstruye el índice completo desde la base (arranque o tras cambios masivos)
+    public void recargar() {
+        candado.writeLock().lock();
+        try {
+            // Mientras se vacía y se vuelve a llenar, las consultas van a la base
+            listo = false;
+            idPorEmail.clear();
+            emailPorId.clear();
+            for (Object[] fila : empleadoRepository.findIdsYEmails()) {
+                Long id = (Long) fila[0];
+                String email = (String) fila[1];
+                idPorEmail.put(email, id);
+                emailPorId.put(id, email);
+            }
+            reconstruirFiltro();
+            listo = true;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+    
+    public boolean isListo() {
+        return listo;
+    }
+    
+    // Id del empleado con ese email o null; las respuestas negativas no consultan la base
+    public Long buscarId(String email) {
+        if (email == null) {
+            return null;
+        }
+        if (!listo) {
+            return empleadoRepository.findIdByEmail(email).orElse(null);
+        }
+        consultas.incrementAndGet();
+        if (!filtro.puedeContener(email)) {
+            descartesPorFiltro.incrementAndGet();
+            return null;
+        }
+        Long id = idPorEmail.get(email);
+        if (id == null) {
+            falsosPositivos.incrementAndGet();
+        }
+        return id;
+    }
+    
+    // Emails de la colección que ya están registrados
+    public Set<String> filtrarExistentes(Collection<String> emails) {
+        if (!listo) {
+            return new HashSet<>(empleadoRepository.findEmailsExistentes(emails));
+        }
+        Set<String> existentes = new HashSet<>();
+        for (String email : emails) {
+            if (buscarId(email) != null) {
+                existentes.add(email);
+            }
+        }
+        return existentes;
+    }
+    
+    public void registrar(Long id, String email) {
+        try {
+            candado.readLock().lock();
+            try {
+                String anterior = emailPorId.put(id, email);
+                if (anterior != null && !anterior.equals(email)) {
+                    idPorEmail.remove(anterior, id);
+                }
+                idPorEmail.put(email, id);
+                if (!email.equals(anterior)) {
+                    filtro.agregar(email);
+                    altasEnFiltro.incrementAndGet();
+                }
+            } finally {
+                candado.readLock().unlock();
+            }
+            // El filtro no admite bajas: se reconstruye cuando las altas acumuladas superan su capacidad
+            if (altasEnFiltro.get() > capacidadFiltro) {
+                candado.writeLock().lock();
+                try {
+                    if (altasEnFiltro.get() > capacidadFiltro) {
+                        reconstruirFiltro();
+                    }
+                } finally {
+                    candado.writeLock().unlock();
+                }
+            }
+        } catch (RuntimeException ex) {
+            descartarCambio(ex);
+        }
+    }
+    
+    public void eliminar(Long id) {
+        try {
+            candado.readLock().lock();
+            try {
+                String anterior = emailPorId.remove(id);
+                if (anterior != null) {
+                    idPorEmail.remove(anterior, id);
+                }
+            } finally {
+                candado.readLock().unlock();
+            }
+        } catch (RuntimeException ex) {
+            descartarCambio(ex);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${indice.emails.reintento-ms:30000}")
+    public void reintentarCarga() {
+        if (!listo) {
+            recargarSinFallar();
+        }
+    }
+    
+    public Map<String, Object> obtenerEstadisticas() {
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("listo", listo);
+        estadisticas.put("emails", idPorEmail.size());
+        estadisticas.put("capacidadFiltro", capacidadFiltro);
+        estadisticas.put("bitsFiltro", filtro.getCantidadBits());
+        estadisticas.put("hashesFiltro", filtro.getCantidadHashes());
+        estadisticas.put("consultas", consultas.get());
+        estadisticas.put("descartesPorFiltro", descartesPorFiltro.get());
+        estadisticas.put("falsosPositivos", falsosPositivos.get());
+        estadisticas.put("fallos", fallos.get());
+        return estadisticas;
+    }
+    
+    private void recargarSinFallar() {
+        try {
+            recargar();
+        } catch (RuntimeException ex) {
+            fallos.incrementAndGet();
+            log.warn("No se pudo cargar el índice de emails; se reintentará", ex);
+        }
+    }
+    
+    // Un cambio perdido dejaría el índice desactualizado para siempre: se consulta la base hasta recargarlo
+    private void descartarCambio(RuntimeException ex) {
+        fallos.incrementAndGet();
+        listo = false;
+        log.warn("No se pudo aplicar un cambio al índice de emails; se consultará la base hasta recargarlo", ex);
+    }
+    
+    // Debe llamarse con el candado exclusivo tomado
+    private void reconstruirFiltro() {
+        long capacidad = Math.max(capacidadInicial, 2L * idPorEmail.size());
+        FiltroBloom nuevo = new FiltroBloom(capacidad, tasaFalsosPositivos);
+        List<String> claves = List.copyOf(idPorEmail.keySet());
+        for (String clave : claves) {
+            nuevo.agregar(clave);
+        }
+        capacidadFiltro = capacidad;
+        altasEnFiltro.set(claves.size());
+        filtro = nuevo;
+    }
+}
@@ -0,0 +1,146 @@
+package com.empleados.sistema.index;
+
+import com.empleados.sistema.event.EventoCambio;
+import com.empleados.sistema.event.SuscriptorCambios;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.ProyectoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fechas de los proyectos en un árbol de intervalos. Se carga al arrancar y con cada lote de cambios de
+// proyectos se publica un árbol nuevo; las consultas leen la referencia vigente sin bloquear. Si la carga o
+// un lote fallan, el índice deja de estar listo (las consultas vuelven a JPQL) hasta que una recarga tenga éxito.
+@Component
+public class IndiceIntervalosProyectos implements SuscriptorCambios, SmartInitializingSingleton {
+    
+    private static final Logger log = LoggerFactory.getLogger(IndiceIntervalosProyectos.class);
+    
+    private final ProyectoRepository proyectoRepository;
+    
+    private volatile ArbolIntervalos arbol = ArbolIntervalos.vacio();
+    private volatile boolean listo;
+    
+    private final AtomicLong consultas = new AtomicLong();
+    private final AtomicLong proyectosRecargados = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    
+    public IndiceIntervalosProyectos(ProyectoRepository proyectoRepository) {
+        this.proyectoRepository = proyectoRepository;
+    }
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        recargarSinFallar();
+    }
+    
+    public synchronized void recargar() {
+        List<Object[]> filas = proyectoRepository.findIdsYFechas();
+        long[] ids = new long[filas.size()];
+        int[] inicios = new int[filas.size()];
+        int[] fines = new int[filas.size()];
+        for (int i = 0; i < filas.size(); i++) {
+            Object[] fila = filas.get(i);
+            ids[i] = (Long) fila[0];
+            inicios[i] = inicio((LocalDate) fila[1]);
+            fines[i] = fin((LocalDate) fila[2]);
+        }
+        arbol = ArbolIntervalos.construir(ids, inicios, fines);
+        listo = true;
+    }
+    
+    public boolean isListo() {
+        return listo;
+    }
+    
+    @Override
+    public synchronized void alCambiar(List<EventoCambio> eventos) {
+        if (!listo) {
+            return;
+        }
+        Set<Long> proyectoIds = new HashSet<>();
+        for (EventoCambio evento : eventos) {
+            if (evento.tipoEntidad() == TipoEntidad.PROYECTO) {
+                proyectoIds.add(evento.entidadId());
+            }
+        }
+        if (proyectoIds.isEmpty()) {
+            return;
+        }
+        try {
+            // Estado actual de los proyectos afectados; los que no aparecen fueron eliminados o archivados
+            Map<Long, int[]> actualizados = new HashMap<>();
+            for (Object[] fila : proyectoRepository.findIdsYFechasByIds(proyectoIds)) {
+                actualizados.put((Long) fila[0], new int[]{inicio((LocalDate) fila[1]), fin((LocalDate) fila[2])});
+            }
+            Set<Long> eliminados = new HashSet<>(proyectoIds);
+            eliminados.removeAll(actualizados.keySet());
+            arbol = arbol.conCambios(actualizados, eliminados);
+            proyectosRecargados.addAndGet(proyectoIds.size());
+        } catch (RuntimeException ex) {
+            // Un lote perdido dejaría el árbol desactualizado para siempre: se vuelve a JPQL hasta recargarlo
+            fallos.incrementAndGet();
+            listo = false;
+            log.warn("No se pudo aplicar un lote al índice de intervalos; se consultará por JPQL hasta recargarlo", ex);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${indice.intervalos.reintento-ms:30000}")
+    public void reintentarCarga() {
+        if (!listo) {
+            recargarSinFallar();
+        }
+    }
+    
+    // Proyectos en curso en algún momento de [desde, hasta]
+    public long[] enCurso(LocalDate desde, LocalDate hasta) {
+        consultas.incrementAndGet();
+        return arbol.solapan(inicio(desde), fin(hasta));
+    }
+    
+    // Proyectos en curso en la fecha
+    public long[] enCursoEl(LocalDate fecha) {
+        consultas.incrementAndGet();
+        return arbol.contienen(inicio(fecha));
+    }
+    
+    public Map<String, Object> obtenerEstadisticas() {
+        ArbolIntervalos actual = arbol;
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("listo", listo);
+        estadisticas.put("proyectos", actual.getTamano());
+        estadisticas.put("profundidad", actual.getProfundidad());
+        estadisticas.put("consultas", consultas.get());
+        estadisticas.put("proyectosRecargados", proyectosRecargados.get());
+        estadisticas.put("fallos", fallos.get());
+        return estadisticas;
+    }
+    
+    private void recargarSinFallar() {
+        try {
+            recargar();
+        } catch (RuntimeException ex) {
+            fallos.incrementAndGet();
+            log.warn("No se pudo cargar el índice de intervalos de proyectos; se reintentará", ex);
+        }
+    }
+    
+    private static int inicio(LocalDate fecha) {
+        return fecha == null ? ArbolIntervalos.SIN_INICIO : Math.toIntExact(fecha.toEpochDay());
+    }
+    
+    private static int fin(LocalDate fecha) {
+        return fecha == null ? ArbolIntervalos.SIN_FIN : Math.toIntExact(fecha.toEpochDay());
+    }
+}
@@ -0,0 +1,260 @@
+package com.empleados.sistema.index;
+
+import com.empleados.sistema.event.EventoCambio;
+import com.empleados.sistema.event.SuscriptorCambios;
+import com.empleados.sistema.exception.IndiceNoDisponibleException;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Mapas de bits comprimidos proyecto -> empleados y departamento -> empleados. Se cargan al arrancar y se
+// mantienen con los cambios confirmados: cada evento de empleado recarga solo sus membresías y, con el mapa
+// inverso empleado -> (departamento, proyectos), toca solo los mapas de bits donde estaba y donde queda.
+// Si la carga o un lote fallan, el índice deja de estar listo hasta que una recarga tenga éxito.
+@Component
+public class IndiceMembresias implements SuscriptorCambios, SmartInitializingSingleton {
+    
+    private static final Logger log = LoggerFactory.getLogger(IndiceMembresias.class);
+    private static final MapaBits VACIO = new MapaBits();
+    private static final long[] SIN_PROYECTOS = new long[0];
+    
+    private final EmpleadoRepository empleadoRepository;
+    private final TransactionTemplate transactionTemplate;
+    
+    // Las consultas toman el candado compartido; la carga y los lotes de cambios, el exclusivo
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+    private final Map<Long, MapaBits> porProyecto = new HashMap<>();
+    private final Map<Long, MapaBits> porDepartamento = new HashMap<>();
+    private final Map<Long, Long> departamentoPorEmpleado = new HashMap<>();
+    private final Map<Long, long[]> proyectosPorEmpleado = new HashMap<>();
+    private MapaBits todos = new MapaBits();
+    private volatile boolean listo;
+    
+    private final AtomicLong consultas = new AtomicLong();
+    private final AtomicLong empleadosRecargados = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    
+    public IndiceMembresias(EmpleadoRepository empleadoRepository, TransactionTemplate transactionTemplate) {
+        this.empleadoRepository = empleadoRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        recargarSinFallar();
+    }
+    
+    public synchronized void recargar() {
+        List<Object[]> departamentos = empleadoRepository.findIdsYDepartamentos();
+        List<Object[]> asignaciones = empleadoRepository.findTodasLasAsignaciones();
+        candado.writeLock().lock();
+        try {
+            porProyecto.clear();
+            porDepartamento.clear();
+            departamentoPorEmpleado.clear();
+            proyectosPorEmpleado.clear();
+            todos = new MapaBits();
+            agregar(departamentos, asignaciones);
+            listo = true;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+    
+    public boolean isListo() {
+        return listo;
+    }
+    
+    @Override
+    public synchronized void alCambiar(List<EventoCambio> eventos) {
+        if (!listo) {
+            return;
+        }
+        Set<Long> empleadoIds = new HashSet<>();
+        List<Long> proyectosEliminados = new ArrayList<>();
+        List<Long> departamentosEliminados = new ArrayList<>();
+        for (EventoCambio evento : eventos) {
+            if (evento.tipoEntidad() == TipoEntidad.EMPLEADO) {
+                empleadoIds.add(evento.entidadId());
+            } else if (evento.tipoCambio().esBaja()) {
+                (evento.tipoEntidad() == TipoEntidad.PROYECTO ? proyectosEliminados : departamentosEliminados)
+                    .add(evento.entidadId());
+            }
+        }
+        if (empleadoIds.isEmpty() && proyectosEliminados.isEmpty() && departamentosEliminados.isEmpty()) {
+            return;
+        }
+        
+        try {
+            // Estado actual de los empleados afectados; los que no aparecen fueron eliminados
+            List<Object[]> departamentos = List.of();
+            List<Object[]> asignaciones = List.of();
+            if (!empleadoIds.isEmpty()) {
+                List<List<Object[]>> filas = transactionTemplate.execute(estado -> List.of(
+                    empleadoRepository.findIdsYDepartamentosByIds(empleadoIds),
+                    empleadoRepository.findAsignacionesByEmpleadoIds(empleadoIds)));
+                departamentos = filas.get(0);
+                asignaciones = filas.get(1);
+            }
+            
+            candado.writeLock().lock();
+            try {
+                proyectosEliminados.forEach(porProyecto::remove);
+                departamentosEliminados.forEach(porDepartamento::remove);
+                for (Long empleadoId : empleadoIds) {
+                    todos.quitar(empleadoId);
+                    Long departamentoId = departamentoPorEmpleado.remove(empleadoId);
+                    if (departamentoId != null) {
+                        quitar(porDepartamento, departamentoId, empleadoId);
+                    }
+                    for (long proyectoId : proyectosPorEmpleado.getOrDefault(empleadoId, SIN_PROYECTOS)) {
+                        quitar(porProyecto, proyectoId, empleadoId);
+                    }
+                    proyectosPorEmpleado.remove(empleadoId);
+                }
+                agregar(departamentos, asignaciones);
+                empleadosRecargados.addAndGet(empleadoIds.size());
+            } finally {
+                candado.writeLock().unlock();
+            }
+        } catch (RuntimeException ex) {
+            // Un lote perdido dejaría las membresías desactualizadas para siempre: no se responde hasta recargar
+            fallos.incrementAndGet();
+            listo = false;
+            log.warn("No se pudo aplicar un lote al índice de membresías; se recargará", ex);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${indice.membresias.reintento-ms:30000}")
+    public void reintentarCarga() {
+        if (!listo) {
+            recargarSinFallar();
+        }
+    }
+    
+    // Evalúa la expresión; devuelve la cantidad y, si limite > 0, hasta "limite" ids en orden ascendente
+    public ResultadoConsulta consultar(String expresion, int limite) {
+        verificarListo();
+        consultas.incrementAndGet();
+        candado.readLock().lock();
+        try {
+            MapaBits resultado = ExpresionMembresia.evaluar(expresion, this::resolver);
+            return new ResultadoConsulta(resultado.cardinalidad(), limite > 0 ? resultado.aArreglo(limite) : new long[0]);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+    
+    // Proyectos con al menos un empleado del departamento
+    public long[] proyectosConEmpleadosDe(Long departamentoId) {
+        verificarListo();
+        consultas.incrementAndGet();
+        candado.readLock().lock();
+        try {
+            MapaBits empleados = porDepartamento.getOrDefault(departamentoId, VACIO);
+            return porProyecto.entrySet().stream()
+                .filter(entrada -> entrada.getValue().intersecta(empleados))
+                .mapToLong(Map.Entry::getKey)
+                .sorted()
+                .toArray();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+    
+    public Map<String, Object> obtenerEstadisticas() {
+        candado.readLock().lock();
+        try {
+            long bytes = todos.bytesEstimados();
+            for (MapaBits mapa : porProyecto.values()) {
+                bytes += mapa.bytesEstimados();
+            }
+            for (MapaBits mapa : porDepartamento.values()) {
+                bytes += mapa.bytesEstimados();
+            }
+            Map<String, Object> estadisticas = new LinkedHashMap<>();
+            estadisticas.put("listo", listo);
+            estadisticas.put("empleados", todos.cardinalidad());
+            estadisticas.put("proyectos", porProyecto.size());
+            estadisticas.put("departamentos", porDepartamento.size());
+            estadisticas.put("bytesEstimados", bytes);
+            estadisticas.put("consultas", consultas.get());
+            estadisticas.put("empleadosRecargados", empleadosRecargados.get());
+            estadisticas.put("fallos", fallos.get());
+            return estadisticas;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+    
+    private void recargarSinFallar() {
+        try {
+            recargar();
+        } catch (RuntimeException ex) {
+            fallos.incrementAndGet();
+            log.warn("No se pudo cargar el índice de membresías; se reintentará", ex);
+        }
+    }
+    
+    private void verificarListo() {
+        if (!listo) {
+            throw new IndiceNoDisponibleException("El índice de membresías se está recargando");
+        }
+    }
+    
+    // Deben llamarse con el candado exclusivo tomado
+    private void agregar(List<Object[]> departamentos, List<Object[]> asignaciones) {
+        for (Object[] fila : departamentos) {
+            long empleadoId = (Long) fila[0];
+            todos.agregar(empleadoId);
+            if (fila[1] != null) {
+                Long departamentoId = (Long) fila[1];
+                porDepartamento.computeIfAbsent(departamentoId, k -> new MapaBits()).agregar(empleadoId);
+                departamentoPorEmpleado.put(empleadoId, departamentoId);
+            }
+        }
+        Map<Long, List<Long>> proyectosLeidos = new HashMap<>();
+        for (Object[] par : asignaciones) {
+            porProyecto.computeIfAbsent((Long) par[1], k -> new MapaBits()).agregar((Long) par[0]);
+            proyectosLeidos.computeIfAbsent((Long) par[0], k -> new ArrayList<>()).add((Long) par[1]);
+        }
+        proyectosLeidos.forEach((empleadoId, proyectos) ->
+            proyectosPorEmpleado.put(empleadoId, proyectos.stream().mapToLong(Long::longValue).toArray()));
+    }
+    
+    private static void quitar(Map<Long, MapaBits> mapas, long clave, long empleadoId) {
+        MapaBits mapa = mapas.get(clave);
+        if (mapa != null) {
+            mapa.quitar(empleadoId);
+            if (mapa.estaVacio()) {
+                mapas.remove(clave);
+            }
+        }
+    }
+    
+    private MapaBits resolver(ExpresionMembresia.Atomo atomo) {
+        return switch (atomo.tipo()) {
+            case PROYECTO -> porProyecto.getOrDefault(atomo.id(), VACIO);
+            case DEPARTAMENTO -> porDepartamento.getOrDefault(atomo.id(), VACIO);
+            case TODOS -> todos;
+        };
+    }
+    
+    public record ResultadoConsulta(long cantidad, long[] ids) {
+    }
+}
@@ -0,0 +1,568 @@
+package com.empleados.sistema.index;
+
+import java.util.Arrays;
+
+// Conjunto comprimido de enteros no negativos al estilo Roaring: los 16 bits altos eligen un contenedor y
+// los 16 bajos se guardan en un arreglo ordenado (hasta 4096 valores) o en un mapa de 65536 bits.
+// Las operaciones de conjuntos devuelven instancias nuevas; agregar/quitar modifican esta.
+public final class MapaBits {
+    
+    private static final int MAX_ARREGLO = 4096;
+    private static final int PALABRAS = 1024;
+    
+    private char[] claves;
+    private Contenedor[] contenedores;
+    private int tamano;
+    
+    public MapaBits() {
+        this(4);
+    }
+    
+    private MapaBits(int capacidad) {
+        this.claves = new char[capacidad];
+        this.contenedores = new Contenedor[capacidad];
+    }
+    
+    public static MapaBits de(long... valores) {
+        MapaBits mapa = new MapaBits();
+        for (long valor : valores) {
+            mapa.agregar(valor);
+        }
+        return mapa;
+    }
+    
+    public void agregar(long valor) {
+        int entero = validar(valor);
+        char clave = alto(entero);
+        int posicion = buscarClave(clave);
+        if (posicion >= 0) {
+            contenedores[posicion] = contenedores[posicion].agregar(bajo(entero));
+        } else {
+            insertar(-posicion - 1, clave, new ContenedorArreglo().agregar(bajo(entero)));
+        }
+    }
+    
+    public void quitar(long valor) {
+        if (valor < 0 || valor > Integer.MAX_VALUE) {
+            return;
+        }
+        int entero = (int) valor;
+        int posicion = buscarClave(alto(entero));
+        if (posicion < 0) {
+            return;
+        }
+        Contenedor resultado = contenedores[posicion].quitar(bajo(entero));
+        if (resultado.cardinalidad() == 0) {
+            eliminar(posicion);
+        } else {
+            contenedores[posicion] = resultado;
+        }
+    }
+    
+    public boolean contiene(long valor) {
+        if (valor < 0 || valor > Integer.MAX_VALUE) {
+            return false;
+        }
+        int entero = (int) valor;
+        int posicion = buscarClave(alto(entero));
+        return posicion >= 0 && contenedores[posicion].contiene(bajo(entero));
+    }
+    
+    public long cardinalidad() {
+        long total = 0;
+        for (int i = 0; i < tamano; i++) {
+            total += contenedores[i].cardinalidad();
+        }
+        return total;
+    }
+    
+    public boolean estaVacio() {
+        return tamano == 0;
+    }
+    
+    public MapaBits and(MapaBits otro) {
+        MapaBits resultado = new MapaBits(Math.max(1, Math.min(tamano, otro.tamano)));
+        int i = 0;
+        int j = 0;
+        while (i < tamano && j < otro.tamano) {
+            if (claves[i] < otro.claves[j]) {
+                i++;
+            } else if (claves[i] > otro.claves[j]) {
+                j++;
+            } else {
+                Contenedor interseccion = contenedores[i].and(otro.contenedores[j]);
+                if (interseccion.cardinalidad() > 0) {
+                    resultado.anexar(claves[i], interseccion);
+                }
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+    
+    public MapaBits or(MapaBits otro) {
+        MapaBits resultado = new MapaBits(Math.max(1, tamano + otro.tamano));
+        int i = 0;
+        int j = 0;
+        while (i < tamano || j < otro.tamano) {
+            if (j >= otro.tamano || (i < tamano && claves[i] < otro.claves[j])) {
+                resultado.anexar(claves[i], contenedores[i].copiar());
+                i++;
+            } else if (i >= tamano || claves[i] > otro.claves[j]) {
+                resultado.anexar(otro.claves[j], otro.contenedores[j].copiar());
+                j++;
+            } else {
+                resultado.anexar(claves[i], contenedores[i].or(otro.contenedores[j]));
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+    
+    public MapaBits andNot(MapaBits otro) {
+        MapaBits resultado = new MapaBits(Math.max(1, tamano));
+        int j = 0;
+        for (int i = 0; i < tamano; i++) {
+            while (j < otro.tamano && otro.claves[j] < claves[i]) {
+                j++;
+            }
+            Contenedor diferencia = j < otro.tamano && otro.claves[j] == claves[i]
+                ? contenedores[i].andNot(otro.contenedores[j])
+                : contenedores[i].copiar();
+            if (diferencia.cardinalidad() > 0) {
+                resultado.anexar(claves[i], diferencia);
+            }
+        }
+        return resultado;
+    }
+    
+    public boolean intersecta(MapaBits otro) {
+        int i = 0;
+        int j = 0;
+        while (i < tamano && j < otro.tamano) {
+            if (claves[i] < otro.claves[j]) {
+                i++;
+            } else if (claves[i] > otro.claves[j]) {
+                j++;
+            } else {
+                if (contenedores[i].and(otro.contenedores[j]).cardinalidad() > 0) {
+                    return true;
+                }
+                i++;
+                j++;
+            }
+        }
+        return false;
+    }
+    
+    public MapaBits copiar() {
+        MapaBits copia = new MapaBits(Math.max(1, tamano));
+        for (int i = 0; i < tamano; i++) {
+            copia.anexar(claves[i], contenedores[i].copiar());
+        }
+        return copia;
+    }
+    
+    // Valores en orden ascendente, a lo sumo "limite"
+    public long[] aArreglo(int limite) {
+        long[] resultado = new long[(int) Math.min(cardinalidad(), limite)];
+        int escritos = 0;
+        for (int i = 0; i < tamano && escritos < resultado.length; i++) {
+            escritos = contenedores[i].volcar(claves[i] << 16, resultado, escritos);
+        }
+        return resultado;
+    }
+    
+    // Tamaño aproximado en memoria, para métricas
+    public long bytesEstimados() {
+        long total = 16 + 3L * claves.length + 4L * contenedores.length;
+        for (int i = 0; i < tamano; i++) {
+            total += contenedores[i].bytesEstimados();
+        }
+        return total;
+    }
+    
+    private static int validar(long valor) {
+        if (valor < 0 || valor > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Valor fuera de rango para el índice de bits: " + valor);
+        }
+        return (int) valor;
+    }
+    
+    private static char alto(int valor) {
+        return (char) (valor >>> 16);
+    }
+    
+    private static char bajo(int valor) {
+        return (char) valor;
+    }
+    
+    private int buscarClave(char clave) {
+        int bajo = 0;
+        int alto = tamano - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (claves[medio] < clave) {
+                bajo = medio + 1;
+            } else if (claves[medio] > clave) {
+                alto = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -(bajo + 1);
+    }
+    
+    private void insertar(int posicion, char clave, Contenedor contenedor) {
+        asegurarCapacidad();
+        System.arraycopy(claves, posicion, claves, posicion + 1, tamano - posicion);
+        System.arraycopy(contenedores, posicion, contenedores, posicion + 1, tamano - posicion);
+        claves[posicion] = clave;
+        contenedores[posicion] = contenedor;
+        tamano++;
+    }
+    
+    private void anexar(char clave, Contenedor contenedor) {
+        asegurarCapacidad();
+        claves[tamano] = clave;
+        contenedores[tamano] = contenedor;
+        tamano++;
+    }
+    
+    private void eliminar(int posicion) {
+        System.arraycopy(claves, posicion + 1, claves, posicion, tamano - posicion - 1);
+        System.arraycopy(contenedores, posicion + 1, contenedores, posicion, tamano - posicion - 1);
+        tamano--;
+        contenedores[tamano] = null;
+    }
+    
+    private void asegurarCapacidad() {
+        if (tamano == claves.length) {
+            claves = Arrays.copyOf(claves, tamano * 2);
+            contenedores = Arrays.copyOf(contenedores, tamano * 2);
+        }
+    }
+    
+    private interface Contenedor {
+        Contenedor agregar(char valor);
+        Contenedor quitar(char valor);
+        boolean contiene(char valor);
+        int cardinalidad();
+        Contenedor and(Contenedor otro);
+        Contenedor or(Contenedor otro);
+        Contenedor andNot(Contenedor otro);
+        Contenedor copiar();
+        int volcar(int base, long[] destino, int desde);
+        long bytesEstimados();
+    }
+    
+    // Hasta MAX_ARREGLO valores ordenados
+    private static final class ContenedorArreglo implements Contenedor {
+        
+        private char[] valores;
+        private int cantidad;
+        
+        ContenedorArreglo() {
+            this(new char[4], 0);
+        }
+        
+        ContenedorArreglo(char[] valores, int cantidad) {
+            this.valores = valores;
+            this.cantidad = cantidad;
+        }
+        
+        @Override
+        public Contenedor agregar(char valor) {
+            int posicion = Arrays.binarySearch(valores, 0, cantidad, valor);
+            if (posicion >= 0) {
+                return this;
+            }
+            if (cantidad == MAX_ARREGLO) {
+                return aBits().agregar(valor);
+            }
+            posicion = -posicion - 1;
+            if (cantidad == valores.length) {
+                valores = Arrays.copyOf(valores, Math.min(MAX_ARREGLO, Math.max(4, cantidad * 2)));
+            }
+            System.arraycopy(valores, posicion, valores, posicion + 1, cantidad - posicion);
+            valores[posicion] = valor;
+            cantidad++;
+            return this;
+        }
+        
+        @Override
+        public Contenedor quitar(char valor) {
+            int posicion = Arrays.binarySearch(valores, 0, cantidad, valor);
+            if (posicion >= 0) {
+                System.arraycopy(valores, posicion + 1, valores, posicion, cantidad - posicion - 1);
+                cantidad--;
+            }
+            return this;
+        }
+        
+        @Override
+        public boolean contiene(char valor) {
+            return Arrays.binarySearch(valores, 0, cantidad, valor) >= 0;
+        }
+        
+        @Override
+        public int cardinalidad() {
+            return cantidad;
+        }
+        
+        @Override
+        public Contenedor and(Contenedor otro) {
+            char[] resultado = new char[cantidad];
+            int n = 0;
+            if (otro instanceof ContenedorArreglo arreglo) {
+                int i = 0;
+                int j = 0;
+                while (i < cantidad && j < arreglo.cantidad) {
+                    if (valores[i] < arreglo.valores[j]) {
+                        i++;
+                    } else if (valores[i] > arreglo.valores[j]) {
+                        j++;
+                    } else {
+                        resultado[n++] = valores[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cantidad; i++) {
+                    if (otro.contiene(valores[i])) {
+                        resultado[n++] = valores[i];
+                    }
+                }
+            }
+            return new ContenedorArreglo(resultado, n);
+        }
+        
+        @Override
+        public Contenedor or(Contenedor otro) {
+            if (otro instanceof ContenedorBits) {
+                return otro.or(this);
+            }
+            ContenedorArreglo arreglo = (ContenedorArreglo) otro;
+            char[] resultado = new char[cantidad + arreglo.cantidad];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cantidad || j < arreglo.cantidad) {
+                if (j >= arreglo.cantidad || (i < cantidad && valores[i] < arreglo.valores[j])) {
+                    resultado[n++] = valores[i++];
+                } else if (i >= cantidad || valores[i] > arreglo.valores[j]) {
+                    resultado[n++] = arreglo.valores[j++];
+                } else {
+                    resultado[n++] = valores[i];
+                    i++;
+                    j++;
+                }
+            }
+            ContenedorArreglo union = new ContenedorArreglo(resultado, n);
+            return n > MAX_ARREGLO ? union.aBits() : union;
+        }
+        
+        @Override
+        public Contenedor andNot(Contenedor otro) {
+            char[] resultado = new char[cantidad];
+            int n = 0;
+            for (int i = 0; i < cantidad; i++) {
+                if (!otro.contiene(valores[i])) {
+                    resultado[n++] = valores[i];
+                }
+            }
+            return new ContenedorArreglo(resultado, n);
+        }
+        
+        @Override
+        public Contenedor copiar() {
+            return new ContenedorArreglo(Arrays.copyOf(valores, Math.max(cantidad, 1)), cantidad);
+        }
+        
+        @Override
+        public int volcar(int base, long[] destino, int desde) {
+            int n = desde;
+            for (int i = 0; i < cantidad && n < destino.length; i++) {
+                destino[n++] = base | valores[i];
+            }
+            return n;
+        }
+        
+        @Override
+        public long bytesEstimados() {
+            return 24 + 16 + 2L * valores.length;
+        }
+        
+        private ContenedorBits aBits() {
+            ContenedorBits bits = new ContenedorBits();
+            for (int i = 0; i < cantidad; i++) {
+                bits.agregar(valores[i]);
+            }
+            return bits;
+        }
+    }
+    
+    // Mapa de 65536 bits para contenedores densos
+    private static final class ContenedorBits implements Contenedor {
+        
+        private final long[] palabras;
+        private int cantidad;
+        
+        ContenedorBits() {
+            this(new long[PALABRAS], 0);
+        }
+        
+        ContenedorBits(long[] palabras, int cantidad) {
+            this.palabras = palabras;
+            this.cantidad = cantidad;
+        }
+        
+        @Override
+        public Contenedor agregar(char valor) {
+            long mascara = 1L << valor;
+            int palabra = valor >>> 6;
+            if ((palabras[palabra] & mascara) == 0) {
+                palabras[palabra] |= mascara;
+                cantidad++;
+            }
+            return this;
+        }
+        
+        @Override
+        public Contenedor quitar(char valor) {
+            long mascara = 1L << valor;
+            int palabra = valor >>> 6;
+            if ((palabras[palabra] & mascara) != 0) {
+                palabras[palabra] &= ~mascara;
+                cantidad--;
+            }
+            return cantidad <= MAX_ARREGLO ? aArreglo() : this;
+        }
+        
+        @Override
+        public boolean contiene(char valor) {
+            return (palabras[valor >>> 6] & (1L << valor)) != 0;
+        }
+        
+        @Override
+        public int cardinalidad() {
+            return cantidad;
+        }
+        
+        @Override
+        public Contenedor and(Contenedor otro) {
+            if (otro instanceof ContenedorArreglo) {
+                return otro.and(this);
+            }
+            long[] otras = ((ContenedorBits) otro).palabras;
+            long[] resultado = new long[PALABRAS];
+            int n = 0;
+            for (int i = 0; i < PALABRAS; i++) {
+                resultado[i] = palabras[i] & otras[i];
+                n += Long.bitCount(resultado[i]);
+            }
+            return normalizar(resultado, n);
+        }
+        
+        @Override
+        public Contenedor or(Contenedor otro) {
+            long[] resultado = palabras.clone();
+            int n = cantidad;
+            if (otro instanceof ContenedorArreglo arreglo) {
+                for (int i = 0; i < arreglo.cantidad; i++) {
+                    char valor = arreglo.valores[i];
+                    long mascara = 1L << valor;
+                    if ((resultado[valor >>> 6] & mascara) == 0) {
+                        resultado[valor >>> 6] |= mascara;
+                        n++;
+                    }
+                }
+            } else {
+                long[] otras = ((ContenedorBits) otro).palabras;
+                n = 0;
+                for (int i = 0; i < PALABRAS; i++) {
+                    resultado[i] |= otras[i];
+                    n += Long.bitCount(resultado[i]);
+                }
+            }
+            return new ContenedorBits(resultado, n);
+        }
+        
+        @Override
+        public Contenedor andNot(Contenedor otro) {
+            long[] resultado = palabras.clone();
+            int n = cantidad;
+            if (otro instanceof ContenedorArreglo arreglo) {
+                for (int i = 0; i < arreglo.cantidad; i++) {
+                    char valor = arreglo.valores[i];
+                    long mascara = 1L << valor;
+                    if ((resultado[valor >>> 6] & mascara) != 0) {
+                        resultado[valor >>> 6] &= ~mascara;
+                        n--;
+                    }
+                }
+            } else {
+                long[] otras = ((ContenedorBits) otro).palabras;
+                n = 0;
+                for (int i = 0; i < PALABRAS; i++) {
+                    resultado[i] &= ~otras[i];
+                    n += Long.bitCount(resultado[i]);
+                }
+            }
+            return normalizar(resultado, n);
+        }
+        
+        @Override
+        public Contenedor copiar() {
+            return new ContenedorBits(palabras.clone(), cantidad);
+        }
+        
+        @Override
+        public int volcar(int base, long[] destino, int desde) {
+            int n = desde;
+            for (int i = 0; i < PALABRAS && n < destino.length; i++) {
+                long palabra = palabras[i];
+                while (palabra != 0 && n < destino.length) {
+                    destino[n++] = base | (i << 6) | Long.numberOfTrailingZeros(palabra);
+                    palabra &= palabra - 1;
+                }
+            }
+            return n;
+        }
+        
+        @Override
+        public long bytesEstimados() {
+            return 24 + 16 + 8L * PALABRAS;
+        }
+        
+        private ContenedorArreglo aArreglo() {
+            char[] valores = new char[Math.max(cantidad, 1)];
+            int n = volcarBajos(palabras, valores);
+            return new ContenedorArreglo(valores, n);
+        }
+        
+        private static Contenedor normalizar(long[] palabras, int cantidad) {
+            if (cantidad > MAX_ARREGLO) {
+                return new ContenedorBits(palabras, cantidad);
+            }
+            char[] valores = new char[Math.max(cantidad, 1)];
+            int n = volcarBajos(palabras, valores);
+            return new ContenedorArreglo(valores, n);
+        }
+        
+        private static int volcarBajos(long[] palabras, char[] destino) {
+            int n = 0;
+            for (int i = 0; i < PALABRAS; i++) {
+                long palabra = palabras[i];
+                while (palabra != 0) {
+                    destino[n++] = (char) ((i << 6) | Long.numberOfTrailingZeros(palabra));
+                    palabra &= palabra - 1;
+                }
+            }
+            return n;
+        }
+    }
+}
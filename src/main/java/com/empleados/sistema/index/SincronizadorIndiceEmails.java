@@ -0,0 +1,53 @@
+package com.empleados.sistema.index;
+
+import com.empleados.sistema.model.Empleado;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+// Listener JPA: aplica al índice de emails los cambios de empleados una vez confirmada la transacción,
+// cualquiera sea el camino de escritura (servicio, importación o cascada desde departamentos)
+public class SincronizadorIndiceEmails {
+    
+    private final ObjectProvider<IndiceEmails> indiceEmails;
+    
+    public SincronizadorIndiceEmails(ObjectProvider<IndiceEmails> indiceEmails) {
+        this.indiceEmails = indiceEmails;
+    }
+    
+    @PostPersist
+    @PostUpdate
+    public void alGuardar(Empleado empleado) {
+        Long id = empleado.getId();
+        String email = empleado.getEmail();
+        alConfirmar(indice -> indice.registrar(id, email));
+    }
+    
+    @PostRemove
+    public void alEliminar(Empleado empleado) {
+        Long id = empleado.getId();
+        alConfirmar(indice -> indice.eliminar(id));
+    }
+    
+    private void alConfirmar(Consumer<IndiceEmails> cambio) {
+        IndiceEmails indice = indiceEmails.getIfAvailable();
+        if (indice == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cambio.accept(indice);
+                }
+            });
+        } else {
+            cambio.accept(indice);
+        }
+    }
+}
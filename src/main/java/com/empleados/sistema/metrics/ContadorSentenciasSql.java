@@ -0,0 +1,25 @@
+package com.empleados.sistema.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+// Cuenta las sentencias SQL que Hibernate prepara en el hilo actual
+@Component
+public class ContadorSentenciasSql implements StatementInspector {
+    
+    private static final ThreadLocal<int[]> CONTADOR = ThreadLocal.withInitial(() -> new int[1]);
+    
+    @Override
+    public String inspect(String sql) {
+        CONTADOR.get()[0]++;
+        return sql;
+    }
+    
+    public void reiniciar() {
+        CONTADOR.get()[0] = 0;
+    }
+    
+    public int obtener() {
+        return CONTADOR.get()[0];
+    }
+}
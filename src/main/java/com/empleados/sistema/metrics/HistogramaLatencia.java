@@ -0,0 +1,98 @@
+package com.empleados.sistema.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Histograma log-lineal al estilo HdrHistogram: 64 subcubetas por potencia de dos
+// (error relativo < 1,6 %) sobre valores en microsegundos. Registrar no reserva memoria.
+public class HistogramaLatencia {
+    
+    private static final int BITS_SUBCUBETA = 6;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+    private static final int MITAD_SUBCUBETAS = SUBCUBETAS >> 1;
+    
+    static final long VALOR_MAXIMO = (1L << 32) - 1;
+    static final int CANTIDAD_CUBETAS = indice(VALOR_MAXIMO) + 1;
+    
+    private final AtomicLongArray cubetas = new AtomicLongArray(CANTIDAD_CUBETAS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong maximo = new AtomicLong();
+    
+    public void registrar(long valor) {
+        long acotado = valor < 0 ? 0 : Math.min(valor, VALOR_MAXIMO);
+        cubetas.incrementAndGet(indice(acotado));
+        total.incrementAndGet();
+        
+        long maximoActual = maximo.get();
+        while (acotado > maximoActual && !maximo.compareAndSet(maximoActual, acotado)) {
+            maximoActual = maximo.get();
+        }
+    }
+    
+    public void reiniciar() {
+        for (int i = 0; i < CANTIDAD_CUBETAS; i++) {
+            cubetas.set(i, 0);
+        }
+        total.set(0);
+        maximo.set(0);
+    }
+    
+    public long getTotal() {
+        return total.get();
+    }
+    
+    public long getMaximo() {
+        return maximo.get();
+    }
+    
+    // Acumula las cubetas en un arreglo externo para combinar varios intervalos
+    public void sumarEn(long[] destino) {
+        for (int i = 0; i < CANTIDAD_CUBETAS; i++) {
+            destino[i] += cubetas.get(i);
+        }
+    }
+    
+    public static long[] nuevasCubetas() {
+        return new long[CANTIDAD_CUBETAS];
+    }
+    
+    // Percentil (0-100] sobre cubetas combinadas; devuelve el mayor valor equivalente de la cubeta
+    public static long percentil(long[] cubetas, long total, double percentil) {
+        if (total == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(total * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < cubetas.length; i++) {
+            acumulado += cubetas[i];
+            if (acumulado >= objetivo) {
+                return valorSuperior(i);
+            }
+        }
+        return VALOR_MAXIMO;
+    }
+    
+    static int indice(long valor) {
+        if (valor < SUBCUBETAS) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor) - (BITS_SUBCUBETA - 1);
+        return exponente * MITAD_SUBCUBETAS + (int) (valor >>> exponente);
+    }
+    
+    static long valorInferior(int indice) {
+        if (indice < SUBCUBETAS) {
+            return indice;
+        }
+        int exponente = indice / MITAD_SUBCUBETAS - 1;
+        long subcubeta = indice - (long) exponente * MITAD_SUBCUBETAS;
+        return subcubeta << exponente;
+    }
+    
+    static long valorSuperior(int indice) {
+        if (indice >= CANTIDAD_CUBETAS - 1) {
+            return VALOR_MAXIMO;
+        }
+        return valorInferior(indice + 1) - 1;
+    }
+}
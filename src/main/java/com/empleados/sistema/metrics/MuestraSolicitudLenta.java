@@ -0,0 +1,13 @@
+package com.empleados.sistema.metrics;
+
+import java.time.Instant;
+
+public record MuestraSolicitudLenta(
+        String metodo,
+        String uri,
+        String ruta,
+        int estado,
+        double duracionMs,
+        int sentenciasSql,
+        Instant fecha) {
+}
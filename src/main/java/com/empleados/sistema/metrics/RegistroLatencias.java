@@ -0,0 +1,217 @@
+package com.empleados.sistema.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+@Component
+public class RegistroLatencias {
+    
+    private static final String[] METODOS = {"GET", "POST", "PUT", "DELETE", "PATCH", "OTRO"};
+    private static final int CLASES_ESTADO = 5;
+    private static final String SIN_RUTA = "(sin ruta)";
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+    
+    private final ConcurrentHashMap<String, AtomicReferenceArray<VentanaLatencias>> rutas = new ConcurrentHashMap<>();
+    
+    private final long nanosIntervaloCorto;
+    private final int intervalosCortos;
+    private final long nanosIntervaloLargo;
+    private final int intervalosLargos;
+    private final long sloLatenciaMicros;
+    private final double sloObjetivo;
+    
+    // Muestreo de las solicitudes más lentas (min-heap por duración)
+    private final int cantidadMuestras;
+    private final PriorityQueue<MuestraSolicitudLenta> muestras =
+        new PriorityQueue<>(Comparator.comparingDouble(MuestraSolicitudLenta::duracionMs));
+    private volatile boolean muestreoHabilitado;
+    private volatile long umbralMuestraNanos;
+    
+    public RegistroLatencias(
+            @Value("${metricas.latencia.intervalo-corto-segundos:10}") long segundosIntervaloCorto,
+            @Value("${metricas.latencia.intervalos-cortos:6}") int intervalosCortos,
+            @Value("${metricas.latencia.intervalo-largo-segundos:300}") long segundosIntervaloLargo,
+            @Value("${metricas.latencia.intervalos-largos:12}") int intervalosLargos,
+            @Value("${metricas.latencia.slo-latencia-ms:500}") long sloLatenciaMs,
+            @Value("${metricas.latencia.slo-objetivo:0.99}") double sloObjetivo,
+            @Value("${metricas.latencia.muestreo-lentos.habilitado:false}") boolean muestreoHabilitado,
+            @Value("${metricas.latencia.muestreo-lentos.cantidad:20}") int cantidadMuestras) {
+        this.nanosIntervaloCorto = TimeUnit.SECONDS.toNanos(segundosIntervaloCorto);
+        this.intervalosCortos = intervalosCortos;
+        this.nanosIntervaloLargo = TimeUnit.SECONDS.toNanos(segundosIntervaloLargo);
+        this.intervalosLargos = intervalosLargos;
+        this.sloLatenciaMicros = TimeUnit.MILLISECONDS.toMicros(sloLatenciaMs);
+        this.sloObjetivo = sloObjetivo;
+        this.muestreoHabilitado = muestreoHabilitado;
+        this.cantidadMuestras = cantidadMuestras;
+    }
+    
+    // Camino caliente: sin reservas de memoria una vez creada la ventana de la ruta
+    public void registrar(String metodo, String patron, int estado, long nanos, long ahoraNanos) {
+        String ruta = patron != null ? patron : SIN_RUTA;
+        AtomicReferenceArray<VentanaLatencias> ventanas = rutas.get(ruta);
+        if (ventanas == null) {
+            ventanas = rutas.computeIfAbsent(ruta, r -> new AtomicReferenceArray<>(METODOS.length * CLASES_ESTADO));
+        }
+        
+        int clase = Math.min(Math.max(estado / 100, 1), CLASES_ESTADO);
+        int posicion = indiceMetodo(metodo) * CLASES_ESTADO + (clase - 1);
+        VentanaLatencias ventana = ventanas.get(posicion);
+        if (ventana == null) {
+            ventanas.compareAndSet(posicion, null,
+                new VentanaLatencias(nanosIntervaloCorto, intervalosCortos, nanosIntervaloLargo, intervalosLargos));
+            ventana = ventanas.get(posicion);
+        }
+        
+        long micros = nanos / 1000;
+        boolean malo = clase == 5 || micros > sloLatenciaMicros;
+        ventana.registrar(micros, malo, ahoraNanos);
+    }
+    
+    public boolean isMuestreoHabilitado() {
+        return muestreoHabilitado;
+    }
+    
+    public void setMuestreoHabilitado(boolean muestreoHabilitado) {
+        this.muestreoHabilitado = muestreoHabilitado;
+    }
+    
+    public boolean superaUmbralMuestra(long nanos) {
+        return nanos > umbralMuestraNanos;
+    }
+    
+    public void registrarMuestra(MuestraSolicitudLenta muestra) {
+        synchronized (muestras) {
+            muestras.offer(muestra);
+            if (muestras.size() > cantidadMuestras) {
+                muestras.poll();
+            }
+            if (muestras.size() == cantidadMuestras) {
+                umbralMuestraNanos = (long) (muestras.peek().duracionMs() * 1_000_000);
+            }
+        }
+    }
+    
+    public List<MuestraSolicitudLenta> obtenerMuestras() {
+        List<MuestraSolicitudLenta> resultado;
+        synchronized (muestras) {
+            resultado = new ArrayList<>(muestras);
+        }
+        resultado.sort(Comparator.comparingDouble(MuestraSolicitudLenta::duracionMs).reversed());
+        return resultado;
+    }
+    
+    public void limpiarMuestras() {
+        synchronized (muestras) {
+            muestras.clear();
+            umbralMuestraNanos = 0;
+        }
+    }
+    
+    public List<Map<String, Object>> obtenerResumen() {
+        long ahora = System.nanoTime();
+        List<Map<String, Object>> resumen = new ArrayList<>();
+        
+        rutas.forEach((ruta, ventanas) -> {
+            for (int m = 0; m < METODOS.length; m++) {
+                long totalCorto = 0;
+                long malosCortos = 0;
+                long totalLargo = 0;
+                long malosLargos = 0;
+                List<Map<String, Object>> clases = new ArrayList<>();
+                
+                for (int c = 0; c < CLASES_ESTADO; c++) {
+                    VentanaLatencias ventana = ventanas.get(m * CLASES_ESTADO + c);
+                    if (ventana == null) {
+                        continue;
+                    }
+                    long[] cubetas = HistogramaLatencia.nuevasCubetas();
+                    long[] corta = ventana.acumularCorta(cubetas, ahora);
+                    long[] larga = ventana.acumularLarga(ahora);
+                    totalCorto += corta[0];
+                    malosCortos += corta[1];
+                    totalLargo += larga[0];
+                    malosLargos += larga[1];
+                    if (corta[0] == 0) {
+                        continue;
+                    }
+                    
+                    Map<String, Object> clase = new LinkedHashMap<>();
+                    clase.put("clase", (c + 1) + "xx");
+                    clase.put("solicitudes", corta[0]);
+                    for (double p : PERCENTILES) {
+                        long valor = Math.min(HistogramaLatencia.percentil(cubetas, corta[0], p), corta[2]);
+                        clase.put(nombrePercentil(p), valor / 1000.0);
+                    }
+                    clase.put("maxMs", corta[2] / 1000.0);
+                    clases.add(clase);
+                }
+                
+                if (totalCorto == 0 && totalLargo == 0) {
+                    continue;
+                }
+                Map<String, Object> entrada = new LinkedHashMap<>();
+                entrada.put("metodo", METODOS[m]);
+                entrada.put("ruta", ruta);
+                entrada.put("solicitudes", totalCorto);
+                entrada.put("tasaConsumoSloCorta", tasaConsumo(malosCortos, totalCorto));
+                entrada.put("tasaConsumoSloLarga", tasaConsumo(malosLargos, totalLargo));
+                entrada.put("clases", clases);
+                resumen.add(entrada);
+            }
+        });
+        return resumen;
+    }
+    
+    public Map<String, Object> obtenerConfiguracion() {
+        Map<String, Object> configuracion = new LinkedHashMap<>();
+        configuracion.put("ventanaCortaSegundos", TimeUnit.NANOSECONDS.toSeconds(nanosIntervaloCorto * intervalosCortos));
+        configuracion.put("ventanaLargaSegundos", TimeUnit.NANOSECONDS.toSeconds(nanosIntervaloLargo * intervalosLargos));
+        configuracion.put("sloLatenciaMs", sloLatenciaMicros / 1000);
+        configuracion.put("sloObjetivo", sloObjetivo);
+        configuracion.put("muestreoLentosHabilitado", muestreoHabilitado);
+        configuracion.put("generadoEn", Instant.now());
+        return configuracion;
+    }
+    
+    // Tasa de consumo del presupuesto de errores: 1.0 consume el presupuesto justo a tiempo
+    private double tasaConsumo(long malos, long total) {
+        if (total == 0) {
+            return 0.0;
+        }
+        double presupuesto = 1.0 - sloObjetivo;
+        return presupuesto <= 0 ? 0.0 : ((double) malos / total) / presupuesto;
+    }
+    
+    private static String nombrePercentil(double percentil) {
+        return percentil == 99.9 ? "p999Ms" : "p" + (int) percentil + "Ms";
+    }
+    
+    private static int indiceMetodo(String metodo) {
+        switch (metodo) {
+            case "GET":
+                return 0;
+            case "POST":
+                return 1;
+            case "PUT":
+                return 2;
+            case "DELETE":
+                return 3;
+            case "PATCH":
+                return 4;
+            default:
+                return 5;
+        }
+    }
+}
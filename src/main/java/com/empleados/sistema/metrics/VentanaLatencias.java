@@ -0,0 +1,104 @@
+package com.empleados.sistema.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Ventanas deslizantes para una ruta y clase de estado:
+// - corta: anillo de histogramas para percentiles
+// - larga: anillo de contadores (total / malos) para la tasa de consumo del SLO
+public class VentanaLatencias {
+    
+    private final long nanosIntervaloCorto;
+    private final HistogramaLatencia[] intervalosCortos;
+    private final AtomicLongArray epocasCortas;
+    private final AtomicLongArray malosCortos;
+    
+    private final long nanosIntervaloLargo;
+    private final AtomicLongArray totalesLargos;
+    private final AtomicLongArray malosLargos;
+    private final AtomicLongArray epocasLargas;
+    
+    public VentanaLatencias(long nanosIntervaloCorto, int intervalosCortos,
+                            long nanosIntervaloLargo, int intervalosLargos) {
+        this.nanosIntervaloCorto = nanosIntervaloCorto;
+        this.intervalosCortos = new HistogramaLatencia[intervalosCortos];
+        for (int i = 0; i < intervalosCortos; i++) {
+            this.intervalosCortos[i] = new HistogramaLatencia();
+        }
+        this.epocasCortas = epocasVacias(intervalosCortos);
+        this.malosCortos = new AtomicLongArray(intervalosCortos);
+        
+        this.nanosIntervaloLargo = nanosIntervaloLargo;
+        this.totalesLargos = new AtomicLongArray(intervalosLargos);
+        this.malosLargos = new AtomicLongArray(intervalosLargos);
+        this.epocasLargas = epocasVacias(intervalosLargos);
+    }
+    
+    public void registrar(long micros, boolean malo, long ahoraNanos) {
+        long intervaloCorto = Math.floorDiv(ahoraNanos, nanosIntervaloCorto);
+        int slotCorto = (int) Math.floorMod(intervaloCorto, (long) intervalosCortos.length);
+        long epocaCorta = epocasCortas.get(slotCorto);
+        if (epocaCorta != intervaloCorto && epocasCortas.compareAndSet(slotCorto, epocaCorta, intervaloCorto)) {
+            // Quien gana la rotación limpia el intervalo reutilizado
+            intervalosCortos[slotCorto].reiniciar();
+            malosCortos.set(slotCorto, 0);
+        }
+        intervalosCortos[slotCorto].registrar(micros);
+        if (malo) {
+            malosCortos.incrementAndGet(slotCorto);
+        }
+        
+        long intervaloLargo = Math.floorDiv(ahoraNanos, nanosIntervaloLargo);
+        int slotLargo = (int) Math.floorMod(intervaloLargo, (long) totalesLargos.length());
+        long epocaLarga = epocasLargas.get(slotLargo);
+        if (epocaLarga != intervaloLargo && epocasLargas.compareAndSet(slotLargo, epocaLarga, intervaloLargo)) {
+            totalesLargos.set(slotLargo, 0);
+            malosLargos.set(slotLargo, 0);
+        }
+        totalesLargos.incrementAndGet(slotLargo);
+        if (malo) {
+            malosLargos.incrementAndGet(slotLargo);
+        }
+    }
+    
+    // Combina los intervalos vigentes de la ventana corta en 'cubetas' y devuelve
+    // {total, malos, maximo}
+    public long[] acumularCorta(long[] cubetas, long ahoraNanos) {
+        long intervaloActual = Math.floorDiv(ahoraNanos, nanosIntervaloCorto);
+        long total = 0;
+        long malos = 0;
+        long maximo = 0;
+        for (int i = 0; i < intervalosCortos.length; i++) {
+            long epoca = epocasCortas.get(i);
+            if (epoca > intervaloActual - intervalosCortos.length && epoca <= intervaloActual) {
+                intervalosCortos[i].sumarEn(cubetas);
+                total += intervalosCortos[i].getTotal();
+                malos += malosCortos.get(i);
+                maximo = Math.max(maximo, intervalosCortos[i].getMaximo());
+            }
+        }
+        return new long[] {total, malos, maximo};
+    }
+    
+    // Devuelve {total, malos} de la ventana larga
+    public long[] acumularLarga(long ahoraNanos) {
+        long intervaloActual = Math.floorDiv(ahoraNanos, nanosIntervaloLargo);
+        long total = 0;
+        long malos = 0;
+        for (int i = 0; i < totalesLargos.length(); i++) {
+            long epoca = epocasLargas.get(i);
+            if (epoca > intervaloActual - totalesLargos.length() && epoca <= intervaloActual) {
+                total += totalesLargos.get(i);
+                malos += malosLargos.get(i);
+            }
+        }
+        return new long[] {total, malos};
+    }
+    
+    private static AtomicLongArray epocasVacias(int cantidad) {
+        AtomicLongArray epocas = new AtomicLongArray(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            epocas.set(i, Long.MIN_VALUE);
+        }
+        return epocas;
+    }
+}
@@ -0,0 +1,54 @@
+package com.empleados.sistema.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// Arriendo de una tarea programada compartido entre instancias: la que lo toma corre la tarea hasta "bloqueadaHasta"
+@Entity
+@Table(name = "bloqueos_tareas")
+public class BloqueoTarea {
+    
+    @Id
+    @Column(length = 100)
+    private String nombre;
+    
+    @Column(name = "bloqueada_hasta", nullable = false)
+    private Instant bloqueadaHasta;
+    
+    @Column(name = "bloqueada_por", length = 200)
+    private String bloqueadaPor;
+    
+    // Constructor sin argumentos (requerido por JPA)
+    public BloqueoTarea() {
+    }
+    
+    public BloqueoTarea(String nombre, Instant bloqueadaHasta) {
+        this.nombre = nombre;
+        this.bloqueadaHasta = bloqueadaHasta;
+    }
+    
+    // Getters y Setters
+    public String getNombre() {
+        return nombre;
+    }
+    
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+    
+    public Instant getBloqueadaHasta() {
+        return bloqueadaHasta;
+    }
+    
+    public void setBloqueadaHasta(Instant bloqueadaHasta) {
+        this.bloqueadaHasta = bloqueadaHasta;
+    }
+    
+    public String getBloqueadaPor() {
+        return bloqueadaPor;
+    }
+    
+    public void setBloqueadaPor(String bloqueadaPor) {
+        this.bloqueadaPor = bloqueadaPor;
+    }
+}
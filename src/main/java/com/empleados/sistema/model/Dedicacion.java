@@ -0,0 +1,68 @@
+package com.empleados.sistema.model;
+
+import jakarta.persistence.*;
+
+// Porcentaje de dedicación de un empleado a un proyecto al que está asignado (empleado_proyecto).
+// Las asignaciones sin fila aquí cuentan con el porcentaje por defecto; se borra con la asignación (ver LimpiezaDedicaciones).
+@Entity
+@Table(name = "dedicaciones",
+       uniqueConstraints = @UniqueConstraint(name = "uk_dedicaciones_empleado_proyecto", columnNames = {"empleado_id", "proyecto_id"}),
+       indexes = @Index(name = "idx_dedicaciones_proyecto", columnList = "proyecto_id"))
+public class Dedicacion {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "empleado_id", nullable = false)
+    private Long empleadoId;
+    
+    @Column(name = "proyecto_id", nullable = false)
+    private Long proyectoId;
+    
+    @Column(nullable = false)
+    private Integer porcentaje;
+    
+    // Constructor sin argumentos (requerido por JPA)
+    public Dedicacion() {
+    }
+    
+    public Dedicacion(Long empleadoId, Long proyectoId, Integer porcentaje) {
+        this.empleadoId = empleadoId;
+        this.proyectoId = proyectoId;
+        this.porcentaje = porcentaje;
+    }
+    
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getEmpleadoId() {
+        return empleadoId;
+    }
+    
+    public void setEmpleadoId(Long empleadoId) {
+        this.empleadoId = empleadoId;
+    }
+    
+    public Long getProyectoId() {
+        return proyectoId;
+    }
+    
+    public void setProyectoId(Long proyectoId) {
+        this.proyectoId = proyectoId;
+    }
+    
+    public Integer getPorcentaje() {
+        return porcentaje;
+    }
+    
+    public void setPorcentaje(Integer porcentaje) {
+        this.porcentaje = porcentaje;
+    }
+}
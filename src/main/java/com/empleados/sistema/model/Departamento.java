@@ -1,11 +1,16 @@
 package com.empleados.sistema.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "departamentos")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Departamento {
     
     @Id
@@ -18,9 +23,17 @@ public class Departamento {
     @Column(length = 500)
     private String descripcion;
     
+    // Se expone por /api/departamentos/{id}/empleados; serializarlo aquí recorre el grafo en ambos sentidos
+    @JsonIgnore
     @OneToMany(mappedBy = "departamento", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Empleado> empleados = new ArrayList<>();
     
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+    
     // Constructor sin argumentos (requerido por JPA)
     public Departamento() {
     }
@@ -56,6 +69,14 @@ public class Departamento {
         this.descripcion = descripcion;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public List<Empleado> getEmpleados() {
         return empleados;
     }
@@ -1,16 +1,26 @@
 package com.empleados.sistema.model;
 
+import com.empleados.sistema.index.SincronizadorIndiceEmails;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "empleados")
+@Table(name = "empleados", uniqueConstraints = @UniqueConstraint(name = Empleado.RESTRICCION_EMAIL_UNICO, columnNames = "email"))
+@EntityListeners(SincronizadorIndiceEmails.class)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Empleado {
     
+    public static final String RESTRICCION_EMAIL_UNICO = "uk_empleados_email";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -27,7 +37,7 @@ public class Empleado {
     
     @NotBlank(message = "El email es obligatorio")
     @Email(message = "El email debe tener un formato válido")
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
     
     @NotNull(message = "La fecha de contratación es obligatoria")
@@ -52,6 +62,22 @@ public class Empleado {
     )
     private Set<Proyecto> proyectos = new HashSet<>();
     
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+    
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "creado_en", nullable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant creadoEn;
+    
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "modificado_en", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant modificadoEn;
+    
     // Constructor sin argumentos
     public Empleado() {
     }
@@ -122,6 +148,42 @@ public class Empleado {
         this.departamento = departamento;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public Instant getCreadoEn() {
+        return creadoEn;
+    }
+    
+    public void setCreadoEn(Instant creadoEn) {
+        this.creadoEn = creadoEn;
+    }
+    
+    public Instant getModificadoEn() {
+        return modificadoEn;
+    }
+    
+    public void setModificadoEn(Instant modificadoEn) {
+        this.modificadoEn = modificadoEn;
+    }
+    
+    // Auditoría para la sincronización incremental (precisión de microsegundos, la de la columna)
+    @PrePersist
+    void alCrear() {
+        creadoEn = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        modificadoEn = creadoEn;
+    }
+    
+    @PreUpdate
+    void alModificar() {
+        modificadoEn = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+    
     public Set<Proyecto> getProyectos() {
         return proyectos;
     }
@@ -0,0 +1,15 @@
+package com.empleados.sistema.model;
+
+import java.time.LocalDate;
+
+// Estado precalculado a partir de la fecha de fin; CicloVidaProyectos lo actualiza al cambiar el día.
+// ARCHIVADO solo aparece en las vistas de proyectos archivados (ver ProyectoArchivado)
+public enum EstadoProyecto {
+    ACTIVO,
+    FINALIZADO,
+    ARCHIVADO;
+    
+    public static EstadoProyecto segun(LocalDate fechaFin, LocalDate hoy) {
+        return fechaFin == null || fechaFin.isAfter(hoy) ? ACTIVO : FINALIZADO;
+    }
+}
@@ -0,0 +1,93 @@
+package com.empleados.sistema.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// Cambio de dominio registrado en la misma transacción que lo produjo
+@Entity
+@Table(name = "eventos_outbox", indexes = @Index(name = "idx_eventos_outbox_registrado_en", columnList = "registrado_en"))
+public class EventoOutbox {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_entidad", nullable = false, length = 20)
+    private TipoEntidad tipoEntidad;
+    
+    @Column(name = "entidad_id", nullable = false)
+    private Long entidadId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_cambio", nullable = false, length = 20)
+    private TipoCambio tipoCambio;
+    
+    // Entidad relacionada por el cambio (departamento destino, proyecto asignado, etc.)
+    @Column(name = "relacionado_id")
+    private Long relacionadoId;
+    
+    @Column(name = "registrado_en", nullable = false)
+    private Instant registradoEn;
+    
+    // Constructor sin argumentos (requerido por JPA)
+    public EventoOutbox() {
+    }
+    
+    public EventoOutbox(TipoEntidad tipoEntidad, Long entidadId, TipoCambio tipoCambio, Long relacionadoId) {
+        this.tipoEntidad = tipoEntidad;
+        this.entidadId = entidadId;
+        this.tipoCambio = tipoCambio;
+        this.relacionadoId = relacionadoId;
+        this.registradoEn = Instant.now();
+    }
+    
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public TipoEntidad getTipoEntidad() {
+        return tipoEntidad;
+    }
+    
+    public void setTipoEntidad(TipoEntidad tipoEntidad) {
+        this.tipoEntidad = tipoEntidad;
+    }
+    
+    public Long getEntidadId() {
+        return entidadId;
+    }
+    
+    public void setEntidadId(Long entidadId) {
+        this.entidadId = entidadId;
+    }
+    
+    public TipoCambio getTipoCambio() {
+        return tipoCambio;
+    }
+    
+    public void setTipoCambio(TipoCambio tipoCambio) {
+        this.tipoCambio = tipoCambio;
+    }
+    
+    public Long getRelacionadoId() {
+        return relacionadoId;
+    }
+    
+    public void setRelacionadoId(Long relacionadoId) {
+        this.relacionadoId = relacionadoId;
+    }
+    
+    public Instant getRegistradoEn() {
+        return registradoEn;
+    }
+    
+    public void setRegistradoEn(Instant registradoEn) {
+        this.registradoEn = registradoEn;
+    }
+}
@@ -1,12 +1,19 @@
 package com.empleados.sistema.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "proyectos")
+@Table(name = "proyectos", indexes = @Index(name = "idx_proyectos_estado", columnList = "estado, id"))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Proyecto {
     
     @Id
@@ -25,9 +32,34 @@ public class Proyecto {
     @Column(name = "fecha_fin")
     private LocalDate fechaFin;
     
+    // Se recalcula al guardar y al cambiar el día (ver CicloVidaProyectos)
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'ACTIVO'")
+    @Column(nullable = false, length = 20)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private EstadoProyecto estado = EstadoProyecto.ACTIVO;
+    
+    // Se expone por /api/proyectos/{id}/empleados; el lado propietario es Empleado.proyectos
+    @JsonIgnore
     @ManyToMany(mappedBy = "proyectos")
     private Set<Empleado> empleados = new HashSet<>();
     
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+    
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "creado_en", nullable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant creadoEn;
+    
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "modificado_en", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant modificadoEn;
+    
     // Constructor sin argumentos
     public Proyecto() {
     }
@@ -81,6 +113,52 @@ public class Proyecto {
         this.fechaFin = fechaFin;
     }
     
+    public EstadoProyecto getEstado() {
+        return estado;
+    }
+    
+    public void setEstado(EstadoProyecto estado) {
+        this.estado = estado;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public Instant getCreadoEn() {
+        return creadoEn;
+    }
+    
+    public void setCreadoEn(Instant creadoEn) {
+        this.creadoEn = creadoEn;
+    }
+    
+    public Instant getModificadoEn() {
+        return modificadoEn;
+    }
+    
+    public void setModificadoEn(Instant modificadoEn) {
+        this.modificadoEn = modificadoEn;
+    }
+    
+    // Auditoría para la sincronización incremental (precisión de microsegundos, la de la columna)
+    @PrePersist
+    void alCrear() {
+        creadoEn = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        modificadoEn = creadoEn;
+        estado = EstadoProyecto.segun(fechaFin, LocalDate.now());
+    }
+    
+    @PreUpdate
+    void alModificar() {
+        modificadoEn = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        estado = EstadoProyecto.segun(fechaFin, LocalDate.now());
+    }
+    
     public Set<Empleado> getEmpleados() {
         return empleados;
     }
@@ -0,0 +1,97 @@
+package com.empleados.sistema.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+// Proyecto finalizado hace tiempo, movido fuera de "proyectos" junto con sus asignaciones (ver ArchivadorProyectos).
+// Conserva el id original; las asignaciones guardan solo el id del empleado, sin clave foránea.
+@Entity
+@Table(name = "proyectos_archivados", indexes = @Index(name = "idx_proyectos_archivados_nombre", columnList = "nombre"))
+public class ProyectoArchivado {
+    
+    @Id
+    private Long id;
+    
+    @Column(nullable = false, length = 100)
+    private String nombre;
+    
+    @Column(length = 1000)
+    private String descripcion;
+    
+    @Column(name = "fecha_inicio")
+    private LocalDate fechaInicio;
+    
+    @Column(name = "fecha_fin")
+    private LocalDate fechaFin;
+    
+    @Column(nullable = false)
+    private Long version;
+    
+    @Column(name = "creado_en", nullable = false)
+    private Instant creadoEn;
+    
+    @Column(name = "modificado_en", nullable = false)
+    private Instant modificadoEn;
+    
+    @Column(name = "archivado_en", nullable = false)
+    private Instant archivadoEn;
+    
+    @ElementCollection
+    @CollectionTable(name = "empleado_proyecto_archivado",
+                     joinColumns = @JoinColumn(name = "proyecto_id"),
+                     indexes = @Index(name = "idx_empleado_proyecto_archivado_empleado", columnList = "empleado_id"))
+    @Column(name = "empleado_id", nullable = false)
+    private Set<Long> empleadoIds = new HashSet<>();
+    
+    // Constructor sin argumentos (requerido por JPA)
+    public ProyectoArchivado() {
+    }
+    
+    public ProyectoArchivado(Proyecto proyecto, Set<Long> empleadoIds, Instant archivadoEn) {
+        this.id = proyecto.getId();
+        this.nombre = proyecto.getNombre();
+        this.descripcion = proyecto.getDescripcion();
+        this.fechaInicio = proyecto.getFechaInicio();
+        this.fechaFin = proyecto.getFechaFin();
+        this.version = proyecto.getVersion();
+        this.creadoEn = proyecto.getCreadoEn();
+        this.modificadoEn = proyecto.getModificadoEn();
+        this.empleadoIds = empleadoIds;
+        this.archivadoEn = archivadoEn;
+    }
+    
+    // Vista con la forma de Proyecto para las búsquedas que incluyen archivados; no se persiste
+    public Proyecto aProyecto() {
+        Proyecto proyecto = new Proyecto(nombre, descripcion, fechaInicio, fechaFin);
+        proyecto.setId(id);
+        proyecto.setVersion(version);
+        proyecto.setCreadoEn(creadoEn);
+        proyecto.setModificadoEn(modificadoEn);
+        proyecto.setEstado(EstadoProyecto.ARCHIVADO);
+        return proyecto;
+    }
+    
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public String getNombre() {
+        return nombre;
+    }
+    
+    public LocalDate getFechaFin() {
+        return fechaFin;
+    }
+    
+    public Instant getArchivadoEn() {
+        return archivadoEn;
+    }
+    
+    public Set<Long> getEmpleadoIds() {
+        return empleadoIds;
+    }
+}
@@ -0,0 +1,16 @@
+package com.empleados.sistema.model;
+
+public enum TipoCambio {
+    CREADO,
+    ACTUALIZADO,
+    ELIMINADO,
+    ASIGNADO,
+    DESASIGNADO,
+    TRANSFERIDO,
+    // La entidad salió de las tablas activas hacia el archivo: para los suscriptores equivale a una baja
+    ARCHIVADO;
+    
+    public boolean esBaja() {
+        return this == ELIMINADO || this == ARCHIVADO;
+    }
+}
@@ -0,0 +1,7 @@
+package com.empleados.sistema.model;
+
+public enum TipoEntidad {
+    EMPLEADO,
+    DEPARTAMENTO,
+    PROYECTO
+}
@@ -0,0 +1,59 @@
+package com.empleados.sistema.overload;
+
+import com.empleados.sistema.exception.PlazoVencidoException;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Aplica el plazo restante de la solicitud como timeout de cada sentencia JDBC, sea de un repositorio,
+// de una consulta nativa o de Hibernate. Al vencer, el driver cancela la sentencia y la transacción
+// se revierte, devolviendo la conexión al pool. Si el plazo ya venció, la sentencia ni se prepara.
+public class DataSourceConPlazos extends DelegatingDataSource {
+    
+    public DataSourceConPlazos(DataSource destino) {
+        super(destino);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conPlazos(super.getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String usuario, String clave) throws SQLException {
+        return conPlazos(super.getConnection(usuario, clave));
+    }
+    
+    private static Connection conPlazos(Connection conexion) {
+        return (Connection) Proxy.newProxyInstance(DataSourceConPlazos.class.getClassLoader(),
+            new Class<?>[]{Connection.class}, (proxy, metodo, argumentos) -> {
+                String nombre = metodo.getName();
+                boolean creaSentencia = nombre.equals("createStatement") || nombre.equals("prepareStatement")
+                    || nombre.equals("prepareCall");
+                if (creaSentencia && PlazoSolicitud.activo()) {
+                    PlazoSolicitud.verificar();
+                }
+                Object resultado;
+                try {
+                    resultado = metodo.invoke(conexion, argumentos);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+                if (creaSentencia && resultado instanceof Statement sentencia && PlazoSolicitud.activo()) {
+                    long segundos = PlazoSolicitud.segundosRestantesRedondeados();
+                    if (segundos <= 0) {
+                        sentencia.close();
+                        throw new PlazoVencidoException("Se agotó el plazo de la solicitud");
+                    }
+                    // La granularidad de JDBC es de segundos: se redondea hacia arriba
+                    sentencia.setQueryTimeout((int) Math.min(segundos, Integer.MAX_VALUE));
+                }
+                return resultado;
+            });
+    }
+}
@@ -0,0 +1,25 @@
+package com.empleados.sistema.overload;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Clasificación de las rutas /api que comparten el limitador de concurrencia y los plazos por defecto
+public enum GrupoRuta {
+    
+    LECTURA, ESCRITURA, MASIVA;
+    
+    // null para el feed de cambios, que mantiene la conexión abierta y no usa la base mientras espera
+    public static GrupoRuta de(HttpServletRequest request) {
+        String ruta = request.getRequestURI();
+        if (ruta.startsWith("/api/cambios")) {
+            return null;
+        }
+        String metodo = request.getMethod();
+        boolean lectura = "GET".equals(metodo) || "HEAD".equals(metodo);
+        if (ruta.startsWith("/api/batch") || ruta.startsWith("/api/sync") || ruta.startsWith("/api/colaboraciones")
+                || ruta.startsWith("/api/operaciones-masivas") || ruta.startsWith("/api/dedicaciones/sobreasignados")
+                || ruta.endsWith("/detalle") || (ruta.startsWith("/api/importaciones") && !lectura)) {
+            return MASIVA;
+        }
+        return lectura ? LECTURA : ESCRITURA;
+    }
+}
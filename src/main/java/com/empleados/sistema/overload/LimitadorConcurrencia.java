@@ -0,0 +1,61 @@
+package com.empleados.sistema.overload;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Un límite adaptativo por grupo de rutas, para que una ráfaga de lecturas no deje sin conexiones a las
+// escrituras ni las operaciones masivas a todo lo demás.
+@Component
+public class LimitadorConcurrencia {
+    
+    private final boolean habilitado;
+    private final int retryAfterSegundos;
+    private final Map<GrupoRuta, LimiteAdaptativo> limites = new EnumMap<>(GrupoRuta.class);
+    
+    public LimitadorConcurrencia(@Value("${limitador.habilitado:true}") boolean habilitado,
+                                 @Value("${limitador.retry-after-segundos:1}") int retryAfterSegundos,
+                                 @Value("${limitador.minimo:2}") int minimo,
+                                 @Value("${limitador.factor-reduccion:0.9}") double factorReduccion,
+                                 @Value("${limitador.lectura.maximo:60}") int maximoLectura,
+                                 @Value("${limitador.lectura.latencia-objetivo-ms:300}") long objetivoLecturaMs,
+                                 @Value("${limitador.escritura.maximo:20}") int maximoEscritura,
+                                 @Value("${limitador.escritura.latencia-objetivo-ms:500}") long objetivoEscrituraMs,
+                                 @Value("${limitador.masiva.maximo:4}") int maximoMasiva,
+                                 @Value("${limitador.masiva.latencia-objetivo-ms:5000}") long objetivoMasivaMs) {
+        this.habilitado = habilitado;
+        this.retryAfterSegundos = retryAfterSegundos;
+        // Se arranca a la mitad del máximo y se sube si la base acompaña
+        limites.put(GrupoRuta.LECTURA, new LimiteAdaptativo(maximoLectura / 2, minimo, maximoLectura,
+            TimeUnit.MILLISECONDS.toNanos(objetivoLecturaMs), factorReduccion));
+        limites.put(GrupoRuta.ESCRITURA, new LimiteAdaptativo(maximoEscritura / 2, minimo, maximoEscritura,
+            TimeUnit.MILLISECONDS.toNanos(objetivoEscrituraMs), factorReduccion));
+        limites.put(GrupoRuta.MASIVA, new LimiteAdaptativo(maximoMasiva / 2, 1, maximoMasiva,
+            TimeUnit.MILLISECONDS.toNanos(objetivoMasivaMs), factorReduccion));
+    }
+    
+    // null si la solicitud no pasa por el limitador
+    public LimiteAdaptativo limitePara(HttpServletRequest request) {
+        if (!habilitado) {
+            return null;
+        }
+        GrupoRuta grupo = GrupoRuta.de(request);
+        return grupo != null ? limites.get(grupo) : null;
+    }
+    
+    public int getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+    
+    public Map<String, Object> obtenerEstadisticas() {
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("habilitado", habilitado);
+        limites.forEach((grupo, limite) -> estadisticas.put(grupo.name().toLowerCase(), limite.obtenerEstadisticas()));
+        return estadisticas;
+    }
+}
@@ -0,0 +1,91 @@
+package com.empleados.sistema.overload;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Límite de solicitudes concurrentes ajustado por AIMD: crece de a una solicitud por "ventana" completa
+// mientras las respuestas llegan a tiempo y se usa al menos la mitad del límite; se reduce de forma
+// multiplicativa ante una respuesta lenta o un error de servidor (a lo sumo una vez por latencia objetivo).
+public final class LimiteAdaptativo {
+    
+    private final int minimo;
+    private final int maximo;
+    private final long objetivoNanos;
+    private final double factorReduccion;
+    
+    private final AtomicInteger enVuelo = new AtomicInteger();
+    // Se escribe bajo el monitor del objeto; la admisión lo lee sin bloquear
+    private volatile double limite;
+    private long ultimaReduccion;
+    
+    private final AtomicLong aceptadas = new AtomicLong();
+    private final AtomicLong rechazadas = new AtomicLong();
+    private final AtomicLong reducciones = new AtomicLong();
+    
+    public LimiteAdaptativo(int inicial, int minimo, int maximo, long objetivoNanos, double factorReduccion) {
+        if (minimo < 1 || minimo > maximo) {
+            throw new IllegalArgumentException("Límites inválidos: mínimo " + minimo + ", máximo " + maximo);
+        }
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.objetivoNanos = objetivoNanos;
+        this.factorReduccion = factorReduccion;
+        this.limite = Math.max(minimo, Math.min(maximo, inicial));
+        this.ultimaReduccion = System.nanoTime() - objetivoNanos;
+    }
+    
+    public boolean intentarAdquirir() {
+        while (true) {
+            int actual = enVuelo.get();
+            if (actual >= (int) limite) {
+                rechazadas.incrementAndGet();
+                return false;
+            }
+            if (enVuelo.compareAndSet(actual, actual + 1)) {
+                aceptadas.incrementAndGet();
+                return true;
+            }
+        }
+    }
+    
+    // sobrecarga: la solicitud terminó con un error de servidor (p. ej. timeout del pool de conexiones)
+    public void liberar(long nanos, boolean sobrecarga) {
+        int enVueloAlTerminar = enVuelo.getAndDecrement();
+        long ahora = System.nanoTime();
+        synchronized (this) {
+            if (sobrecarga || nanos > objetivoNanos) {
+                if (ahora - ultimaReduccion >= objetivoNanos) {
+                    limite = Math.max(minimo, limite * factorReduccion);
+                    ultimaReduccion = ahora;
+                    reducciones.incrementAndGet();
+                }
+            } else if (enVueloAlTerminar * 2 >= limite) {
+                limite = Math.min(maximo, limite + 1.0 / limite);
+            }
+        }
+    }
+    
+    // Libera sin usar la muestra (respuestas asíncronas, cuya duración no refleja la carga)
+    public void liberarSinMuestra() {
+        enVuelo.decrementAndGet();
+    }
+    
+    public int getLimite() {
+        return (int) limite;
+    }
+    
+    public Map<String, Object> obtenerEstadisticas() {
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("limite", (int) limite);
+        estadisticas.put("enVuelo", enVuelo.get());
+        estadisticas.put("minimo", minimo);
+        estadisticas.put("maximo", maximo);
+        estadisticas.put("latenciaObjetivoMs", objetivoNanos / 1_000_000);
+        estadisticas.put("aceptadas", aceptadas.get());
+        estadisticas.put("rechazadas", rechazadas.get());
+        estadisticas.put("reducciones", reducciones.get());
+        return estadisticas;
+    }
+}
@@ -0,0 +1,70 @@
+package com.empleados.sistema.overload;
+
+import com.empleados.sistema.exception.PlazoVencidoException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Vencimiento de la solicitud en curso, asociado al hilo que la atiende. Lo fija PlazoSolicitudFilter
+// y lo consumen las sentencias JDBC (ver DataSourceConPlazos); sin plazo no hay límite.
+public final class PlazoSolicitud {
+    
+    private static final ThreadLocal<Long> VENCIMIENTO = new ThreadLocal<>();
+    
+    private PlazoSolicitud() {
+    }
+    
+    public static void establecer(long vencimientoNanos) {
+        VENCIMIENTO.set(vencimientoNanos);
+    }
+    
+    public static void limpiar() {
+        VENCIMIENTO.remove();
+    }
+    
+    public static boolean activo() {
+        return VENCIMIENTO.get() != null;
+    }
+    
+    // Long.MAX_VALUE si no hay plazo; puede ser negativo si ya venció
+    public static long restanteNanos() {
+        Long vencimiento = VENCIMIENTO.get();
+        return vencimiento == null ? Long.MAX_VALUE : vencimiento - System.nanoTime();
+    }
+    
+    public static void verificar() {
+        if (restanteNanos() <= 0) {
+            throw new PlazoVencidoException("Se agotó el plazo de la solicitud");
+        }
+    }
+    
+    // El plazo más corto entre el propio de una operación y lo que le queda a la solicitud
+    public static long acotarNanos(long plazoNanos) {
+        return Math.max(0, Math.min(plazoNanos, restanteNanos()));
+    }
+    
+    // Lleva el plazo del hilo actual a una tarea que se ejecutará en otro hilo
+    public static <T> Supplier<T> propagar(Supplier<T> tarea) {
+        Long vencimiento = VENCIMIENTO.get();
+        if (vencimiento == null) {
+            return tarea;
+        }
+        return () -> {
+            Long anterior = VENCIMIENTO.get();
+            VENCIMIENTO.set(vencimiento);
+            try {
+                return tarea.get();
+            } finally {
+                if (anterior == null) {
+                    VENCIMIENTO.remove();
+                } else {
+                    VENCIMIENTO.set(anterior);
+                }
+            }
+        };
+    }
+    
+    static long segundosRestantesRedondeados() {
+        return TimeUnit.NANOSECONDS.toSeconds(restanteNanos() + TimeUnit.SECONDS.toNanos(1) - 1);
+    }
+}
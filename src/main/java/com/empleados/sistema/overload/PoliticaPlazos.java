@@ -0,0 +1,52 @@
+package com.empleados.sistema.overload;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Plazo de cada solicitud: el que pide el cliente en el encabezado (acotado al máximo) o el del grupo de la ruta
+@Component
+public class PoliticaPlazos {
+    
+    private final boolean habilitado;
+    private final String encabezado;
+    private final long maximoMs;
+    private final Map<GrupoRuta, Long> porDefectoMs = new EnumMap<>(GrupoRuta.class);
+    
+    public PoliticaPlazos(@Value("${plazos.habilitado:true}") boolean habilitado,
+                          @Value("${plazos.encabezado:X-Request-Timeout-Ms}") String encabezado,
+                          @Value("${plazos.maximo-ms:120000}") long maximoMs,
+                          @Value("${plazos.lectura-ms:5000}") long lecturaMs,
+                          @Value("${plazos.escritura-ms:10000}") long escrituraMs,
+                          @Value("${plazos.masiva-ms:60000}") long masivaMs) {
+        this.habilitado = habilitado;
+        this.encabezado = encabezado;
+        this.maximoMs = maximoMs;
+        porDefectoMs.put(GrupoRuta.LECTURA, lecturaMs);
+        porDefectoMs.put(GrupoRuta.ESCRITURA, escrituraMs);
+        porDefectoMs.put(GrupoRuta.MASIVA, masivaMs);
+    }
+    
+    // null si la solicitud no lleva plazo
+    public Long plazoMs(HttpServletRequest request) {
+        if (!habilitado) {
+            return null;
+        }
+        GrupoRuta grupo = GrupoRuta.de(request);
+        if (grupo == null) {
+            return null;
+        }
+        String pedido = request.getHeader(encabezado);
+        if (pedido != null && !pedido.isBlank()) {
+            try {
+                return Math.min(Long.parseLong(pedido.trim()), maximoMs);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("El encabezado " + encabezado + " debe ser un número de milisegundos");
+            }
+        }
+        return porDefectoMs.get(grupo);
+    }
+}
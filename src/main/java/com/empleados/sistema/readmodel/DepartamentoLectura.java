@@ -0,0 +1,20 @@
+package com.empleados.sistema.readmodel;
+
+import com.empleados.sistema.model.Departamento;
+
+// Copia inmutable de un departamento dentro del modelo de lectura
+public record DepartamentoLectura(long id, String nombre, String descripcion, Long version) {
+    
+    public static DepartamentoLectura de(Departamento departamento) {
+        return new DepartamentoLectura(departamento.getId(), departamento.getNombre(),
+            departamento.getDescripcion(), departamento.getVersion());
+    }
+    
+    // Entidad desligada con la misma forma JSON que devuelve el camino JPA
+    public Departamento aEntidad() {
+        Departamento departamento = new Departamento(nombre, descripcion);
+        departamento.setId(id);
+        departamento.setVersion(version);
+        return departamento;
+    }
+}
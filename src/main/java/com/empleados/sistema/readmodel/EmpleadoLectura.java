@@ -0,0 +1,23 @@
+package com.empleados.sistema.readmodel;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+// Copia inmutable de un empleado; las relaciones se guardan como ids (proyectoIds ordenado, no se modifica)
+public record EmpleadoLectura(long id, String nombre, String apellido, String email, LocalDate fechaContratacion,
+                              BigDecimal salario, Long departamentoId, long[] proyectoIds, Long version,
+                              Instant creadoEn, Instant modificadoEn) {
+    
+    // Fila de EmpleadoRepository.findFilasLectura más sus proyectos
+    static EmpleadoLectura de(Object[] fila, long[] proyectoIds) {
+        return new EmpleadoLectura((Long) fila[0], (String) fila[1], (String) fila[2], (String) fila[3],
+            (LocalDate) fila[4], (BigDecimal) fila[5], (Long) fila[6], proyectoIds, (Long) fila[7],
+            (Instant) fila[8], (Instant) fila[9]);
+    }
+    
+    boolean asignadoA(long proyectoId) {
+        return Arrays.binarySearch(proyectoIds, proyectoId) >= 0;
+    }
+}
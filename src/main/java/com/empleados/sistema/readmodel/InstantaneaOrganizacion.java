@@ -0,0 +1,339 @@
+package com.empleados.sistema.readmodel;
+
+import com.empleados.sistema.model.Departamento;
+import com.empleados.sistema.model.Empleado;
+import com.empleados.sistema.model.Proyecto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// Foto inmutable de la organización: empleados ordenados por id más índices por departamento,
+// proyecto y salario. Nunca se modifica; cada lote de cambios produce una instancia nueva.
+public final class InstantaneaOrganizacion {
+    
+    private static final int[] SIN_POSICIONES = new int[0];
+    
+    private final EmpleadoLectura[] empleados;
+    private final Map<Long, DepartamentoLectura> departamentos;
+    private final Map<Long, ProyectoLectura> proyectos;
+    private final Map<Long, int[]> posicionesPorDepartamento;
+    private final Map<Long, int[]> posicionesPorProyecto;
+    private final Map<Long, BigDecimal> sumaSalariosPorDepartamento;
+    // Posiciones de empleados ordenadas por salario, para rangos por búsqueda binaria
+    private final int[] posicionesPorSalario;
+    
+    private final long ultimoEventoId;
+    private final Instant ultimoCambioRegistradoEn;
+    private final Instant construidaEn;
+    private final long bytesEstimados;
+    
+    private InstantaneaOrganizacion(EmpleadoLectura[] empleados,
+                                    Map<Long, DepartamentoLectura> departamentos,
+                                    Map<Long, ProyectoLectura> proyectos,
+                                    long ultimoEventoId,
+                                    Instant ultimoCambioRegistradoEn) {
+        this.empleados = empleados;
+        this.departamentos = departamentos;
+        this.proyectos = proyectos;
+        this.ultimoEventoId = ultimoEventoId;
+        this.ultimoCambioRegistradoEn = ultimoCambioRegistradoEn;
+        this.construidaEn = Instant.now();
+        
+        Map<Long, List<Integer>> porDepartamento = new HashMap<>();
+        Map<Long, List<Integer>> porProyecto = new HashMap<>();
+        Map<Long, BigDecimal> sumas = new HashMap<>();
+        long asignaciones = 0;
+        for (int i = 0; i < empleados.length; i++) {
+            EmpleadoLectura empleado = empleados[i];
+            if (empleado.departamentoId() != null) {
+                porDepartamento.computeIfAbsent(empleado.departamentoId(), k -> new ArrayList<>()).add(i);
+                sumas.merge(empleado.departamentoId(), empleado.salario(), BigDecimal::add);
+            }
+            for (long proyectoId : empleado.proyectoIds()) {
+                porProyecto.computeIfAbsent(proyectoId, k -> new ArrayList<>()).add(i);
+            }
+            asignaciones += empleado.proyectoIds().length;
+        }
+        this.posicionesPorDepartamento = compactar(porDepartamento);
+        this.posicionesPorProyecto = compactar(porProyecto);
+        this.sumaSalariosPorDepartamento = Map.copyOf(sumas);
+        
+        Integer[] porSalario = new Integer[empleados.length];
+        for (int i = 0; i < porSalario.length; i++) {
+            porSalario[i] = i;
+        }
+        Arrays.sort(porSalario, Comparator.comparing(i -> empleados[i].salario()));
+        this.posicionesPorSalario = Arrays.stream(porSalario).mapToInt(Integer::intValue).toArray();
+        
+        this.bytesEstimados = estimarBytes(asignaciones);
+    }
+    
+    public static InstantaneaOrganizacion construir(Collection<DepartamentoLectura> departamentos,
+                                                    Collection<ProyectoLectura> proyectos,
+                                                    Collection<EmpleadoLectura> empleados,
+                                                    long ultimoEventoId,
+                                                    Instant ultimoCambioRegistradoEn) {
+        Map<Long, DepartamentoLectura> porIdDepartamento = new HashMap<>();
+        departamentos.forEach(d -> porIdDepartamento.put(d.id(), d));
+        Map<Long, ProyectoLectura> porIdProyecto = new HashMap<>();
+        proyectos.forEach(p -> porIdProyecto.put(p.id(), p));
+        EmpleadoLectura[] ordenados = empleados.toArray(new EmpleadoLectura[0]);
+        Arrays.sort(ordenados, Comparator.comparingLong(EmpleadoLectura::id));
+        return new InstantaneaOrganizacion(ordenados, Map.copyOf(porIdDepartamento), Map.copyOf(porIdProyecto),
+            ultimoEventoId, ultimoCambioRegistradoEn);
+    }
+    
+    // Nueva instantánea con las filas recargadas aplicadas; un id sin fila en el mapa (valor null) se elimina
+    public InstantaneaOrganizacion conCambios(Map<Long, DepartamentoLectura> departamentosCambiados,
+                                              Map<Long, ProyectoLectura> proyectosCambiados,
+                                              Map<Long, EmpleadoLectura> empleadosCambiados,
+                                              long ultimoEventoId,
+                                              Instant ultimoCambioRegistradoEn) {
+        Map<Long, DepartamentoLectura> nuevosDepartamentos = aplicar(departamentos, departamentosCambiados);
+        Map<Long, ProyectoLectura> nuevosProyectos = aplicar(proyectos, proyectosCambiados);
+        
+        List<EmpleadoLectura> nuevosEmpleados = new ArrayList<>(empleados.length + empleadosCambiados.size());
+        Set<Long> pendientes = new HashSet<>(empleadosCambiados.keySet());
+        for (EmpleadoLectura empleado : empleados) {
+            if (pendientes.remove(empleado.id())) {
+                EmpleadoLectura reemplazo = empleadosCambiados.get(empleado.id());
+                if (reemplazo != null) {
+                    nuevosEmpleados.add(reemplazo);
+                }
+            } else {
+                nuevosEmpleados.add(empleado);
+            }
+        }
+        boolean desordenado = false;
+        for (Long id : pendientes) {
+            EmpleadoLectura alta = empleadosCambiados.get(id);
+            if (alta != null) {
+                nuevosEmpleados.add(alta);
+                desordenado = true;
+            }
+        }
+        EmpleadoLectura[] arreglo = nuevosEmpleados.toArray(new EmpleadoLectura[0]);
+        if (desordenado) {
+            Arrays.sort(arreglo, Comparator.comparingLong(EmpleadoLectura::id));
+        }
+        return new InstantaneaOrganizacion(arreglo, nuevosDepartamentos, nuevosProyectos,
+            Math.max(this.ultimoEventoId, ultimoEventoId),
+            ultimoCambioRegistradoEn != null ? ultimoCambioRegistradoEn : this.ultimoCambioRegistradoEn);
+    }
+    
+    // Consultas
+    
+    public Optional<EmpleadoLectura> empleado(long id) {
+        int posicion = posicion(id);
+        return posicion < 0 ? Optional.empty() : Optional.of(empleados[posicion]);
+    }
+    
+    public boolean existeDepartamento(Long id) {
+        return departamentos.containsKey(id);
+    }
+    
+    public boolean existeProyecto(Long id) {
+        return proyectos.containsKey(id);
+    }
+    
+    public List<EmpleadoLectura> empleadosDeDepartamento(Long departamentoId) {
+        return empleadosEn(posicionesPorDepartamento.getOrDefault(departamentoId, SIN_POSICIONES));
+    }
+    
+    public List<EmpleadoLectura> empleadosDeProyecto(Long proyectoId) {
+        return empleadosEn(posicionesPorProyecto.getOrDefault(proyectoId, SIN_POSICIONES));
+    }
+    
+    public long contarEmpleadosDeDepartamento(Long departamentoId) {
+        return posicionesPorDepartamento.getOrDefault(departamentoId, SIN_POSICIONES).length;
+    }
+    
+    public long contarEmpleadosDeProyecto(Long proyectoId) {
+        return posicionesPorProyecto.getOrDefault(proyectoId, SIN_POSICIONES).length;
+    }
+    
+    // Promedio con escala 2 (la del salario); vacío si el departamento no tiene empleados
+    public Optional<BigDecimal> salarioPromedio(Long departamentoId) {
+        BigDecimal suma = sumaSalariosPorDepartamento.get(departamentoId);
+        if (suma == null) {
+            return Optional.empty();
+        }
+        return Optional.of(suma.divide(BigDecimal.valueOf(contarEmpleadosDeDepartamento(departamentoId)),
+            2, RoundingMode.HALF_EVEN));
+    }
+    
+    // Empleados con salario en [minimo, maximo], ordenados por id como el resto de las consultas
+    public List<EmpleadoLectura> empleadosPorRangoSalario(BigDecimal minimo, BigDecimal maximo) {
+        int desde = primeraPosicionConSalarioAlMenos(minimo);
+        List<EmpleadoLectura> resultado = new ArrayList<>();
+        for (int i = desde; i < posicionesPorSalario.length; i++) {
+            EmpleadoLectura empleado = empleados[posicionesPorSalario[i]];
+            if (empleado.salario().compareTo(maximo) > 0) {
+                break;
+            }
+            resultado.add(empleado);
+        }
+        resultado.sort(Comparator.comparingLong(EmpleadoLectura::id));
+        return resultado;
+    }
+    
+    // Entidades desligadas con la misma forma JSON que el camino JPA
+    public List<Empleado> aEntidades(List<EmpleadoLectura> filas) {
+        Map<Long, Departamento> departamentosUsados = new HashMap<>();
+        Map<Long, Proyecto> proyectosUsados = new HashMap<>();
+        List<Empleado> resultado = new ArrayList<>(filas.size());
+        for (EmpleadoLectura fila : filas) {
+            Empleado empleado = new Empleado();
+            empleado.setId(fila.id());
+            empleado.setNombre(fila.nombre());
+            empleado.setApellido(fila.apellido());
+            empleado.setEmail(fila.email());
+            empleado.setFechaContratacion(fila.fechaContratacion());
+            empleado.setSalario(fila.salario());
+            empleado.setVersion(fila.version());
+            empleado.setCreadoEn(fila.creadoEn());
+            empleado.setModificadoEn(fila.modificadoEn());
+            if (fila.departamentoId() != null) {
+                DepartamentoLectura departamento = departamentos.get(fila.departamentoId());
+                if (departamento != null) {
+                    empleado.setDepartamento(departamentosUsados.computeIfAbsent(departamento.id(),
+                        id -> departamento.aEntidad()));
+                }
+            }
+            Set<Proyecto> asignados = new HashSet<>();
+            for (long proyectoId : fila.proyectoIds()) {
+                ProyectoLectura proyecto = proyectos.get(proyectoId);
+                if (proyecto != null) {
+                    asignados.add(proyectosUsados.computeIfAbsent(proyectoId, id -> proyecto.aEntidad()));
+                }
+            }
+            empleado.setProyectos(asignados);
+            resultado.add(empleado);
+        }
+        return resultado;
+    }
+    
+    // Estado
+    
+    public int getTotalEmpleados() {
+        return empleados.length;
+    }
+    
+    public int getTotalDepartamentos() {
+        return departamentos.size();
+    }
+    
+    public int getTotalProyectos() {
+        return proyectos.size();
+    }
+    
+    public long getUltimoEventoId() {
+        return ultimoEventoId;
+    }
+    
+    public Instant getUltimoCambioRegistradoEn() {
+        return ultimoCambioRegistradoEn;
+    }
+    
+    public Instant getConstruidaEn() {
+        return construidaEn;
+    }
+    
+    public long getBytesEstimados() {
+        return bytesEstimados;
+    }
+    
+    private List<EmpleadoLectura> empleadosEn(int[] posiciones) {
+        List<EmpleadoLectura> resultado = new ArrayList<>(posiciones.length);
+        for (int posicion : posiciones) {
+            resultado.add(empleados[posicion]);
+        }
+        return resultado;
+    }
+    
+    private int posicion(long id) {
+        int bajo = 0;
+        int alto = empleados.length - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            long actual = empleados[medio].id();
+            if (actual < id) {
+                bajo = medio + 1;
+            } else if (actual > id) {
+                alto = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -1;
+    }
+    
+    private int primeraPosicionConSalarioAlMenos(BigDecimal minimo) {
+        int bajo = 0;
+        int alto = posicionesPorSalario.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (empleados[posicionesPorSalario[medio]].salario().compareTo(minimo) < 0) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+    
+    private static <T> Map<Long, T> aplicar(Map<Long, T> actuales, Map<Long, T> cambios) {
+        if (cambios.isEmpty()) {
+            return actuales;
+        }
+        Map<Long, T> resultado = new HashMap<>(actuales);
+        cambios.forEach((id, valor) -> {
+            if (valor == null) {
+                resultado.remove(id);
+            } else {
+                resultado.put(id, valor);
+            }
+        });
+        return Map.copyOf(resultado);
+    }
+    
+    private static Map<Long, int[]> compactar(Map<Long, List<Integer>> listas) {
+        Map<Long, int[]> resultado = new HashMap<>(listas.size() * 2);
+        listas.forEach((id, posiciones) -> resultado.put(id, posiciones.stream().mapToInt(Integer::intValue).toArray()));
+        return Map.copyOf(resultado);
+    }
+    
+    // Estimación aproximada (JVM de 64 bits con oops comprimidos): objetos, cadenas compactas y arreglos
+    private long estimarBytes(long asignaciones) {
+        long total = 16 + 4L * empleados.length;
+        for (EmpleadoLectura empleado : empleados) {
+            total += 56 + cadena(empleado.nombre()) + cadena(empleado.apellido()) + cadena(empleado.email())
+                + 24 + 40 + 2 * 24 + 16 + 8L * empleado.proyectoIds().length;
+        }
+        for (DepartamentoLectura departamento : departamentos.values()) {
+            total += 32 + 48 + cadena(departamento.nombre()) + cadena(departamento.descripcion());
+        }
+        for (ProyectoLectura proyecto : proyectos.values()) {
+            total += 48 + 48 + cadena(proyecto.nombre()) + cadena(proyecto.descripcion()) + 2 * 24 + 2 * 24;
+        }
+        // Índices: posición por departamento, por proyecto y por salario, más las entradas de los mapas
+        total += 4L * empleados.length * 2 + 4L * asignaciones
+            + 64L * (posicionesPorDepartamento.size() + posicionesPorProyecto.size() + sumaSalariosPorDepartamento.size());
+        return total;
+    }
+    
+    private static long cadena(String valor) {
+        return valor == null ? 0 : 40 + valor.length();
+    }
+}
@@ -0,0 +1,253 @@
+package com.empleados.sistema.readmodel;
+
+import com.empleados.sistema.event.EventoCambio;
+import com.empleados.sistema.event.SuscriptorCambios;
+import com.empleados.sistema.repository.DepartamentoRepository;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import com.empleados.sistema.repository.EventoOutboxRepository;
+import com.empleados.sistema.repository.ProyectoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Modelo de lectura opcional (CQRS): la organización completa en memoria, actualizada a partir de los
+// cambios confirmados del outbox. Cada consulta toma una única instantánea, así que ve un estado coherente.
+@Component
+public class ModeloLectura implements SuscriptorCambios, SmartInitializingSingleton {
+    
+    private static final Logger log = LoggerFactory.getLogger(ModeloLectura.class);
+    
+    private final EmpleadoRepository empleadoRepository;
+    private final DepartamentoRepository departamentoRepository;
+    private final ProyectoRepository proyectoRepository;
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final int tamanoPaginaCarga;
+    
+    // Serializa cargas completas y aplicación de lotes; las lecturas no lo toman
+    private final Object candado = new Object();
+    private volatile InstantaneaOrganizacion instantanea;
+    
+    private final AtomicLong cargasCompletas = new AtomicLong();
+    private final AtomicLong lotesAplicados = new AtomicLong();
+    private final AtomicLong eventosAplicados = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private volatile long ultimaCargaMs;
+    private volatile long ultimoRetrasoMs;
+    
+    public ModeloLectura(EmpleadoRepository empleadoRepository,
+                         DepartamentoRepository departamentoRepository,
+                         ProyectoRepository proyectoRepository,
+                         EventoOutboxRepository eventoOutboxRepository,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${modelo-lectura.habilitado:false}") boolean habilitado,
+                         @Value("${modelo-lectura.tamano-pagina-carga:5000}") int tamanoPaginaCarga) {
+        this.empleadoRepository = empleadoRepository;
+        this.departamentoRepository = departamentoRepository;
+        this.proyectoRepository = proyectoRepository;
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.habilitado = habilitado;
+        this.tamanoPaginaCarga = tamanoPaginaCarga;
+    }
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (habilitado) {
+            recargarSinFallar();
+        }
+    }
+    
+    // Los servicios consultan aquí y, si devuelve null, siguen por JPA
+    public InstantaneaOrganizacion instantaneaDisponible() {
+        return habilitado ? instantanea : null;
+    }
+    
+    // Reconstruye todo desde la base. El id del último evento se lee antes que los datos:
+    // lo posterior llega luego por alCambiar y la recarga de filas es idempotente.
+    public void recargar() {
+        synchronized (candado) {
+            long inicio = System.nanoTime();
+            InstantaneaOrganizacion nueva = transactionTemplate.execute(estado -> cargarCompleta());
+            instantanea = nueva;
+            cargasCompletas.incrementAndGet();
+            ultimaCargaMs = Duration.ofNanos(System.nanoTime() - inicio).toMillis();
+            log.info("Modelo de lectura cargado: {} empleados, {} departamentos, {} proyectos, ~{} bytes en {} ms",
+                nueva.getTotalEmpleados(), nueva.getTotalDepartamentos(), nueva.getTotalProyectos(),
+                nueva.getBytesEstimados(), ultimaCargaMs);
+        }
+    }
+    
+    @Override
+    public void alCambiar(List<EventoCambio> eventos) {
+        if (!habilitado || eventos.isEmpty()) {
+            return;
+        }
+        synchronized (candado) {
+            InstantaneaOrganizacion actual = instantanea;
+            if (actual == null) {
+                // Sin carga previa (o tras un fallo): la próxima recarga ya incluirá estos cambios
+                return;
+            }
+            try {
+                instantanea = aplicar(actual, eventos);
+                lotesAplicados.incrementAndGet();
+                eventosAplicados.addAndGet(eventos.size());
+                Instant registradoEn = eventos.get(eventos.size() - 1).registradoEn();
+                if (registradoEn != null) {
+                    ultimoRetrasoMs = Duration.between(registradoEn, Instant.now()).toMillis();
+                }
+            } catch (RuntimeException ex) {
+                // Se deja de servir desde memoria hasta que una recarga completa tenga éxito
+                fallos.incrementAndGet();
+                instantanea = null;
+                log.warn("No se pudo aplicar un lote al modelo de lectura; se servirá por JPA hasta recargarlo", ex);
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${modelo-lectura.reintento-ms:30000}")
+    public void reintentarCarga() {
+        if (habilitado && instantanea == null) {
+            recargarSinFallar();
+        }
+    }
+    
+    public Map<String, Object> obtenerEstadisticas() {
+        InstantaneaOrganizacion actual = instantanea;
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("habilitado", habilitado);
+        estadisticas.put("disponible", actual != null);
+        estadisticas.put("cargasCompletas", cargasCompletas.get());
+        estadisticas.put("ultimaCargaMs", ultimaCargaMs);
+        estadisticas.put("lotesAplicados", lotesAplicados.get());
+        estadisticas.put("eventosAplicados", eventosAplicados.get());
+        estadisticas.put("fallos", fallos.get());
+        if (actual != null) {
+            estadisticas.put("empleados", actual.getTotalEmpleados());
+            estadisticas.put("departamentos", actual.getTotalDepartamentos());
+            estadisticas.put("proyectos", actual.getTotalProyectos());
+            estadisticas.put("bytesEstimados", actual.getBytesEstimados());
+            estadisticas.put("ultimoEventoAplicado", actual.getUltimoEventoId());
+            estadisticas.put("instantaneaConstruidaEn", actual.getConstruidaEn());
+            // Confirmación en la base -> visible en memoria, medido en el último lote aplicado
+            estadisticas.put("retrasoUltimoLoteMs", ultimoRetrasoMs);
+            Long maxId = eventoOutboxRepository.findMaxId();
+            estadisticas.put("eventosPendientes", maxId == null ? 0 : Math.max(0, maxId - actual.getUltimoEventoId()));
+        }
+        return estadisticas;
+    }
+    
+    private void recargarSinFallar() {
+        try {
+            recargar();
+        } catch (RuntimeException ex) {
+            fallos.incrementAndGet();
+            log.warn("No se pudo cargar el modelo de lectura; se reintentará", ex);
+        }
+    }
+    
+    private InstantaneaOrganizacion cargarCompleta() {
+        Long maxId = eventoOutboxRepository.findMaxId();
+        List<DepartamentoLectura> departamentos = departamentoRepository.findAll().stream()
+            .map(DepartamentoLectura::de).toList();
+        List<ProyectoLectura> proyectos = proyectoRepository.findAll().stream()
+            .map(ProyectoLectura::de).toList();
+        List<EmpleadoLectura> empleados = new ArrayList<>();
+        long despuesDeId = 0;
+        while (true) {
+            List<Object[]> filas = empleadoRepository.findFilasLectura(despuesDeId, PageRequest.of(0, tamanoPaginaCarga));
+            if (filas.isEmpty()) {
+                break;
+            }
+            empleados.addAll(conProyectos(filas));
+            despuesDeId = (Long) filas.get(filas.size() - 1)[0];
+            if (filas.size() < tamanoPaginaCarga) {
+                break;
+            }
+        }
+        return InstantaneaOrganizacion.construir(departamentos, proyectos, empleados,
+            maxId == null ? 0 : maxId, null);
+    }
+    
+    // Recarga solo las filas afectadas por el lote y arma una instantánea nueva a partir de la actual
+    private InstantaneaOrganizacion aplicar(InstantaneaOrganizacion actual, List<EventoCambio> eventos) {
+        Set<Long> departamentoIds = new HashSet<>();
+        Set<Long> proyectoIds = new HashSet<>();
+        Set<Long> empleadoIds = new HashSet<>();
+        long ultimoId = 0;
+        for (EventoCambio evento : eventos) {
+            ultimoId = Math.max(ultimoId, evento.id());
+            switch (evento.tipoEntidad()) {
+                case DEPARTAMENTO -> {
+                    departamentoIds.add(evento.entidadId());
+                    if (evento.tipoCambio().esBaja()) {
+                        actual.empleadosDeDepartamento(evento.entidadId()).forEach(e -> empleadoIds.add(e.id()));
+                    }
+                }
+                case PROYECTO -> {
+                    proyectoIds.add(evento.entidadId());
+                    if (evento.tipoCambio().esBaja()) {
+                        actual.empleadosDeProyecto(evento.entidadId()).forEach(e -> empleadoIds.add(e.id()));
+                    }
+                }
+                case EMPLEADO -> empleadoIds.add(evento.entidadId());
+            }
+        }
+        // Un lote que solo rellena huecos trae ids menores al último aplicado
+        long ultimoEventoId = Math.max(actual.getUltimoEventoId(), ultimoId);
+        Instant registradoEn = eventos.get(eventos.size() - 1).registradoEn();
+        return transactionTemplate.execute(estado -> {
+            Map<Long, DepartamentoLectura> departamentos = new HashMap<>();
+            departamentoIds.forEach(id -> departamentos.put(id, null));
+            departamentoRepository.findAllById(departamentoIds)
+                .forEach(d -> departamentos.put(d.getId(), DepartamentoLectura.de(d)));
+            
+            Map<Long, ProyectoLectura> proyectos = new HashMap<>();
+            proyectoIds.forEach(id -> proyectos.put(id, null));
+            proyectoRepository.findAllById(proyectoIds)
+                .forEach(p -> proyectos.put(p.getId(), ProyectoLectura.de(p)));
+            
+            Map<Long, EmpleadoLectura> empleados = new HashMap<>();
+            empleadoIds.forEach(id -> empleados.put(id, null));
+            if (!empleadoIds.isEmpty()) {
+                conProyectos(empleadoRepository.findFilasLecturaByIds(empleadoIds))
+                    .forEach(e -> empleados.put(e.id(), e));
+            }
+            return actual.conCambios(departamentos, proyectos, empleados, ultimoEventoId, registradoEn);
+        });
+    }
+    
+    private List<EmpleadoLectura> conProyectos(List<Object[]> filas) {
+        Collection<Long> ids = filas.stream().map(fila -> (Long) fila[0]).toList();
+        Map<Long, List<Long>> asignaciones = new HashMap<>();
+        for (Object[] par : empleadoRepository.findAsignacionesByEmpleadoIds(ids)) {
+            asignaciones.computeIfAbsent((Long) par[0], k -> new ArrayList<>()).add((Long) par[1]);
+        }
+        List<EmpleadoLectura> resultado = new ArrayList<>(filas.size());
+        for (Object[] fila : filas) {
+            long[] proyectos = asignaciones.getOrDefault((Long) fila[0], List.of()).stream()
+                .mapToLong(Long::longValue).sorted().toArray();
+            resultado.add(EmpleadoLectura.de(fila, proyectos));
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,30 @@
+package com.empleados.sistema.readmodel;
+
+import com.empleados.sistema.model.Proyecto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// Copia inmutable de un proyecto dentro del modelo de lectura
+public record ProyectoLectura(long id, String nombre, String descripcion, LocalDate fechaInicio,
+                              LocalDate fechaFin, Long version, Instant creadoEn, Instant modificadoEn) {
+    
+    public static ProyectoLectura de(Proyecto proyecto) {
+        return new ProyectoLectura(proyecto.getId(), proyecto.getNombre(), proyecto.getDescripcion(),
+            proyecto.getFechaInicio(), proyecto.getFechaFin(), proyecto.getVersion(),
+            proyecto.getCreadoEn(), proyecto.getModificadoEn());
+    }
+    
+    public Proyecto aEntidad() {
+        Proyecto proyecto = new Proyecto();
+        proyecto.setId(id);
+        proyecto.setNombre(nombre);
+        proyecto.setDescripcion(descripcion);
+        proyecto.setFechaInicio(fechaInicio);
+        proyecto.setFechaFin(fechaFin);
+        proyecto.setVersion(version);
+        proyecto.setCreadoEn(creadoEn);
+        proyecto.setModificadoEn(modificadoEn);
+        return proyecto;
+    }
+}
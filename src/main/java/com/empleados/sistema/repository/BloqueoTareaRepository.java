@@ -0,0 +1,29 @@
+package com.empleados.sistema.repository;
+
+import com.empleados.sistema.model.BloqueoTarea;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface BloqueoTareaRepository extends JpaRepository<BloqueoTarea, String> {
+    
+    // Toma el arriendo si está vencido; la base serializa los intentos, así que solo uno obtiene 1
+    @Modifying
+    @Query("UPDATE BloqueoTarea b SET b.bloqueadaHasta = :hasta, b.bloqueadaPor = :instancia " +
+           "WHERE b.nombre = :nombre AND b.bloqueadaHasta <= :ahora")
+    int adquirir(@Param("nombre") String nombre,
+                 @Param("instancia") String instancia,
+                 @Param("ahora") Instant ahora,
+                 @Param("hasta") Instant hasta);
+    
+    @Modifying
+    @Query("UPDATE BloqueoTarea b SET b.bloqueadaHasta = :hasta WHERE b.nombre = :nombre AND b.bloqueadaPor = :instancia")
+    int liberar(@Param("nombre") String nombre,
+                @Param("instancia") String instancia,
+                @Param("hasta") Instant hasta);
+}
@@ -0,0 +1,68 @@
+package com.empleados.sistema.repository;
+
+import com.empleados.sistema.dto.ElementoPorId;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+// Carga de varias entidades por id en una sola pasada. Hibernate resuelve primero desde el contexto de
+// persistencia y la caché de segundo nivel (si está configurada) y lo que falta lo pide con IN por lotes.
+@Repository
+public class CargaMultipleRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final int tamanoLote;
+    private final int maxIds;
+    
+    public CargaMultipleRepository(@Value("${multiget.tamano-lote:200}") int tamanoLote,
+                                   @Value("${multiget.max-ids:1000}") int maxIds) {
+        this.tamanoLote = tamanoLote;
+        this.maxIds = maxIds;
+    }
+    
+    // Un elemento por id pedido, en el mismo orden (repetidos incluidos); los repetidos se cargan una vez
+    public <T> List<ElementoPorId<T>> buscarPorIds(Class<T> entidad, List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un id");
+        }
+        if (ids.size() > maxIds) {
+            throw new IllegalArgumentException("No se pueden pedir más de " + maxIds + " ids por consulta");
+        }
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("La lista de ids contiene valores vacíos");
+        }
+        
+        List<Long> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<T> cargadas = entityManager.unwrap(Session.class)
+            .byMultipleIds(entidad)
+            .with(CacheMode.NORMAL)
+            .enableSessionCheck(true)
+            .enableOrderedReturn(true)
+            .withBatchSize(tamanoLote)
+            .multiLoad(distintos);
+        Map<Long, T> porId = new HashMap<>();
+        for (int i = 0; i < distintos.size(); i++) {
+            if (cargadas.get(i) != null) {
+                porId.put(distintos.get(i), cargadas.get(i));
+            }
+        }
+        
+        List<ElementoPorId<T>> resultado = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T dato = porId.get(id);
+            resultado.add(dato != null ? ElementoPorId.encontrado(id, dato) : ElementoPorId.noEncontrado(id));
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,47 @@
+package com.empleados.sistema.repository;
+
+import com.empleados.sistema.model.Dedicacion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DedicacionRepository extends JpaRepository<Dedicacion, Long> {
+    
+    Optional<Dedicacion> findByEmpleadoIdAndProyectoId(Long empleadoId, Long proyectoId);
+    
+    // Asignaciones del empleado con las fechas del proyecto y su porcentaje (null si no se registró)
+    @Query("SELECT p.id, p.fechaInicio, p.fechaFin, d.porcentaje FROM Empleado e JOIN e.proyectos p " +
+           "LEFT JOIN Dedicacion d ON d.empleadoId = e.id AND d.proyectoId = p.id WHERE e.id = :empleadoId")
+    List<Object[]> findAsignacionesConDedicacion(@Param("empleadoId") Long empleadoId);
+    
+    // Todas las asignaciones a proyectos sin terminar antes de "desde", agrupadas por empleado
+    @Query("SELECT e.id, p.fechaInicio, p.fechaFin, d.porcentaje FROM Empleado e JOIN e.proyectos p " +
+           "LEFT JOIN Dedicacion d ON d.empleadoId = e.id AND d.proyectoId = p.id " +
+           "WHERE p.fechaFin IS NULL OR p.fechaFin >= :desde ORDER BY e.id")
+    List<Object[]> findAsignacionesVigentesConDedicacion(@Param("desde") LocalDate desde);
+    
+    // Las bajas solo borran filas cuya asignación ya no existe: un evento viejo no pisa una reasignación
+    
+    @Modifying
+    @Query("DELETE FROM Dedicacion d WHERE d.empleadoId = :empleadoId AND d.proyectoId = :proyectoId AND NOT EXISTS " +
+           "(SELECT 1 FROM Empleado e JOIN e.proyectos p WHERE e.id = :empleadoId AND p.id = :proyectoId)")
+    int eliminarSinAsignacion(@Param("empleadoId") Long empleadoId, @Param("proyectoId") Long proyectoId);
+    
+    @Modifying
+    @Query("DELETE FROM Dedicacion d WHERE d.empleadoId IN :ids AND NOT EXISTS " +
+           "(SELECT 1 FROM Empleado e WHERE e.id = d.empleadoId)")
+    int eliminarDeEmpleadosInexistentes(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("DELETE FROM Dedicacion d WHERE d.proyectoId IN :ids AND NOT EXISTS " +
+           "(SELECT 1 FROM Proyecto p WHERE p.id = d.proyectoId)")
+    int eliminarDeProyectosInexistentes(@Param("ids") Collection<Long> ids);
+}
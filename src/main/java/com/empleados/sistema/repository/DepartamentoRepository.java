@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -29,4 +30,12 @@ public interface DepartamentoRepository extends JpaRepository<Departamento, Long
     // Buscar departamentos que tengan empleados con salario mayor a X
     @Query("SELECT DISTINCT d FROM Departamento d JOIN d.empleados e WHERE e.salario > :salarioMinimo")
     java.util.List<Departamento> findDepartamentosConSalarioMayorA(@Param("salarioMinimo") BigDecimal salarioMinimo);
+    
+    // Ids de la lista que existen (verificación por lote)
+    @Query("SELECT d.id FROM Departamento d WHERE d.id IN :ids")
+    java.util.List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+    
+    // Sello de versión del listado completo (cantidad, id máximo, suma de versiones)
+    @Query("SELECT COUNT(d), COALESCE(MAX(d.id), 0), COALESCE(SUM(d.version), 0) FROM Departamento d")
+    java.util.List<Object[]> findSelloColeccion();
 }
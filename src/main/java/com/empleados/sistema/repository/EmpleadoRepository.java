@@ -2,13 +2,19 @@ package com.empleados.sistema.repository;
 
 import com.empleados.sistema.model.Empleado;
 import com.empleados.sistema.model.Departamento;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +27,18 @@ public interface EmpleadoRepository extends JpaRepository<Empleado, Long> {
     // Verificar si existe un empleado con ese email
     boolean existsByEmail(String email);
     
+    // Id del empleado por email (respaldo mientras el índice en memoria no está cargado)
+    @Query("SELECT e.id FROM Empleado e WHERE e.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+    
+    // Pares id/email para cargar el índice en memoria
+    @Query("SELECT e.id, e.email FROM Empleado e")
+    List<Object[]> findIdsYEmails();
+    
+    // Emails de la lista que ya están registrados (verificación por lote)
+    @Query("SELECT e.email FROM Empleado e WHERE e.email IN :emails")
+    List<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
+    
     // Buscar empleados por departamento
     List<Empleado> findByDepartamento(Departamento departamento);
     
@@ -53,7 +71,95 @@ public interface EmpleadoRepository extends JpaRepository<Empleado, Long> {
     @Query("SELECT e FROM Empleado e JOIN e.proyectos p WHERE p.id = :proyectoId")
     List<Empleado> findByProyectoId(@Param("proyectoId") Long proyectoId);
     
+    // Departamento de cada empleado (null si no tiene), para el índice de membresías
+    @Query("SELECT e.id, d.id FROM Empleado e LEFT JOIN e.departamento d")
+    List<Object[]> findIdsYDepartamentos();
+    
+    @Query("SELECT e.id, d.id FROM Empleado e LEFT JOIN e.departamento d WHERE e.id IN :ids")
+    List<Object[]> findIdsYDepartamentosByIds(@Param("ids") Collection<Long> ids);
+    
+    // Todos los pares empleado/proyecto
+    @Query("SELECT e.id, p.id FROM Empleado e JOIN e.proyectos p")
+    List<Object[]> findTodasLasAsignaciones();
+    
+    // Pares empleado/proyecto de los empleados indicados
+    @Query("SELECT e.id, p.id FROM Empleado e JOIN e.proyectos p WHERE e.id IN :ids")
+    List<Object[]> findAsignacionesByEmpleadoIds(@Param("ids") Collection<Long> ids);
+    
+    // Columnas planas para el modelo de lectura, por páginas de keyset sobre el id
+    @Query("SELECT e.id, e.nombre, e.apellido, e.email, e.fechaContratacion, e.salario, e.departamento.id, " +
+           "e.version, e.creadoEn, e.modificadoEn FROM Empleado e WHERE e.id > :despuesDeId ORDER BY e.id")
+    List<Object[]> findFilasLectura(@Param("despuesDeId") Long despuesDeId, Pageable pagina);
+    
+    @Query("SELECT e.id, e.nombre, e.apellido, e.email, e.fechaContratacion, e.salario, e.departamento.id, " +
+           "e.version, e.creadoEn, e.modificadoEn FROM Empleado e WHERE e.id IN :ids")
+    List<Object[]> findFilasLecturaByIds(@Param("ids") Collection<Long> ids);
+    
+    // Solo las columnas del almacén analítico (id, departamento, salario, fecha), por keyset sobre el id
+    @Query("SELECT e.id, e.departamento.id, e.salario, e.fechaContratacion FROM Empleado e " +
+           "WHERE e.id > :despuesDeId ORDER BY e.id")
+    List<Object[]> findColumnasAnaliticas(@Param("despuesDeId") Long despuesDeId, Pageable pagina);
+    
+    // Agregados equivalentes a los del almacén analítico, para cuando todavía no está cargado
+    @Query("SELECT COUNT(e), COALESCE(SUM(e.salario), 0) FROM Empleado e WHERE e.salario BETWEEN :minimo AND :maximo")
+    List<Object[]> resumirPorSalario(@Param("minimo") BigDecimal minimo, @Param("maximo") BigDecimal maximo);
+    
+    @Query("SELECT COUNT(e), COALESCE(SUM(e.salario), 0) FROM Empleado e WHERE e.fechaContratacion BETWEEN :desde AND :hasta")
+    List<Object[]> resumirPorFechaContratacion(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+    
+    @Query("SELECT COUNT(e), COALESCE(SUM(e.salario), 0) FROM Empleado e WHERE e.departamento.id = :departamentoId")
+    List<Object[]> resumirPorDepartamento(@Param("departamentoId") Long departamentoId);
+    
+    // Columnas escalares de los empleados del departamento, para respuestas compuestas sin cargar entidades
+    @Query("SELECT e.id, e.nombre, e.apellido, e.email, e.fechaContratacion, e.salario FROM Empleado e " +
+           "WHERE e.departamento.id = :departamentoId ORDER BY e.id")
+    List<Object[]> findFilasPorDepartamento(@Param("departamentoId") Long departamentoId);
+    
+    // Pares empleado/proyecto de los empleados del departamento
+    @Query("SELECT e.id, p.id FROM Empleado e JOIN e.proyectos p WHERE e.departamento.id = :departamentoId")
+    List<Object[]> findAsignacionesPorDepartamento(@Param("departamentoId") Long departamentoId);
+    
+    @Query("SELECT e.id FROM Empleado e WHERE e.salario BETWEEN :minimo AND :maximo ORDER BY e.salario, e.id")
+    List<Long> findIdsPorSalario(@Param("minimo") BigDecimal minimo, @Param("maximo") BigDecimal maximo, Pageable pagina);
+    
+    // Tramo de ids del departamento por keyset, para las operaciones masivas
+    @Query("SELECT e.id FROM Empleado e WHERE e.departamento.id = :departamentoId AND e.id > :despuesDeId ORDER BY e.id")
+    List<Long> findIdsPorDepartamento(@Param("departamentoId") Long departamentoId,
+                                      @Param("despuesDeId") Long despuesDeId,
+                                      Pageable pagina);
+    
+    // Actualizaciones masivas: no pasan por la entidad, así que incrementan la versión y fijan modificadoEn
+    @Modifying
+    @Query("UPDATE Empleado e SET e.salario = e.salario * :factor, e.version = e.version + 1, e.modificadoEn = :ahora " +
+           "WHERE e.id IN :ids AND e.departamento.id = :departamentoId")
+    int ajustarSalarios(@Param("ids") Collection<Long> ids,
+                        @Param("departamentoId") Long departamentoId,
+                        @Param("factor") BigDecimal factor,
+                        @Param("ahora") Instant ahora);
+    
+    @Modifying
+    @Query("UPDATE Empleado e SET e.departamento = :destino, e.version = e.version + 1, e.modificadoEn = :ahora " +
+           "WHERE e.id IN :ids AND e.departamento.id = :origenId")
+    int transferirDepartamento(@Param("ids") Collection<Long> ids,
+                               @Param("origenId") Long origenId,
+                               @Param("destino") Departamento destino,
+                               @Param("ahora") Instant ahora);
+    
+    // Bloquea la fila del empleado hasta el fin de la transacción (serializa las asignaciones de un mismo empleado)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Empleado e WHERE e.id = :id")
+    Optional<Empleado> findByIdParaActualizar(@Param("id") Long id);
+    
     // Contar empleados por departamento
     @Query("SELECT COUNT(e) FROM Empleado e WHERE e.departamento.id = :departamentoId")
     Long countByDepartamentoId(@Param("departamentoId") Long departamentoId);
+    
+    // Página de empleados por id (copia completa de /api/sync)
+    List<Empleado> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pagina);
+    
+    // Versiones del empleado y de lo que se serializa con él (para ETag), sin cargar el grafo
+    @Query("SELECT e.version, d.id, d.version, COUNT(p), COALESCE(SUM(p.version), 0), COALESCE(MAX(p.id), 0) " +
+           "FROM Empleado e LEFT JOIN e.departamento d LEFT JOIN e.proyectos p " +
+           "WHERE e.id = :id GROUP BY e.version, d.id, d.version")
+    List<Object[]> findVersionesById(@Param("id") Long id);
 }
@@ -0,0 +1,48 @@
+package com.empleados.sistema.repository;
+
+import com.empleados.sistema.model.EventoOutbox;
+import com.empleados.sistema.model.TipoEntidad;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+    
+    // Lectura por cursor (despacho y reanudación del feed de cambios)
+    List<EventoOutbox> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pagina);
+    
+    long countByIdGreaterThan(Long id);
+    
+    // Eventos de empleados y proyectos en (desde, hasta], para la sincronización incremental
+    @Query("SELECT e FROM EventoOutbox e WHERE e.id > :desde AND e.id <= :hasta AND e.tipoEntidad IN :tipos " +
+           "ORDER BY e.id")
+    List<EventoOutbox> findEntreIds(@Param("desde") Long desde,
+                                    @Param("hasta") Long hasta,
+                                    @Param("tipos") Collection<TipoEntidad> tipos,
+                                    Pageable pagina);
+    
+    // Ids que faltaban al avanzar el cursor y pudieron confirmarse después
+    List<EventoOutbox> findByIdInOrderByIdAsc(Collection<Long> ids);
+    
+    @Query("SELECT MIN(e.id) FROM EventoOutbox e")
+    Long findMinId();
+    
+    @Query("SELECT MAX(e.id) FROM EventoOutbox e")
+    Long findMaxId();
+    
+    @Query("SELECT MAX(e.id) FROM EventoOutbox e WHERE e.registradoEn < :limite")
+    Long findMaxIdRegistradoAntesDe(@Param("limite") Instant limite);
+    
+    // Limpieza de eventos fuera de la ventana de retención
+    @Modifying
+    @Query("DELETE FROM EventoOutbox e WHERE e.registradoEn < :limite")
+    int eliminarAnterioresA(@Param("limite") Instant limite);
+}
@@ -0,0 +1,110 @@
+package com.empleados.sistema.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Consultas con proyección dinámica: solo se seleccionan las columnas pedidas
+@Repository
+public class ProyeccionRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public List<Map<String, Object>> buscarCampos(Class<?> entidad, List<String> campos) {
+        Set<String> solicitados = new LinkedHashSet<>();
+        for (String campo : campos) {
+            if (campo != null && !campo.isBlank()) {
+                solicitados.add(campo.trim());
+            }
+        }
+        if (solicitados.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un campo");
+        }
+        
+        Map<String, String> disponibles = camposDisponibles(entidad);
+        for (String campo : solicitados) {
+            if (!disponibles.containsKey(campo)) {
+                throw new IllegalArgumentException("Campo no disponible para " + entidad.getSimpleName() +
+                    ": " + campo + ". Campos válidos: " + disponibles.keySet());
+            }
+        }
+        return consultar(entidad, solicitados, disponibles, null, 0);
+    }
+    
+    // Todos los campos disponibles, paginado por id (keyset) para recorrer tablas grandes
+    public List<Map<String, Object>> buscarPaginaCompleta(Class<?> entidad, long despuesDeId, int limite) {
+        Map<String, String> disponibles = camposDisponibles(entidad);
+        return consultar(entidad, disponibles.keySet(), disponibles, despuesDeId, limite);
+    }
+    
+    private List<Map<String, Object>> consultar(Class<?> entidad, Set<String> solicitados, Map<String, String> disponibles,
+                                                Long despuesDeId, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> consulta = cb.createTupleQuery();
+        Root<?> raiz = consulta.from(entidad);
+        
+        List<Selection<?>> selecciones = new ArrayList<>();
+        for (String campo : solicitados) {
+            selecciones.add(ruta(raiz, disponibles.get(campo)).alias(campo));
+        }
+        consulta.multiselect(selecciones);
+        if (despuesDeId != null) {
+            consulta.where(cb.greaterThan(raiz.get("id"), despuesDeId));
+        }
+        consulta.orderBy(cb.asc(raiz.get("id")));
+        
+        TypedQuery<Tuple> query = entityManager.createQuery(consulta);
+        if (limite > 0) {
+            query.setMaxResults(limite);
+        }
+        List<Map<String, Object>> resultado = new ArrayList<>();
+        for (Tuple fila : query.getResultList()) {
+            Map<String, Object> elemento = new LinkedHashMap<>();
+            for (String campo : solicitados) {
+                elemento.put(campo, fila.get(campo));
+            }
+            resultado.add(elemento);
+        }
+        return resultado;
+    }
+    
+    // Atributos básicos de la entidad y, para las asociaciones @ManyToOne, su id como "<asociacion>Id"
+    private Map<String, String> camposDisponibles(Class<?> entidad) {
+        EntityType<?> tipo = entityManager.getMetamodel().entity(entidad);
+        Map<String, String> campos = new LinkedHashMap<>();
+        for (SingularAttribute<?, ?> atributo : tipo.getSingularAttributes()) {
+            if (atributo.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+                campos.put(atributo.getName(), atributo.getName());
+            } else if (atributo.getPersistentAttributeType() == Attribute.PersistentAttributeType.MANY_TO_ONE) {
+                campos.put(atributo.getName() + "Id", atributo.getName() + ".id");
+            }
+        }
+        return campos;
+    }
+    
+    private static Path<?> ruta(Root<?> raiz, String atributo) {
+        Path<?> ruta = raiz;
+        for (String parte : atributo.split("\\.")) {
+            ruta = ruta.get(parte);
+        }
+        return ruta;
+    }
+}
@@ -0,0 +1,22 @@
+package com.empleados.sistema.repository;
+
+import com.empleados.sistema.model.ProyectoArchivado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProyectoArchivadoRepository extends JpaRepository<ProyectoArchivado, Long> {
+    
+    @Query("SELECT p FROM ProyectoArchivado p WHERE LOWER(p.nombre) LIKE LOWER(CONCAT('%', :nombre, '%'))")
+    List<ProyectoArchivado> findByNombreContaining(@Param("nombre") String nombre);
+    
+    @Query("SELECT p FROM ProyectoArchivado p JOIN p.empleadoIds e WHERE e = :empleadoId")
+    List<ProyectoArchivado> findByEmpleadoId(@Param("empleadoId") Long empleadoId);
+    
+    @Query("SELECT p FROM ProyectoArchivado p ORDER BY p.id")
+    List<ProyectoArchivado> findTodosOrdenados();
+}
@@ -1,12 +1,16 @@
 package com.empleados.sistema.repository;
 
 import com.empleados.sistema.model.Proyecto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,17 +23,50 @@ public interface ProyectoRepository extends JpaRepository<Proyecto, Long> {
     // Verificar si existe un proyecto con ese nombre
     boolean existsByNombre(String nombre);
     
-    // Buscar proyectos activos (fecha fin mayor a hoy o nula)
-    @Query("SELECT p FROM Proyecto p WHERE p.fechaFin IS NULL OR p.fechaFin > CURRENT_DATE")
+    // Buscar proyectos activos (fecha fin mayor a hoy o nula), por el estado precalculado
+    @Query("SELECT p FROM Proyecto p WHERE p.estado = com.empleados.sistema.model.EstadoProyecto.ACTIVO")
     List<Proyecto> findProyectosActivos();
     
-    // Buscar proyectos inactivos (fecha fin menor a hoy)
-    @Query("SELECT p FROM Proyecto p WHERE p.fechaFin IS NOT NULL AND p.fechaFin < CURRENT_DATE")
+    // Sello de versión del listado de proyectos activos (cantidad, id máximo, suma de versiones)
+    @Query("SELECT COUNT(p), COALESCE(MAX(p.id), 0), COALESCE(SUM(p.version), 0) FROM Proyecto p " +
+           "WHERE p.estado = com.empleados.sistema.model.EstadoProyecto.ACTIVO")
+    List<Object[]> findSelloProyectosActivos();
+    
+    // Buscar proyectos inactivos (fecha fin alcanzada), por el estado precalculado
+    @Query("SELECT p FROM Proyecto p WHERE p.estado = com.empleados.sistema.model.EstadoProyecto.FINALIZADO")
     List<Proyecto> findProyectosInactivos();
     
+    // Tramo de proyectos todavía activos cuya fecha de fin ya llegó, por keyset sobre el id
+    @Query("SELECT p.id FROM Proyecto p WHERE p.estado = com.empleados.sistema.model.EstadoProyecto.ACTIVO " +
+           "AND p.fechaFin <= :hoy AND p.id > :despuesDeId ORDER BY p.id")
+    List<Long> findIdsActivosVencidos(@Param("hoy") LocalDate hoy,
+                                      @Param("despuesDeId") Long despuesDeId,
+                                      Pageable pagina);
+    
+    // Repite la condición: si otra instancia o una edición ya lo cambió, no se vuelve a tocar
+    @Modifying
+    @Query("UPDATE Proyecto p SET p.estado = com.empleados.sistema.model.EstadoProyecto.FINALIZADO, " +
+           "p.version = p.version + 1, p.modificadoEn = :ahora " +
+           "WHERE p.id IN :ids AND p.estado = com.empleados.sistema.model.EstadoProyecto.ACTIVO AND p.fechaFin <= :hoy")
+    int finalizarVencidos(@Param("ids") Collection<Long> ids,
+                          @Param("hoy") LocalDate hoy,
+                          @Param("ahora") Instant ahora);
+    
     // Buscar proyectos por rango de fechas de inicio
     List<Proyecto> findByFechaInicioBetween(LocalDate fechaInicio, LocalDate fechaFin);
     
+    // Proyectos en curso en algún momento de [desde, hasta] (respaldo mientras el índice de intervalos no está cargado)
+    @Query("SELECT p FROM Proyecto p WHERE (p.fechaInicio IS NULL OR p.fechaInicio <= :hasta) " +
+           "AND (p.fechaFin IS NULL OR p.fechaFin >= :desde) ORDER BY p.id")
+    List<Proyecto> findEnCurso(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+    
+    // Fechas de cada proyecto para el índice de intervalos
+    @Query("SELECT p.id, p.fechaInicio, p.fechaFin FROM Proyecto p")
+    List<Object[]> findIdsYFechas();
+    
+    @Query("SELECT p.id, p.fechaInicio, p.fechaFin FROM Proyecto p WHERE p.id IN :ids")
+    List<Object[]> findIdsYFechasByIds(@Param("ids") Collection<Long> ids);
+    
     // Buscar proyectos que empiecen en una fecha específica o después
     List<Proyecto> findByFechaInicioAfter(LocalDate fecha);
     
@@ -44,6 +81,10 @@ public interface ProyectoRepository extends JpaRepository<Proyecto, Long> {
     @Query("SELECT p FROM Proyecto p JOIN p.empleados e WHERE e.id = :empleadoId")
     List<Proyecto> findByEmpleadoId(@Param("empleadoId") Long empleadoId);
     
+    // Proyectos con al menos un empleado del departamento, cada uno una vez
+    @Query("SELECT DISTINCT p FROM Proyecto p JOIN p.empleados e WHERE e.departamento.id = :departamentoId ORDER BY p.id")
+    List<Proyecto> findConEmpleadosDelDepartamento(@Param("departamentoId") Long departamentoId);
+    
     // Contar empleados en un proyecto
     @Query("SELECT COUNT(e) FROM Proyecto p JOIN p.empleados e WHERE p.id = :proyectoId")
     Long countEmpleadosByProyectoId(@Param("proyectoId") Long proyectoId);
@@ -55,4 +96,26 @@ public interface ProyectoRepository extends JpaRepository<Proyecto, Long> {
     // Buscar proyectos con más de X empleados
     @Query("SELECT p FROM Proyecto p WHERE SIZE(p.empleados) > :cantidadMinima")
     List<Proyecto> findProyectosConMasDeXEmpleados(@Param("cantidadMinima") int cantidadMinima);
+    
+    // Archivo: proyectos finalizados antes del corte, por keyset sobre el id
+    @Query("SELECT p.id FROM Proyecto p WHERE p.estado = com.empleados.sistema.model.EstadoProyecto.FINALIZADO " +
+           "AND p.fechaFin < :corte AND p.id > :despuesDeId ORDER BY p.id")
+    List<Long> findIdsArchivables(@Param("corte") LocalDate corte,
+                                  @Param("despuesDeId") Long despuesDeId,
+                                  Pageable pagina);
+    
+    // Pares proyecto/empleado de los proyectos indicados
+    @Query("SELECT p.id, e.id FROM Proyecto p JOIN p.empleados e WHERE p.id IN :ids")
+    List<Object[]> findAsignacionesByProyectoIds(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query(value = "DELETE FROM empleado_proyecto WHERE proyecto_id IN :ids", nativeQuery = true)
+    int eliminarAsignaciones(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("DELETE FROM Proyecto p WHERE p.id IN :ids")
+    int eliminarPorIds(@Param("ids") Collection<Long> ids);
+    
+    // Página de proyectos por id (copia completa de /api/sync)
+    List<Proyecto> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pagina);
 }
@@ -0,0 +1,209 @@
+package com.empleados.sistema.scheduling;
+
+import com.empleados.sistema.cache.CacheRespuestas;
+import com.empleados.sistema.cache.EtiquetasCache;
+import com.empleados.sistema.event.PublicadorEventos;
+import com.empleados.sistema.model.EventoOutbox;
+import com.empleados.sistema.model.Proyecto;
+import com.empleados.sistema.model.ProyectoArchivado;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.ProyectoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Mueve los proyectos finalizados hace más de "dias-retencion" a proyectos_archivados, con sus asignaciones.
+// Cada lote copia y borra en una transacción; entre lotes hay una pausa y cada ejecución procesa
+// una cantidad acotada de lotes, para no competir con el tráfico. Los suscriptores reciben ARCHIVADO,
+// que tratan como una baja.
+@Component
+public class ArchivadorProyectos {
+    
+    private static final Logger log = LoggerFactory.getLogger(ArchivadorProyectos.class);
+    
+    static final String TAREA = "archivo-proyectos";
+    
+    private final ProyectoRepository proyectoRepository;
+    private final PublicadorEventos publicadorEventos;
+    private final CacheRespuestas cacheRespuestas;
+    private final BloqueoDistribuido bloqueoDistribuido;
+    private final TransactionTemplate transaccion;
+    private final boolean habilitado;
+    private final int diasRetencion;
+    private final int tamanoLote;
+    private final int maxLotesPorEjecucion;
+    private final long pausaEntreLotesMs;
+    private final Duration bloqueoMaximo;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final AtomicLong ejecuciones = new AtomicLong();
+    private final AtomicLong omitidas = new AtomicLong();
+    private final AtomicLong proyectosArchivados = new AtomicLong();
+    private final AtomicLong asignacionesArchivadas = new AtomicLong();
+    private volatile Instant ultimaEjecucion;
+    private volatile String ultimoError;
+    
+    public ArchivadorProyectos(ProyectoRepository proyectoRepository,
+                               PublicadorEventos publicadorEventos,
+                               CacheRespuestas cacheRespuestas,
+                               BloqueoDistribuido bloqueoDistribuido,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${archivo-proyectos.habilitado:true}") boolean habilitado,
+                               @Value("${archivo-proyectos.dias-retencion:365}") int diasRetencion,
+                               @Value("${archivo-proyectos.tamano-lote:200}") int tamanoLote,
+                               @Value("${archivo-proyectos.max-lotes-por-ejecucion:50}") int maxLotesPorEjecucion,
+                               @Value("${archivo-proyectos.pausa-entre-lotes-ms:200}") long pausaEntreLotesMs) {
+        this.proyectoRepository = proyectoRepository;
+        this.publicadorEventos = publicadorEventos;
+        this.cacheRespuestas = cacheRespuestas;
+        this.bloqueoDistribuido = bloqueoDistribuido;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.diasRetencion = diasRetencion;
+        this.tamanoLote = tamanoLote;
+        this.maxLotesPorEjecucion = maxLotesPorEjecucion;
+        this.pausaEntreLotesMs = pausaEntreLotesMs;
+        // El arriendo cubre la ejecución completa, pausas incluidas, con margen
+        this.bloqueoMaximo = Duration.ofMillis(Math.max(60_000, 4 * maxLotesPorEjecucion * (pausaEntreLotesMs + 1000)));
+    }
+    
+    @Scheduled(fixedDelayString = "${archivo-proyectos.intervalo-ms:3600000}",
+               initialDelayString = "${archivo-proyectos.demora-inicial-ms:60000}")
+    public void programado() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            ejecutar(LocalDate.now().minusDays(diasRetencion));
+        } catch (RuntimeException ex) {
+            log.error("Falló el archivo de proyectos", ex);
+        }
+    }
+    
+    // Archiva los proyectos con fecha de fin anterior al corte; -1 si otra instancia tiene la tarea
+    public int ejecutar(LocalDate corte) {
+        Instant inicio = Instant.now();
+        if (!bloqueoDistribuido.adquirir(TAREA, bloqueoMaximo)) {
+            omitidas.incrementAndGet();
+            return -1;
+        }
+        ejecuciones.incrementAndGet();
+        int total = 0;
+        try {
+            long despuesDeId = 0;
+            for (int lote = 0; lote < maxLotesPorEjecucion; lote++) {
+                if (lote > 0 && !pausar()) {
+                    break;
+                }
+                long desde = despuesDeId;
+                Lote archivado = transaccion.execute(estado -> archivarLote(corte, desde));
+                List<Long> ids = archivado.ids();
+                if (ids.isEmpty()) {
+                    break;
+                }
+                total += ids.size();
+                proyectosArchivados.addAndGet(ids.size());
+                asignacionesArchivadas.addAndGet(archivado.asignaciones());
+                despuesDeId = ids.get(ids.size() - 1);
+                if (ids.size() < tamanoLote) {
+                    break;
+                }
+            }
+            ultimoError = null;
+            return total;
+        } catch (RuntimeException ex) {
+            ultimoError = ex.getMessage();
+            throw ex;
+        } finally {
+            ultimaEjecucion = inicio;
+            if (total > 0) {
+                cacheRespuestas.invalidar(List.of(EtiquetasCache.PROYECTOS, EtiquetasCache.EMPLEADOS));
+                log.info("Archivados {} proyectos finalizados antes de {}", total, corte);
+            }
+            bloqueoDistribuido.liberar(TAREA, inicio, Duration.ZERO);
+        }
+    }
+    
+    private Lote archivarLote(LocalDate corte, long despuesDeId) {
+        List<Long> ids = proyectoRepository.findIdsArchivables(corte, despuesDeId, PageRequest.of(0, tamanoLote));
+        if (ids.isEmpty()) {
+            return new Lote(ids, 0);
+        }
+        Map<Long, Set<Long>> empleadosPorProyecto = new HashMap<>();
+        int asignaciones = 0;
+        for (Object[] par : proyectoRepository.findAsignacionesByProyectoIds(ids)) {
+            empleadosPorProyecto.computeIfAbsent((Long) par[0], k -> new HashSet<>()).add((Long) par[1]);
+            asignaciones++;
+        }
+        
+        Instant ahora = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        List<EventoOutbox> eventos = new ArrayList<>(ids.size());
+        for (Proyecto proyecto : proyectoRepository.findAllById(ids)) {
+            // persist y no save: el id viene asignado y save haría un SELECT previo por fila
+            entityManager.persist(new ProyectoArchivado(proyecto,
+                empleadosPorProyecto.getOrDefault(proyecto.getId(), new HashSet<>()), ahora));
+            eventos.add(new EventoOutbox(TipoEntidad.PROYECTO, proyecto.getId(), TipoCambio.ARCHIVADO, null));
+        }
+        // Las copias se insertan antes de borrar los originales
+        entityManager.flush();
+        proyectoRepository.eliminarAsignaciones(ids);
+        proyectoRepository.eliminarPorIds(ids);
+        publicadorEventos.publicarTodos(eventos);
+        // Los originales quedaron en el contexto de persistencia; no deben volver a escribirse
+        entityManager.clear();
+        return new Lote(ids, asignaciones);
+    }
+    
+    private boolean pausar() {
+        if (pausaEntreLotesMs <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(pausaEntreLotesMs);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    public Map<String, Object> obtenerEstadisticas() {
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("habilitado", habilitado);
+        estadisticas.put("diasRetencion", diasRetencion);
+        estadisticas.put("ejecuciones", ejecuciones.get());
+        estadisticas.put("omitidasPorOtraInstancia", omitidas.get());
+        estadisticas.put("proyectosArchivados", proyectosArchivados.get());
+        estadisticas.put("asignacionesArchivadas", asignacionesArchivadas.get());
+        estadisticas.put("ultimaEjecucion", ultimaEjecucion);
+        estadisticas.put("ultimoError", ultimoError);
+        return estadisticas;
+    }
+    
+    private record Lote(List<Long> ids, int asignaciones) {
+    }
+}
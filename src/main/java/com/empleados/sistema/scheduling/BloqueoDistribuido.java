@@ -0,0 +1,60 @@
+package com.empleados.sistema.scheduling;
+
+import com.empleados.sistema.model.BloqueoTarea;
+import com.empleados.sistema.repository.BloqueoTareaRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+// Exclusión mutua entre instancias para tareas programadas, con arriendos en la tabla bloqueos_tareas.
+// El arriendo vence solo: si la instancia que lo tiene se cae, otra lo retoma al pasar "maximo".
+@Component
+public class BloqueoDistribuido {
+    
+    private final BloqueoTareaRepository bloqueoTareaRepository;
+    private final TransactionTemplate transaccion;
+    private final String instancia;
+    
+    public BloqueoDistribuido(BloqueoTareaRepository bloqueoTareaRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.bloqueoTareaRepository = bloqueoTareaRepository;
+        // Transacción propia y corta: el arriendo no debe quedar atado a la de la tarea
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.transaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.instancia = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+    
+    public boolean adquirir(String nombre, Duration maximo) {
+        Instant ahora = Instant.now();
+        if (!bloqueoTareaRepository.existsById(nombre)) {
+            try {
+                transaccion.executeWithoutResult(estado -> bloqueoTareaRepository.save(new BloqueoTarea(nombre, ahora)));
+            } catch (DataIntegrityViolationException ex) {
+                // Otra instancia creó la fila al mismo tiempo
+            }
+        }
+        Integer tomadas = transaccion.execute(estado ->
+            bloqueoTareaRepository.adquirir(nombre, instancia, ahora, ahora.plus(maximo)));
+        return tomadas != null && tomadas == 1;
+    }
+    
+    // Libera conservando el arriendo hasta "inicio + minimo", para que otra instancia con el reloj
+    // levemente atrasado no repita la misma ejecución programada
+    public void liberar(String nombre, Instant inicio, Duration minimo) {
+        Instant hasta = inicio.plus(minimo);
+        Instant ahora = Instant.now();
+        Instant liberadoEn = hasta.isAfter(ahora) ? hasta : ahora;
+        transaccion.executeWithoutResult(estado -> bloqueoTareaRepository.liberar(nombre, instancia, liberadoEn));
+    }
+    
+    public String getInstancia() {
+        return instancia;
+    }
+}
@@ -0,0 +1,168 @@
+package com.empleados.sistema.scheduling;
+
+import com.empleados.sistema.cache.CacheRespuestas;
+import com.empleados.sistema.cache.EtiquetasCache;
+import com.empleados.sistema.event.PublicadorEventos;
+import com.empleados.sistema.model.EventoOutbox;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.ProyectoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Finaliza los proyectos cuya fecha de fin llegó, al arrancar y al cambiar el día. Así el estado
+// precalculado sirve para /activos e /inactivos sin comparar contra CURRENT_DATE en cada consulta.
+// Entre instancias se coordina con un arriendo en la base; además el UPDATE solo toca proyectos
+// todavía activos, así que una ejecución repetida no vuelve a finalizar ni a publicar eventos.
+@Component
+public class CicloVidaProyectos implements SmartInitializingSingleton {
+    
+    private static final Logger log = LoggerFactory.getLogger(CicloVidaProyectos.class);
+    
+    static final String TAREA = "ciclo-vida-proyectos";
+    
+    private final ProyectoRepository proyectoRepository;
+    private final PublicadorEventos publicadorEventos;
+    private final CacheRespuestas cacheRespuestas;
+    private final BloqueoDistribuido bloqueoDistribuido;
+    private final TransactionTemplate transaccion;
+    private final boolean habilitado;
+    private final int tamanoTramo;
+    private final Duration bloqueoMaximo;
+    private final Duration bloqueoMinimo;
+    
+    private final AtomicLong ejecuciones = new AtomicLong();
+    private final AtomicLong omitidas = new AtomicLong();
+    private final AtomicLong fallidas = new AtomicLong();
+    private final AtomicLong finalizados = new AtomicLong();
+    private volatile Instant ultimaEjecucion;
+    private volatile long ultimaDuracionMs;
+    private volatile int ultimosFinalizados;
+    private volatile String ultimoError;
+    
+    public CicloVidaProyectos(ProyectoRepository proyectoRepository,
+                              PublicadorEventos publicadorEventos,
+                              CacheRespuestas cacheRespuestas,
+                              BloqueoDistribuido bloqueoDistribuido,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${proyectos.ciclo-vida.habilitado:true}") boolean habilitado,
+                              @Value("${proyectos.ciclo-vida.tamano-tramo:1000}") int tamanoTramo,
+                              @Value("${proyectos.ciclo-vida.bloqueo-maximo-ms:600000}") long bloqueoMaximoMs,
+                              @Value("${proyectos.ciclo-vida.bloqueo-minimo-ms:30000}") long bloqueoMinimoMs) {
+        this.proyectoRepository = proyectoRepository;
+        this.publicadorEventos = publicadorEventos;
+        this.cacheRespuestas = cacheRespuestas;
+        this.bloqueoDistribuido = bloqueoDistribuido;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.tamanoTramo = tamanoTramo;
+        this.bloqueoMaximo = Duration.ofMillis(bloqueoMaximoMs);
+        this.bloqueoMinimo = Duration.ofMillis(bloqueoMinimoMs);
+    }
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        // Los proyectos que vencieron con la aplicación detenida
+        alCambiarElDia();
+    }
+    
+    @Scheduled(cron = "${proyectos.ciclo-vida.cron:0 0 0 * * *}")
+    public void alCambiarElDia() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            ejecutar(LocalDate.now());
+        } catch (RuntimeException ex) {
+            log.error("Falló la finalización de proyectos vencidos", ex);
+        }
+    }
+    
+    // Devuelve los proyectos finalizados, o -1 si otra instancia tiene la tarea
+    public int ejecutar(LocalDate hoy) {
+        Instant inicio = Instant.now();
+        if (!bloqueoDistribuido.adquirir(TAREA, bloqueoMaximo)) {
+            omitidas.incrementAndGet();
+            return -1;
+        }
+        ejecuciones.incrementAndGet();
+        long inicioNanos = System.nanoTime();
+        int total = 0;
+        try {
+            long despuesDeId = 0;
+            while (true) {
+                long desde = despuesDeId;
+                List<Long> ids = transaccion.execute(estado -> finalizarTramo(hoy, desde));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                total += ids.size();
+                despuesDeId = ids.get(ids.size() - 1);
+                if (ids.size() < tamanoTramo) {
+                    break;
+                }
+            }
+            ultimoError = null;
+            return total;
+        } catch (RuntimeException ex) {
+            fallidas.incrementAndGet();
+            ultimoError = ex.getMessage();
+            throw ex;
+        } finally {
+            finalizados.addAndGet(total);
+            ultimosFinalizados = total;
+            ultimaEjecucion = inicio;
+            ultimaDuracionMs = (System.nanoTime() - inicioNanos) / 1_000_000;
+            if (total > 0) {
+                cacheRespuestas.invalidar(List.of(EtiquetasCache.PROYECTOS));
+            }
+            bloqueoDistribuido.liberar(TAREA, inicio, bloqueoMinimo);
+        }
+    }
+    
+    private List<Long> finalizarTramo(LocalDate hoy, long despuesDeId) {
+        List<Long> ids = proyectoRepository.findIdsActivosVencidos(hoy, despuesDeId, PageRequest.of(0, tamanoTramo));
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        proyectoRepository.finalizarVencidos(ids, hoy, Instant.now().truncatedTo(ChronoUnit.MICROS));
+        List<EventoOutbox> eventos = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            eventos.add(new EventoOutbox(TipoEntidad.PROYECTO, id, TipoCambio.ACTUALIZADO, null));
+        }
+        publicadorEventos.publicarTodos(eventos);
+        return ids;
+    }
+    
+    public Map<String, Object> obtenerEstadisticas() {
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("habilitado", habilitado);
+        estadisticas.put("instancia", bloqueoDistribuido.getInstancia());
+        estadisticas.put("ejecuciones", ejecuciones.get());
+        estadisticas.put("omitidasPorOtraInstancia", omitidas.get());
+        estadisticas.put("fallidas", fallidas.get());
+        estadisticas.put("proyectosFinalizados", finalizados.get());
+        estadisticas.put("ultimaEjecucion", ultimaEjecucion);
+        estadisticas.put("ultimaDuracionMs", ultimaDuracionMs);
+        estadisticas.put("ultimosFinalizados", ultimosFinalizados);
+        estadisticas.put("ultimoError", ultimoError);
+        return estadisticas;
+    }
+}
@@ -0,0 +1,15 @@
+package com.empleados.sistema.service;
+
+import com.empleados.sistema.dto.ResumenSalarios;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AnaliticaService {
+    
+    ResumenSalarios resumirPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax);
+    List<Long> buscarIdsPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax, int limite);
+    ResumenSalarios resumirPorFechaContratacion(LocalDate fechaDesde, LocalDate fechaHasta);
+    ResumenSalarios resumirPorDepartamento(Long departamentoId);
+}
@@ -0,0 +1,11 @@
+package com.empleados.sistema.service;
+
+import com.empleados.sistema.dto.AlcanceColaboracion;
+import com.empleados.sistema.dto.CaminoColaboracion;
+
+public interface ColaboracionService {
+    
+    long[] obtenerCompaneros(Long empleadoId);
+    AlcanceColaboracion obtenerAlcance(Long empleadoId, int saltos, int limite);
+    CaminoColaboracion buscarCamino(Long origenId, Long destinoId, int maxSaltos);
+}
@@ -0,0 +1,11 @@
+package com.empleados.sistema.service;
+
+import com.empleados.sistema.dto.DetalleDepartamento;
+
+import java.util.List;
+
+public interface ConsultaCompuestaService {
+    
+    // incluir: "empleados", "empleados.proyectos" y/o "agregados"; vacío = todo
+    DetalleDepartamento obtenerDetalleDepartamento(Long departamentoId, List<String> incluir);
+}
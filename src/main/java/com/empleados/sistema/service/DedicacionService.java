@@ -0,0 +1,21 @@
+package com.empleados.sistema.service;
+
+import com.empleados.sistema.dto.LineaTiempoEmpleado;
+import com.empleados.sistema.dto.ReporteSobreasignacion;
+import com.empleados.sistema.dto.ResultadoDedicacion;
+
+import java.time.LocalDate;
+
+public interface DedicacionService {
+    
+    // Asigna el empleado al proyecto (si no lo estaba) con el porcentaje indicado
+    ResultadoDedicacion asignar(Long empleadoId, Long proyectoId, int porcentaje);
+    
+    // Asignación sin porcentaje (/api/empleados, /api/proyectos, /api/batch): pasa por el mismo control con el
+    // porcentaje por defecto; si el empleado ya estaba en el proyecto, su dedicación no cambia
+    void asignarConPorcentajePorDefecto(Long empleadoId, Long proyectoId);
+    
+    LineaTiempoEmpleado obtenerLineaTiempo(Long empleadoId);
+    
+    ReporteSobreasignacion reporteSobreasignacion(LocalDate desde);
+}
@@ -1,17 +1,21 @@
 package com.empleados.sistema.service;
 
+import com.empleados.sistema.dto.ElementoPorId;
 import com.empleados.sistema.model.Departamento;
 import com.empleados.sistema.model.Empleado;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 public interface DepartamentoService {
     
     // Operaciones básicas CRUD
     Departamento guardar(Departamento departamento);
     Departamento buscarPorId(Long id);
+    List<ElementoPorId<Departamento>> buscarPorIds(List<Long> ids);
     List<Departamento> obtenerTodos();
+    List<Map<String, Object>> obtenerTodosConCampos(List<String> campos);
     Departamento actualizar(Long id, Departamento departamento);
     void eliminar(Long id);
     
@@ -29,4 +33,7 @@ public interface DepartamentoService {
     // Validaciones
     boolean existeNombre(String nombre);
     boolean puedeEliminar(Long departamentoId);
+    
+    // Control de caché HTTP
+    String calcularEtagListado();
 }
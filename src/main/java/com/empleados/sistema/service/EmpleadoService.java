@@ -1,17 +1,21 @@
 package com.empleados.sistema.service;
 
+import com.empleados.sistema.dto.ElementoPorId;
 import com.empleados.sistema.model.Empleado;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 public interface EmpleadoService {
     
     // Operaciones básicas CRUD
     Empleado guardar(Empleado empleado);
     Empleado buscarPorId(Long id);
+    List<ElementoPorId<Empleado>> buscarPorIds(List<Long> ids);
     List<Empleado> obtenerTodos();
+    List<Map<String, Object>> obtenerTodosConCampos(List<String> campos);
     Empleado actualizar(Long id, Empleado empleado);
     void eliminar(Long id);
     
@@ -32,4 +36,7 @@ public interface EmpleadoService {
     boolean existeEmail(String email);
     List<Empleado> obtenerEmpleadosSinDepartamento();
     Long contarEmpleadosPorDepartamento(Long departamentoId);
+    
+    // Control de caché HTTP
+    String calcularEtag(Long id);
 }
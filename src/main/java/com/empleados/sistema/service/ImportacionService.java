@@ -0,0 +1,17 @@
+package com.empleados.sistema.service;
+
+import com.empleados.sistema.dto.EstadoImportacion;
+
+import java.io.InputStream;
+import java.util.List;
+
+public interface ImportacionService {
+    
+    // Importación CSV asíncrona
+    EstadoImportacion iniciarImportacionCsv(InputStream contenido);
+    EstadoImportacion obtenerEstado(String id);
+    List<EstadoImportacion> obtenerImportaciones();
+    
+    // Ingesta en streaming de un arreglo JSON (síncrona, con contrapresión)
+    EstadoImportacion importarJson(InputStream contenido);
+}
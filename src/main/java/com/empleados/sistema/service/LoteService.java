@@ -0,0 +1,9 @@
+package com.empleados.sistema.service;
+
+import com.empleados.sistema.dto.ResultadoLote;
+import com.empleados.sistema.dto.SolicitudLote;
+
+public interface LoteService {
+    
+    ResultadoLote ejecutar(SolicitudLote solicitud);
+}
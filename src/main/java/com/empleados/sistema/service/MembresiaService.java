@@ -0,0 +1,9 @@
+package com.empleados.sistema.service;
+
+import com.empleados.sistema.dto.ResultadoMembresia;
+
+public interface MembresiaService {
+    
+    ResultadoMembresia consultar(String expresion, boolean soloConteo, int limite);
+    long[] obtenerProyectosConEmpleadosDeDepartamento(Long departamentoId);
+}
@@ -0,0 +1,12 @@
+package com.empleados.sistema.service;
+
+import com.empleados.sistema.dto.ResultadoOperacionMasiva;
+
+import java.math.BigDecimal;
+
+public interface OperacionMasivaService {
+    
+    ResultadoOperacionMasiva ajustarSalarios(Long departamentoId, BigDecimal porcentaje);
+    
+    ResultadoOperacionMasiva transferirEmpleados(Long origenId, Long destinoId);
+}
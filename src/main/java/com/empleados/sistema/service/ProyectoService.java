@@ -1,17 +1,22 @@
 package com.empleados.sistema.service;
 
+import com.empleados.sistema.dto.ElementoPorId;
 import com.empleados.sistema.model.Proyecto;
 import com.empleados.sistema.model.Empleado;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 public interface ProyectoService {
     
     // Operaciones básicas CRUD
     Proyecto guardar(Proyecto proyecto);
     Proyecto buscarPorId(Long id);
+    Proyecto buscarPorId(Long id, boolean incluirArchivados);
+    List<ElementoPorId<Proyecto>> buscarPorIds(List<Long> ids);
     List<Proyecto> obtenerTodos();
+    List<Map<String, Object>> obtenerTodosConCampos(List<String> campos);
     Proyecto actualizar(Long id, Proyecto proyecto);
     void eliminar(Long id);
     
@@ -21,6 +26,13 @@ public interface ProyectoService {
     List<Proyecto> buscarProyectosInactivos();
     List<Proyecto> buscarPorRangoFechas(LocalDate fechaInicio, LocalDate fechaFin);
     List<Proyecto> buscarPorNombreContiene(String termino);
+    List<Proyecto> buscarEnCurso(LocalDate desde, LocalDate hasta);
+    List<Proyecto> buscarEnCursoEl(LocalDate fecha);
+    
+    // Búsquedas que también consultan los proyectos archivados
+    List<Proyecto> buscarPorNombreContiene(String termino, boolean incluirArchivados);
+    List<Proyecto> buscarProyectosInactivos(boolean incluirArchivados);
+    List<Proyecto> buscarPorEmpleado(Long empleadoId, boolean incluirArchivados);
     
     // Operaciones de negocio
     List<Empleado> obtenerEmpleadosPorProyecto(Long proyectoId);
@@ -35,4 +47,7 @@ public interface ProyectoService {
     List<Proyecto> obtenerProyectosSinEmpleados();
     List<Proyecto> obtenerProyectosConMasDeXEmpleados(int cantidadMinima);
     void finalizarProyecto(Long proyectoId);
+    
+    // Control de caché HTTP
+    String calcularEtagActivos();
 }
@@ -0,0 +1,8 @@
+package com.empleados.sistema.service;
+
+import com.empleados.sistema.dto.RespuestaSincronizacion;
+
+public interface SincronizacionService {
+    
+    RespuestaSincronizacion sincronizar(String desde, Integer limite);
+}
@@ -0,0 +1,98 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.analytics.AlmacenAnalitico;
+import com.empleados.sistema.analytics.ColumnasEmpleados;
+import com.empleados.sistema.dto.ResumenSalarios;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import com.empleados.sistema.service.AnaliticaService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+// Consultas analíticas sobre el almacén columnar; mientras no está cargado se resuelven con agregados JPA
+@Service
+@Transactional(readOnly = true)
+public class AnaliticaServiceImpl implements AnaliticaService {
+    
+    private final AlmacenAnalitico almacenAnalitico;
+    private final EmpleadoRepository empleadoRepository;
+    private final int limiteMaximo;
+    
+    public AnaliticaServiceImpl(AlmacenAnalitico almacenAnalitico,
+                                EmpleadoRepository empleadoRepository,
+                                @Value("${analitica.limite-maximo-ids:10000}") int limiteMaximo) {
+        this.almacenAnalitico = almacenAnalitico;
+        this.empleadoRepository = empleadoRepository;
+        this.limiteMaximo = limiteMaximo;
+    }
+    
+    @Override
+    public ResumenSalarios resumirPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax) {
+        validarRango(salarioMin, salarioMax);
+        ColumnasEmpleados columnas = almacenAnalitico.columnasDisponibles();
+        if (columnas != null) {
+            long minimo = AlmacenAnalitico.aCentavos(salarioMin);
+            long maximo = AlmacenAnalitico.aCentavos(salarioMax);
+            return ResumenSalarios.de(columnas.contarPorSalario(minimo, maximo),
+                AlmacenAnalitico.deCentavos(columnas.sumarPorSalario(minimo, maximo)));
+        }
+        return resumen(empleadoRepository.resumirPorSalario(salarioMin, salarioMax));
+    }
+    
+    @Override
+    public List<Long> buscarIdsPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax, int limite) {
+        validarRango(salarioMin, salarioMax);
+        if (limite < 1 || limite > limiteMaximo) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + limiteMaximo);
+        }
+        ColumnasEmpleados columnas = almacenAnalitico.columnasDisponibles();
+        if (columnas != null) {
+            long[] ids = columnas.idsPorSalario(AlmacenAnalitico.aCentavos(salarioMin),
+                AlmacenAnalitico.aCentavos(salarioMax), limite);
+            return Arrays.stream(ids).boxed().toList();
+        }
+        return empleadoRepository.findIdsPorSalario(salarioMin, salarioMax, PageRequest.of(0, limite));
+    }
+    
+    @Override
+    public ResumenSalarios resumirPorFechaContratacion(LocalDate fechaDesde, LocalDate fechaHasta) {
+        if (fechaDesde.isAfter(fechaHasta)) {
+            throw new IllegalArgumentException("La fecha desde no puede ser posterior a la fecha hasta");
+        }
+        ColumnasEmpleados columnas = almacenAnalitico.columnasDisponibles();
+        if (columnas != null) {
+            int desde = AlmacenAnalitico.aDia(fechaDesde);
+            int hasta = AlmacenAnalitico.aDia(fechaHasta);
+            return ResumenSalarios.de(columnas.contarPorContratacion(desde, hasta),
+                AlmacenAnalitico.deCentavos(columnas.sumarPorContratacion(desde, hasta)));
+        }
+        return resumen(empleadoRepository.resumirPorFechaContratacion(fechaDesde, fechaHasta));
+    }
+    
+    @Override
+    public ResumenSalarios resumirPorDepartamento(Long departamentoId) {
+        ColumnasEmpleados columnas = almacenAnalitico.columnasDisponibles();
+        if (columnas != null) {
+            return ResumenSalarios.de(columnas.contarPorDepartamento(departamentoId),
+                AlmacenAnalitico.deCentavos(columnas.sumarPorDepartamento(departamentoId)));
+        }
+        return resumen(empleadoRepository.resumirPorDepartamento(departamentoId));
+    }
+    
+    private static void validarRango(BigDecimal salarioMin, BigDecimal salarioMax) {
+        if (salarioMin.compareTo(salarioMax) > 0) {
+            throw new IllegalArgumentException("El salario mínimo no puede ser mayor al máximo");
+        }
+    }
+    
+    private static ResumenSalarios resumen(List<Object[]> filas) {
+        Object[] fila = filas.get(0);
+        return ResumenSalarios.de((Long) fila[0], ((BigDecimal) fila[1]).setScale(2));
+    }
+}
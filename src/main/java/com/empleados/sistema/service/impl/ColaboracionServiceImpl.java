@@ -0,0 +1,88 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.dto.AlcanceColaboracion;
+import com.empleados.sistema.dto.CaminoColaboracion;
+import com.empleados.sistema.exception.EmpleadoNoEncontradoException;
+import com.empleados.sistema.graph.GrafoColaboracion;
+import com.empleados.sistema.graph.IndiceColaboraciones;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import com.empleados.sistema.service.ColaboracionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Recorridos sobre el grafo de colaboración en memoria, acotados en saltos, resultados y tiempo
+@Service
+public class ColaboracionServiceImpl implements ColaboracionService {
+    
+    private final IndiceColaboraciones indiceColaboraciones;
+    private final EmpleadoRepository empleadoRepository;
+    private final int maxSaltos;
+    private final int limiteMaximo;
+    private final Duration plazo;
+    
+    public ColaboracionServiceImpl(IndiceColaboraciones indiceColaboraciones,
+                                   EmpleadoRepository empleadoRepository,
+                                   @Value("${colaboraciones.max-saltos:6}") int maxSaltos,
+                                   @Value("${colaboraciones.limite-maximo:10000}") int limiteMaximo,
+                                   @Value("${colaboraciones.plazo-ms:250}") long plazoMs) {
+        this.indiceColaboraciones = indiceColaboraciones;
+        this.empleadoRepository = empleadoRepository;
+        this.maxSaltos = maxSaltos;
+        this.limiteMaximo = limiteMaximo;
+        this.plazo = Duration.ofMillis(plazoMs);
+    }
+    
+    @Override
+    public long[] obtenerCompaneros(Long empleadoId) {
+        verificarEmpleado(empleadoId);
+        return indiceColaboraciones.alcance(empleadoId, 1, Integer.MAX_VALUE, plazo).empleadoIds();
+    }
+    
+    @Override
+    public AlcanceColaboracion obtenerAlcance(Long empleadoId, int saltos, int limite) {
+        validarSaltos(saltos);
+        if (limite < 1 || limite > limiteMaximo) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + limiteMaximo);
+        }
+        verificarEmpleado(empleadoId);
+        long inicio = System.nanoTime();
+        GrafoColaboracion.Alcance alcance = indiceColaboraciones.alcance(empleadoId, saltos, limite, plazo);
+        return new AlcanceColaboracion(empleadoId, saltos, alcance.empleadoIds(), alcance.distancias(),
+            alcance.truncado(), microsDesde(inicio));
+    }
+    
+    @Override
+    public CaminoColaboracion buscarCamino(Long origenId, Long destinoId, int maxSaltos) {
+        validarSaltos(maxSaltos);
+        verificarEmpleado(origenId);
+        verificarEmpleado(destinoId);
+        long inicio = System.nanoTime();
+        GrafoColaboracion.Camino camino = indiceColaboraciones.caminoMasCorto(origenId, destinoId, maxSaltos, plazo);
+        if (camino == null || camino.truncado()) {
+            return new CaminoColaboracion(origenId, destinoId, false, new long[0], new long[0],
+                camino != null, microsDesde(inicio));
+        }
+        return new CaminoColaboracion(origenId, destinoId, true, camino.empleadoIds(), camino.proyectoIds(),
+            false, microsDesde(inicio));
+    }
+    
+    private void validarSaltos(int saltos) {
+        if (saltos < 1 || saltos > maxSaltos) {
+            throw new IllegalArgumentException("La cantidad de saltos debe estar entre 1 y " + maxSaltos);
+        }
+    }
+    
+    // Los empleados sin proyectos no están en el grafo: se distingue "sin compañeros" de "no existe"
+    private void verificarEmpleado(Long empleadoId) {
+        if (!indiceColaboraciones.contieneEmpleado(empleadoId) && !empleadoRepository.existsById(empleadoId)) {
+            throw new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + empleadoId);
+        }
+    }
+    
+    private static long microsDesde(long inicio) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio);
+    }
+}
@@ -0,0 +1,191 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.dto.DetalleDepartamento;
+import com.empleados.sistema.exception.DepartamentoNoEncontradoException;
+import com.empleados.sistema.model.Departamento;
+import com.empleados.sistema.model.Proyecto;
+import com.empleados.sistema.overload.PlazoSolicitud;
+import com.empleados.sistema.repository.DepartamentoRepository;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import com.empleados.sistema.repository.ProyectoRepository;
+import com.empleados.sistema.service.ConsultaCompuestaService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Respuestas compuestas a partir de una descripción de lo que necesita el cliente. Cada parte pedida es
+// una única consulta por lotes (nunca una por empleado). Las consultas se agrupan en a lo sumo dos lecturas
+// en paralelo, cada una en su propia transacción de solo lectura (una conexión por lectura). La primera corre
+// en el hilo de la solicitud; la segunda, en un pool acotado que la devuelve al llamador si está saturado:
+// - departamento, empleados y agregados: los agregados se calculan sobre las mismas filas que los miembros,
+//   así que la cantidad siempre coincide con la lista; sin empleados se usa la consulta de resumen
+// - asignaciones y proyectos: se leen por separado y pueden no reflejar un cambio confirmado entre ambas lecturas
+@Service
+public class ConsultaCompuestaServiceImpl implements ConsultaCompuestaService {
+    
+    private static final String EMPLEADOS = "empleados";
+    private static final String PROYECTOS = "empleados.proyectos";
+    private static final String AGREGADOS = "agregados";
+    
+    private final DepartamentoRepository departamentoRepository;
+    private final EmpleadoRepository empleadoRepository;
+    private final ProyectoRepository proyectoRepository;
+    private final TransactionTemplate lectura;
+    private final ThreadPoolExecutor consultas;
+    
+    public ConsultaCompuestaServiceImpl(DepartamentoRepository departamentoRepository,
+                                        EmpleadoRepository empleadoRepository,
+                                        ProyectoRepository proyectoRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${consultas-compuestas.hilos:8}") int hilos,
+                                        @Value("${consultas-compuestas.cola:32}") int cola) {
+        this.departamentoRepository = departamentoRepository;
+        this.empleadoRepository = empleadoRepository;
+        this.proyectoRepository = proyectoRepository;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        AtomicInteger numero = new AtomicInteger();
+        this.consultas = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(cola),
+            tarea -> new Thread(tarea, "consulta-compuesta-" + numero.incrementAndGet()),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+    
+    @PreDestroy
+    public void detener() {
+        consultas.shutdownNow();
+    }
+    
+    @Override
+    public DetalleDepartamento obtenerDetalleDepartamento(Long departamentoId, List<String> incluir) {
+        Set<String> plan = planificar(incluir);
+        boolean conEmpleados = plan.contains(EMPLEADOS);
+        boolean conProyectos = plan.contains(PROYECTOS);
+        
+        boolean conAgregados = plan.contains(AGREGADOS);
+        
+        // Las asignaciones y los proyectos salen en paralelo con el resto, en su propia transacción
+        CompletableFuture<ParteProyectos> proyectos = conProyectos
+            ? enParalelo(() -> new ParteProyectos(empleadoRepository.findAsignacionesPorDepartamento(departamentoId),
+                proyectoRepository.findConEmpleadosDelDepartamento(departamentoId)))
+            : null;
+        // El resto se espera enseguida: se lee en el hilo de la solicitud en vez de ocupar otro del pool
+        ParteDepartamento parte = lectura.execute(estado -> {
+            Departamento departamento = departamentoRepository.findById(departamentoId)
+                .orElseThrow(() -> new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + departamentoId));
+            List<Object[]> filas = conEmpleados ? empleadoRepository.findFilasPorDepartamento(departamentoId) : null;
+            Object[] resumen = conAgregados && filas == null ? empleadoRepository.resumirPorDepartamento(departamentoId).get(0) : null;
+            return new ParteDepartamento(departamento, filas, resumen);
+        });
+        Departamento encontrado = parte.departamento();
+        
+        Map<Long, List<Long>> proyectosPorEmpleado = new HashMap<>();
+        List<DetalleDepartamento.ProyectoResumen> resumenProyectos = null;
+        if (proyectos != null) {
+            ParteProyectos leidos = esperar(proyectos);
+            for (Object[] par : leidos.asignaciones()) {
+                proyectosPorEmpleado.computeIfAbsent((Long) par[0], k -> new ArrayList<>()).add((Long) par[1]);
+            }
+            proyectosPorEmpleado.values().forEach(ids -> ids.sort(null));
+            resumenProyectos = leidos.proyectos().stream()
+                .map(p -> new DetalleDepartamento.ProyectoResumen(p.getId(), p.getNombre(), p.getDescripcion(),
+                    p.getFechaInicio(), p.getFechaFin()))
+                .toList();
+        }
+        
+        List<DetalleDepartamento.Miembro> miembros = null;
+        long cantidad = 0;
+        BigDecimal masaSalarial = BigDecimal.ZERO;
+        if (parte.filas() != null) {
+            miembros = new ArrayList<>();
+            for (Object[] fila : parte.filas()) {
+                Long id = (Long) fila[0];
+                BigDecimal salario = (BigDecimal) fila[5];
+                miembros.add(new DetalleDepartamento.Miembro(id, (String) fila[1], (String) fila[2], (String) fila[3],
+                    (LocalDate) fila[4], salario,
+                    conProyectos ? proyectosPorEmpleado.getOrDefault(id, List.of()) : null));
+                cantidad++;
+                if (salario != null) {
+                    masaSalarial = masaSalarial.add(salario);
+                }
+            }
+        } else if (parte.resumen() != null) {
+            Object[] fila = parte.resumen();
+            cantidad = ((Number) fila[0]).longValue();
+            masaSalarial = fila[1] instanceof BigDecimal suma ? suma : new BigDecimal(fila[1].toString());
+        }
+        
+        DetalleDepartamento.Agregados agregados = null;
+        if (conAgregados) {
+            BigDecimal promedio = cantidad == 0 ? BigDecimal.ZERO
+                : masaSalarial.divide(BigDecimal.valueOf(cantidad), 2, RoundingMode.HALF_EVEN);
+            agregados = new DetalleDepartamento.Agregados(cantidad, promedio, masaSalarial);
+        }
+        
+        return new DetalleDepartamento(encontrado.getId(), encontrado.getNombre(), encontrado.getDescripcion(),
+            agregados, miembros, resumenProyectos);
+    }
+    
+    // Valida la descripción pedida; los proyectos se cuelgan de los empleados, así que los implican
+    private static Set<String> planificar(List<String> incluir) {
+        Set<String> plan = new HashSet<>();
+        if (incluir == null || incluir.isEmpty()) {
+            return Set.of(EMPLEADOS, PROYECTOS, AGREGADOS);
+        }
+        for (String parte : incluir) {
+            String normalizada = parte == null ? "" : parte.trim();
+            switch (normalizada) {
+                case EMPLEADOS, AGREGADOS -> plan.add(normalizada);
+                case PROYECTOS -> {
+                    plan.add(EMPLEADOS);
+                    plan.add(PROYECTOS);
+                }
+                default -> throw new IllegalArgumentException("Parte no disponible: '" + normalizada +
+                    "'. Partes válidas: " + List.of(EMPLEADOS, PROYECTOS, AGREGADOS));
+            }
+        }
+        return plan;
+    }
+    
+    private record ParteDepartamento(Departamento departamento, List<Object[]> filas, Object[] resumen) {
+    }
+    
+    private record ParteProyectos(List<Object[]> asignaciones, List<Proyecto> proyectos) {
+    }
+    
+    // Cada lectura usa una sola conexión durante toda su transacción
+    private <T> CompletableFuture<T> enParalelo(Supplier<T> consulta) {
+        Supplier<T> enTransaccion = () -> lectura.execute(estado -> consulta.get());
+        return CompletableFuture.supplyAsync(PlazoSolicitud.propagar(enTransaccion), consultas);
+    }
+    
+    private static <T> T esperar(CompletableFuture<T> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.cache.EtiquetasCache;
+import com.empleados.sistema.cache.InvalidaRespuestas;
+import com.empleados.sistema.dto.LineaTiempoEmpleado;
+import com.empleados.sistema.dto.PeriodoDedicacion;
+import com.empleados.sistema.dto.ReporteSobreasignacion;
+import com.empleados.sistema.dto.ReporteSobreasignacion.EmpleadoSobreasignado;
+import com.empleados.sistema.dto.ResultadoDedicacion;
+import com.empleados.sistema.event.PublicadorEventos;
+import com.empleados.sistema.exception.EmpleadoNoEncontradoException;
+import com.empleados.sistema.exception.ProyectoNoEncontradoException;
+import com.empleados.sistema.model.Dedicacion;
+import com.empleados.sistema.model.Empleado;
+import com.empleados.sistema.model.Proyecto;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.DedicacionRepository;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import com.empleados.sistema.repository.ProyectoRepository;
+import com.empleados.sistema.service.DedicacionService;
+import com.empleados.sistema.staffing.LineaTiempoDedicacion;
+import com.empleados.sistema.staffing.LineaTiempoDedicacion.Tramo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+@Service
+@Transactional
+public class DedicacionServiceImpl implements DedicacionService {
+    
+    private static final int PORCENTAJE_MAXIMO = 100;
+    
+    private final EmpleadoRepository empleadoRepository;
+    private final ProyectoRepository proyectoRepository;
+    private final DedicacionRepository dedicacionRepository;
+    private final PublicadorEventos publicadorEventos;
+    private final int limite;
+    private final int porcentajePorDefecto;
+    private final boolean controlarSinPorcentaje;
+    
+    public DedicacionServiceImpl(EmpleadoRepository empleadoRepository,
+                                 ProyectoRepository proyectoRepository,
+                                 DedicacionRepository dedicacionRepository,
+                                 PublicadorEventos publicadorEventos,
+                                 @Value("${dedicaciones.limite-porcentaje:100}") int limite,
+                                 @Value("${dedicaciones.porcentaje-por-defecto:100}") int porcentajePorDefecto,
+                                 @Value("${dedicaciones.controlar-sin-porcentaje:false}") boolean controlar) {
+        if (limite < 1) {
+            throw new IllegalArgumentException("dedicaciones.limite-porcentaje debe ser al menos 1");
+        }
+        if (porcentajePorDefecto < 0 || porcentajePorDefecto > PORCENTAJE_MAXIMO) {
+            throw new IllegalArgumentException("dedicaciones.porcentaje-por-defecto debe estar entre 0 y " + PORCENTAJE_MAXIMO);
+        }
+        this.empleadoRepository = empleadoRepository;
+        this.proyectoRepository = proyectoRepository;
+        this.dedicacionRepository = dedicacionRepository;
+        this.publicadorEventos = publicadorEventos;
+        this.limite = limite;
+        this.porcentajePorDefecto = porcentajePorDefecto;
+        this.controlarSinPorcentaje = controlar;
+    }
+    
+    @Override
+    @InvalidaRespuestas(EtiquetasCache.EMPLEADOS)
+    public ResultadoDedicacion asignar(Long empleadoId, Long proyectoId, int porcentaje) {
+        if (porcentaje < 1 || porcentaje > PORCENTAJE_MAXIMO) {
+            throw new IllegalArgumentException("El porcentaje de dedicación debe estar entre 1 y " + PORCENTAJE_MAXIMO);
+        }
+        Verificacion verificacion = verificar(empleadoId, proyectoId, porcentaje, true);
+        if (verificacion.anterior() == null) {
+            verificacion.empleado().asignarAProyecto(verificacion.proyecto());
+            empleadoRepository.save(verificacion.empleado());
+        }
+        Dedicacion dedicacion = dedicacionRepository.findByEmpleadoIdAndProyectoId(empleadoId, proyectoId)
+            .orElseGet(() -> new Dedicacion(empleadoId, proyectoId, porcentaje));
+        dedicacion.setPorcentaje(porcentaje);
+        dedicacionRepository.save(dedicacion);
+        publicadorEventos.publicar(TipoEntidad.EMPLEADO, empleadoId, TipoCambio.ASIGNADO, proyectoId);
+        return new ResultadoDedicacion(empleadoId, proyectoId, porcentaje, verificacion.maximo(), limite);
+    }
+    
+    @Override
+    @InvalidaRespuestas(EtiquetasCache.EMPLEADOS)
+    public void asignarConPorcentajePorDefecto(Long empleadoId, Long proyectoId) {
+        // Sin fila de dedicación: la asignación cuenta con el porcentaje por defecto. Si ya existía, no se toca.
+        // Los clientes de estos endpoints no conocen los porcentajes: solo se rechaza si se activó el control
+        Verificacion verificacion = verificar(empleadoId, proyectoId, porcentajePorDefecto, controlarSinPorcentaje);
+        if (verificacion.anterior() == null) {
+            verificacion.empleado().asignarAProyecto(verificacion.proyecto());
+            empleadoRepository.save(verificacion.empleado());
+        }
+        publicadorEventos.publicar(TipoEntidad.EMPLEADO, empleadoId, TipoCambio.ASIGNADO, proyectoId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public LineaTiempoEmpleado obtenerLineaTiempo(Long empleadoId) {
+        if (!empleadoRepository.existsById(empleadoId)) {
+            throw new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + empleadoId);
+        }
+        List<Object[]> filas = dedicacionRepository.findAsignacionesConDedicacion(empleadoId);
+        LineaTiempoDedicacion linea = construir(filas, 0, filas.size());
+        return new LineaTiempoEmpleado(empleadoId, limite, linea.maximo(),
+            periodos(linea.tramos()), periodos(linea.excesos(limite)));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public ReporteSobreasignacion reporteSobreasignacion(LocalDate desde) {
+        long comienzo = System.nanoTime();
+        LocalDate corte = desde != null ? desde : LocalDate.now();
+        int diaCorte = inicio(corte);
+        
+        // Una sola consulta con las asignaciones vigentes, ordenadas por empleado: cada empleado es un rango
+        // contiguo de filas y su línea de tiempo se arma y evalúa en paralelo con las de los demás
+        List<Object[]> filas = dedicacionRepository.findAsignacionesVigentesConDedicacion(corte);
+        List<Integer> limites = new ArrayList<>();
+        for (int i = 0; i < filas.size(); i++) {
+            if (i == 0 || !filas.get(i)[0].equals(filas.get(i - 1)[0])) {
+                limites.add(i);
+            }
+        }
+        limites.add(filas.size());
+        int empleados = limites.size() - 1;
+        
+        List<EmpleadoSobreasignado> sobreasignados = IntStream.range(0, empleados)
+            .parallel()
+            .mapToObj(g -> evaluar(filas, limites.get(g), limites.get(g + 1), diaCorte))
+            .filter(Objects::nonNull)
+            .toList();
+        long duracionMs = (System.nanoTime() - comienzo) / 1_000_000;
+        return new ReporteSobreasignacion(corte, limite, empleados, sobreasignados, duracionMs);
+    }
+    
+    private record Verificacion(Empleado empleado, Proyecto proyecto, Integer anterior, int maximo) {
+    }
+    
+    // Bloquea al empleado y, si se pide controlar, verifica que la asignación al proyecto con el porcentaje dado no
+    // lo lleve por encima del límite; anterior es el porcentaje con el que ya estaba asignado, o null
+    private Verificacion verificar(Long empleadoId, Long proyectoId, int porcentaje, boolean controlar) {
+        // El bloqueo del empleado evita que dos asignaciones simultáneas pasen el control cada una por su lado
+        Empleado empleado = empleadoRepository.findByIdParaActualizar(empleadoId)
+            .orElseThrow(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + empleadoId));
+        Proyecto proyecto = proyectoRepository.findById(proyectoId)
+            .orElseThrow(() -> new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + proyectoId));
+        
+        // Línea de tiempo con el resto de las asignaciones del empleado más esta con el porcentaje nuevo
+        List<Object[]> filas = dedicacionRepository.findAsignacionesConDedicacion(empleadoId);
+        int[] inicios = new int[filas.size() + 1];
+        int[] fines = new int[filas.size() + 1];
+        int[] porcentajes = new int[filas.size() + 1];
+        int cantidad = 0;
+        Integer anterior = null;
+        for (Object[] fila : filas) {
+            if (proyectoId.equals(fila[0])) {
+                anterior = porcentaje(fila[3]);
+                continue;
+            }
+            inicios[cantidad] = inicio((LocalDate) fila[1]);
+            fines[cantidad] = fin((LocalDate) fila[2]);
+            porcentajes[cantidad++] = porcentaje(fila[3]);
+        }
+        int inicio = inicio(proyecto.getFechaInicio());
+        int fin = fin(proyecto.getFechaFin());
+        inicios[cantidad] = inicio;
+        fines[cantidad] = fin;
+        porcentajes[cantidad++] = porcentaje;
+        LineaTiempoDedicacion linea = LineaTiempoDedicacion.construir(inicios, fines, porcentajes, cantidad);
+        
+        // Bajar el porcentaje siempre se permite, aunque el empleado ya estuviera sobreasignado
+        int maximo = linea.maximoEn(inicio, fin);
+        if (controlar && maximo > limite && (anterior == null || porcentaje > anterior)) {
+            Tramo exceso = linea.excesos(limite).stream()
+                .filter(tramo -> tramo.hasta() >= inicio && tramo.desde() <= fin)
+                .findFirst()
+                .orElseThrow();
+            throw new IllegalStateException("La asignación llevaría la dedicación del empleado al " + exceso.porcentaje() +
+                "% (límite " + limite + "%) " + describir(exceso));
+        }
+        return new Verificacion(empleado, proyecto, anterior, maximo);
+    }
+    
+    // Excesos del empleado de las filas [desde, hasta), recortados al día de corte; null si no tiene
+    private EmpleadoSobreasignado evaluar(List<Object[]> filas, int desde, int hasta, int diaCorte) {
+        LineaTiempoDedicacion linea = construir(filas, desde, hasta);
+        List<PeriodoDedicacion> periodos = new ArrayList<>();
+        int maximo = 0;
+        for (Tramo exceso : linea.excesos(limite)) {
+            if (exceso.hasta() < diaCorte) {
+                continue;
+            }
+            int inicio = Math.max(exceso.desde(), diaCorte);
+            int porcentaje = inicio == exceso.desde() ? exceso.porcentaje() : linea.maximoEn(inicio, exceso.hasta());
+            periodos.add(new PeriodoDedicacion(fecha(inicio), fecha(exceso.hasta()), porcentaje));
+            maximo = Math.max(maximo, porcentaje);
+        }
+        return periodos.isEmpty() ? null : new EmpleadoSobreasignado((Long) filas.get(desde)[0], maximo, periodos);
+    }
+    
+    // Filas (id, fechaInicio, fechaFin, porcentaje) de un mismo empleado
+    private LineaTiempoDedicacion construir(List<Object[]> filas, int desde, int hasta) {
+        int cantidad = hasta - desde;
+        int[] inicios = new int[cantidad];
+        int[] fines = new int[cantidad];
+        int[] porcentajes = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            Object[] fila = filas.get(desde + i);
+            inicios[i] = inicio((LocalDate) fila[1]);
+            fines[i] = fin((LocalDate) fila[2]);
+            porcentajes[i] = porcentaje(fila[3]);
+        }
+        return LineaTiempoDedicacion.construir(inicios, fines, porcentajes, cantidad);
+    }
+    
+    // Las asignaciones hechas sin porcentaje (por /api/empleados, /api/proyectos o /api/batch) cuentan con el valor por defecto
+    private int porcentaje(Object valor) {
+        return valor == null ? porcentajePorDefecto : (Integer) valor;
+    }
+    
+    private static List<PeriodoDedicacion> periodos(List<Tramo> tramos) {
+        return tramos.stream()
+            .map(tramo -> new PeriodoDedicacion(fecha(tramo.desde()), fecha(tramo.hasta()), tramo.porcentaje()))
+            .toList();
+    }
+    
+    private static int inicio(LocalDate fecha) {
+        return fecha == null ? LineaTiempoDedicacion.SIN_INICIO : Math.toIntExact(fecha.toEpochDay());
+    }
+    
+    private static int fin(LocalDate fecha) {
+        return fecha == null ? LineaTiempoDedicacion.SIN_FIN : Math.toIntExact(fecha.toEpochDay());
+    }
+    
+    private static LocalDate fecha(int dia) {
+        return dia == LineaTiempoDedicacion.SIN_INICIO || dia == LineaTiempoDedicacion.SIN_FIN ? null : LocalDate.ofEpochDay(dia);
+    }
+    
+    private static String describir(Tramo tramo) {
+        LocalDate desde = fecha(tramo.desde());
+        LocalDate hasta = fecha(tramo.hasta());
+        return (desde == null ? "sin fecha de inicio" : "desde el " + desde) +
+            (hasta == null ? " y sin fecha de fin" : " hasta el " + hasta);
+    }
+}
@@ -1,17 +1,29 @@
 package com.empleados.sistema.service.impl;
 
+import com.empleados.sistema.cache.EtiquetasCache;
+import com.empleados.sistema.cache.InvalidaRespuestas;
+import com.empleados.sistema.cache.LlamadaCoalescida;
+import com.empleados.sistema.dto.ElementoPorId;
+import com.empleados.sistema.event.PublicadorEventos;
 import com.empleados.sistema.exception.DepartamentoNoEncontradoException;
 import com.empleados.sistema.exception.EmpleadoNoEncontradoException;
 import com.empleados.sistema.model.Departamento;
 import com.empleados.sistema.model.Empleado;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.readmodel.InstantaneaOrganizacion;
+import com.empleados.sistema.readmodel.ModeloLectura;
 import com.empleados.sistema.repository.DepartamentoRepository;
 import com.empleados.sistema.repository.EmpleadoRepository;
+import com.empleados.sistema.repository.ProyeccionRepository;
+import com.empleados.sistema.repository.CargaMultipleRepository;
 import com.empleados.sistema.service.DepartamentoService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -19,14 +31,27 @@ public class DepartamentoServiceImpl implements DepartamentoService {
     
     private final DepartamentoRepository departamentoRepository;
     private final EmpleadoRepository empleadoRepository;
+    private final ProyeccionRepository proyeccionRepository;
+    private final CargaMultipleRepository cargaMultipleRepository;
+    private final PublicadorEventos publicadorEventos;
+    private final ModeloLectura modeloLectura;
     
     public DepartamentoServiceImpl(DepartamentoRepository departamentoRepository,
-                                  EmpleadoRepository empleadoRepository) {
+                                  EmpleadoRepository empleadoRepository,
+                                  ProyeccionRepository proyeccionRepository,
+                                  CargaMultipleRepository cargaMultipleRepository,
+                                  PublicadorEventos publicadorEventos,
+                                  ModeloLectura modeloLectura) {
         this.departamentoRepository = departamentoRepository;
         this.empleadoRepository = empleadoRepository;
+        this.proyeccionRepository = proyeccionRepository;
+        this.cargaMultipleRepository = cargaMultipleRepository;
+        this.publicadorEventos = publicadorEventos;
+        this.modeloLectura = modeloLectura;
     }
     
     @Override
+    @InvalidaRespuestas(EtiquetasCache.DEPARTAMENTOS)
     public Departamento guardar(Departamento departamento) {
         // Validar que el nombre no exista
         if (departamentoRepository.existsByNombre(departamento.getNombre())) {
@@ -38,7 +63,9 @@ public class DepartamentoServiceImpl implements DepartamentoService {
             throw new IllegalArgumentException("El nombre del departamento es obligatorio");
         }
         
-        return departamentoRepository.save(departamento);
+        Departamento guardado = departamentoRepository.save(departamento);
+        publicadorEventos.publicar(TipoEntidad.DEPARTAMENTO, guardado.getId(), TipoCambio.CREADO);
+        return guardado;
     }
     
     @Override
@@ -48,6 +75,12 @@ public class DepartamentoServiceImpl implements DepartamentoService {
             .orElseThrow(() -> new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + id));
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<ElementoPorId<Departamento>> buscarPorIds(List<Long> ids) {
+        return cargaMultipleRepository.buscarPorIds(Departamento.class, ids);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<Departamento> obtenerTodos() {
@@ -55,6 +88,13 @@ public class DepartamentoServiceImpl implements DepartamentoService {
     }
     
     @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> obtenerTodosConCampos(List<String> campos) {
+        return proyeccionRepository.buscarCampos(Departamento.class, campos);
+    }
+    
+    @Override
+    @InvalidaRespuestas({EtiquetasCache.DEPARTAMENTOS, EtiquetasCache.EMPLEADOS})
     public Departamento actualizar(Long id, Departamento departamento) {
         Departamento departamentoExistente = buscarPorId(id);
         
@@ -68,10 +108,13 @@ public class DepartamentoServiceImpl implements DepartamentoService {
         departamentoExistente.setNombre(departamento.getNombre());
         departamentoExistente.setDescripcion(departamento.getDescripcion());
         
-        return departamentoRepository.save(departamentoExistente);
+        Departamento actualizado = departamentoRepository.save(departamentoExistente);
+        publicadorEventos.publicar(TipoEntidad.DEPARTAMENTO, id, TipoCambio.ACTUALIZADO);
+        return actualizado;
     }
     
     @Override
+    @InvalidaRespuestas({EtiquetasCache.DEPARTAMENTOS, EtiquetasCache.EMPLEADOS})
     public void eliminar(Long id) {
         Departamento departamento = buscarPorId(id);
         
@@ -81,6 +124,7 @@ public class DepartamentoServiceImpl implements DepartamentoService {
         }
         
         departamentoRepository.delete(departamento);
+        publicadorEventos.publicar(TipoEntidad.DEPARTAMENTO, id, TipoCambio.ELIMINADO);
     }
     
     @Override
@@ -98,7 +142,12 @@ public class DepartamentoServiceImpl implements DepartamentoService {
     
     @Override
     @Transactional(readOnly = true)
+    @LlamadaCoalescida(ttl = "${coalescencia.ttl-agregados-ms:0}")
     public BigDecimal calcularSalarioPromedio(Long departamentoId) {
+        InstantaneaOrganizacion instantanea = modeloLectura.instantaneaDisponible();
+        if (instantanea != null) {
+            return instantanea.salarioPromedio(departamentoId).orElse(BigDecimal.ZERO);
+        }
         return departamentoRepository.findSalarioPromedioPorDepartamento(departamentoId)
             .orElse(BigDecimal.ZERO);
     }
@@ -106,17 +155,30 @@ public class DepartamentoServiceImpl implements DepartamentoService {
     @Override
     @Transactional(readOnly = true)
     public List<Empleado> obtenerEmpleadosPorDepartamento(Long departamentoId) {
+        InstantaneaOrganizacion instantanea = modeloLectura.instantaneaDisponible();
+        if (instantanea != null) {
+            if (!instantanea.existeDepartamento(departamentoId)) {
+                throw new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + departamentoId);
+            }
+            return instantanea.aEntidades(instantanea.empleadosDeDepartamento(departamentoId));
+        }
         Departamento departamento = buscarPorId(departamentoId);
         return empleadoRepository.findByDepartamento(departamento);
     }
     
     @Override
     @Transactional(readOnly = true)
+    @LlamadaCoalescida(ttl = "${coalescencia.ttl-agregados-ms:0}")
     public Long contarEmpleados(Long departamentoId) {
+        InstantaneaOrganizacion instantanea = modeloLectura.instantaneaDisponible();
+        if (instantanea != null) {
+            return instantanea.contarEmpleadosDeDepartamento(departamentoId);
+        }
         return departamentoRepository.countEmpleadosByDepartamentoId(departamentoId);
     }
     
     @Override
+    @InvalidaRespuestas(EtiquetasCache.EMPLEADOS)
     public void agregarEmpleado(Long departamentoId, Long empleadoId) {
         Departamento departamento = buscarPorId(departamentoId);
         Empleado empleado = empleadoRepository.findById(empleadoId)
@@ -124,9 +186,11 @@ public class DepartamentoServiceImpl implements DepartamentoService {
         
         empleado.setDepartamento(departamento);
         empleadoRepository.save(empleado);
+        publicadorEventos.publicar(TipoEntidad.EMPLEADO, empleadoId, TipoCambio.TRANSFERIDO, departamentoId);
     }
     
     @Override
+    @InvalidaRespuestas(EtiquetasCache.EMPLEADOS)
     public void removerEmpleado(Long departamentoId, Long empleadoId) {
         Empleado empleado = empleadoRepository.findById(empleadoId)
             .orElseThrow(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + empleadoId));
@@ -138,6 +202,7 @@ public class DepartamentoServiceImpl implements DepartamentoService {
         
         empleado.setDepartamento(null);
         empleadoRepository.save(empleado);
+        publicadorEventos.publicar(TipoEntidad.EMPLEADO, empleadoId, TipoCambio.TRANSFERIDO);
     }
     
     @Override
@@ -152,4 +217,10 @@ public class DepartamentoServiceImpl implements DepartamentoService {
         Long cantidadEmpleados = contarEmpleados(departamentoId);
         return cantidadEmpleados == 0;
     }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public String calcularEtagListado() {
+        return Etags.de("departamentos", departamentoRepository.findSelloColeccion().get(0));
+    }
 }
@@ -1,22 +1,39 @@
 package com.empleados.sistema.service.impl;
 
+import com.empleados.sistema.cache.EtiquetasCache;
+import com.empleados.sistema.cache.InvalidaRespuestas;
+import com.empleados.sistema.dto.ElementoPorId;
+import com.empleados.sistema.event.PublicadorEventos;
 import com.empleados.sistema.exception.EmpleadoNoEncontradoException;
 import com.empleados.sistema.exception.EmailDuplicadoException;
 import com.empleados.sistema.exception.DepartamentoNoEncontradoException;
 import com.empleados.sistema.exception.ProyectoNoEncontradoException;
+import com.empleados.sistema.index.IndiceEmails;
 import com.empleados.sistema.model.Empleado;
 import com.empleados.sistema.model.Departamento;
 import com.empleados.sistema.model.Proyecto;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.readmodel.InstantaneaOrganizacion;
+import com.empleados.sistema.readmodel.ModeloLectura;
 import com.empleados.sistema.repository.EmpleadoRepository;
 import com.empleados.sistema.repository.DepartamentoRepository;
 import com.empleados.sistema.repository.ProyectoRepository;
+import com.empleados.sistema.repository.ProyeccionRepository;
+import com.empleados.sistema.repository.CargaMultipleRepository;
+import com.empleados.sistema.service.DedicacionService;
 import com.empleados.sistema.service.EmpleadoService;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @Transactional
@@ -25,19 +42,38 @@ public class EmpleadoServiceImpl implements EmpleadoService {
     private final EmpleadoRepository empleadoRepository;
     private final DepartamentoRepository departamentoRepository;
     private final ProyectoRepository proyectoRepository;
+    private final ProyeccionRepository proyeccionRepository;
+    private final CargaMultipleRepository cargaMultipleRepository;
+    private final IndiceEmails indiceEmails;
+    private final PublicadorEventos publicadorEventos;
+    private final ModeloLectura modeloLectura;
+    private final DedicacionService dedicacionService;
     
     public EmpleadoServiceImpl(EmpleadoRepository empleadoRepository, 
                               DepartamentoRepository departamentoRepository,
-                              ProyectoRepository proyectoRepository) {
+                              ProyectoRepository proyectoRepository,
+                              ProyeccionRepository proyeccionRepository,
+                              CargaMultipleRepository cargaMultipleRepository,
+                              IndiceEmails indiceEmails,
+                              PublicadorEventos publicadorEventos,
+                              ModeloLectura modeloLectura,
+                              DedicacionService dedicacionService) {
         this.empleadoRepository = empleadoRepository;
         this.departamentoRepository = departamentoRepository;
         this.proyectoRepository = proyectoRepository;
+        this.proyeccionRepository = proyeccionRepository;
+        this.cargaMultipleRepository = cargaMultipleRepository;
+        this.indiceEmails = indiceEmails;
+        this.publicadorEventos = publicadorEventos;
+        this.modeloLectura = modeloLectura;
+        this.dedicacionService = dedicacionService;
     }
     
     @Override
+    @InvalidaRespuestas(EtiquetasCache.EMPLEADOS)
     public Empleado guardar(Empleado empleado) {
-        // Validar que el email no exista
-        if (empleadoRepository.existsByEmail(empleado.getEmail())) {
+        // Validar que el email no exista (contra el índice en memoria; la restricción única cubre las carreras)
+        if (indiceEmails.buscarId(empleado.getEmail()) != null) {
             throw new EmailDuplicadoException("Ya existe un empleado con el email: " + empleado.getEmail());
         }
         
@@ -54,7 +90,9 @@ public class EmpleadoServiceImpl implements EmpleadoService {
             throw new IllegalArgumentException("El salario debe ser mayor a cero");
         }
         
-        return empleadoRepository.save(empleado);
+        Empleado guardado = guardarVerificandoEmail(empleado);
+        publicadorEventos.publicar(TipoEntidad.EMPLEADO, guardado.getId(), TipoCambio.CREADO);
+        return guardado;
     }
     
     @Override
@@ -64,6 +102,12 @@ public class EmpleadoServiceImpl implements EmpleadoService {
             .orElseThrow(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id));
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<ElementoPorId<Empleado>> buscarPorIds(List<Long> ids) {
+        return cargaMultipleRepository.buscarPorIds(Empleado.class, ids);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<Empleado> obtenerTodos() {
@@ -71,12 +115,19 @@ public class EmpleadoServiceImpl implements EmpleadoService {
     }
     
     @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> obtenerTodosConCampos(List<String> campos) {
+        return proyeccionRepository.buscarCampos(Empleado.class, campos);
+    }
+    
+    @Override
+    @InvalidaRespuestas(EtiquetasCache.EMPLEADOS)
     public Empleado actualizar(Long id, Empleado empleado) {
         Empleado empleadoExistente = buscarPorId(id);
         
-        // Verificar si el email cambió y si ya existe
-        if (!empleadoExistente.getEmail().equals(empleado.getEmail()) && 
-            empleadoRepository.existsByEmail(empleado.getEmail())) {
+        // Verificar si el email ya pertenece a otro empleado
+        Long titularEmail = indiceEmails.buscarId(empleado.getEmail());
+        if (titularEmail != null && !titularEmail.equals(id)) {
             throw new EmailDuplicadoException("Ya existe un empleado con el email: " + empleado.getEmail());
         }
         
@@ -91,19 +142,29 @@ public class EmpleadoServiceImpl implements EmpleadoService {
             empleadoExistente.setDepartamento(empleado.getDepartamento());
         }
         
-        return empleadoRepository.save(empleadoExistente);
+        Empleado actualizado = guardarVerificandoEmail(empleadoExistente);
+        publicadorEventos.publicar(TipoEntidad.EMPLEADO, id, TipoCambio.ACTUALIZADO);
+        return actualizado;
     }
     
     @Override
+    @InvalidaRespuestas(EtiquetasCache.EMPLEADOS)
     public void eliminar(Long id) {
         Empleado empleado = buscarPorId(id);
         empleadoRepository.delete(empleado);
+        publicadorEventos.publicar(TipoEntidad.EMPLEADO, id, TipoCambio.ELIMINADO);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Empleado buscarPorEmail(String email) {
-        return empleadoRepository.findByEmail(email)
+        // El índice solo evita la consulta por email cuando acierta; si no encuentra el email, decide la base
+        Long id = indiceEmails.buscarId(email);
+        Optional<Empleado> porIndice = id == null
+            ? Optional.empty()
+            : empleadoRepository.findById(id).filter(encontrado -> encontrado.getEmail().equals(email));
+        return porIndice
+            .or(() -> empleadoRepository.findByEmail(email))
             .orElseThrow(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con email: " + email));
     }
     
@@ -119,6 +180,10 @@ public class EmpleadoServiceImpl implements EmpleadoService {
         if (salarioMin.compareTo(salarioMax) > 0) {
             throw new IllegalArgumentException("El salario mínimo no puede ser mayor al máximo");
         }
+        InstantaneaOrganizacion instantanea = modeloLectura.instantaneaDisponible();
+        if (instantanea != null) {
+            return instantanea.aEntidades(instantanea.empleadosPorRangoSalario(salarioMin, salarioMax));
+        }
         return empleadoRepository.findBySalarioBetween(salarioMin, salarioMax);
     }
     
@@ -138,11 +203,16 @@ public class EmpleadoServiceImpl implements EmpleadoService {
     @Override
     @Transactional(readOnly = true)
     public BigDecimal obtenerSalarioPromedioPorDepartamento(Long departamentoId) {
+        InstantaneaOrganizacion instantanea = modeloLectura.instantaneaDisponible();
+        if (instantanea != null) {
+            return instantanea.salarioPromedio(departamentoId).orElse(BigDecimal.ZERO);
+        }
         return empleadoRepository.findAverageSalarioByDepartamento(departamentoId)
             .orElse(BigDecimal.ZERO);
     }
     
     @Override
+    @InvalidaRespuestas(EtiquetasCache.EMPLEADOS)
     public void asignarADepartamento(Long empleadoId, Long departamentoId) {
         Empleado empleado = buscarPorId(empleadoId);
         Departamento departamento = departamentoRepository.findById(departamentoId)
@@ -150,19 +220,18 @@ public class EmpleadoServiceImpl implements EmpleadoService {
         
         empleado.setDepartamento(departamento);
         empleadoRepository.save(empleado);
+        publicadorEventos.publicar(TipoEntidad.EMPLEADO, empleadoId, TipoCambio.TRANSFERIDO, departamentoId);
     }
     
     @Override
+    @InvalidaRespuestas(EtiquetasCache.EMPLEADOS)
     public void asignarAProyecto(Long empleadoId, Long proyectoId) {
-        Empleado empleado = buscarPorId(empleadoId);
-        Proyecto proyecto = proyectoRepository.findById(proyectoId)
-            .orElseThrow(() -> new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + proyectoId));
-        
-        empleado.asignarAProyecto(proyecto);
-        empleadoRepository.save(empleado);
+        // Mismo control de sobreasignación y mismo bloqueo que /api/dedicaciones
+        dedicacionService.asignarConPorcentajePorDefecto(empleadoId, proyectoId);
     }
     
     @Override
+    @InvalidaRespuestas(EtiquetasCache.EMPLEADOS)
     public void removerDeProyecto(Long empleadoId, Long proyectoId) {
         Empleado empleado = buscarPorId(empleadoId);
         Proyecto proyecto = proyectoRepository.findById(proyectoId)
@@ -170,12 +239,13 @@ public class EmpleadoServiceImpl implements EmpleadoService {
         
         empleado.removerDeProyecto(proyecto);
         empleadoRepository.save(empleado);
+        publicadorEventos.publicar(TipoEntidad.EMPLEADO, empleadoId, TipoCambio.DESASIGNADO, proyectoId);
     }
     
     @Override
     @Transactional(readOnly = true)
     public boolean existeEmail(String email) {
-        return empleadoRepository.existsByEmail(email);
+        return indiceEmails.buscarId(email) != null;
     }
     
     @Override
@@ -187,6 +257,41 @@ public class EmpleadoServiceImpl implements EmpleadoService {
     @Override
     @Transactional(readOnly = true)
     public Long contarEmpleadosPorDepartamento(Long departamentoId) {
+        InstantaneaOrganizacion instantanea = modeloLectura.instantaneaDisponible();
+        if (instantanea != null) {
+            return instantanea.contarEmpleadosDeDepartamento(departamentoId);
+        }
         return empleadoRepository.countByDepartamentoId(departamentoId);
     }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public String calcularEtag(Long id) {
+        List<Object[]> versiones = empleadoRepository.findVersionesById(id);
+        if (versiones.isEmpty()) {
+            throw new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id);
+        }
+        return Etags.de("empleado-" + id, versiones.get(0));
+    }
+    
+    // Un único viaje a la base: el flush dispara la restricción única y se traduce a EmailDuplicadoException
+    private Empleado guardarVerificandoEmail(Empleado empleado) {
+        try {
+            return empleadoRepository.saveAndFlush(empleado);
+        } catch (DataIntegrityViolationException ex) {
+            if (esViolacionEmailUnico(ex)) {
+                throw new EmailDuplicadoException("Ya existe un empleado con el email: " + empleado.getEmail());
+            }
+            throw ex;
+        }
+    }
+    
+    private static boolean esViolacionEmailUnico(DataIntegrityViolationException ex) {
+        for (Throwable causa = ex; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacion && violacion.getConstraintName() != null) {
+                return violacion.getConstraintName().toLowerCase(Locale.ROOT).contains(Empleado.RESTRICCION_EMAIL_UNICO);
+            }
+        }
+        return false;
+    }
 }
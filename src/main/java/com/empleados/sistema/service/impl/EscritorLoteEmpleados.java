@@ -0,0 +1,130 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.cache.EtiquetasCache;
+import com.empleados.sistema.cache.InvalidaRespuestas;
+import com.empleados.sistema.dto.ErrorImportacion;
+import com.empleados.sistema.event.PublicadorEventos;
+import com.empleados.sistema.index.IndiceEmails;
+import com.empleados.sistema.model.Empleado;
+import com.empleados.sistema.model.EventoOutbox;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.DepartamentoRepository;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Escribe lotes de empleados en una única transacción por lote
+@Component
+public class EscritorLoteEmpleados {
+    
+    private final EmpleadoRepository empleadoRepository;
+    private final DepartamentoRepository departamentoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IndiceEmails indiceEmails;
+    private final PublicadorEventos publicadorEventos;
+    
+    public EscritorLoteEmpleados(EmpleadoRepository empleadoRepository,
+                                 DepartamentoRepository departamentoRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 IndiceEmails indiceEmails,
+                                 PublicadorEventos publicadorEventos) {
+        this.empleadoRepository = empleadoRepository;
+        this.departamentoRepository = departamentoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.indiceEmails = indiceEmails;
+        this.publicadorEventos = publicadorEventos;
+    }
+    
+    record Resultado(int guardados, List<ErrorImportacion> errores) {
+    }
+    
+    @InvalidaRespuestas(EtiquetasCache.EMPLEADOS)
+    Resultado escribir(List<FilaImportacion> filas) {
+        if (filas.isEmpty()) {
+            return new Resultado(0, List.of());
+        }
+        try {
+            return transactionTemplate.execute(status -> escribirEnTransaccion(filas));
+        } catch (DataIntegrityViolationException ex) {
+            // Otro escritor insertó alguno de los emails entre la verificación y el insert:
+            // se reintenta fila por fila para aislar las que fallan
+            return escribirIndividualmente(filas);
+        }
+    }
+    
+    private Resultado escribirEnTransaccion(List<FilaImportacion> filas) {
+        List<ErrorImportacion> errores = new ArrayList<>();
+        List<FilaImportacion> candidatas = new ArrayList<>(filas.size());
+        Set<String> emails = new HashSet<>();
+        
+        for (FilaImportacion fila : filas) {
+            if (!emails.add(fila.empleado().getEmail())) {
+                errores.add(new ErrorImportacion(fila.linea(), "Email repetido en el archivo: " + fila.empleado().getEmail()));
+            } else {
+                candidatas.add(fila);
+            }
+        }
+        
+        // Emails ya registrados contra el índice en memoria y una sola consulta para los departamentos
+        Set<String> existentes = indiceEmails.filtrarExistentes(emails);
+        Set<Long> idsDepartamento = new HashSet<>();
+        for (FilaImportacion fila : candidatas) {
+            if (fila.departamentoId() != null) {
+                idsDepartamento.add(fila.departamentoId());
+            }
+        }
+        Set<Long> departamentosExistentes = idsDepartamento.isEmpty()
+            ? Set.of()
+            : new HashSet<>(departamentoRepository.findIdsExistentes(idsDepartamento));
+        
+        List<Empleado> nuevos = new ArrayList<>(candidatas.size());
+        for (FilaImportacion fila : candidatas) {
+            Empleado empleado = fila.empleado();
+            if (existentes.contains(empleado.getEmail())) {
+                errores.add(new ErrorImportacion(fila.linea(), "Ya existe un empleado con el email: " + empleado.getEmail()));
+                continue;
+            }
+            if (fila.departamentoId() != null && !departamentosExistentes.contains(fila.departamentoId())) {
+                errores.add(new ErrorImportacion(fila.linea(), "Departamento no encontrado con ID: " + fila.departamentoId()));
+                continue;
+            }
+            if (fila.departamentoId() != null) {
+                empleado.setDepartamento(departamentoRepository.getReferenceById(fila.departamentoId()));
+            }
+            nuevos.add(empleado);
+        }
+        
+        empleadoRepository.saveAll(nuevos);
+        List<EventoOutbox> eventos = new ArrayList<>(nuevos.size());
+        for (Empleado nuevo : nuevos) {
+            eventos.add(new EventoOutbox(TipoEntidad.EMPLEADO, nuevo.getId(), TipoCambio.CREADO, null));
+        }
+        publicadorEventos.publicarTodos(eventos);
+        return new Resultado(nuevos.size(), errores);
+    }
+    
+    private Resultado escribirIndividualmente(List<FilaImportacion> filas) {
+        int guardados = 0;
+        List<ErrorImportacion> errores = new ArrayList<>();
+        for (FilaImportacion fila : filas) {
+            // Se limpia el estado que pudo dejar el intento fallido del lote
+            fila.empleado().setId(null);
+            fila.empleado().setVersion(null);
+            try {
+                Resultado resultado = transactionTemplate.execute(status -> escribirEnTransaccion(List.of(fila)));
+                guardados += resultado.guardados();
+                errores.addAll(resultado.errores());
+            } catch (DataIntegrityViolationException ex) {
+                errores.add(new ErrorImportacion(fila.linea(), "Ya existe un empleado con el email: " + fila.empleado().getEmail()));
+            }
+        }
+        return new Resultado(guardados, errores);
+    }
+}
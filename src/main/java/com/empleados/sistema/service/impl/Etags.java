@@ -0,0 +1,18 @@
+package com.empleados.sistema.service.impl;
+
+import java.util.StringJoiner;
+
+// Arma ETags fuertes a partir de versiones y sellos de colección
+final class Etags {
+    
+    private Etags() {
+    }
+    
+    static String de(String recurso, Object... partes) {
+        StringJoiner etag = new StringJoiner("-", recurso + "-", "");
+        for (Object parte : partes) {
+            etag.add(parte == null ? "0" : parte.toString());
+        }
+        return etag.toString();
+    }
+}
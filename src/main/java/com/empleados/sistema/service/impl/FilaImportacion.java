@@ -0,0 +1,7 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.model.Empleado;
+
+// Registro ya validado, listo para escribirse
+record FilaImportacion(long linea, Empleado empleado, Long departamentoId) {
+}
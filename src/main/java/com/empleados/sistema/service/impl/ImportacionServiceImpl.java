@@ -0,0 +1,502 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.dto.ErrorImportacion;
+import com.empleados.sistema.dto.EstadoImportacion;
+import com.empleados.sistema.exception.ImportacionNoEncontradaException;
+import com.empleados.sistema.exception.PlazoVencidoException;
+import com.empleados.sistema.model.Departamento;
+import com.empleados.sistema.model.Empleado;
+import com.empleados.sistema.overload.PlazoSolicitud;
+import com.empleados.sistema.repository.DepartamentoRepository;
+import com.empleados.sistema.service.ImportacionService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+@Service
+public class ImportacionServiceImpl implements ImportacionService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ImportacionServiceImpl.class);
+    
+    private static final List<String> COLUMNAS_OBLIGATORIAS =
+        List.of("nombre", "apellido", "email", "fechacontratacion", "salario");
+    
+    // Marca de fin de la cola de ingesta JSON; cada escritor la reinserta para el siguiente
+    private static final FilaImportacion FIN = new FilaImportacion(-1, null, null);
+    
+    // Cada cuánto se revisa el estado de los escritores mientras la cola está llena
+    private static final long SONDEO_MS = 100;
+    
+    private final EscritorLoteEmpleados escritor;
+    private final DepartamentoRepository departamentoRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    
+    private final int tamanoLote;
+    private final int lotesEnVuelo;
+    private final int maxErroresReportados;
+    private final int estadosRetenidos;
+    private final int capacidadColaJson;
+    private final int escritoresJson;
+    private final long esperaMaximaNanos;
+    
+    private final ExecutorService trabajos;
+    private final ExecutorService validacion;
+    private final ExecutorService escritura;
+    private final Map<String, EstadoImportacion> importaciones = new ConcurrentHashMap<>();
+    
+    public ImportacionServiceImpl(EscritorLoteEmpleados escritor,
+                                  DepartamentoRepository departamentoRepository,
+                                  Validator validator,
+                                  ObjectMapper objectMapper,
+                                  @Value("${importacion.tamano-lote:1000}") int tamanoLote,
+                                  @Value("${importacion.lotes-en-vuelo:8}") int lotesEnVuelo,
+                                  @Value("${importacion.hilos-validacion:0}") int hilosValidacion,
+                                  @Value("${importacion.trabajos-concurrentes:2}") int trabajosConcurrentes,
+                                  @Value("${importacion.max-errores-reportados:1000}") int maxErroresReportados,
+                                  @Value("${importacion.estados-retenidos:50}") int estadosRetenidos,
+                                  @Value("${importacion.json.capacidad-cola:2000}") int capacidadColaJson,
+                                  @Value("${importacion.json.escritores:2}") int escritoresJson,
+                                  @Value("${importacion.json.hilos-escritura:8}") int hilosEscritura,
+                                  @Value("${importacion.json.espera-maxima-ms:60000}") long esperaMaximaMs) {
+        this.escritor = escritor;
+        this.departamentoRepository = departamentoRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.tamanoLote = tamanoLote;
+        this.lotesEnVuelo = lotesEnVuelo;
+        this.maxErroresReportados = maxErroresReportados;
+        this.estadosRetenidos = estadosRetenidos;
+        this.capacidadColaJson = capacidadColaJson;
+        this.escritoresJson = escritoresJson;
+        this.esperaMaximaNanos = TimeUnit.MILLISECONDS.toNanos(esperaMaximaMs);
+        this.trabajos = Executors.newFixedThreadPool(trabajosConcurrentes);
+        this.validacion = Executors.newFixedThreadPool(
+            hilosValidacion > 0 ? hilosValidacion : Runtime.getRuntime().availableProcessors());
+        this.escritura = Executors.newFixedThreadPool(hilosEscritura);
+    }
+    
+    @PreDestroy
+    public void detener() {
+        trabajos.shutdownNow();
+        validacion.shutdownNow();
+        escritura.shutdownNow();
+    }
+    
+    @Override
+    public EstadoImportacion iniciarImportacionCsv(InputStream contenido) {
+        // El cuerpo se vuelca a disco para liberar la solicitud y procesarlo en segundo plano
+        Path archivo;
+        try {
+            archivo = Files.createTempFile("importacion-", ".csv");
+            Files.copy(contenido, archivo, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo recibir el archivo de importación", ex);
+        }
+        
+        EstadoImportacion estado = new EstadoImportacion(UUID.randomUUID().toString(), maxErroresReportados);
+        registrar(estado);
+        trabajos.submit(() -> ejecutar(archivo, estado));
+        return estado;
+    }
+    
+    @Override
+    public EstadoImportacion obtenerEstado(String id) {
+        EstadoImportacion estado = importaciones.get(id);
+        if (estado == null) {
+            throw new ImportacionNoEncontradaException("Importación no encontrada con ID: " + id);
+        }
+        return estado;
+    }
+    
+    @Override
+    public List<EstadoImportacion> obtenerImportaciones() {
+        return importaciones.values().stream()
+            .sorted(Comparator.comparing(EstadoImportacion::getIniciadaEn).reversed())
+            .collect(Collectors.toList());
+    }
+    
+    @Override
+    public EstadoImportacion importarJson(InputStream contenido) {
+        EstadoImportacion estado = new EstadoImportacion(UUID.randomUUID().toString(), maxErroresReportados);
+        registrar(estado);
+        
+        // Cola acotada: si los escritores se atrasan, encolar() frena este hilo, que deja de leer
+        // el socket y la contrapresión llega al cliente por TCP
+        BlockingQueue<FilaImportacion> cola = new ArrayBlockingQueue<>(capacidadColaJson);
+        List<Future<?>> escritores = new ArrayList<>(escritoresJson);
+        for (int i = 0; i < escritoresJson; i++) {
+            escritores.add(escritura.submit(() -> consumir(cola, estado)));
+        }
+        
+        try {
+            try (JsonParser parser = objectMapper.getFactory().createParser(contenido)) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IllegalArgumentException("Se espera un arreglo JSON de empleados");
+                }
+                JsonToken token;
+                while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                    long linea = parser.getTokenLocation().getLineNr();
+                    // Se materializa un único elemento por vez
+                    JsonNode nodo = parser.readValueAsTree();
+                    try {
+                        Empleado empleado = objectMapper.treeToValue(nodo, Empleado.class);
+                        Long departamentoId = empleado.getDepartamento() != null ? empleado.getDepartamento().getId() : null;
+                        empleado.setDepartamento(null);
+                        encolar(cola, new FilaImportacion(linea, empleado, departamentoId), escritores);
+                    } catch (JsonProcessingException ex) {
+                        estado.registrarLote(1, 0, List.of(new ErrorImportacion(linea, "Elemento inválido: " + ex.getOriginalMessage())));
+                    }
+                }
+                if (token != JsonToken.END_ARRAY) {
+                    throw new IllegalArgumentException("Cada elemento del arreglo debe ser un objeto");
+                }
+            } finally {
+                // Si la importación se abortó, los escritores ya están cancelados y no hay a quién esperar
+                if (escritores.stream().noneMatch(Future::isCancelled)) {
+                    encolar(cola, FIN, escritores);
+                    esperarEscritores(cola, escritores);
+                }
+            }
+            estado.completar();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            cancelar(cola, escritores);
+            estado.fallar("Importación interrumpida");
+        } catch (EscritoresDetenidosException | PlazoVencidoException ex) {
+            log.warn("Se aborta la importación {}: {}", estado.getId(), ex.getMessage());
+            cancelar(cola, escritores);
+            estado.fallar(ex.getMessage());
+        } catch (JsonProcessingException ex) {
+            estado.fallar("JSON inválido: " + ex.getOriginalMessage());
+        } catch (IllegalArgumentException ex) {
+            estado.fallar(ex.getMessage());
+        } catch (Exception ex) {
+            log.error("Error en la importación {}", estado.getId(), ex);
+            estado.fallar("Error inesperado: " + ex.getMessage());
+        }
+        return estado;
+    }
+    
+    // Espera lugar en la cola sin quedar bloqueado para siempre: se aborta si algún escritor terminó antes del
+    // FIN (solo pasa si falló), si vence el plazo de la solicitud o si la cola no avanza en la espera máxima
+    // (por ejemplo, escritores que siguen encolados detrás de otras importaciones en el pool compartido)
+    private void encolar(BlockingQueue<FilaImportacion> cola, FilaImportacion fila, List<Future<?>> escritores)
+            throws InterruptedException {
+        long inicio = System.nanoTime();
+        while (!cola.offer(fila, SONDEO_MS, TimeUnit.MILLISECONDS)) {
+            if (escritores.stream().anyMatch(Future::isDone)) {
+                throw abortar(cola, escritores, new EscritoresDetenidosException("Los escritores de la importación se detuvieron"));
+            }
+            verificarEspera(inicio, cola, escritores);
+        }
+    }
+    
+    // Espera a que los escritores vacíen la cola; la espera máxima se cuenta desde el último avance de la cola
+    private void esperarEscritores(BlockingQueue<FilaImportacion> cola, List<Future<?>> escritores)
+            throws InterruptedException {
+        long inicio = System.nanoTime();
+        int pendientes = cola.size();
+        for (Future<?> escritor : escritores) {
+            while (true) {
+                try {
+                    escritor.get(SONDEO_MS, TimeUnit.MILLISECONDS);
+                    break;
+                } catch (ExecutionException ex) {
+                    throw abortar(cola, escritores, new EscritoresDetenidosException(
+                        "Un escritor de la importación falló: " + ex.getCause()));
+                } catch (TimeoutException ex) {
+                    if (cola.size() != pendientes) {
+                        pendientes = cola.size();
+                        inicio = System.nanoTime();
+                    }
+                    verificarEspera(inicio, cola, escritores);
+                }
+            }
+        }
+    }
+    
+    private void verificarEspera(long inicio, BlockingQueue<FilaImportacion> cola, List<Future<?>> escritores) {
+        if (PlazoSolicitud.restanteNanos() <= 0) {
+            throw abortar(cola, escritores, new PlazoVencidoException("Se agotó el plazo de la solicitud"));
+        }
+        if (System.nanoTime() - inicio > esperaMaximaNanos) {
+            throw abortar(cola, escritores, new EscritoresDetenidosException("La escritura de la importación no avanzó en " +
+                TimeUnit.NANOSECONDS.toMillis(esperaMaximaNanos) + " ms"));
+        }
+    }
+    
+    // Cancela los escritores que queden (los que esperan en la cola o siguen encolados en el pool) antes de abortar
+    private static RuntimeException abortar(BlockingQueue<FilaImportacion> cola, List<Future<?>> escritores,
+                                            RuntimeException causa) {
+        cancelar(cola, escritores);
+        return causa;
+    }
+    
+    private static void cancelar(BlockingQueue<FilaImportacion> cola, List<Future<?>> escritores) {
+        for (Future<?> escritor : escritores) {
+            escritor.cancel(true);
+        }
+        // Lo pendiente se descarta; el FIN termina a un escritor que haya absorbido la interrupción
+        cola.clear();
+        cola.offer(FIN);
+    }
+    
+    private Void consumir(BlockingQueue<FilaImportacion> cola, EstadoImportacion estado) throws InterruptedException {
+        List<FilaImportacion> lote = new ArrayList<>(tamanoLote);
+        boolean terminar = false;
+        while (!terminar) {
+            lote.add(cola.take());
+            cola.drainTo(lote, tamanoLote - 1);
+            int fin = lote.indexOf(FIN);
+            if (fin >= 0) {
+                lote.subList(fin, lote.size()).clear();
+                cola.put(FIN);
+                terminar = true;
+                if (lote.isEmpty()) {
+                    break;
+                }
+            }
+            
+            // Validación en el escritor para no frenar al hilo que lee el socket
+            List<FilaImportacion> validas = new ArrayList<>(lote.size());
+            List<ErrorImportacion> errores = new ArrayList<>();
+            for (FilaImportacion fila : lote) {
+                String violaciones = validarEmpleado(fila.empleado());
+                if (violaciones != null) {
+                    errores.add(new ErrorImportacion(fila.linea(), violaciones));
+                } else {
+                    validas.add(fila);
+                }
+            }
+            try {
+                EscritorLoteEmpleados.Resultado resultado = escritor.escribir(validas);
+                errores.addAll(resultado.errores());
+                estado.registrarLote(lote.size(), resultado.guardados(), errores);
+            } catch (RuntimeException ex) {
+                log.error("Error escribiendo un lote de la importación {}", estado.getId(), ex);
+                for (FilaImportacion fila : validas) {
+                    errores.add(new ErrorImportacion(fila.linea(), "No se pudo guardar el registro"));
+                }
+                estado.registrarLote(lote.size(), 0, errores);
+            }
+            lote.clear();
+        }
+        return null;
+    }
+    
+    private void ejecutar(Path archivo, EstadoImportacion estado) {
+        try (LectorCsv lector = new LectorCsv(Files.newBufferedReader(archivo, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columnas = leerEncabezado(lector.siguiente());
+            Map<String, Long> departamentos = cargarDepartamentos();
+            
+            // Como mucho 'lotesEnVuelo' lotes en memoria: la lectura espera a la escritura
+            Deque<Future<LoteValidado>> enVuelo = new ArrayDeque<>();
+            List<RegistroCsv> lote = new ArrayList<>(tamanoLote);
+            List<String> campos;
+            while ((campos = lector.siguiente()) != null) {
+                lote.add(new RegistroCsv(lector.getLineaRegistro(), campos));
+                if (lote.size() == tamanoLote) {
+                    List<RegistroCsv> pendiente = lote;
+                    enVuelo.add(validacion.submit(() -> validar(pendiente, columnas, departamentos)));
+                    lote = new ArrayList<>(tamanoLote);
+                    if (enVuelo.size() >= lotesEnVuelo) {
+                        escribir(enVuelo.poll().get(), estado);
+                    }
+                }
+            }
+            if (!lote.isEmpty()) {
+                List<RegistroCsv> pendiente = lote;
+                enVuelo.add(validacion.submit(() -> validar(pendiente, columnas, departamentos)));
+            }
+            while (!enVuelo.isEmpty()) {
+                escribir(enVuelo.poll().get(), estado);
+            }
+            estado.completar();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            estado.fallar("Importación interrumpida");
+        } catch (ExecutionException ex) {
+            log.error("Error validando la importación {}", estado.getId(), ex.getCause());
+            estado.fallar("Error inesperado validando registros");
+        } catch (IllegalArgumentException ex) {
+            estado.fallar(ex.getMessage());
+        } catch (Exception ex) {
+            log.error("Error en la importación {}", estado.getId(), ex);
+            estado.fallar("Error inesperado: " + ex.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(archivo);
+            } catch (IOException ex) {
+                log.warn("No se pudo borrar el archivo temporal {}", archivo, ex);
+            }
+        }
+    }
+    
+    private void escribir(LoteValidado lote, EstadoImportacion estado) {
+        EscritorLoteEmpleados.Resultado resultado = escritor.escribir(lote.filas());
+        List<ErrorImportacion> errores = new ArrayList<>(lote.errores());
+        errores.addAll(resultado.errores());
+        errores.sort(Comparator.comparingLong(ErrorImportacion::linea));
+        estado.registrarLote(lote.procesados(), resultado.guardados(), errores);
+    }
+    
+    private LoteValidado validar(List<RegistroCsv> registros, Map<String, Integer> columnas,
+                                 Map<String, Long> departamentos) {
+        List<FilaImportacion> filas = new ArrayList<>(registros.size());
+        List<ErrorImportacion> errores = new ArrayList<>();
+        
+        for (RegistroCsv registro : registros) {
+            String faltante = COLUMNAS_OBLIGATORIAS.stream()
+                .filter(columna -> campo(registro, columnas, columna) == null)
+                .findFirst()
+                .orElse(null);
+            if (faltante != null) {
+                errores.add(new ErrorImportacion(registro.linea(), "Falta el campo obligatorio: " + faltante));
+                continue;
+            }
+            
+            try {
+                Empleado empleado = new Empleado(
+                    campo(registro, columnas, "nombre"),
+                    campo(registro, columnas, "apellido"),
+                    campo(registro, columnas, "email"),
+                    LocalDate.parse(campo(registro, columnas, "fechacontratacion")),
+                    new BigDecimal(campo(registro, columnas, "salario")));
+                
+                Long departamentoId = null;
+                String departamento = campo(registro, columnas, "departamento");
+                if (departamento != null && !departamento.isEmpty()) {
+                    departamentoId = departamentos.get(departamento);
+                    if (departamentoId == null) {
+                        errores.add(new ErrorImportacion(registro.linea(), "Departamento inexistente: " + departamento));
+                        continue;
+                    }
+                }
+                
+                String violaciones = validarEmpleado(empleado);
+                if (violaciones != null) {
+                    errores.add(new ErrorImportacion(registro.linea(), violaciones));
+                    continue;
+                }
+                filas.add(new FilaImportacion(registro.linea(), empleado, departamentoId));
+            } catch (DateTimeParseException ex) {
+                errores.add(new ErrorImportacion(registro.linea(), "Fecha de contratación inválida (se espera AAAA-MM-DD)"));
+            } catch (NumberFormatException ex) {
+                errores.add(new ErrorImportacion(registro.linea(), "Salario inválido"));
+            }
+        }
+        return new LoteValidado(registros.size(), filas, errores);
+    }
+    
+    private String validarEmpleado(Empleado empleado) {
+        Set<ConstraintViolation<Empleado>> violaciones = validator.validate(empleado);
+        if (violaciones.isEmpty()) {
+            return null;
+        }
+        return violaciones.stream()
+            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+    
+    private static String campo(RegistroCsv registro, Map<String, Integer> columnas, String nombre) {
+        Integer posicion = columnas.get(nombre);
+        if (posicion == null || posicion >= registro.campos().size()) {
+            return null;
+        }
+        return registro.campos().get(posicion).trim();
+    }
+    
+    private static Map<String, Integer> leerEncabezado(List<String> encabezado) {
+        if (encabezado == null) {
+            throw new IllegalArgumentException("El archivo está vacío");
+        }
+        Map<String, Integer> columnas = new HashMap<>();
+        for (int i = 0; i < encabezado.size(); i++) {
+            String nombre = encabezado.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columnas.put(nombre, i);
+        }
+        for (String obligatoria : COLUMNAS_OBLIGATORIAS) {
+            if (!columnas.containsKey(obligatoria)) {
+                throw new IllegalArgumentException("Falta la columna obligatoria: " + obligatoria);
+            }
+        }
+        return columnas;
+    }
+    
+    // Los departamentos son pocos: se resuelven por nombre con un mapa precargado
+    private Map<String, Long> cargarDepartamentos() {
+        Map<String, Long> departamentos = new HashMap<>();
+        for (Departamento departamento : departamentoRepository.findAll()) {
+            departamentos.put(departamento.getNombre(), departamento.getId());
+        }
+        return departamentos;
+    }
+    
+    private void registrar(EstadoImportacion estado) {
+        importaciones.put(estado.getId(), estado);
+        if (importaciones.size() > estadosRetenidos) {
+            importaciones.values().stream()
+                .filter(EstadoImportacion::isFinalizada)
+                .sorted(Comparator.comparing(EstadoImportacion::getIniciadaEn))
+                .limit(importaciones.size() - estadosRetenidos)
+                .map(EstadoImportacion::getId)
+                .collect(Collectors.toList())
+                .forEach(importaciones::remove);
+        }
+    }
+    
+    private static final class EscritoresDetenidosException extends RuntimeException {
+        
+        EscritoresDetenidosException(String mensaje) {
+            super(mensaje);
+        }
+    }
+    
+    private record RegistroCsv(long linea, List<String> campos) {
+    }
+    
+    private record LoteValidado(int procesados, List<FilaImportacion> filas, List<ErrorImportacion> errores) {
+    }
+}
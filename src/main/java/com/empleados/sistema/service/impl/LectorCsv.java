@@ -0,0 +1,94 @@
+package com.empleados.sistema.service.impl;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Lector CSV incremental (RFC 4180): un registro por llamada, con comillas y saltos de línea embebidos
+class LectorCsv implements Closeable {
+    
+    private final BufferedReader lector;
+    private long linea = 1;
+    private long lineaRegistro;
+    
+    LectorCsv(Reader lector) {
+        this.lector = lector instanceof BufferedReader ? (BufferedReader) lector : new BufferedReader(lector);
+    }
+    
+    // Devuelve null al llegar al final; las líneas vacías se omiten
+    List<String> siguiente() throws IOException {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        boolean hayDatos = false;
+        lineaRegistro = linea;
+        
+        int c;
+        while ((c = lector.read()) != -1) {
+            char caracter = (char) c;
+            if (entreComillas) {
+                if (caracter == '"') {
+                    lector.mark(1);
+                    int siguiente = lector.read();
+                    if (siguiente == '"') {
+                        actual.append('"');
+                    } else {
+                        entreComillas = false;
+                        if (siguiente != -1) {
+                            lector.reset();
+                        }
+                    }
+                } else {
+                    if (caracter == '\n') {
+                        linea++;
+                    }
+                    actual.append(caracter);
+                }
+                continue;
+            }
+            
+            switch (caracter) {
+                case '"':
+                    entreComillas = true;
+                    hayDatos = true;
+                    break;
+                case ',':
+                    campos.add(actual.toString());
+                    actual.setLength(0);
+                    hayDatos = true;
+                    break;
+                case '\r':
+                    break;
+                case '\n':
+                    linea++;
+                    if (!hayDatos) {
+                        lineaRegistro = linea;
+                        break;
+                    }
+                    campos.add(actual.toString());
+                    return campos;
+                default:
+                    actual.append(caracter);
+                    hayDatos = true;
+            }
+        }
+        
+        if (!hayDatos) {
+            return null;
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+    
+    long getLineaRegistro() {
+        return lineaRegistro;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        lector.close();
+    }
+}
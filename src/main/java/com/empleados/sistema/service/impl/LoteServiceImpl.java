@@ -0,0 +1,199 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.dto.OperacionLote;
+import com.empleados.sistema.dto.ResultadoLote;
+import com.empleados.sistema.dto.ResultadoLote.EstadoOperacion;
+import com.empleados.sistema.dto.ResultadoLote.ResultadoOperacion;
+import com.empleados.sistema.dto.SolicitudLote;
+import com.empleados.sistema.exception.DepartamentoNoEncontradoException;
+import com.empleados.sistema.exception.EmailDuplicadoException;
+import com.empleados.sistema.exception.EmpleadoNoEncontradoException;
+import com.empleados.sistema.exception.ProyectoNoEncontradoException;
+import com.empleados.sistema.service.DepartamentoService;
+import com.empleados.sistema.service.EmpleadoService;
+import com.empleados.sistema.service.LoteService;
+import com.empleados.sistema.service.ProyectoService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Ejecuta varias operaciones de los servicios existentes. No agrupa escrituras:
+// guardar y actualizar usan saveAndFlush y los ids son IDENTITY, así que cada operación se vuelca a la
+// base al ejecutarse, una sentencia por fila. En TODO_O_NADA todas comparten una transacción, así que el
+// lote es atómico. En MEJOR_ESFUERZO cada operación corre en su propia transacción (REQUIRES_NEW): los
+// servicios son @Transactional y una excepción marca su transacción como rollback-only, algo que un
+// savepoint no deshace; con transacciones separadas la que falla se revierte sola y el resto se confirma.
+@Service
+public class LoteServiceImpl implements LoteService {
+    
+    private final EmpleadoService empleadoService;
+    private final DepartamentoService departamentoService;
+    private final ProyectoService proyectoService;
+    private final TransactionTemplate transaccion;
+    private final TransactionTemplate porOperacion;
+    private final int maxOperaciones;
+    
+    public LoteServiceImpl(EmpleadoService empleadoService,
+                           DepartamentoService departamentoService,
+                           ProyectoService proyectoService,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${lote.max-operaciones:500}") int maxOperaciones) {
+        this.empleadoService = empleadoService;
+        this.departamentoService = departamentoService;
+        this.proyectoService = proyectoService;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.porOperacion = new TransactionTemplate(transactionManager);
+        this.porOperacion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxOperaciones = maxOperaciones;
+    }
+    
+    @Override
+    public ResultadoLote ejecutar(SolicitudLote solicitud) {
+        List<OperacionLote> operaciones = solicitud.operaciones();
+        if (operaciones == null || operaciones.isEmpty()) {
+            throw new IllegalArgumentException("El lote debe tener al menos una operación");
+        }
+        if (operaciones.size() > maxOperaciones) {
+            throw new IllegalArgumentException("Un lote admite como máximo " + maxOperaciones + " operaciones");
+        }
+        SolicitudLote.ModoLote modo = solicitud.modo() != null ? solicitud.modo() : SolicitudLote.ModoLote.TODO_O_NADA;
+        
+        List<ResultadoOperacion> resultados = new ArrayList<>(operaciones.size());
+        if (modo == SolicitudLote.ModoLote.MEJOR_ESFUERZO) {
+            ejecutarMejorEsfuerzo(operaciones, resultados);
+            return resumen(modo, true, null, resultados);
+        }
+        try {
+            transaccion.executeWithoutResult(estado -> {
+                ejecutarTodoONada(operaciones, resultados);
+                if (resultados.stream().anyMatch(r -> r.estado() == EstadoOperacion.ERROR)) {
+                    estado.setRollbackOnly();
+                }
+            });
+        } catch (RuntimeException ex) {
+            // Falló el commit: no quedó nada aplicado
+            List<ResultadoOperacion> revertidas = resultados.stream()
+                .map(r -> r.estado() == EstadoOperacion.OK ? revertida(r) : r)
+                .toList();
+            return resumen(modo, false, mensaje(ex), revertidas);
+        }
+        
+        if (resultados.stream().anyMatch(r -> r.estado() == EstadoOperacion.ERROR)) {
+            List<ResultadoOperacion> revertidas = resultados.stream()
+                .map(r -> r.estado() == EstadoOperacion.OK ? revertida(r) : r)
+                .toList();
+            return resumen(modo, false, "Se revirtió el lote porque falló una operación", revertidas);
+        }
+        return resumen(modo, true, null, resultados);
+    }
+    
+    private void ejecutarTodoONada(List<OperacionLote> operaciones, List<ResultadoOperacion> resultados) {
+        for (int i = 0; i < operaciones.size(); i++) {
+            OperacionLote operacion = operaciones.get(i);
+            try {
+                resultados.add(exitosa(i, operacion, aplicar(operacion)));
+            } catch (RuntimeException ex) {
+                resultados.add(fallida(i, operacion, ex));
+                for (int j = i + 1; j < operaciones.size(); j++) {
+                    resultados.add(new ResultadoOperacion(j, operaciones.get(j).tipo(), EstadoOperacion.NO_EJECUTADA,
+                        0, null, null));
+                }
+                return;
+            }
+        }
+    }
+    
+    private void ejecutarMejorEsfuerzo(List<OperacionLote> operaciones, List<ResultadoOperacion> resultados) {
+        for (int i = 0; i < operaciones.size(); i++) {
+            OperacionLote operacion = operaciones.get(i);
+            try {
+                // Los errores del commit (restricciones al volcar) también quedan atribuidos a la operación
+                resultados.add(exitosa(i, operacion, porOperacion.execute(estado -> aplicar(operacion))));
+            } catch (RuntimeException ex) {
+                resultados.add(fallida(i, operacion, ex));
+            }
+        }
+    }
+    
+    // Devuelve el id del empleado creado, o null
+    private Long aplicar(OperacionLote operacion) {
+        if (operacion.tipo() == null) {
+            throw new IllegalArgumentException("Falta el tipo de operación");
+        }
+        switch (operacion.tipo()) {
+            case CREAR_EMPLEADO -> {
+                return empleadoService.guardar(requerir(operacion.empleado(), "empleado")).getId();
+            }
+            case ACTUALIZAR_EMPLEADO -> empleadoService.actualizar(
+                requerir(operacion.empleadoId(), "empleadoId"), requerir(operacion.empleado(), "empleado"));
+            case ELIMINAR_EMPLEADO -> empleadoService.eliminar(requerir(operacion.empleadoId(), "empleadoId"));
+            case ASIGNAR_DEPARTAMENTO -> empleadoService.asignarADepartamento(
+                requerir(operacion.empleadoId(), "empleadoId"), requerir(operacion.departamentoId(), "departamentoId"));
+            case QUITAR_DEPARTAMENTO -> departamentoService.removerEmpleado(
+                requerir(operacion.departamentoId(), "departamentoId"), requerir(operacion.empleadoId(), "empleadoId"));
+            case ASIGNAR_PROYECTO -> empleadoService.asignarAProyecto(
+                requerir(operacion.empleadoId(), "empleadoId"), requerir(operacion.proyectoId(), "proyectoId"));
+            case QUITAR_PROYECTO -> empleadoService.removerDeProyecto(
+                requerir(operacion.empleadoId(), "empleadoId"), requerir(operacion.proyectoId(), "proyectoId"));
+            case FINALIZAR_PROYECTO -> proyectoService.finalizarProyecto(requerir(operacion.proyectoId(), "proyectoId"));
+        }
+        return null;
+    }
+    
+    private static <T> T requerir(T valor, String campo) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Falta el campo '" + campo + "'");
+        }
+        return valor;
+    }
+    
+    private static ResultadoOperacion exitosa(int indice, OperacionLote operacion, Long id) {
+        int status = operacion.tipo() == OperacionLote.TipoOperacion.CREAR_EMPLEADO
+            ? HttpStatus.CREATED.value() : HttpStatus.OK.value();
+        return new ResultadoOperacion(indice, operacion.tipo(), EstadoOperacion.OK, status, id, null);
+    }
+    
+    private static ResultadoOperacion fallida(int indice, OperacionLote operacion, RuntimeException ex) {
+        return new ResultadoOperacion(indice, operacion.tipo(), EstadoOperacion.ERROR, estadoHttp(ex).value(), null,
+            mensaje(ex));
+    }
+    
+    private static ResultadoOperacion revertida(ResultadoOperacion resultado) {
+        return new ResultadoOperacion(resultado.indice(), resultado.tipo(), EstadoOperacion.REVERTIDA,
+            resultado.status(), null, null);
+    }
+    
+    private static ResultadoLote resumen(SolicitudLote.ModoLote modo, boolean confirmado, String error,
+                                         List<ResultadoOperacion> resultados) {
+        int exitosas = (int) resultados.stream().filter(r -> r.estado() == EstadoOperacion.OK).count();
+        int fallidas = (int) resultados.stream().filter(r -> r.estado() == EstadoOperacion.ERROR).count();
+        return new ResultadoLote(modo, confirmado, exitosas, fallidas, error, resultados);
+    }
+    
+    // Mismos códigos que GlobalExceptionHandler para las operaciones sueltas
+    static HttpStatus estadoHttp(RuntimeException ex) {
+        if (ex instanceof EmpleadoNoEncontradoException || ex instanceof DepartamentoNoEncontradoException
+                || ex instanceof ProyectoNoEncontradoException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (ex instanceof EmailDuplicadoException || ex instanceof IllegalStateException
+                || ex instanceof DataIntegrityViolationException) {
+            return HttpStatus.CONFLICT;
+        }
+        if (ex instanceof IllegalArgumentException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+    
+    private static String mensaje(RuntimeException ex) {
+        return estadoHttp(ex) == HttpStatus.INTERNAL_SERVER_ERROR ? "Error inesperado al ejecutar la operación" : ex.getMessage();
+    }
+}
@@ -0,0 +1,50 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.dto.ResultadoMembresia;
+import com.empleados.sistema.index.IndiceMembresias;
+import com.empleados.sistema.model.Proyecto;
+import com.empleados.sistema.repository.ProyectoRepository;
+import com.empleados.sistema.service.MembresiaService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+// Consultas de pertenencia a proyectos y departamentos resueltas sobre el índice de mapas de bits
+@Service
+public class MembresiaServiceImpl implements MembresiaService {
+    
+    private final IndiceMembresias indiceMembresias;
+    private final ProyectoRepository proyectoRepository;
+    private final int limiteMaximo;
+    
+    public MembresiaServiceImpl(IndiceMembresias indiceMembresias,
+                                ProyectoRepository proyectoRepository,
+                                @Value("${membresias.limite-maximo:10000}") int limiteMaximo) {
+        this.indiceMembresias = indiceMembresias;
+        this.proyectoRepository = proyectoRepository;
+        this.limiteMaximo = limiteMaximo;
+    }
+    
+    @Override
+    public ResultadoMembresia consultar(String expresion, boolean soloConteo, int limite) {
+        if (!soloConteo && (limite < 1 || limite > limiteMaximo)) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + limiteMaximo);
+        }
+        long inicio = System.nanoTime();
+        IndiceMembresias.ResultadoConsulta resultado = indiceMembresias.consultar(expresion, soloConteo ? 0 : limite);
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio);
+        return new ResultadoMembresia(expresion, resultado.cantidad(), resultado.ids(), micros);
+    }
+    
+    @Override
+    public long[] obtenerProyectosConEmpleadosDeDepartamento(Long departamentoId) {
+        // Mientras el índice se recarga, la misma consulta por JPQL
+        if (!indiceMembresias.isListo()) {
+            return proyectoRepository.findConEmpleadosDelDepartamento(departamentoId).stream()
+                .mapToLong(Proyecto::getId)
+                .toArray();
+        }
+        return indiceMembresias.proyectosConEmpleadosDe(departamentoId);
+    }
+}
@@ -0,0 +1,160 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.cache.CacheRespuestas;
+import com.empleados.sistema.cache.EtiquetasCache;
+import com.empleados.sistema.dto.ResultadoOperacionMasiva;
+import com.empleados.sistema.event.PublicadorEventos;
+import com.empleados.sistema.exception.DepartamentoNoEncontradoException;
+import com.empleados.sistema.model.EventoOutbox;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.DepartamentoRepository;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import com.empleados.sistema.service.OperacionMasivaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// Cambios sobre conjuntos de empleados con UPDATE por tramos de ids (keyset): cada tramo es una sentencia
+// y una transacción corta, con sus eventos en el outbox para que el modelo de lectura, los índices y el
+// feed de cambios vean cada fila modificada. La versión y modificadoEn se actualizan en la misma sentencia.
+@Service
+public class OperacionMasivaServiceImpl implements OperacionMasivaService {
+    
+    private static final Logger log = LoggerFactory.getLogger(OperacionMasivaServiceImpl.class);
+    
+    private static final BigDecimal CIEN = BigDecimal.valueOf(100);
+    
+    private final EmpleadoRepository empleadoRepository;
+    private final DepartamentoRepository departamentoRepository;
+    private final PublicadorEventos publicadorEventos;
+    private final CacheRespuestas cacheRespuestas;
+    private final TransactionTemplate transaccion;
+    private final int tamanoTramo;
+    private final BigDecimal porcentajeMaximo;
+    
+    public OperacionMasivaServiceImpl(EmpleadoRepository empleadoRepository,
+                                      DepartamentoRepository departamentoRepository,
+                                      PublicadorEventos publicadorEventos,
+                                      CacheRespuestas cacheRespuestas,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${operaciones-masivas.tamano-tramo:1000}") int tamanoTramo,
+                                      @Value("${operaciones-masivas.porcentaje-maximo:100}") BigDecimal porcentajeMaximo) {
+        this.empleadoRepository = empleadoRepository;
+        this.departamentoRepository = departamentoRepository;
+        this.publicadorEventos = publicadorEventos;
+        this.cacheRespuestas = cacheRespuestas;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.tamanoTramo = tamanoTramo;
+        this.porcentajeMaximo = porcentajeMaximo;
+    }
+    
+    @Override
+    public ResultadoOperacionMasiva ajustarSalarios(Long departamentoId, BigDecimal porcentaje) {
+        if (porcentaje == null || porcentaje.compareTo(CIEN.negate()) <= 0 || porcentaje.compareTo(porcentajeMaximo) > 0) {
+            throw new IllegalArgumentException("El porcentaje debe ser mayor a -100 y no superar " + porcentajeMaximo);
+        }
+        verificarDepartamento(departamentoId);
+        BigDecimal factor = BigDecimal.ONE.add(porcentaje.divide(CIEN, MathContext.DECIMAL64));
+        return porTramos("ajuste-salarial", departamentoId, TipoCambio.ACTUALIZADO, null,
+            ids -> empleadoRepository.ajustarSalarios(ids, departamentoId, factor, ahora()));
+    }
+    
+    @Override
+    public ResultadoOperacionMasiva transferirEmpleados(Long origenId, Long destinoId) {
+        if (origenId == null || destinoId == null) {
+            throw new IllegalArgumentException("El departamento de origen y el de destino son obligatorios");
+        }
+        if (origenId.equals(destinoId)) {
+            throw new IllegalArgumentException("El departamento de origen y el de destino deben ser distintos");
+        }
+        verificarDepartamento(origenId);
+        verificarDepartamento(destinoId);
+        return porTramos("transferencia", origenId, TipoCambio.TRANSFERIDO, destinoId,
+            ids -> empleadoRepository.transferirDepartamento(ids, origenId,
+                departamentoRepository.getReferenceById(destinoId), ahora()));
+    }
+    
+    // Recorre el departamento por ids ascendentes. La sentencia repite la condición de departamento:
+    // un empleado que cambió entre la lectura del tramo y el UPDATE no se toca, y su evento solo
+    // provoca una recarga sin efecto en los suscriptores
+    private ResultadoOperacionMasiva porTramos(String operacion, Long departamentoId, TipoCambio tipoCambio,
+                                               Long relacionadoId, Function<List<Long>, Integer> actualizar) {
+        long inicio = System.nanoTime();
+        long filas = 0;
+        int tramos = 0;
+        long despuesDeId = 0;
+        try {
+            while (true) {
+                long desde = despuesDeId;
+                Tramo tramo = transaccion.execute(estado -> {
+                    List<Long> ids = empleadoRepository.findIdsPorDepartamento(departamentoId, desde,
+                        PageRequest.of(0, tamanoTramo));
+                    if (ids.isEmpty()) {
+                        return new Tramo(ids, 0);
+                    }
+                    int afectadas = actualizar.apply(ids);
+                    List<EventoOutbox> eventos = new ArrayList<>(ids.size());
+                    for (Long id : ids) {
+                        eventos.add(new EventoOutbox(TipoEntidad.EMPLEADO, id, tipoCambio, relacionadoId));
+                    }
+                    publicadorEventos.publicarTodos(eventos);
+                    return new Tramo(ids, afectadas);
+                });
+                if (tramo.ids().isEmpty()) {
+                    break;
+                }
+                tramos++;
+                filas += tramo.afectadas();
+                despuesDeId = tramo.ids().get(tramo.ids().size() - 1);
+                if (tramo.ids().size() < tamanoTramo) {
+                    break;
+                }
+            }
+        } catch (RuntimeException ex) {
+            if (tramos == 0) {
+                throw ex;
+            }
+            log.error("Operación masiva {} interrumpida tras {} tramos", operacion, tramos, ex);
+            return new ResultadoOperacionMasiva(operacion, false, filas, tramos, milisDesde(inicio), ex.getMessage());
+        } finally {
+            // Los tramos confirmados ya son visibles aunque la operación no haya terminado
+            if (tramos > 0) {
+                cacheRespuestas.invalidar(List.of(EtiquetasCache.EMPLEADOS, EtiquetasCache.DEPARTAMENTOS));
+            }
+        }
+        return new ResultadoOperacionMasiva(operacion, true, filas, tramos, milisDesde(inicio), null);
+    }
+    
+    private void verificarDepartamento(Long departamentoId) {
+        if (departamentoId == null) {
+            throw new IllegalArgumentException("El departamento es obligatorio");
+        }
+        if (!departamentoRepository.existsById(departamentoId)) {
+            throw new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + departamentoId);
+        }
+    }
+    
+    private static Instant ahora() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+    
+    private static long milisDesde(long inicioNanos) {
+        return (System.nanoTime() - inicioNanos) / 1_000_000;
+    }
+    
+    private record Tramo(List<Long> ids, int afectadas) {
+    }
+}
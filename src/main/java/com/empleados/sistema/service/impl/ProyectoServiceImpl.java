@@ -1,17 +1,37 @@
 package com.empleados.sistema.service.impl;
 
+import com.empleados.sistema.cache.EtiquetasCache;
+import com.empleados.sistema.cache.InvalidaRespuestas;
+import com.empleados.sistema.cache.LlamadaCoalescida;
+import com.empleados.sistema.dto.ElementoPorId;
+import com.empleados.sistema.event.PublicadorEventos;
+import com.empleados.sistema.index.IndiceIntervalosProyectos;
 import com.empleados.sistema.exception.ProyectoNoEncontradoException;
 import com.empleados.sistema.exception.EmpleadoNoEncontradoException;
 import com.empleados.sistema.model.Proyecto;
+import com.empleados.sistema.model.ProyectoArchivado;
 import com.empleados.sistema.model.Empleado;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.readmodel.InstantaneaOrganizacion;
+import com.empleados.sistema.readmodel.ModeloLectura;
 import com.empleados.sistema.repository.ProyectoRepository;
 import com.empleados.sistema.repository.EmpleadoRepository;
+import com.empleados.sistema.repository.ProyeccionRepository;
+import com.empleados.sistema.repository.CargaMultipleRepository;
+import com.empleados.sistema.repository.ProyectoArchivadoRepository;
+import com.empleados.sistema.service.DedicacionService;
 import com.empleados.sistema.service.ProyectoService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 
 @Service
 @Transactional
@@ -19,14 +39,36 @@ public class ProyectoServiceImpl implements ProyectoService {
     
     private final ProyectoRepository proyectoRepository;
     private final EmpleadoRepository empleadoRepository;
+    private final ProyeccionRepository proyeccionRepository;
+    private final CargaMultipleRepository cargaMultipleRepository;
+    private final ProyectoArchivadoRepository proyectoArchivadoRepository;
+    private final PublicadorEventos publicadorEventos;
+    private final ModeloLectura modeloLectura;
+    private final IndiceIntervalosProyectos indiceIntervalos;
+    private final DedicacionService dedicacionService;
     
     public ProyectoServiceImpl(ProyectoRepository proyectoRepository,
-                              EmpleadoRepository empleadoRepository) {
+                              EmpleadoRepository empleadoRepository,
+                              ProyeccionRepository proyeccionRepository,
+                              CargaMultipleRepository cargaMultipleRepository,
+                              ProyectoArchivadoRepository proyectoArchivadoRepository,
+                              PublicadorEventos publicadorEventos,
+                              ModeloLectura modeloLectura,
+                              IndiceIntervalosProyectos indiceIntervalos,
+                              DedicacionService dedicacionService) {
         this.proyectoRepository = proyectoRepository;
         this.empleadoRepository = empleadoRepository;
+        this.proyeccionRepository = proyeccionRepository;
+        this.cargaMultipleRepository = cargaMultipleRepository;
+        this.proyectoArchivadoRepository = proyectoArchivadoRepository;
+        this.publicadorEventos = publicadorEventos;
+        this.modeloLectura = modeloLectura;
+        this.indiceIntervalos = indiceIntervalos;
+        this.dedicacionService = dedicacionService;
     }
     
     @Override
+    @InvalidaRespuestas(EtiquetasCache.PROYECTOS)
     public Proyecto guardar(Proyecto proyecto) {
         // Validar que el nombre no exista
         if (proyectoRepository.existsByNombre(proyecto.getNombre())) {
@@ -45,7 +87,9 @@ public class ProyectoServiceImpl implements ProyectoService {
             }
         }
         
-        return proyectoRepository.save(proyecto);
+        Proyecto guardado = proyectoRepository.save(proyecto);
+        publicadorEventos.publicar(TipoEntidad.PROYECTO, guardado.getId(), TipoCambio.CREADO);
+        return guardado;
     }
     
     @Override
@@ -55,6 +99,23 @@ public class ProyectoServiceImpl implements ProyectoService {
             .orElseThrow(() -> new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + id));
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public Proyecto buscarPorId(Long id, boolean incluirArchivados) {
+        if (!incluirArchivados) {
+            return buscarPorId(id);
+        }
+        return proyectoRepository.findById(id)
+            .or(() -> proyectoArchivadoRepository.findById(id).map(ProyectoArchivado::aProyecto))
+            .orElseThrow(() -> new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + id));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ElementoPorId<Proyecto>> buscarPorIds(List<Long> ids) {
+        return cargaMultipleRepository.buscarPorIds(Proyecto.class, ids);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<Proyecto> obtenerTodos() {
@@ -62,6 +123,13 @@ public class ProyectoServiceImpl implements ProyectoService {
     }
     
     @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> obtenerTodosConCampos(List<String> campos) {
+        return proyeccionRepository.buscarCampos(Proyecto.class, campos);
+    }
+    
+    @Override
+    @InvalidaRespuestas({EtiquetasCache.PROYECTOS, EtiquetasCache.EMPLEADOS})
     public Proyecto actualizar(Long id, Proyecto proyecto) {
         Proyecto proyectoExistente = buscarPorId(id);
         
@@ -84,13 +152,17 @@ public class ProyectoServiceImpl implements ProyectoService {
         proyectoExistente.setFechaInicio(proyecto.getFechaInicio());
         proyectoExistente.setFechaFin(proyecto.getFechaFin());
         
-        return proyectoRepository.save(proyectoExistente);
+        Proyecto actualizado = proyectoRepository.save(proyectoExistente);
+        publicadorEventos.publicar(TipoEntidad.PROYECTO, id, TipoCambio.ACTUALIZADO);
+        return actualizado;
     }
     
     @Override
+    @InvalidaRespuestas({EtiquetasCache.PROYECTOS, EtiquetasCache.EMPLEADOS})
     public void eliminar(Long id) {
         Proyecto proyecto = buscarPorId(id);
         proyectoRepository.delete(proyecto);
+        publicadorEventos.publicar(TipoEntidad.PROYECTO, id, TipoCambio.ELIMINADO);
     }
     
     @Override
@@ -127,24 +199,93 @@ public class ProyectoServiceImpl implements ProyectoService {
         return proyectoRepository.findByNombreContaining(termino);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<Proyecto> buscarEnCurso(LocalDate desde, LocalDate hasta) {
+        if (desde.isAfter(hasta)) {
+            throw new IllegalArgumentException("La fecha de inicio no puede ser posterior a la fecha de fin");
+        }
+        if (!indiceIntervalos.isListo()) {
+            return proyectoRepository.findEnCurso(desde, hasta);
+        }
+        return cargarOrdenados(indiceIntervalos.enCurso(desde, hasta));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Proyecto> buscarEnCursoEl(LocalDate fecha) {
+        if (!indiceIntervalos.isListo()) {
+            return proyectoRepository.findEnCurso(fecha, fecha);
+        }
+        return cargarOrdenados(indiceIntervalos.enCursoEl(fecha));
+    }
+    
+    // Carga los proyectos del índice en orden de id; los que ya no existen se omiten
+    private List<Proyecto> cargarOrdenados(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> ordenados = Arrays.stream(ids).sorted().boxed().toList();
+        List<Proyecto> proyectos = new ArrayList<>(proyectoRepository.findAllById(ordenados));
+        proyectos.sort(Comparator.comparing(Proyecto::getId));
+        return proyectos;
+    }
+    
+    // Las variantes con archivados agregan, después de los activos, las vistas de proyectos_archivados
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Proyecto> buscarPorNombreContiene(String termino, boolean incluirArchivados) {
+        List<Proyecto> proyectos = buscarPorNombreContiene(termino);
+        return incluirArchivados ? conArchivados(proyectos, proyectoArchivadoRepository.findByNombreContaining(termino)) : proyectos;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Proyecto> buscarProyectosInactivos(boolean incluirArchivados) {
+        List<Proyecto> proyectos = buscarProyectosInactivos();
+        return incluirArchivados ? conArchivados(proyectos, proyectoArchivadoRepository.findTodosOrdenados()) : proyectos;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Proyecto> buscarPorEmpleado(Long empleadoId, boolean incluirArchivados) {
+        List<Proyecto> proyectos = proyectoRepository.findByEmpleadoId(empleadoId);
+        return incluirArchivados ? conArchivados(proyectos, proyectoArchivadoRepository.findByEmpleadoId(empleadoId)) : proyectos;
+    }
+    
+    private static List<Proyecto> conArchivados(List<Proyecto> activos, List<ProyectoArchivado> archivados) {
+        List<Proyecto> proyectos = new ArrayList<>(activos.size() + archivados.size());
+        proyectos.addAll(activos);
+        for (ProyectoArchivado archivado : archivados) {
+            proyectos.add(archivado.aProyecto());
+        }
+        return proyectos;
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<Empleado> obtenerEmpleadosPorProyecto(Long proyectoId) {
+        InstantaneaOrganizacion instantanea = modeloLectura.instantaneaDisponible();
+        if (instantanea != null) {
+            if (!instantanea.existeProyecto(proyectoId)) {
+                throw new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + proyectoId);
+            }
+            return instantanea.aEntidades(instantanea.empleadosDeProyecto(proyectoId));
+        }
         Proyecto proyecto = buscarPorId(proyectoId);
         return empleadoRepository.findByProyectoId(proyectoId);
     }
     
     @Override
+    @InvalidaRespuestas(EtiquetasCache.EMPLEADOS)
     public void asignarEmpleado(Long proyectoId, Long empleadoId) {
-        Proyecto proyecto = buscarPorId(proyectoId);
-        Empleado empleado = empleadoRepository.findById(empleadoId)
-            .orElseThrow(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + empleadoId));
-        
-        proyecto.agregarEmpleado(empleado);
-        proyectoRepository.save(proyecto);
+        // Mismo control de sobreasignación y mismo bloqueo que /api/dedicaciones
+        dedicacionService.asignarConPorcentajePorDefecto(empleadoId, proyectoId);
     }
     
     @Override
+    @InvalidaRespuestas(EtiquetasCache.EMPLEADOS)
     public void removerEmpleado(Long proyectoId, Long empleadoId) {
         Proyecto proyecto = buscarPorId(proyectoId);
         Empleado empleado = empleadoRepository.findById(empleadoId)
@@ -152,24 +293,29 @@ public class ProyectoServiceImpl implements ProyectoService {
         
         proyecto.removerEmpleado(empleado);
         proyectoRepository.save(proyecto);
+        publicadorEventos.publicar(TipoEntidad.EMPLEADO, empleadoId, TipoCambio.DESASIGNADO, proyectoId);
     }
     
     @Override
+    @InvalidaRespuestas(EtiquetasCache.EMPLEADOS)
     public void asignarMultiplesEmpleados(Long proyectoId, List<Long> empleadoIds) {
-        Proyecto proyecto = buscarPorId(proyectoId);
+        buscarPorId(proyectoId);
         
-        for (Long empleadoId : empleadoIds) {
-            Empleado empleado = empleadoRepository.findById(empleadoId)
-                .orElseThrow(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + empleadoId));
-            proyecto.agregarEmpleado(empleado);
+        // Los empleados se bloquean en orden de id para no cruzarse con otra asignación múltiple; si uno
+        // quedaría sobreasignado, se revierte toda la operación
+        for (Long empleadoId : new TreeSet<>(empleadoIds)) {
+            dedicacionService.asignarConPorcentajePorDefecto(empleadoId, proyectoId);
         }
-        
-        proyectoRepository.save(proyecto);
     }
     
     @Override
     @Transactional(readOnly = true)
+    @LlamadaCoalescida(ttl = "${coalescencia.ttl-agregados-ms:0}")
     public Long contarEmpleados(Long proyectoId) {
+        InstantaneaOrganizacion instantanea = modeloLectura.instantaneaDisponible();
+        if (instantanea != null) {
+            return instantanea.contarEmpleadosDeProyecto(proyectoId);
+        }
         return proyectoRepository.countEmpleadosByProyectoId(proyectoId);
     }
     
@@ -199,9 +345,19 @@ public class ProyectoServiceImpl implements ProyectoService {
     }
     
     @Override
+    @InvalidaRespuestas({EtiquetasCache.PROYECTOS, EtiquetasCache.EMPLEADOS})
     public void finalizarProyecto(Long proyectoId) {
         Proyecto proyecto = buscarPorId(proyectoId);
         proyecto.setFechaFin(LocalDate.now());
         proyectoRepository.save(proyecto);
+        publicadorEventos.publicar(TipoEntidad.PROYECTO, proyectoId, TipoCambio.ACTUALIZADO);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public String calcularEtagActivos() {
+        // Al cambiar el día, los proyectos que finalizan incrementan su versión y el sello cambia
+        Object[] sello = proyectoRepository.findSelloProyectosActivos().get(0);
+        return Etags.de("proyectos-activos", sello);
     }
 }
@@ -0,0 +1,169 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.dto.RespuestaSincronizacion;
+import com.empleados.sistema.dto.RespuestaSincronizacion.Eliminacion;
+import com.empleados.sistema.event.DespachadorEventos;
+import com.empleados.sistema.model.Empleado;
+import com.empleados.sistema.model.EventoOutbox;
+import com.empleados.sistema.model.Proyecto;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import com.empleados.sistema.repository.EventoOutboxRepository;
+import com.empleados.sistema.repository.ProyectoRepository;
+import com.empleados.sistema.service.SincronizacionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Los cambios salen del outbox por id, no de las marcas modificadoEn: una marca se fija al escribir la fila y la
+// transacción puede confirmar mucho después. El cursor del cliente solo avanza hasta el cursor confirmado del
+// despachador, que se detiene detrás de cualquier id menor que todavía no confirmó.
+@Service
+@Transactional(readOnly = true)
+public class SincronizacionServiceImpl implements SincronizacionService {
+    
+    private static final Set<TipoEntidad> TIPOS_SINCRONIZADOS = EnumSet.of(TipoEntidad.EMPLEADO, TipoEntidad.PROYECTO);
+    
+    private final EmpleadoRepository empleadoRepository;
+    private final ProyectoRepository proyectoRepository;
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final DespachadorEventos despachadorEventos;
+    private final int limitePorDefecto;
+    private final int limiteMaximo;
+    private final Duration retencionEventos;
+    
+    public SincronizacionServiceImpl(EmpleadoRepository empleadoRepository,
+                                     ProyectoRepository proyectoRepository,
+                                     EventoOutboxRepository eventoOutboxRepository,
+                                     DespachadorEventos despachadorEventos,
+                                     @Value("${sync.limite-por-defecto:500}") int limitePorDefecto,
+                                     @Value("${sync.limite-maximo:1000}") int limiteMaximo,
+                                     @Value("${eventos.retencion-horas:720}") long horasRetencionEventos) {
+        this.empleadoRepository = empleadoRepository;
+        this.proyectoRepository = proyectoRepository;
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.despachadorEventos = despachadorEventos;
+        this.limitePorDefecto = limitePorDefecto;
+        this.limiteMaximo = limiteMaximo;
+        this.retencionEventos = Duration.ofHours(horasRetencionEventos);
+    }
+    
+    @Override
+    public RespuestaSincronizacion sincronizar(String desde, Integer limite) {
+        int tamano = limite == null ? limitePorDefecto : limite;
+        if (tamano < 1 || tamano > limiteMaximo) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + limiteMaximo);
+        }
+        
+        Instant ahora = Instant.now();
+        long confirmado = despachadorEventos.getCursorConfirmado();
+        
+        TokenSincronizacion token;
+        boolean completo;
+        if (desde == null || desde.isBlank()) {
+            token = inicial(confirmado, ahora);
+            completo = true;
+        } else {
+            token = TokenSincronizacion.decodificar(desde);
+            // Si los eventos que necesitaría ya se purgaron, no se pueden informar cambios: resincronización total
+            completo = eventosPurgados(token, ahora);
+            if (completo) {
+                token = inicial(confirmado, ahora);
+            }
+        }
+        
+        int restante = tamano;
+        List<Empleado> empleados = new ArrayList<>();
+        List<Proyecto> proyectos = new ArrayList<>();
+        List<Eliminacion> eliminados = new ArrayList<>();
+        
+        // Copia completa por id; lo que cambie mientras tanto llega después por el outbox desde el cursor inicial
+        long empleadosDesde = token.empleadosDesde();
+        if (empleadosDesde != TokenSincronizacion.COPIA_TERMINADA) {
+            List<Empleado> pagina = empleadoRepository.findByIdGreaterThanOrderByIdAsc(
+                empleadosDesde, PageRequest.of(0, restante));
+            empleados.addAll(pagina);
+            restante -= pagina.size();
+            empleadosDesde = restante == 0
+                ? pagina.get(pagina.size() - 1).getId() : TokenSincronizacion.COPIA_TERMINADA;
+        }
+        
+        long proyectosDesde = token.proyectosDesde();
+        if (restante > 0 && proyectosDesde != TokenSincronizacion.COPIA_TERMINADA) {
+            List<Proyecto> pagina = proyectoRepository.findByIdGreaterThanOrderByIdAsc(
+                proyectosDesde, PageRequest.of(0, restante));
+            proyectos.addAll(pagina);
+            restante -= pagina.size();
+            proyectosDesde = restante == 0
+                ? pagina.get(pagina.size() - 1).getId() : TokenSincronizacion.COPIA_TERMINADA;
+        }
+        
+        long cursor = token.cursor();
+        boolean copiaTerminada = empleadosDesde == TokenSincronizacion.COPIA_TERMINADA
+            && proyectosDesde == TokenSincronizacion.COPIA_TERMINADA;
+        if (restante > 0 && copiaTerminada && confirmado > cursor) {
+            List<EventoOutbox> eventos = eventoOutboxRepository.findEntreIds(
+                cursor, confirmado, TIPOS_SINCRONIZADOS, PageRequest.of(0, restante));
+            restante -= eventos.size();
+            cursor = restante == 0 ? eventos.get(eventos.size() - 1).getId() : confirmado;
+            agregarCambios(eventos, empleados, proyectos, eliminados);
+        }
+        
+        // Con la página llena puede quedar algo pendiente; el cliente repite con el nuevo token
+        boolean hayMas = restante == 0;
+        // Un cliente al día conserva la antigüedad de su token solo mientras pagina; al terminar se renueva
+        Instant emitidoEn = hayMas ? token.emitidoEn() : ahora;
+        TokenSincronizacion siguiente = new TokenSincronizacion(cursor, empleadosDesde, proyectosDesde, emitidoEn);
+        return new RespuestaSincronizacion(empleados, proyectos, eliminados, siguiente.codificar(), hayMas, completo);
+    }
+    
+    // Estado actual de cada entidad nombrada en los eventos; las que ya no existen se informan como bajas
+    private void agregarCambios(List<EventoOutbox> eventos, List<Empleado> empleados, List<Proyecto> proyectos,
+                                List<Eliminacion> eliminados) {
+        Set<Long> empleadoIds = new LinkedHashSet<>();
+        Set<Long> proyectoIds = new LinkedHashSet<>();
+        for (EventoOutbox evento : eventos) {
+            if (evento.getTipoEntidad() == TipoEntidad.EMPLEADO) {
+                empleadoIds.add(evento.getEntidadId());
+            } else {
+                proyectoIds.add(evento.getEntidadId());
+            }
+        }
+        
+        Set<Long> empleadosBorrados = new LinkedHashSet<>(empleadoIds);
+        for (Empleado empleado : empleadoRepository.findAllById(empleadoIds)) {
+            empleados.add(empleado);
+            empleadosBorrados.remove(empleado.getId());
+        }
+        empleadosBorrados.forEach(id -> eliminados.add(new Eliminacion(TipoEntidad.EMPLEADO.name(), id)));
+        
+        Set<Long> proyectosBorrados = new LinkedHashSet<>(proyectoIds);
+        for (Proyecto proyecto : proyectoRepository.findAllById(proyectoIds)) {
+            proyectos.add(proyecto);
+            proyectosBorrados.remove(proyecto.getId());
+        }
+        proyectosBorrados.forEach(id -> eliminados.add(new Eliminacion(TipoEntidad.PROYECTO.name(), id)));
+    }
+    
+    private boolean eventosPurgados(TokenSincronizacion token, Instant ahora) {
+        if (token.emitidoEn().isBefore(ahora.minus(retencionEventos))) {
+            return true;
+        }
+        Long minimo = eventoOutboxRepository.findMinId();
+        return minimo != null && token.cursor() < minimo - 1;
+    }
+    
+    // Un cliente sin copia local recibe las filas vigentes y después los cambios posteriores al cursor actual
+    private TokenSincronizacion inicial(long confirmado, Instant ahora) {
+        return new TokenSincronizacion(confirmado, 0L, 0L, ahora);
+    }
+}
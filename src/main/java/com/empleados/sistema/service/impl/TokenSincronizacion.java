@@ -0,0 +1,39 @@
+package com.empleados.sistema.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// Posición de un cliente: id del outbox hasta el que ya recibió los cambios y, mientras dura la copia completa,
+// el último empleado y el último proyecto enviados (COPIA_TERMINADA cuando ese listado ya terminó)
+record TokenSincronizacion(long cursor, long empleadosDesde, long proyectosDesde, Instant emitidoEn) {
+    
+    static final long COPIA_TERMINADA = -1;
+    
+    private static final String VERSION = "v2";
+    
+    String codificar() {
+        String texto = String.join(";", VERSION, String.valueOf(cursor), String.valueOf(empleadosDesde),
+            String.valueOf(proyectosDesde), String.valueOf(emitidoEn.toEpochMilli()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    static TokenSincronizacion decodificar(String token) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] partes = texto.split(";", -1);
+            if (partes.length != 5 || !VERSION.equals(partes[0])) {
+                throw new IllegalArgumentException("Token de sincronización inválido");
+            }
+            return new TokenSincronizacion(
+                Long.parseLong(partes[1]),
+                Long.parseLong(partes[2]),
+                Long.parseLong(partes[3]),
+                Instant.ofEpochMilli(Long.parseLong(partes[4]))
+            );
+        } catch (IllegalArgumentException e) {
+            // Incluye NumberFormatException y errores de Base64
+            throw new IllegalArgumentException("Token de sincronización inválido", e);
+        }
+    }
+}
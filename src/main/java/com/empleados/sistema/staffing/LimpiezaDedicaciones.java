@@ -0,0 +1,62 @@
+package com.empleados.sistema.staffing;
+
+import com.empleados.sistema.event.EventoCambio;
+import com.empleados.sistema.event.SuscriptorCambios;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.DedicacionRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Borra los porcentajes de dedicación de asignaciones que ya no existen: desasignaciones, empleados eliminados
+// y proyectos eliminados o archivados. Así ningún camino de baja necesita conocer la tabla de dedicaciones.
+@Component
+public class LimpiezaDedicaciones implements SuscriptorCambios {
+    
+    private final DedicacionRepository dedicacionRepository;
+    private final TransactionTemplate transactionTemplate;
+    
+    public LimpiezaDedicaciones(DedicacionRepository dedicacionRepository, TransactionTemplate transactionTemplate) {
+        this.dedicacionRepository = dedicacionRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+    
+    @Override
+    public void alCambiar(List<EventoCambio> eventos) {
+        List<EventoCambio> desasignaciones = eventos.stream()
+            .filter(evento -> evento.tipoCambio() == TipoCambio.DESASIGNADO && evento.relacionadoId() != null)
+            .toList();
+        Set<Long> empleados = new HashSet<>();
+        Set<Long> proyectos = new HashSet<>();
+        for (EventoCambio evento : eventos) {
+            if (!evento.tipoCambio().esBaja()) {
+                continue;
+            }
+            if (evento.tipoEntidad() == TipoEntidad.EMPLEADO) {
+                empleados.add(evento.entidadId());
+            } else if (evento.tipoEntidad() == TipoEntidad.PROYECTO) {
+                proyectos.add(evento.entidadId());
+            }
+        }
+        if (desasignaciones.isEmpty() && empleados.isEmpty() && proyectos.isEmpty()) {
+            return;
+        }
+        
+        // Los borrados son condicionales (solo si la asignación ya no existe), así que reentregar el lote no hace daño
+        transactionTemplate.executeWithoutResult(estado -> {
+            for (EventoCambio evento : desasignaciones) {
+                dedicacionRepository.eliminarSinAsignacion(evento.entidadId(), evento.relacionadoId());
+            }
+            if (!empleados.isEmpty()) {
+                dedicacionRepository.eliminarDeEmpleadosInexistentes(empleados);
+            }
+            if (!proyectos.isEmpty()) {
+                dedicacionRepository.eliminarDeProyectosInexistentes(proyectos);
+            }
+        });
+    }
+}
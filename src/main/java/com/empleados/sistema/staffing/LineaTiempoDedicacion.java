@@ -0,0 +1,160 @@
+package com.empleados.sistema.staffing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Dedicación total de un empleado a lo largo del tiempo como función escalonada: cada asignación suma su
+// porcentaje en [inicio, fin] (días desde la época, extremos cerrados). Se construye con un barrido sobre los
+// inicios y los fines ordenados, O(n log n); el nivel en un día y el máximo en un rango salen por búsqueda
+// binaria sobre los puntos de cambio. Es inmutable.
+public final class LineaTiempoDedicacion {
+    
+    // Extremos abiertos, con la misma convención que ArbolIntervalos
+    public static final int SIN_INICIO = Integer.MIN_VALUE;
+    public static final int SIN_FIN = Integer.MAX_VALUE;
+    
+    // El porcentaje viaja en los 8 bits bajos de la clave de ordenamiento, así que no puede superar 255
+    public static final int PORCENTAJE_MAXIMO = 255;
+    
+    // A partir de cambios[i] (y hasta el siguiente cambio) la dedicación total es niveles[i]; antes del primero es 0
+    private final long[] cambios;
+    private final int[] niveles;
+    
+    public record Tramo(int desde, int hasta, int porcentaje) {
+    }
+    
+    private LineaTiempoDedicacion(long[] cambios, int[] niveles) {
+        this.cambios = cambios;
+        this.niveles = niveles;
+    }
+    
+    // Usa las primeras "cantidad" posiciones; se ignoran las asignaciones con porcentaje 0 o con fin < inicio
+    public static LineaTiempoDedicacion construir(int[] inicios, int[] fines, int[] porcentajes, int cantidad) {
+        // Claves (día << 8 | porcentaje): ordenar los primitivos ordena por día sin encajonar pares
+        long[] altas = new long[cantidad];
+        long[] bajas = new long[cantidad];
+        int totalAltas = 0;
+        int totalBajas = 0;
+        for (int i = 0; i < cantidad; i++) {
+            int porcentaje = porcentajes[i];
+            if (porcentaje < 0 || porcentaje > PORCENTAJE_MAXIMO) {
+                throw new IllegalArgumentException("Porcentaje fuera de rango: " + porcentaje);
+            }
+            if (porcentaje == 0 || fines[i] < inicios[i]) {
+                continue;
+            }
+            altas[totalAltas++] = ((long) inicios[i] << 8) | porcentaje;
+            // La asignación deja de contar el día siguiente a su fin; si no tiene fin, no baja nunca
+            if (fines[i] != SIN_FIN) {
+                bajas[totalBajas++] = (((long) fines[i] + 1) << 8) | porcentaje;
+            }
+        }
+        Arrays.sort(altas, 0, totalAltas);
+        Arrays.sort(bajas, 0, totalBajas);
+        
+        long[] cambios = new long[totalAltas + totalBajas];
+        int[] niveles = new int[totalAltas + totalBajas];
+        int puntos = 0;
+        int nivel = 0;
+        int a = 0;
+        int b = 0;
+        while (a < totalAltas || b < totalBajas) {
+            long dia = Math.min(a < totalAltas ? altas[a] >> 8 : Long.MAX_VALUE,
+                b < totalBajas ? bajas[b] >> 8 : Long.MAX_VALUE);
+            while (a < totalAltas && altas[a] >> 8 == dia) {
+                nivel += (int) (altas[a++] & 0xFF);
+            }
+            while (b < totalBajas && bajas[b] >> 8 == dia) {
+                nivel -= (int) (bajas[b++] & 0xFF);
+            }
+            // Un alta y una baja del mismo porcentaje en el mismo día no cambian el nivel
+            if (nivel != (puntos == 0 ? 0 : niveles[puntos - 1])) {
+                cambios[puntos] = dia;
+                niveles[puntos] = nivel;
+                puntos++;
+            }
+        }
+        return new LineaTiempoDedicacion(Arrays.copyOf(cambios, puntos), Arrays.copyOf(niveles, puntos));
+    }
+    
+    public int nivelEn(int dia) {
+        int i = ultimoCambioHasta(dia);
+        return i < 0 ? 0 : niveles[i];
+    }
+    
+    // Máximo de la dedicación total en algún día de [desde, hasta]
+    public int maximoEn(int desde, int hasta) {
+        if (desde > hasta) {
+            return 0;
+        }
+        int i = ultimoCambioHasta(desde);
+        int maximo = i < 0 ? 0 : niveles[i];
+        for (int j = i + 1; j < cambios.length && cambios[j] <= hasta; j++) {
+            maximo = Math.max(maximo, niveles[j]);
+        }
+        return maximo;
+    }
+    
+    public int maximo() {
+        int maximo = 0;
+        for (int nivel : niveles) {
+            maximo = Math.max(maximo, nivel);
+        }
+        return maximo;
+    }
+    
+    // Tramos con dedicación distinta de cero, en orden
+    public List<Tramo> tramos() {
+        List<Tramo> tramos = new ArrayList<>();
+        for (int i = 0; i < cambios.length; i++) {
+            if (niveles[i] != 0) {
+                tramos.add(new Tramo((int) cambios[i], finDelTramo(i), niveles[i]));
+            }
+        }
+        return tramos;
+    }
+    
+    // Períodos maximales en los que la dedicación supera el límite; el porcentaje es el máximo del período
+    public List<Tramo> excesos(int limite) {
+        List<Tramo> excesos = new ArrayList<>();
+        int i = 0;
+        while (i < cambios.length) {
+            if (niveles[i] <= limite) {
+                i++;
+                continue;
+            }
+            int inicio = i;
+            int maximo = 0;
+            while (i < cambios.length && niveles[i] > limite) {
+                maximo = Math.max(maximo, niveles[i]);
+                i++;
+            }
+            excesos.add(new Tramo((int) cambios[inicio], finDelTramo(i - 1), maximo));
+        }
+        return excesos;
+    }
+    
+    public int getPuntosDeCambio() {
+        return cambios.length;
+    }
+    
+    private int finDelTramo(int i) {
+        return i + 1 < cambios.length ? (int) (cambios[i + 1] - 1) : SIN_FIN;
+    }
+    
+    // Posición del último cambio en un día <= dia, o -1 si no hay ninguno
+    private int ultimoCambioHasta(long dia) {
+        int bajo = 0;
+        int alto = cambios.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (cambios[medio] <= dia) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo - 1;
+    }
+}
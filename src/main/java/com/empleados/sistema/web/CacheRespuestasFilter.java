@@ -0,0 +1,89 @@
+package com.empleados.sistema.web;
+
+import com.empleados.sistema.cache.CacheRespuestas;
+import com.empleados.sistema.cache.RespuestaCacheable;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Sirve desde memoria los cuerpos ya serializados de los GET @RespuestaCacheable
+public class CacheRespuestasFilter extends OncePerRequestFilter {
+    
+    private final CacheRespuestas cacheRespuestas;
+    
+    public CacheRespuestasFilter(CacheRespuestas cacheRespuestas) {
+        this.cacheRespuestas = cacheRespuestas;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!"GET".equals(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        String clave = clave(request);
+        CacheRespuestas.Entrada entrada = cacheRespuestas.obtener(clave);
+        if (entrada != null) {
+            responder(entrada, request, response);
+            return;
+        }
+        
+        Map<String, Long> generaciones = cacheRespuestas.generaciones();
+        RespuestaCapturada captura = new RespuestaCapturada(request, response, cacheRespuestas.getMaxBytesEntrada());
+        filterChain.doFilter(request, captura);
+        
+        RespuestaCacheable anotacion = captura.getAnotacion();
+        if (anotacion == null || request.isAsyncStarted() || captura.getStatus() != HttpServletResponse.SC_OK) {
+            return;
+        }
+        byte[] cuerpo = captura.getCuerpo();
+        if (cuerpo != null) {
+            long expira = anotacion.ttlSegundos() > 0
+                ? System.nanoTime() + TimeUnit.SECONDS.toNanos(anotacion.ttlSegundos())
+                : 0;
+            cacheRespuestas.guardar(clave, new CacheRespuestas.Entrada(
+                cuerpo, captura.getContentType(), captura.getHeader(HttpHeaders.ETAG),
+                Set.of(anotacion.etiquetas()), expira), generaciones);
+        }
+    }
+    
+    private static void responder(CacheRespuestas.Entrada entrada, HttpServletRequest request,
+                                  HttpServletResponse response) throws IOException {
+        if (entrada.etag() != null && new ServletWebRequest(request, response).checkNotModified(entrada.etag())) {
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (entrada.tipoContenido() != null) {
+            response.setContentType(entrada.tipoContenido());
+        }
+        response.setContentLength(entrada.cuerpo().length);
+        // El arreglo se escribe tal cual, sin volver a serializar ni copiar
+        response.getOutputStream().write(entrada.cuerpo());
+    }
+    
+    // Ruta, parámetros en orden canónico y representación pedida
+    private static String clave(HttpServletRequest request) {
+        StringBuilder clave = new StringBuilder(request.getRequestURI());
+        String consulta = request.getQueryString();
+        if (consulta != null && !consulta.isEmpty()) {
+            String[] parametros = consulta.split("&");
+            Arrays.sort(parametros);
+            clave.append('?').append(String.join("&", parametros));
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        clave.append('|').append(accept != null ? accept : "*/*");
+        return clave.toString();
+    }
+}
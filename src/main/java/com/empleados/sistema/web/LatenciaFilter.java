@@ -0,0 +1,66 @@
+package com.empleados.sistema.web;
+
+import com.empleados.sistema.metrics.ContadorSentenciasSql;
+import com.empleados.sistema.metrics.MuestraSolicitudLenta;
+import com.empleados.sistema.metrics.RegistroLatencias;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Instant;
+
+// Registra la latencia de cada solicitud por patrón de ruta, método y clase de estado
+public class LatenciaFilter extends OncePerRequestFilter {
+    
+    private final RegistroLatencias registroLatencias;
+    private final ContadorSentenciasSql contadorSentencias;
+    
+    public LatenciaFilter(RegistroLatencias registroLatencias, ContadorSentenciasSql contadorSentencias) {
+        this.registroLatencias = registroLatencias;
+        this.contadorSentencias = contadorSentencias;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        boolean muestreo = registroLatencias.isMuestreoHabilitado();
+        if (muestreo) {
+            contadorSentencias.reiniciar();
+        }
+        
+        boolean fallo = true;
+        try {
+            filterChain.doFilter(request, response);
+            fallo = false;
+        } finally {
+            // Las respuestas asíncronas (streams) no reflejan la latencia del handler
+            if (!request.isAsyncStarted()) {
+                long fin = System.nanoTime();
+                long nanos = fin - inicio;
+                Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                String ruta = patron instanceof String ? (String) patron : null;
+                int estado = fallo ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+                
+                registroLatencias.registrar(request.getMethod(), ruta, estado, nanos, fin);
+                
+                if (muestreo && registroLatencias.superaUmbralMuestra(nanos)) {
+                    registroLatencias.registrarMuestra(new MuestraSolicitudLenta(
+                        request.getMethod(),
+                        request.getQueryString() == null
+                            ? request.getRequestURI()
+                            : request.getRequestURI() + "?" + request.getQueryString(),
+                        ruta,
+                        estado,
+                        nanos / 1_000_000.0,
+                        contadorSentencias.obtener(),
+                        Instant.now()));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.empleados.sistema.web;
+
+import com.empleados.sistema.overload.LimitadorConcurrencia;
+import com.empleados.sistema.overload.LimiteAdaptativo;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Admite solo las solicitudes que entran en el límite de su grupo; el resto recibe 503 sin tocar la base
+public class LimiteConcurrenciaFilter extends OncePerRequestFilter {
+    
+    private final LimitadorConcurrencia limitador;
+    private final RespuestaError respuestaError;
+    
+    public LimiteConcurrenciaFilter(LimitadorConcurrencia limitador, RespuestaError respuestaError) {
+        this.limitador = limitador;
+        this.respuestaError = respuestaError;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        LimiteAdaptativo limite = limitador.limitePara(request);
+        if (limite == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!limite.intentarAdquirir()) {
+            rechazar(request, response);
+            return;
+        }
+        
+        long inicio = System.nanoTime();
+        boolean fallo = true;
+        try {
+            filterChain.doFilter(request, response);
+            fallo = false;
+        } finally {
+            if (request.isAsyncStarted()) {
+                limite.liberarSinMuestra();
+            } else {
+                limite.liberar(System.nanoTime() - inicio, fallo || response.getStatus() >= 500);
+            }
+        }
+    }
+    
+    private void rechazar(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(limitador.getRetryAfterSegundos()));
+        respuestaError.escribir(request, response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Servicio sobrecargado",
+            "Hay demasiadas solicitudes en curso. Reintente en unos instantes.");
+    }
+}
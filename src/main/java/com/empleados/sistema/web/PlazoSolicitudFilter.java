@@ -0,0 +1,52 @@
+package com.empleados.sistema.web;
+
+import com.empleados.sistema.overload.PlazoSolicitud;
+import com.empleados.sistema.overload.PoliticaPlazos;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Fija el plazo de la solicitud para el hilo que la atiende; una solicitud que llega vencida no se procesa
+public class PlazoSolicitudFilter extends OncePerRequestFilter {
+    
+    private final PoliticaPlazos politicaPlazos;
+    private final RespuestaError respuestaError;
+    
+    public PlazoSolicitudFilter(PoliticaPlazos politicaPlazos, RespuestaError respuestaError) {
+        this.politicaPlazos = politicaPlazos;
+        this.respuestaError = respuestaError;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Long plazoMs;
+        try {
+            plazoMs = politicaPlazos.plazoMs(request);
+        } catch (IllegalArgumentException ex) {
+            respuestaError.escribir(request, response, HttpServletResponse.SC_BAD_REQUEST, "Datos inválidos", ex.getMessage());
+            return;
+        }
+        if (plazoMs == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (plazoMs <= 0) {
+            respuestaError.escribir(request, response, HttpServletResponse.SC_GATEWAY_TIMEOUT, "Plazo vencido",
+                "La solicitud llegó con el plazo vencido");
+            return;
+        }
+        
+        PlazoSolicitud.establecer(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(plazoMs));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PlazoSolicitud.limpiar();
+        }
+    }
+}
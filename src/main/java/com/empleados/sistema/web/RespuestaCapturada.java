@@ -0,0 +1,114 @@
+package com.empleados.sistema.web;
+
+import com.empleados.sistema.cache.RespuestaCacheable;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+// Copia el cuerpo mientras se escribe al cliente, solo si el handler es @RespuestaCacheable
+// y sin superar el límite; el resto de las respuestas pasan sin copia
+class RespuestaCapturada extends HttpServletResponseWrapper {
+    
+    private final HttpServletRequest request;
+    private final int limite;
+    private ServletOutputStream salida;
+    private RespuestaCacheable anotacion;
+    private ByteArrayOutputStream copia;
+    
+    RespuestaCapturada(HttpServletRequest request, HttpServletResponse response, int limite) {
+        super(response);
+        this.request = request;
+        this.limite = limite;
+    }
+    
+    static RespuestaCacheable anotacionDe(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler instanceof HandlerMethod metodo ? metodo.getMethodAnnotation(RespuestaCacheable.class) : null;
+    }
+    
+    RespuestaCacheable getAnotacion() {
+        return anotacion;
+    }
+    
+    // Cuerpo completo capturado o null si no se capturó
+    byte[] getCuerpo() {
+        return copia != null ? copia.toByteArray() : null;
+    }
+    
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (salida == null) {
+            ServletOutputStream real = super.getOutputStream();
+            // Al escribir el cuerpo el handler ya está resuelto
+            anotacion = anotacionDe(request);
+            if (anotacion != null && getStatus() == SC_OK) {
+                copia = new ByteArrayOutputStream(Math.min(limite, 8192));
+            }
+            salida = new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    real.write(b);
+                    if (copia != null) {
+                        if (copia.size() + 1 > limite) {
+                            copia = null;
+                        } else {
+                            copia.write(b);
+                        }
+                    }
+                }
+                
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    real.write(b, off, len);
+                    if (copia != null) {
+                        if (copia.size() + len > limite) {
+                            copia = null;
+                        } else {
+                            copia.write(b, off, len);
+                        }
+                    }
+                }
+                
+                @Override
+                public void flush() throws IOException {
+                    real.flush();
+                }
+                
+                @Override
+                public void close() throws IOException {
+                    real.close();
+                }
+                
+                @Override
+                public boolean isReady() {
+                    return real.isReady();
+                }
+                
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                    real.setWriteListener(listener);
+                }
+            };
+        }
+        return salida;
+    }
+    
+    @Override
+    public void reset() {
+        super.reset();
+        copia = null;
+    }
+    
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        copia = null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.empleados.sistema.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+// Cuerpo de error para las respuestas que los filtros cortan antes de llegar a un controlador. Tiene los mismos
+// campos que GlobalExceptionHandler.createErrorResponse y se serializa con el ObjectMapper de la aplicación
+public final class RespuestaError {
+    
+    private final ObjectMapper objectMapper;
+    
+    public RespuestaError(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    
+    public void escribir(HttpServletRequest request, HttpServletResponse response, int status,
+                         String error, String mensaje) throws IOException {
+        Map<String, Object> cuerpo = new HashMap<>();
+        cuerpo.put("timestamp", LocalDateTime.now());
+        cuerpo.put("status", status);
+        cuerpo.put("error", error);
+        cuerpo.put("message", mensaje);
+        cuerpo.put("path", request.getRequestURI());
+        byte[] bytes = objectMapper.writeValueAsBytes(cuerpo);
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+}
@@ -0,0 +1,84 @@
+package com.empleados.sistema.analytics;
+
+import com.empleados.sistema.model.Empleado;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Rango de salario sobre entidades en el heap (lo que devuelve findBySalarioBetween) frente al almacén columnar.
+// Ejecutar con: mvn test-compile exec:java -Dexec.classpathScope=test
+//   -Dexec.mainClass=com.empleados.sistema.analytics.ColumnasEmpleadosBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnasEmpleadosBenchmark {
+
+    @Param({"100000"})
+    private int empleados;
+
+    private List<Empleado> entidades;
+    private ColumnasEmpleados columnas;
+    private final BigDecimal minimo = new BigDecimal("40000.00");
+    private final BigDecimal maximo = new BigDecimal("60000.00");
+
+    @Setup
+    public void preparar() {
+        Random aleatorio = new Random(42);
+        entidades = new ArrayList<>(empleados);
+        long[] ids = new long[empleados];
+        long[] departamentos = new long[empleados];
+        long[] salarios = new long[empleados];
+        int[] dias = new int[empleados];
+        for (int i = 0; i < empleados; i++) {
+            BigDecimal salario = BigDecimal.valueOf(20_000_00L + aleatorio.nextInt(80_000_00), 2);
+            LocalDate fecha = LocalDate.of(2010, 1, 1).plusDays(aleatorio.nextInt(5000));
+            Empleado empleado = new Empleado("N" + i, "A" + i, "e" + i + "@empresa.com", fecha, salario);
+            empleado.setId((long) i + 1);
+            entidades.add(empleado);
+            ids[i] = i + 1;
+            departamentos[i] = 1 + i % 50;
+            salarios[i] = AlmacenAnalitico.aCentavos(salario);
+            dias[i] = AlmacenAnalitico.aDia(fecha);
+        }
+        columnas = ColumnasEmpleados.construir(empleados, ids, departamentos, salarios, dias);
+    }
+
+    @Benchmark
+    public BigDecimal promedioRangoEntidades() {
+        BigDecimal suma = BigDecimal.ZERO;
+        long cantidad = 0;
+        for (Empleado empleado : entidades) {
+            if (empleado.getSalario().compareTo(minimo) >= 0 && empleado.getSalario().compareTo(maximo) <= 0) {
+                suma = suma.add(empleado.getSalario());
+                cantidad++;
+            }
+        }
+        return cantidad == 0 ? BigDecimal.ZERO : suma.divide(BigDecimal.valueOf(cantidad), 2, RoundingMode.HALF_EVEN);
+    }
+
+    @Benchmark
+    public long sumaRangoColumnas() {
+        return columnas.sumarPorSalario(4_000_000L, 6_000_000L) + columnas.contarPorSalario(4_000_000L, 6_000_000L);
+    }
+
+    @Benchmark
+    public long sumaDepartamentoColumnas() {
+        return columnas.sumarPorDepartamento(7);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ColumnasEmpleadosBenchmark.class.getSimpleName()).build()).run();
+    }
+}
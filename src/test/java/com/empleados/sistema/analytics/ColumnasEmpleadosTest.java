@@ -0,0 +1,57 @@
+package com.empleados.sistema.analytics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColumnasEmpleadosTest {
+
+    private ColumnasEmpleados columnas;
+
+    @BeforeEach
+    void setUp() {
+        long[] ids = {1, 2, 3, 4, 5};
+        long[] departamentos = {10, 10, 20, ColumnasEmpleados.SIN_DEPARTAMENTO, 20};
+        long[] salarios = {500_00, 100_00, 300_00, 300_00, 200_00};
+        int[] dias = {
+            AlmacenAnalitico.aDia(LocalDate.of(2020, 1, 1)),
+            AlmacenAnalitico.aDia(LocalDate.of(2021, 6, 1)),
+            AlmacenAnalitico.aDia(LocalDate.of(2022, 3, 15)),
+            AlmacenAnalitico.aDia(LocalDate.of(2021, 6, 1)),
+            AlmacenAnalitico.aDia(LocalDate.of(2023, 9, 30))
+        };
+        columnas = ColumnasEmpleados.construir(5, ids, departamentos, salarios, dias);
+    }
+
+    @Test
+    void debeContarYSumarPorRangoDeSalarioConLimitesInclusivos() {
+        // Act & Assert
+        assertEquals(3, columnas.contarPorSalario(200_00, 300_00));
+        assertEquals(800_00, columnas.sumarPorSalario(200_00, 300_00));
+        assertEquals(0, columnas.contarPorSalario(600_00, 700_00));
+        assertArrayEquals(new long[]{5, 3}, columnas.idsPorSalario(200_00, 300_00, 2));
+    }
+
+    @Test
+    void debeResolverRangosDeFechaDeContratacion() {
+        // Arrange
+        int desde = AlmacenAnalitico.aDia(LocalDate.of(2021, 6, 1));
+        int hasta = AlmacenAnalitico.aDia(LocalDate.of(2022, 12, 31));
+
+        // Act & Assert
+        assertEquals(3, columnas.contarPorContratacion(desde, hasta));
+        assertEquals(700_00, columnas.sumarPorContratacion(desde, hasta));
+    }
+
+    @Test
+    void debeAgregarPorDepartamento() {
+        // Act & Assert
+        assertEquals(2, columnas.contarPorDepartamento(20));
+        assertEquals(500_00, columnas.sumarPorDepartamento(20));
+        assertEquals(new BigDecimal("500.00"), AlmacenAnalitico.deCentavos(columnas.sumarPorDepartamento(20)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.empleados.sistema.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheRespuestasTest {
+
+    private static CacheRespuestas.Entrada entrada(int bytes, String... etiquetas) {
+        return new CacheRespuestas.Entrada(new byte[bytes], "application/json", null, Set.of(etiquetas), 0);
+    }
+
+    @Test
+    void debeInvalidarSoloLasEntradasDeLaEtiqueta() {
+        // Arrange
+        CacheRespuestas cache = new CacheRespuestas(10_000, 1_000);
+        cache.guardar("/api/departamentos", entrada(100, "departamentos"), cache.generaciones());
+        cache.guardar("/api/proyectos/activos", entrada(100, "proyectos"), cache.generaciones());
+
+        // Act
+        cache.invalidar(List.of("departamentos"));
+
+        // Assert
+        assertNull(cache.obtener("/api/departamentos"));
+        assertNotNull(cache.obtener("/api/proyectos/activos"));
+    }
+
+    @Test
+    void debeDescartarLecturaIniciadaAntesDeUnaInvalidacion() {
+        // Arrange
+        CacheRespuestas cache = new CacheRespuestas(10_000, 1_000);
+        Map<String, Long> generaciones = cache.generaciones();
+
+        // Act
+        cache.invalidar(List.of("departamentos"));
+        cache.guardar("/api/departamentos", entrada(100, "departamentos"), generaciones);
+
+        // Assert
+        assertNull(cache.obtener("/api/departamentos"));
+    }
+
+    @Test
+    void debeDesalojarLaMenosUsadaAlSuperarElPresupuesto() {
+        // Arrange
+        CacheRespuestas cache = new CacheRespuestas(300, 1_000);
+        cache.guardar("a", entrada(100, "empleados"), cache.generaciones());
+        cache.guardar("b", entrada(100, "empleados"), cache.generaciones());
+        cache.guardar("c", entrada(100, "empleados"), cache.generaciones());
+        cache.obtener("a");
+
+        // Act
+        cache.guardar("d", entrada(100, "empleados"), cache.generaciones());
+
+        // Assert
+        assertNotNull(cache.obtener("a"));
+        assertNull(cache.obtener("b"));
+        assertNotNull(cache.obtener("d"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.empleados.sistema.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoalescedorLlamadasTest {
+
+    public static class ServicioLento {
+        final AtomicInteger ejecuciones = new AtomicInteger();
+        final CountDownLatch liberar = new CountDownLatch(1);
+
+        @LlamadaCoalescida
+        public Long contar(Long id) throws InterruptedException {
+            ejecuciones.incrementAndGet();
+            liberar.await(5, TimeUnit.SECONDS);
+            return id * 10;
+        }
+    }
+
+    @Test
+    void debeCompartirUnaEjecucionEntreLlamadasConcurrentes() throws Exception {
+        // Arrange
+        ServicioLento servicio = new ServicioLento();
+        CoalescedorLlamadas coalescedor = new CoalescedorLlamadas(100);
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(servicio);
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(coalescedor);
+        ServicioLento proxy = fabrica.getProxy();
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<Long>> resultados = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            resultados.add(hilos.submit(() -> proxy.contar(7L)));
+        }
+        Thread.sleep(200);
+        servicio.liberar.countDown();
+
+        // Assert
+        for (Future<Long> resultado : resultados) {
+            assertEquals(70L, resultado.get(5, TimeUnit.SECONDS));
+        }
+        hilos.shutdown();
+        assertEquals(1, servicio.ejecuciones.get());
+        Map<?, ?> metodo = (Map<?, ?>) ((Map<?, ?>) coalescedor.obtenerEstadisticas().get("metodos")).get("ServicioLento.contar");
+        assertEquals(7L, metodo.get("consultasEvitadas"));
+    }
+}
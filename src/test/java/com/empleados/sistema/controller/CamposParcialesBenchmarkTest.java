@@ -0,0 +1,103 @@
+package com.empleados.sistema.controller;
+
+import com.empleados.sistema.model.Departamento;
+import com.empleados.sistema.model.Empleado;
+import com.empleados.sistema.model.Proyecto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tamaño y tiempo de serialización de GET /api/empleados completo frente a ?fields=id,nombre,apellido,email,
+// con y sin gzip. Solo corre con -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class CamposParcialesBenchmarkTest {
+
+    private static final int EMPLEADOS = 10_000;
+    private static final int ITERACIONES = 20;
+
+    // Mismas opciones que el ObjectMapper de Spring Boot para fechas
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void debeReducirElTamanoDeLaRespuesta() throws Exception {
+        // Arrange
+        Departamento departamento = new Departamento("Tecnología", "Desarrollo y operaciones");
+        departamento.setId(1L);
+        List<Proyecto> proyectos = new ArrayList<>();
+        for (long p = 1; p <= 3; p++) {
+            Proyecto proyecto = new Proyecto("Proyecto " + p, "Descripción del proyecto " + p,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2025, 12, 31));
+            proyecto.setId(p);
+            proyectos.add(proyecto);
+        }
+        List<Empleado> completos = new ArrayList<>();
+        List<Map<String, Object>> parciales = new ArrayList<>();
+        for (int i = 0; i < EMPLEADOS; i++) {
+            Empleado empleado = new Empleado("Nombre" + i, "Apellido" + i, "empleado" + i + "@empresa.com",
+                LocalDate.of(2020, 1, 1).plusDays(i % 1000), BigDecimal.valueOf(50_000 + i % 5_000, 2));
+            empleado.setId((long) i + 1);
+            empleado.setVersion(3L);
+            empleado.setCreadoEn(Instant.parse("2024-01-01T10:00:00Z"));
+            empleado.setModificadoEn(Instant.parse("2024-06-01T10:00:00Z"));
+            empleado.setDepartamento(departamento);
+            empleado.getProyectos().add(proyectos.get(i % 3));
+            completos.add(empleado);
+            Map<String, Object> fila = new LinkedHashMap<>();
+            fila.put("id", empleado.getId());
+            fila.put("nombre", empleado.getNombre());
+            fila.put("apellido", empleado.getApellido());
+            fila.put("email", empleado.getEmail());
+            parciales.add(fila);
+        }
+
+        // Act
+        byte[] completo = objectMapper.writeValueAsBytes(completos);
+        byte[] parcial = objectMapper.writeValueAsBytes(parciales);
+        long nanosCompleto = medir(completos);
+        long nanosParcial = medir(parciales);
+
+        // Assert
+        System.out.printf("Completo: %d bytes (gzip %d), %.1f ms; ?fields: %d bytes (gzip %d), %.1f ms%n",
+            completo.length, gzip(completo), nanosCompleto / 1e6, parcial.length, gzip(parcial), nanosParcial / 1e6);
+        assertTrue(parcial.length < completo.length);
+        assertTrue(gzip(completo) < completo.length);
+    }
+
+    // Mediana de varias serializaciones, después de calentar
+    private long medir(Object valor) throws IOException {
+        long[] tiempos = new long[ITERACIONES];
+        for (int i = 0; i < ITERACIONES * 2; i++) {
+            long inicio = System.nanoTime();
+            objectMapper.writeValueAsBytes(valor);
+            if (i >= ITERACIONES) {
+                tiempos[i - ITERACIONES] = System.nanoTime() - inicio;
+            }
+        }
+        Arrays.sort(tiempos);
+        return tiempos[ITERACIONES / 2];
+    }
+
+    private static int gzip(byte[] datos) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(datos);
+        }
+        return salida.size();
+    }
+}
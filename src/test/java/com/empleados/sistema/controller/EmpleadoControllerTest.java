@@ -15,7 +15,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -73,6 +75,29 @@ public class EmpleadoControllerTest {
         verify(empleadoService, times(1)).obtenerTodos();
     }
 
+    @Test
+    void debeObtenerEmpleadosConCamposParciales() throws Exception {
+        // Arrange
+        Map<String, Object> fila = new LinkedHashMap<>();
+        fila.put("id", 1L);
+        fila.put("nombre", "Juan");
+        fila.put("apellido", "Pérez");
+        fila.put("email", "juan.perez@empresa.com");
+        List<String> campos = Arrays.asList("id", "nombre", "apellido", "email");
+        when(empleadoService.obtenerTodosConCampos(campos)).thenReturn(List.of(fila));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/empleados").param("fields", "id,nombre,apellido,email"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].email", is("juan.perez@empresa.com")))
+            .andExpect(jsonPath("$[0].salario").doesNotExist())
+            .andExpect(jsonPath("$[0].departamento").doesNotExist());
+
+        verify(empleadoService, times(1)).obtenerTodosConCampos(campos);
+        verify(empleadoService, never()).obtenerTodos();
+    }
+
     @Test
     void debeObtenerEmpleadoPorId() throws Exception {
         // Arrange
@@ -90,6 +115,21 @@ public class EmpleadoControllerTest {
         verify(empleadoService, times(1)).buscarPorId(1L);
     }
 
+    @Test
+    void debeResponderNoModificadoCuandoEtagCoincide() throws Exception {
+        // Arrange
+        when(empleadoService.calcularEtag(1L)).thenReturn("empleado-1-3-0-0-0-0-0");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/empleados/1")
+                .header("If-None-Match", "\"empleado-1-3-0-0-0-0-0\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", "\"empleado-1-3-0-0-0-0-0\""))
+            .andExpect(content().string(""));
+
+        verify(empleadoService, never()).buscarPorId(anyLong());
+    }
+
     @Test
     void debeLanzarExcepcionCuandoEmpleadoNoExiste() throws Exception {
         // Arrange
@@ -0,0 +1,67 @@
+package com.empleados.sistema.event;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CursorSeguroTest {
+
+    private static final long MARGEN = 1_000;
+
+    @Test
+    void debeAvanzarConIdsConsecutivos() {
+        // Arrange
+        CursorSeguro cursor = new CursorSeguro(5, MARGEN);
+
+        // Act
+        cursor.registrar(6, 0);
+        cursor.registrar(7, 0);
+
+        // Assert
+        assertEquals(7, cursor.valor(0));
+        assertEquals(0, cursor.getHuecosAbiertos());
+    }
+
+    @Test
+    void debeRetenerElCursorMientrasFaltaUnIdMenor() {
+        // Arrange: el 11 se confirma antes que el 10
+        CursorSeguro cursor = new CursorSeguro(9, MARGEN);
+
+        // Act
+        cursor.registrar(11, 0);
+        long antes = cursor.valor(10);
+        cursor.registrar(10, 20);
+        long despues = cursor.valor(30);
+
+        // Assert
+        assertEquals(9, antes);
+        assertEquals(11, despues);
+    }
+
+    @Test
+    void debeDarPorRevertidoUnHuecoPasadoElMargen() {
+        // Arrange
+        CursorSeguro cursor = new CursorSeguro(0, MARGEN);
+        cursor.registrar(3, 0);
+        cursor.registrar(5, 500);
+
+        // Act & Assert: 1 y 2 vencen en 1000; 4 recién en 1500
+        assertEquals(0, cursor.valor(999));
+        assertEquals(3, cursor.valor(1_000));
+        assertEquals(5, cursor.valor(1_500));
+        assertEquals(0, cursor.getHuecosAbiertos());
+    }
+
+    @Test
+    void noDebeDesglosarSaltosDemasiadoGrandes() {
+        // Arrange
+        CursorSeguro cursor = new CursorSeguro(0, MARGEN);
+
+        // Act
+        cursor.registrar(CursorSeguro.MAX_HUECOS_POR_SALTO + 2, 0);
+
+        // Assert
+        assertEquals(CursorSeguro.MAX_HUECOS_POR_SALTO + 2, cursor.valor(0));
+        assertEquals(0, cursor.getHuecosAbiertos());
+    }
+}
@@ -0,0 +1,149 @@
+package com.empleados.sistema.event;
+
+import com.empleados.sistema.model.EventoOutbox;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.EventoOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DespachadorEventosTest {
+
+    @Mock
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Mock
+    private ObjectProvider<SuscriptorCambios> suscriptores;
+
+    @Mock
+    private PublicadorEventos publicadorEventos;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private DespachadorEventos despachador;
+
+    @BeforeEach
+    void setUp() {
+        despachador = new DespachadorEventos(eventoOutboxRepository, suscriptores, publicadorEventos,
+            transactionTemplate, 100, 1, 3, 24, 60_000);
+    }
+
+    private static EventoOutbox evento(long id, long empleadoId) {
+        EventoOutbox evento = new EventoOutbox(TipoEntidad.EMPLEADO, empleadoId, TipoCambio.ACTUALIZADO, null);
+        evento.setId(id);
+        return evento;
+    }
+
+    @Test
+    void debeEntregarEnOrdenYAvanzarElCursor() {
+        // Arrange
+        List<EventoCambio> recibidos = new ArrayList<>();
+        SuscriptorCambios suscriptor = recibidos::addAll;
+        when(suscriptores.orderedStream()).thenAnswer(invocacion -> Stream.of(suscriptor));
+        when(eventoOutboxRepository.findMaxIdRegistradoAntesDe(any())).thenReturn(null);
+        when(eventoOutboxRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(evento(1, 10), evento(2, 10)));
+        when(eventoOutboxRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(Pageable.class)))
+            .thenReturn(List.of());
+
+        // Act
+        despachador.despachar();
+        despachador.despachar();
+
+        // Assert
+        assertEquals(List.of(1L, 2L), recibidos.stream().map(EventoCambio::id).toList());
+        verify(eventoOutboxRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(2L), any(Pageable.class));
+    }
+
+    @Test
+    void noDebeAvanzarElCursorCuandoFallaUnSuscriptor() {
+        // Arrange
+        SuscriptorCambios suscriptor = eventos -> {
+            throw new IllegalStateException("caído");
+        };
+        when(suscriptores.orderedStream()).thenAnswer(invocacion -> Stream.of(suscriptor));
+        when(eventoOutboxRepository.findMaxIdRegistradoAntesDe(any())).thenReturn(null);
+        when(eventoOutboxRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(evento(1, 10)));
+
+        // Act
+        despachador.despachar();
+        despachador.despachar();
+
+        // Assert
+        verify(eventoOutboxRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
+        verify(eventoOutboxRepository, never()).findByIdGreaterThanOrderByIdAsc(eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void alReintentarSoloDebeReentregarALosSuscriptoresQueFallaron() {
+        // Arrange
+        List<EventoCambio> recibidosPorElQueAcepta = new ArrayList<>();
+        SuscriptorCambios acepta = recibidosPorElQueAcepta::addAll;
+        AtomicInteger llamadas = new AtomicInteger();
+        SuscriptorCambios fallaUnaVez = eventos -> {
+            if (llamadas.incrementAndGet() == 1) {
+                throw new IllegalStateException("caído");
+            }
+        };
+        when(suscriptores.orderedStream()).thenAnswer(invocacion -> Stream.of(acepta, fallaUnaVez));
+        when(eventoOutboxRepository.findMaxIdRegistradoAntesDe(any())).thenReturn(null);
+        when(eventoOutboxRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(evento(1, 10)));
+        when(eventoOutboxRepository.findByIdGreaterThanOrderByIdAsc(eq(1L), any(Pageable.class)))
+            .thenReturn(List.of());
+
+        // Act
+        despachador.despachar();
+        despachador.despachar();
+        despachador.despachar();
+
+        // Assert
+        assertEquals(List.of(1L), recibidosPorElQueAcepta.stream().map(EventoCambio::id).toList());
+        assertEquals(2, llamadas.get());
+        verify(eventoOutboxRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void debeVolverABuscarLosHuecosYEntregarlosCuandoSeConfirman() {
+        // Arrange
+        List<EventoCambio> recibidos = new ArrayList<>();
+        SuscriptorCambios suscriptor = recibidos::addAll;
+        when(suscriptores.orderedStream()).thenAnswer(invocacion -> Stream.of(suscriptor));
+        when(eventoOutboxRepository.findMaxIdRegistradoAntesDe(any())).thenReturn(null);
+        when(eventoOutboxRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(evento(1, 10), evento(3, 10)));
+        when(eventoOutboxRepository.findByIdGreaterThanOrderByIdAsc(eq(3L), any(Pageable.class)))
+            .thenReturn(List.of());
+        when(eventoOutboxRepository.findByIdInOrderByIdAsc(List.of(2L)))
+            .thenReturn(List.of())
+            .thenReturn(List.of(evento(2, 11)));
+
+        // Act
+        despachador.despachar();
+        despachador.despachar();
+        despachador.despachar();
+        despachador.despachar();
+
+        // Assert
+        assertEquals(List.of(1L, 3L, 2L), recibidos.stream().map(EventoCambio::id).toList());
+        verify(eventoOutboxRepository, times(2)).findByIdInOrderByIdAsc(anyCollection());
+    }
+}
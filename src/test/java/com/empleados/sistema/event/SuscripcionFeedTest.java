@@ -0,0 +1,94 @@
+package com.empleados.sistema.event;
+
+import com.empleados.sistema.model.TipoEntidad;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class SuscripcionFeedTest {
+
+    private static final Executor DIRECTO = Runnable::run;
+
+    private static MarcoFeed marco(long id, TipoEntidad tipo) {
+        byte[] texto = ("id: " + id + "\n\n").getBytes(StandardCharsets.UTF_8);
+        return new MarcoFeed(id, tipo, texto, texto);
+    }
+
+    @Test
+    void noDebeRepetirLoEnviadoDuranteLaReproduccion() throws Exception {
+        // Arrange
+        ResponseBodyEmitter emitter = mock(ResponseBodyEmitter.class);
+        SuscripcionFeed suscripcion = new SuscripcionFeed(emitter, FormatoFeed.SSE, Set.of(), 100);
+        MarcoFeed repetido = marco(5, TipoEntidad.EMPLEADO);
+        MarcoFeed nuevo = marco(6, TipoEntidad.EMPLEADO);
+
+        // Act
+        suscripcion.encolar(repetido, DIRECTO);
+        suscripcion.encolar(nuevo, DIRECTO);
+        suscripcion.enviarDirecto(repetido);
+        suscripcion.pasarAEnVivo(DIRECTO);
+
+        // Assert
+        verify(emitter, times(1)).send(repetido.sse(), MediaType.APPLICATION_OCTET_STREAM);
+        verify(emitter, times(1)).send(nuevo.sse(), MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    @Test
+    void debeEntregarUnIdMenorConfirmadoDespuesDeLaReproduccion() throws Exception {
+        // Arrange: la reproducción desde 9 envió el 11; el 10 se confirmó tarde y llegó en vivo
+        ResponseBodyEmitter emitter = mock(ResponseBodyEmitter.class);
+        SuscripcionFeed suscripcion = new SuscripcionFeed(emitter, FormatoFeed.SSE, Set.of(), 100);
+        MarcoFeed tardio = marco(10, TipoEntidad.EMPLEADO);
+        MarcoFeed reproducido = marco(11, TipoEntidad.EMPLEADO);
+
+        // Act
+        suscripcion.reproducirDesde(9);
+        suscripcion.encolar(reproducido, DIRECTO);
+        suscripcion.enviarDirecto(reproducido);
+        suscripcion.encolar(tardio, DIRECTO);
+        suscripcion.pasarAEnVivo(DIRECTO);
+
+        // Assert
+        verify(emitter, times(1)).send(reproducido.sse(), MediaType.APPLICATION_OCTET_STREAM);
+        verify(emitter, times(1)).send(tardio.sse(), MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    @Test
+    void debeFiltrarPorTipoDeEntidad() throws Exception {
+        // Arrange
+        ResponseBodyEmitter emitter = mock(ResponseBodyEmitter.class);
+        SuscripcionFeed suscripcion = new SuscripcionFeed(emitter, FormatoFeed.NDJSON, Set.of(TipoEntidad.PROYECTO), 100);
+        suscripcion.pasarAEnVivo(DIRECTO);
+
+        // Act
+        suscripcion.encolar(marco(1, TipoEntidad.EMPLEADO), DIRECTO);
+        suscripcion.encolar(marco(2, TipoEntidad.PROYECTO), DIRECTO);
+
+        // Assert
+        verify(emitter, times(1)).send(any(), eq(MediaType.APPLICATION_OCTET_STREAM));
+    }
+
+    @Test
+    void debeDesconectarAlClienteQueNoConsume() {
+        // Arrange
+        ResponseBodyEmitter emitter = mock(ResponseBodyEmitter.class);
+        SuscripcionFeed suscripcion = new SuscripcionFeed(emitter, FormatoFeed.SSE, Set.of(), 2);
+
+        // Act
+        for (int i = 1; i <= 3; i++) {
+            suscripcion.encolar(marco(i, TipoEntidad.EMPLEADO), DIRECTO);
+        }
+
+        // Assert
+        assertTrue(suscripcion.isCerrada());
+        verify(emitter, times(1)).complete();
+    }
+}
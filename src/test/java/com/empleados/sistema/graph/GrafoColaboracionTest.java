@@ -0,0 +1,115 @@
+package com.empleados.sistema.graph;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GrafoColaboracionTest {
+
+    private static final long PLAZO = TimeUnit.SECONDS.toNanos(5);
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    // Cadena 1 -(10)- 2 -(20)- 3 -(30)- 4, más 5 aislado en el proyecto 40
+    private GrafoColaboracion grafo() {
+        long[] empleados = {1, 2, 2, 3, 3, 4, 5};
+        long[] proyectos = {10, 10, 20, 20, 30, 30, 40};
+        return GrafoColaboracion.construir(empleados, proyectos, empleados.length);
+    }
+
+    @Test
+    void debeDevolverEmpleadosPorDistancia() {
+        // Arrange
+        GrafoColaboracion grafo = grafo();
+
+        // Act
+        GrafoColaboracion.Alcance alcance = grafo.alcance(1, 2, 100, PLAZO, null, Integer.MAX_VALUE);
+
+        // Assert
+        assertArrayEquals(new long[]{2, 3}, alcance.empleadoIds());
+        assertArrayEquals(new int[]{1, 2}, alcance.distancias());
+        assertFalse(alcance.truncado());
+    }
+
+    @Test
+    void debeObtenerMismoResultadoAlExpandirEnParalelo() {
+        // Arrange: una estrella de 5000 empleados en el proyecto 1, cada uno con un proyecto propio y un compañero
+        int cantidad = 5000;
+        long[] empleados = new long[cantidad * 3];
+        long[] proyectos = new long[cantidad * 3];
+        int pares = 0;
+        for (int i = 0; i < cantidad; i++) {
+            empleados[pares] = i + 1;
+            proyectos[pares++] = 1;
+            empleados[pares] = i + 1;
+            proyectos[pares++] = 100 + i;
+            empleados[pares] = 100_000 + i;
+            proyectos[pares++] = 100 + i;
+        }
+        GrafoColaboracion grafo = GrafoColaboracion.construir(empleados, proyectos, pares);
+
+        // Act
+        GrafoColaboracion.Alcance secuencial = grafo.alcance(1, 3, Integer.MAX_VALUE, PLAZO, null, Integer.MAX_VALUE);
+        GrafoColaboracion.Alcance paralelo = grafo.alcance(1, 3, Integer.MAX_VALUE, PLAZO, pool, 1);
+
+        // Assert
+        assertEquals(cantidad * 2 - 1, secuencial.empleadoIds().length);
+        assertArrayEquals(secuencial.empleadoIds(), paralelo.empleadoIds());
+        assertArrayEquals(secuencial.distancias(), paralelo.distancias());
+    }
+
+    @Test
+    void debeTruncarAlLimite() {
+        // Arrange
+        GrafoColaboracion grafo = grafo();
+
+        // Act
+        GrafoColaboracion.Alcance alcance = grafo.alcance(1, 3, 2, PLAZO, null, Integer.MAX_VALUE);
+
+        // Assert
+        assertArrayEquals(new long[]{2, 3}, alcance.empleadoIds());
+        assertTrue(alcance.truncado());
+    }
+
+    @Test
+    void debeEncontrarCaminoMasCortoConProyectosCompartidos() {
+        // Arrange
+        GrafoColaboracion grafo = grafo();
+
+        // Act
+        GrafoColaboracion.Camino camino = grafo.caminoMasCorto(1, 4, 6, PLAZO, pool, 1);
+        GrafoColaboracion.Camino sinCamino = grafo.caminoMasCorto(1, 5, 6, PLAZO, null, Integer.MAX_VALUE);
+        GrafoColaboracion.Camino muyLargo = grafo.caminoMasCorto(1, 4, 2, PLAZO, null, Integer.MAX_VALUE);
+
+        // Assert
+        assertArrayEquals(new long[]{1, 2, 3, 4}, camino.empleadoIds());
+        assertArrayEquals(new long[]{10, 20, 30}, camino.proyectoIds());
+        assertNull(sinCamino);
+        assertNull(muyLargo);
+    }
+
+    @Test
+    void debeReemplazarAsignacionesDeEmpleadosCambiados() {
+        // Arrange
+        GrafoColaboracion grafo = grafo();
+
+        // Act: 4 pasa al proyecto 10 y se elimina el proyecto 20
+        GrafoColaboracion nuevo = grafo.conCambios(Map.of(4L, new long[]{10}), Set.of(20L));
+
+        // Assert
+        assertArrayEquals(new long[]{2, 4}, nuevo.alcance(1, 6, 100, PLAZO, null, Integer.MAX_VALUE).empleadoIds());
+        assertNull(nuevo.caminoMasCorto(1, 3, 6, PLAZO, null, Integer.MAX_VALUE));
+        assertNotNull(grafo.caminoMasCorto(1, 3, 6, PLAZO, null, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,95 @@
+package com.empleados.sistema.graph;
+
+import com.empleados.sistema.event.EventoCambio;
+import com.empleados.sistema.exception.IndiceNoDisponibleException;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IndiceColaboracionesTest {
+
+    private static final Duration PLAZO = Duration.ofSeconds(5);
+
+    @Mock
+    private EmpleadoRepository empleadoRepository;
+
+    private IndiceColaboraciones indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceColaboraciones(empleadoRepository, 2, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        indice.detener();
+    }
+
+    private static List<Object[]> filas(Object[]... filas) {
+        return List.of(filas);
+    }
+
+    private static EventoCambio cambioDeEmpleado(long id) {
+        return new EventoCambio(1L, TipoEntidad.EMPLEADO, id, TipoCambio.ACTUALIZADO, null, Instant.now());
+    }
+
+    @Test
+    void noDebeFallarElArranqueSiLaCargaFalla() {
+        // Arrange
+        when(empleadoRepository.findTodasLasAsignaciones())
+            .thenThrow(new DataAccessResourceFailureException("sin conexión"))
+            .thenReturn(filas(new Object[]{1L, 10L}, new Object[]{2L, 10L}));
+
+        // Act
+        indice.afterSingletonsInstantiated();
+        boolean listoTrasFallo = indice.isListo();
+        boolean contieneTrasFallo = indice.contieneEmpleado(1L);
+        indice.reintentarCarga();
+
+        // Assert
+        assertFalse(listoTrasFallo);
+        assertFalse(contieneTrasFallo);
+        assertTrue(indice.isListo());
+        assertArrayEquals(new long[]{2L}, indice.alcance(1L, 1, 10, PLAZO).empleadoIds());
+        assertEquals(1L, indice.obtenerEstadisticas().get("fallos"));
+    }
+
+    @Test
+    void debeDejarDeRecorrerSiFallaUnLoteYRecuperarseAlRecargar() {
+        // Arrange
+        when(empleadoRepository.findTodasLasAsignaciones())
+            .thenReturn(filas(new Object[]{1L, 10L}, new Object[]{2L, 10L}))
+            .thenReturn(filas(new Object[]{1L, 20L}, new Object[]{2L, 10L}, new Object[]{3L, 20L}));
+        when(empleadoRepository.findAsignacionesByEmpleadoIds(anyCollection()))
+            .thenThrow(new DataAccessResourceFailureException("sin conexión"));
+        indice.afterSingletonsInstantiated();
+
+        // Act
+        indice.alCambiar(List.of(cambioDeEmpleado(1L)));
+        boolean listoTrasFallo = indice.isListo();
+        assertThrows(IndiceNoDisponibleException.class, () -> indice.alcance(1L, 1, 10, PLAZO));
+        assertThrows(IndiceNoDisponibleException.class, () -> indice.caminoMasCorto(1L, 2L, 3, PLAZO));
+        indice.reintentarCarga();
+
+        // Assert
+        assertFalse(listoTrasFallo);
+        assertTrue(indice.isListo());
+        assertArrayEquals(new long[]{3L}, indice.alcance(1L, 1, 10, PLAZO).empleadoIds());
+    }
+}
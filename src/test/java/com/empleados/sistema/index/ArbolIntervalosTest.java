@@ -0,0 +1,94 @@
+package com.empleados.sistema.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArbolIntervalosTest {
+
+    private static long[] ordenados(long[] ids) {
+        long[] copia = ids.clone();
+        Arrays.sort(copia);
+        return copia;
+    }
+
+    @Test
+    void debeEncontrarLosIntervalosQueContienenUnDia() {
+        // Arrange
+        ArbolIntervalos arbol = ArbolIntervalos.construir(
+            new long[]{1, 2, 3, 4},
+            new int[]{0, 5, 10, ArbolIntervalos.SIN_INICIO},
+            new int[]{10, 7, ArbolIntervalos.SIN_FIN, 2});
+
+        // Act & Assert
+        assertArrayEquals(new long[]{1, 2}, ordenados(arbol.contienen(6)));
+        assertArrayEquals(new long[]{1, 3}, ordenados(arbol.contienen(10)));
+        assertArrayEquals(new long[]{3}, ordenados(arbol.contienen(100_000)));
+        assertArrayEquals(new long[]{1, 4}, ordenados(arbol.contienen(1)));
+    }
+
+    @Test
+    void debeEncontrarLosSolapamientosSinRepetidos() {
+        // Arrange
+        ArbolIntervalos arbol = ArbolIntervalos.construir(
+            new long[]{1, 2, 3},
+            new int[]{0, 5, 20},
+            new int[]{3, 8, 25});
+
+        // Act & Assert
+        assertArrayEquals(new long[]{1, 2}, ordenados(arbol.solapan(2, 6)));
+        assertArrayEquals(new long[]{}, ordenados(arbol.solapan(9, 19)));
+        assertArrayEquals(new long[]{1, 2, 3}, ordenados(arbol.solapan(-5, 30)));
+    }
+
+    @Test
+    void debeCoincidirConUnRecorridoCompleto() {
+        // Arrange
+        Random aleatorio = new Random(7);
+        int n = 2000;
+        long[] ids = new long[n];
+        int[] inicios = new int[n];
+        int[] fines = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i + 1;
+            inicios[i] = aleatorio.nextInt(5000);
+            fines[i] = aleatorio.nextInt(10) == 0 ? ArbolIntervalos.SIN_FIN : inicios[i] + aleatorio.nextInt(300);
+        }
+        ArbolIntervalos arbol = ArbolIntervalos.construir(ids, inicios, fines);
+
+        // Act & Assert
+        for (int consulta = 0; consulta < 200; consulta++) {
+            int desde = aleatorio.nextInt(5500);
+            int hasta = desde + aleatorio.nextInt(200);
+            long[] esperados = java.util.stream.IntStream.range(0, n)
+                .filter(i -> inicios[i] <= hasta && fines[i] >= desde)
+                .mapToLong(i -> ids[i])
+                .toArray();
+            assertArrayEquals(esperados, ordenados(arbol.solapan(desde, hasta)));
+        }
+        assertTrue(arbol.getProfundidad() <= 2 * (32 - Integer.numberOfLeadingZeros(n)));
+    }
+
+    @Test
+    void debeAplicarCambiosYEliminaciones() {
+        // Arrange
+        ArbolIntervalos arbol = ArbolIntervalos.construir(
+            new long[]{1, 2, 3},
+            new int[]{0, 5, 20},
+            new int[]{3, 8, 25});
+
+        // Act
+        ArbolIntervalos nuevo = arbol.conCambios(Map.of(2L, new int[]{30, 40}, 4L, new int[]{6, 6}), Set.of(3L));
+
+        // Assert
+        assertEquals(3, nuevo.getTamano());
+        assertArrayEquals(new long[]{4}, ordenados(nuevo.contienen(6)));
+        assertArrayEquals(new long[]{2}, ordenados(nuevo.solapan(21, 35)));
+        assertArrayEquals(new long[]{2}, ordenados(arbol.contienen(6)));
+    }
+}
@@ -0,0 +1,42 @@
+package com.empleados.sistema.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FiltroBloomTest {
+
+    @Test
+    void debeReconocerTodasLasClavesAgregadas() {
+        // Arrange
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.agregar("empleado" + i + "@empresa.com");
+        }
+
+        // Assert
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filtro.puedeContener("empleado" + i + "@empresa.com"));
+        }
+    }
+
+    @Test
+    void debeMantenerTasaDeFalsosPositivosAcotada() {
+        // Arrange
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.agregar("empleado" + i + "@empresa.com");
+        }
+
+        // Act
+        int falsosPositivos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.puedeContener("externo" + i + "@otra.com")) {
+                falsosPositivos++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsosPositivos < 100_000 * 0.02, "Falsos positivos: " + falsosPositivos);
+    }
+}
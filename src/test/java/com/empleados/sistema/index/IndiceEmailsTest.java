@@ -0,0 +1,86 @@
+package com.empleados.sistema.index;
+
+import com.empleados.sistema.repository.EmpleadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IndiceEmailsTest {
+
+    @Mock
+    private EmpleadoRepository empleadoRepository;
+
+    private IndiceEmails indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceEmails(empleadoRepository, 1000, 0.01);
+    }
+
+    @Test
+    void noDebeFallarElArranqueSiLaCargaFallaYDebeConsultarLaBaseHastaRecargar() {
+        // Arrange
+        when(empleadoRepository.findIdsYEmails())
+            .thenThrow(new DataAccessResourceFailureException("sin conexión"))
+            .thenReturn(List.<Object[]>of(new Object[]{1L, "juan@empresa.com"}));
+        when(empleadoRepository.findIdByEmail("juan@empresa.com")).thenReturn(Optional.of(1L));
+
+        // Act
+        indice.afterSingletonsInstantiated();
+        boolean listoTrasFallo = indice.isListo();
+        Long idDesdeLaBase = indice.buscarId("juan@empresa.com");
+        indice.reintentarCarga();
+
+        // Assert
+        assertFalse(listoTrasFallo);
+        assertEquals(1L, idDesdeLaBase);
+        assertTrue(indice.isListo());
+        assertEquals(1L, indice.buscarId("juan@empresa.com"));
+        verify(empleadoRepository, times(1)).findIdByEmail(anyString());
+        assertEquals(1L, indice.obtenerEstadisticas().get("fallos"));
+    }
+
+    @Test
+    void debeCompararLosEmailsConLaMismaReglaQueLaRestriccionUnica() {
+        // Arrange
+        when(empleadoRepository.findIdsYEmails()).thenReturn(List.<Object[]>of(new Object[]{1L, "Juan@empresa.com"}));
+        indice.afterSingletonsInstantiated();
+
+        // Act
+        indice.registrar(2L, "juan@empresa.com");
+
+        // Assert
+        assertEquals(1L, indice.buscarId("Juan@empresa.com"));
+        assertEquals(2L, indice.buscarId("juan@empresa.com"));
+    }
+
+    @Test
+    void debeDejarDeEstarListoSiUnCambioFallaYRecuperarseAlRecargar() {
+        // Arrange
+        when(empleadoRepository.findIdsYEmails())
+            .thenReturn(List.of())
+            .thenReturn(List.<Object[]>of(new Object[]{1L, "juan@empresa.com"}));
+        indice.afterSingletonsInstantiated();
+
+        // Act
+        indice.registrar(1L, null);
+        boolean listoTrasFallo = indice.isListo();
+        indice.reintentarCarga();
+
+        // Assert
+        assertFalse(listoTrasFallo);
+        assertTrue(indice.isListo());
+        assertEquals(1L, indice.buscarId("juan@empresa.com"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.empleados.sistema.index;
+
+import com.empleados.sistema.event.EventoCambio;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.ProyectoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IndiceIntervalosProyectosTest {
+
+    @Mock
+    private ProyectoRepository proyectoRepository;
+
+    private IndiceIntervalosProyectos indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceIntervalosProyectos(proyectoRepository);
+    }
+
+    private static List<Object[]> proyecto(long id, LocalDate inicio, LocalDate fin) {
+        return List.<Object[]>of(new Object[]{id, inicio, fin});
+    }
+
+    private static EventoCambio cambioDeProyecto(long id) {
+        return new EventoCambio(1L, TipoEntidad.PROYECTO, id, TipoCambio.ACTUALIZADO, null, Instant.now());
+    }
+
+    @Test
+    void noDebeFallarElArranqueSiLaCargaFalla() {
+        // Arrange
+        when(proyectoRepository.findIdsYFechas())
+            .thenThrow(new DataAccessResourceFailureException("sin conexión"))
+            .thenReturn(proyecto(1L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+
+        // Act
+        indice.afterSingletonsInstantiated();
+        boolean listoTrasFallo = indice.isListo();
+        indice.reintentarCarga();
+
+        // Assert
+        assertFalse(listoTrasFallo);
+        assertTrue(indice.isListo());
+        assertArrayEquals(new long[]{1L}, indice.enCursoEl(LocalDate.of(2024, 6, 1)));
+        assertEquals(1L, indice.obtenerEstadisticas().get("fallos"));
+    }
+
+    @Test
+    void debeVolverAJpqlSiFallaUnLoteYRecuperarseAlRecargar() {
+        // Arrange
+        when(proyectoRepository.findIdsYFechas())
+            .thenReturn(proyecto(1L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)))
+            .thenReturn(proyecto(1L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)));
+        when(proyectoRepository.findIdsYFechasByIds(anyCollection()))
+            .thenThrow(new DataAccessResourceFailureException("sin conexión"));
+        indice.afterSingletonsInstantiated();
+
+        // Act
+        indice.alCambiar(List.of(cambioDeProyecto(1L)));
+        boolean listoTrasFallo = indice.isListo();
+        indice.reintentarCarga();
+
+        // Assert
+        assertFalse(listoTrasFallo);
+        assertTrue(indice.isListo());
+        assertArrayEquals(new long[]{1L}, indice.enCursoEl(LocalDate.of(2025, 6, 1)));
+        assertArrayEquals(new long[0], indice.enCursoEl(LocalDate.of(2024, 6, 1)));
+    }
+
+    @Test
+    void noDebeRecargarSiYaEstaListo() {
+        // Arrange
+        when(proyectoRepository.findIdsYFechas()).thenReturn(List.of());
+        indice.afterSingletonsInstantiated();
+
+        // Act
+        indice.reintentarCarga();
+
+        // Assert
+        verify(proyectoRepository, times(1)).findIdsYFechas();
+    }
+}
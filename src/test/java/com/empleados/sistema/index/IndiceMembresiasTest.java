@@ -0,0 +1,118 @@
+package com.empleados.sistema.index;
+
+import com.empleados.sistema.event.EventoCambio;
+import com.empleados.sistema.exception.IndiceNoDisponibleException;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IndiceMembresiasTest {
+
+    @Mock
+    private EmpleadoRepository empleadoRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private IndiceMembresias indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceMembresias(empleadoRepository, transactionTemplate);
+    }
+
+    private static List<Object[]> filas(Object[]... filas) {
+        return List.of(filas);
+    }
+
+    private static EventoCambio cambioDeEmpleado(long id) {
+        return new EventoCambio(1L, TipoEntidad.EMPLEADO, id, TipoCambio.ACTUALIZADO, null, Instant.now());
+    }
+
+    private void ejecutarTransaccionesDirecto() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocacion ->
+            invocacion.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void noDebeFallarElArranqueSiLaCargaFalla() {
+        // Arrange
+        when(empleadoRepository.findIdsYDepartamentos())
+            .thenThrow(new DataAccessResourceFailureException("sin conexión"))
+            .thenReturn(filas(new Object[]{1L, 10L}));
+        when(empleadoRepository.findTodasLasAsignaciones()).thenReturn(filas());
+
+        // Act
+        indice.afterSingletonsInstantiated();
+        boolean listoTrasFallo = indice.isListo();
+        indice.reintentarCarga();
+
+        // Assert
+        assertFalse(listoTrasFallo);
+        assertTrue(indice.isListo());
+        assertEquals(1, indice.consultar("departamento:10", 10).cantidad());
+        assertEquals(1L, indice.obtenerEstadisticas().get("fallos"));
+    }
+
+    @Test
+    void debeMoverSoloLasMembresiasDelEmpleadoCambiado() {
+        // Arrange
+        when(empleadoRepository.findIdsYDepartamentos())
+            .thenReturn(filas(new Object[]{1L, 10L}, new Object[]{2L, 10L}));
+        when(empleadoRepository.findTodasLasAsignaciones())
+            .thenReturn(filas(new Object[]{1L, 100L}, new Object[]{2L, 100L}));
+        when(empleadoRepository.findIdsYDepartamentosByIds(anyCollection())).thenReturn(filas(new Object[]{1L, 20L}));
+        when(empleadoRepository.findAsignacionesByEmpleadoIds(anyCollection())).thenReturn(filas(new Object[]{1L, 200L}));
+        ejecutarTransaccionesDirecto();
+        indice.afterSingletonsInstantiated();
+
+        // Act
+        indice.alCambiar(List.of(cambioDeEmpleado(1L)));
+
+        // Assert
+        assertArrayEquals(new long[]{2L}, indice.consultar("departamento:10", 10).ids());
+        assertArrayEquals(new long[]{2L}, indice.consultar("proyecto:100", 10).ids());
+        assertArrayEquals(new long[]{1L}, indice.consultar("departamento:20 AND proyecto:200", 10).ids());
+        assertArrayEquals(new long[]{200L}, indice.proyectosConEmpleadosDe(20L));
+    }
+
+    @Test
+    void debeDejarDeResponderSiFallaUnLoteYRecuperarseAlRecargar() {
+        // Arrange
+        when(empleadoRepository.findIdsYDepartamentos())
+            .thenReturn(filas(new Object[]{1L, 10L}))
+            .thenReturn(filas(new Object[]{1L, 20L}));
+        when(empleadoRepository.findTodasLasAsignaciones()).thenReturn(filas());
+        when(empleadoRepository.findIdsYDepartamentosByIds(anyCollection()))
+            .thenThrow(new DataAccessResourceFailureException("sin conexión"));
+        ejecutarTransaccionesDirecto();
+        indice.afterSingletonsInstantiated();
+
+        // Act
+        indice.alCambiar(List.of(cambioDeEmpleado(1L)));
+        boolean listoTrasFallo = indice.isListo();
+        assertThrows(IndiceNoDisponibleException.class, () -> indice.consultar("departamento:10", 10));
+        indice.reintentarCarga();
+
+        // Assert
+        assertFalse(listoTrasFallo);
+        assertTrue(indice.isListo());
+        assertArrayEquals(new long[]{1L}, indice.consultar("departamento:20", 10).ids());
+    }
+}
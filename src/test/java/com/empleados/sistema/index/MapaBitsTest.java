@@ -0,0 +1,137 @@
+package com.empleados.sistema.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MapaBitsTest {
+
+    @Test
+    void debeCoincidirConTreeSetEnOperacionesDeConjuntos() {
+        // Arrange: mezcla de contenedores dispersos y densos (más de 4096 valores por bloque)
+        Random random = new Random(42);
+        MapaBits a = new MapaBits();
+        MapaBits b = new MapaBits();
+        TreeSet<Long> esperadoA = new TreeSet<>();
+        TreeSet<Long> esperadoB = new TreeSet<>();
+        for (int i = 0; i < 30_000; i++) {
+            long valorA = random.nextInt(200_000);
+            long valorB = i % 2 == 0 ? random.nextInt(10_000) : random.nextInt(1_000_000);
+            a.agregar(valorA);
+            esperadoA.add(valorA);
+            b.agregar(valorB);
+            esperadoB.add(valorB);
+        }
+        for (int i = 0; i < 2_000; i++) {
+            long valor = random.nextInt(200_000);
+            a.quitar(valor);
+            esperadoA.remove(valor);
+        }
+
+        // Act
+        MapaBits interseccion = a.and(b);
+        MapaBits union = a.or(b);
+        MapaBits diferencia = a.andNot(b);
+
+        // Assert
+        TreeSet<Long> esperadoInterseccion = new TreeSet<>(esperadoA);
+        esperadoInterseccion.retainAll(esperadoB);
+        TreeSet<Long> esperadoUnion = new TreeSet<>(esperadoA);
+        esperadoUnion.addAll(esperadoB);
+        TreeSet<Long> esperadoDiferencia = new TreeSet<>(esperadoA);
+        esperadoDiferencia.removeAll(esperadoB);
+        assertArrayEquals(aArreglo(esperadoA), a.aArreglo(Integer.MAX_VALUE));
+        assertArrayEquals(aArreglo(esperadoInterseccion), interseccion.aArreglo(Integer.MAX_VALUE));
+        assertArrayEquals(aArreglo(esperadoUnion), union.aArreglo(Integer.MAX_VALUE));
+        assertArrayEquals(aArreglo(esperadoDiferencia), diferencia.aArreglo(Integer.MAX_VALUE));
+        assertEquals(esperadoUnion.size(), union.cardinalidad());
+        assertEquals(!esperadoInterseccion.isEmpty(), a.intersecta(b));
+    }
+
+    @Test
+    void debeConservarOperandosAlCombinar() {
+        // Arrange
+        MapaBits a = MapaBits.de(1, 2, 3);
+        MapaBits b = MapaBits.de(3, 4);
+
+        // Act
+        a.or(b);
+        a.andNot(b);
+
+        // Assert
+        assertArrayEquals(new long[]{1, 2, 3}, a.aArreglo(10));
+        assertArrayEquals(new long[]{3, 4}, b.aArreglo(10));
+    }
+
+    @Test
+    void debeRespetarLimiteAlListar() {
+        // Arrange
+        MapaBits mapa = MapaBits.de(5, 70_000, 1, 140_000);
+
+        // Act
+        long[] ids = mapa.aArreglo(3);
+
+        // Assert
+        assertArrayEquals(new long[]{1, 5, 70_000}, ids);
+    }
+
+    @Test
+    void debeRechazarValoresNegativos() {
+        // Arrange
+        MapaBits mapa = new MapaBits();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> mapa.agregar(-1));
+    }
+
+    @Test
+    void debeEvaluarExpresionConPrecedenciaYNegacion() {
+        // Arrange
+        Map<Long, MapaBits> proyectos = Map.of(
+            1L, MapaBits.de(1, 2, 3, 4),
+            2L, MapaBits.de(2, 3, 4, 5),
+            3L, MapaBits.de(3));
+        MapaBits todos = MapaBits.de(1, 2, 3, 4, 5, 6);
+
+        // Act
+        MapaBits resultado = ExpresionMembresia.evaluar("proyecto:1 AND p:2 AND NOT proyecto:3",
+            atomo -> resolver(atomo, proyectos, todos));
+        MapaBits conOr = ExpresionMembresia.evaluar("p:3 OR p:1 & !p:2",
+            atomo -> resolver(atomo, proyectos, todos));
+        MapaBits complemento = ExpresionMembresia.evaluar("NOT (p:1 OR p:2)",
+            atomo -> resolver(atomo, proyectos, todos));
+
+        // Assert
+        assertArrayEquals(new long[]{2, 4}, resultado.aArreglo(10));
+        assertArrayEquals(new long[]{1, 3}, conOr.aArreglo(10));
+        assertArrayEquals(new long[]{6}, complemento.aArreglo(10));
+    }
+
+    @Test
+    void debeRechazarExpresionesMalFormadas() {
+        // Arrange
+        MapaBits todos = MapaBits.de(1);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> ExpresionMembresia.evaluar("(p:1", atomo -> todos));
+        assertThrows(IllegalArgumentException.class, () -> ExpresionMembresia.evaluar("p:1 AND", atomo -> todos));
+        assertThrows(IllegalArgumentException.class, () -> ExpresionMembresia.evaluar("empleado:3", atomo -> todos));
+        assertThrows(IllegalArgumentException.class, () -> ExpresionMembresia.evaluar("p:x", atomo -> todos));
+    }
+
+    private static MapaBits resolver(ExpresionMembresia.Atomo atomo, Map<Long, MapaBits> proyectos, MapaBits todos) {
+        return switch (atomo.tipo()) {
+            case PROYECTO -> proyectos.getOrDefault(atomo.id(), new MapaBits());
+            case DEPARTAMENTO -> new MapaBits();
+            case TODOS -> todos;
+        };
+    }
+
+    private static long[] aArreglo(TreeSet<Long> valores) {
+        return valores.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,52 @@
+package com.empleados.sistema.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HistogramaLatenciaTest {
+
+    @Test
+    void debeMantenerCubetasContiguas() {
+        // Assert
+        for (int i = 0; i < HistogramaLatencia.CANTIDAD_CUBETAS - 1; i++) {
+            assertEquals(HistogramaLatencia.valorSuperior(i) + 1, HistogramaLatencia.valorInferior(i + 1));
+            assertEquals(i, HistogramaLatencia.indice(HistogramaLatencia.valorInferior(i)));
+        }
+    }
+
+    @Test
+    void debeCalcularPercentilesConErrorAcotado() {
+        // Arrange
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (long valor = 1; valor <= 10_000; valor++) {
+            histograma.registrar(valor * 100);
+        }
+        long[] cubetas = HistogramaLatencia.nuevasCubetas();
+        histograma.sumarEn(cubetas);
+
+        // Act
+        long p50 = HistogramaLatencia.percentil(cubetas, histograma.getTotal(), 50.0);
+        long p99 = HistogramaLatencia.percentil(cubetas, histograma.getTotal(), 99.0);
+
+        // Assert
+        assertEquals(10_000, histograma.getTotal());
+        assertEquals(1_000_000, histograma.getMaximo());
+        assertEquals(500_000, p50, 500_000 * 0.02);
+        assertEquals(990_000, p99, 990_000 * 0.02);
+    }
+
+    @Test
+    void debeReiniciarContadores() {
+        // Arrange
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        histograma.registrar(1234);
+
+        // Act
+        histograma.reiniciar();
+
+        // Assert
+        assertEquals(0, histograma.getTotal());
+        assertEquals(0, histograma.getMaximo());
+    }
+}
@@ -0,0 +1,80 @@
+package com.empleados.sistema.overload;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LimiteAdaptativoTest {
+
+    private static final long OBJETIVO = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void debeRechazarAlAlcanzarElLimite() {
+        // Arrange
+        LimiteAdaptativo limite = new LimiteAdaptativo(2, 1, 10, OBJETIVO, 0.5);
+
+        // Act
+        boolean primera = limite.intentarAdquirir();
+        boolean segunda = limite.intentarAdquirir();
+        boolean tercera = limite.intentarAdquirir();
+
+        // Assert
+        assertTrue(primera);
+        assertTrue(segunda);
+        assertFalse(tercera);
+        assertEquals(1L, limite.obtenerEstadisticas().get("rechazadas"));
+    }
+
+    @Test
+    void debeCrecerMientrasLasRespuestasLleganATiempo() {
+        // Arrange
+        LimiteAdaptativo limite = new LimiteAdaptativo(4, 1, 8, OBJETIVO, 0.5);
+
+        // Act: ventanas completas con el límite ocupado y respuestas rápidas
+        for (int ventana = 0; ventana < 50; ventana++) {
+            int ocupadas = 0;
+            while (limite.intentarAdquirir()) {
+                ocupadas++;
+            }
+            for (int i = 0; i < ocupadas; i++) {
+                limite.liberar(TimeUnit.MILLISECONDS.toNanos(5), false);
+            }
+        }
+
+        // Assert
+        assertEquals(8, limite.getLimite());
+    }
+
+    @Test
+    void debeReducirseAnteSobrecargaUnaVezPorVentana() {
+        // Arrange
+        LimiteAdaptativo limite = new LimiteAdaptativo(8, 1, 8, OBJETIVO, 0.5);
+        limite.intentarAdquirir();
+        limite.intentarAdquirir();
+
+        // Act: dos respuestas lentas seguidas cuentan como una sola señal
+        limite.liberar(OBJETIVO * 2, false);
+        limite.liberar(0, true);
+
+        // Assert
+        assertEquals(4, limite.getLimite());
+        assertEquals(1L, limite.obtenerEstadisticas().get("reducciones"));
+    }
+
+    @Test
+    void noDebeBajarDelMinimo() {
+        // Arrange
+        LimiteAdaptativo limite = new LimiteAdaptativo(2, 2, 8, 0, 0.1);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            limite.intentarAdquirir();
+            limite.liberar(1, true);
+        }
+
+        // Assert
+        assertEquals(2, limite.getLimite());
+    }
+}
@@ -0,0 +1,66 @@
+package com.empleados.sistema.overload;
+
+import com.empleados.sistema.exception.PlazoVencidoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlazoSolicitudTest {
+
+    @AfterEach
+    void limpiar() {
+        PlazoSolicitud.limpiar();
+    }
+
+    @Test
+    void debeNoLimitarCuandoNoHayPlazo() {
+        // Act
+        long restante = PlazoSolicitud.restanteNanos();
+
+        // Assert
+        assertFalse(PlazoSolicitud.activo());
+        assertEquals(Long.MAX_VALUE, restante);
+        assertDoesNotThrow(PlazoSolicitud::verificar);
+    }
+
+    @Test
+    void debeLanzarExcepcionCuandoElPlazoVencio() {
+        // Arrange
+        PlazoSolicitud.establecer(System.nanoTime() - 1);
+
+        // Act & Assert
+        assertThrows(PlazoVencidoException.class, PlazoSolicitud::verificar);
+    }
+
+    @Test
+    void debeAcotarAlPlazoRestanteDeLaSolicitud() {
+        // Arrange
+        PlazoSolicitud.establecer(System.nanoTime() + TimeUnit.SECONDS.toNanos(1));
+
+        // Act
+        long acotado = PlazoSolicitud.acotarNanos(TimeUnit.SECONDS.toNanos(30));
+
+        // Assert
+        assertTrue(acotado > 0);
+        assertTrue(acotado <= TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1L, PlazoSolicitud.segundosRestantesRedondeados());
+    }
+
+    @Test
+    void debePropagarElPlazoAOtroHilo() {
+        // Arrange
+        PlazoSolicitud.establecer(System.nanoTime() + TimeUnit.SECONDS.toNanos(5));
+
+        // Act
+        boolean activoEnOtroHilo = CompletableFuture.supplyAsync(PlazoSolicitud.propagar(PlazoSolicitud::activo)).join();
+        boolean activoSinPropagar = CompletableFuture.supplyAsync(PlazoSolicitud::activo).join();
+
+        // Assert
+        assertTrue(activoEnOtroHilo);
+        assertFalse(activoSinPropagar);
+    }
+}
@@ -0,0 +1,73 @@
+package com.empleados.sistema.readmodel;
+
+import com.empleados.sistema.model.Empleado;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstantaneaOrganizacionTest {
+
+    private InstantaneaOrganizacion instantanea;
+
+    private static EmpleadoLectura empleado(long id, String salario, Long departamentoId, long... proyectoIds) {
+        return new EmpleadoLectura(id, "Nombre" + id, "Apellido" + id, "e" + id + "@empresa.com",
+            LocalDate.of(2020, 1, 1), new BigDecimal(salario), departamentoId, proyectoIds, 0L, null, null);
+    }
+
+    @BeforeEach
+    void setUp() {
+        instantanea = InstantaneaOrganizacion.construir(
+            List.of(new DepartamentoLectura(1L, "IT", null, 0L), new DepartamentoLectura(2L, "RRHH", null, 0L)),
+            List.of(new ProyectoLectura(10L, "Portal", null, null, null, 0L, null, null)),
+            List.of(empleado(3L, "300.00", 1L), empleado(1L, "100.00", 1L, 10L), empleado(2L, "250.00", 2L, 10L)),
+            5L, null);
+    }
+
+    @Test
+    void debeResponderConteosYPromediosDesdeLosIndices() {
+        // Act & Assert
+        assertEquals(2, instantanea.contarEmpleadosDeDepartamento(1L));
+        assertEquals(2, instantanea.contarEmpleadosDeProyecto(10L));
+        assertEquals(new BigDecimal("200.00"), instantanea.salarioPromedio(1L).orElseThrow());
+        assertTrue(instantanea.salarioPromedio(99L).isEmpty());
+        assertEquals(List.of(1L, 2L), instantanea.empleadosPorRangoSalario(new BigDecimal("100.00"), new BigDecimal("250.00"))
+            .stream().map(EmpleadoLectura::id).toList());
+    }
+
+    @Test
+    void debeAplicarCambiosSinModificarLaInstantaneaAnterior() {
+        // Arrange
+        Map<Long, EmpleadoLectura> empleados = new HashMap<>();
+        empleados.put(1L, null);
+        empleados.put(4L, empleado(4L, "400.00", 2L));
+
+        // Act
+        InstantaneaOrganizacion nueva = instantanea.conCambios(Map.of(), Map.of(), empleados, 6L, null);
+
+        // Assert
+        assertEquals(3, instantanea.getTotalEmpleados());
+        assertTrue(instantanea.empleado(1L).isPresent());
+        assertTrue(nueva.empleado(1L).isEmpty());
+        assertEquals(List.of(2L, 4L), nueva.empleadosDeDepartamento(2L).stream().map(EmpleadoLectura::id).toList());
+        assertEquals(1, nueva.contarEmpleadosDeProyecto(10L));
+        assertEquals(6L, nueva.getUltimoEventoId());
+    }
+
+    @Test
+    void debeMaterializarEntidadesConDepartamentoYProyectos() {
+        // Act
+        List<Empleado> entidades = instantanea.aEntidades(instantanea.empleadosDeProyecto(10L));
+
+        // Assert
+        assertEquals(2, entidades.size());
+        assertEquals("IT", entidades.get(0).getDepartamento().getNombre());
+        assertEquals(1, entidades.get(0).getProyectos().size());
+    }
+}
@@ -0,0 +1,92 @@
+package com.empleados.sistema.readmodel;
+
+import com.empleados.sistema.model.Departamento;
+import com.empleados.sistema.model.Empleado;
+import com.empleados.sistema.repository.DepartamentoRepository;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Comparación aproximada JPA vs modelo de lectura. Solo corre con -Dbenchmark=true
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ModeloLectura.class)
+@TestPropertySource(properties = "modelo-lectura.habilitado=true")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ModeloLecturaBenchmarkTest {
+
+    private static final int DEPARTAMENTOS = 20;
+    private static final int EMPLEADOS = 20_000;
+    private static final int ITERACIONES = 2_000;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private ModeloLectura modeloLectura;
+
+    @Test
+    void debeServirLasLecturasMasRapidoQueJpa() {
+        // Arrange
+        List<Departamento> departamentos = new ArrayList<>();
+        for (int i = 0; i < DEPARTAMENTOS; i++) {
+            departamentos.add(departamentoRepository.save(new Departamento("Depto " + i, null)));
+        }
+        List<Empleado> empleados = new ArrayList<>();
+        for (int i = 0; i < EMPLEADOS; i++) {
+            Empleado empleado = new Empleado("Nombre" + i, "Apellido" + i, "bench" + i + "@empresa.com",
+                LocalDate.of(2020, 1, 1), BigDecimal.valueOf(1000 + i % 5000));
+            empleado.setDepartamento(departamentos.get(i % DEPARTAMENTOS));
+            empleados.add(empleado);
+        }
+        empleadoRepository.saveAll(empleados);
+        entityManager.flush();
+        entityManager.clear();
+        modeloLectura.recargar();
+        InstantaneaOrganizacion instantanea = modeloLectura.instantaneaDisponible();
+
+        // Act
+        long inicioJpa = System.nanoTime();
+        long totalJpa = 0;
+        for (int i = 0; i < ITERACIONES; i++) {
+            Long departamentoId = departamentos.get(i % DEPARTAMENTOS).getId();
+            totalJpa += departamentoRepository.countEmpleadosByDepartamentoId(departamentoId);
+            departamentoRepository.findSalarioPromedioPorDepartamento(departamentoId);
+        }
+        long nanosJpa = System.nanoTime() - inicioJpa;
+
+        long inicioMemoria = System.nanoTime();
+        long totalMemoria = 0;
+        for (int i = 0; i < ITERACIONES; i++) {
+            Long departamentoId = departamentos.get(i % DEPARTAMENTOS).getId();
+            totalMemoria += instantanea.contarEmpleadosDeDepartamento(departamentoId);
+            instantanea.salarioPromedio(departamentoId);
+        }
+        long nanosMemoria = System.nanoTime() - inicioMemoria;
+
+        // Assert
+        System.out.printf("JPA: %.1f us/op, modelo de lectura: %.2f us/op, memoria estimada: %d bytes%n",
+            nanosJpa / 1000.0 / ITERACIONES, nanosMemoria / 1000.0 / ITERACIONES, instantanea.getBytesEstimados());
+        assertEquals(totalJpa, totalMemoria);
+        assertTrue(nanosMemoria < nanosJpa);
+    }
+}
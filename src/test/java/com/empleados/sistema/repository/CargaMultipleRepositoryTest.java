@@ -0,0 +1,61 @@
+package com.empleados.sistema.repository;
+
+import com.empleados.sistema.dto.ElementoPorId;
+import com.empleados.sistema.model.Departamento;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(CargaMultipleRepository.class)
+public class CargaMultipleRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CargaMultipleRepository cargaMultipleRepository;
+
+    private Departamento departamento(String nombre) {
+        Departamento departamento = new Departamento();
+        departamento.setNombre(nombre);
+        departamento.setDescripcion("Departamento " + nombre);
+        return entityManager.persistAndFlush(departamento);
+    }
+
+    @Test
+    void debeDevolverEnOrdenPedidoMarcandoFaltantes() {
+        // Arrange
+        Departamento it = departamento("IT");
+        Departamento ventas = departamento("Ventas");
+        entityManager.clear();
+        Long inexistente = ventas.getId() + 1000;
+
+        // Act
+        List<ElementoPorId<Departamento>> resultado = cargaMultipleRepository.buscarPorIds(Departamento.class,
+            List.of(ventas.getId(), inexistente, it.getId(), ventas.getId()));
+
+        // Assert
+        assertEquals(4, resultado.size());
+        assertEquals("Ventas", resultado.get(0).dato().getNombre());
+        assertFalse(resultado.get(1).encontrado());
+        assertEquals(inexistente, resultado.get(1).id());
+        assertEquals("IT", resultado.get(2).dato().getNombre());
+        assertSame(resultado.get(0).dato(), resultado.get(3).dato());
+    }
+
+    @Test
+    void debeRechazarListaVacia() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> cargaMultipleRepository.buscarPorIds(Departamento.class, List.of()));
+    }
+}
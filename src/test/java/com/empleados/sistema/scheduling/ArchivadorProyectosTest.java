@@ -0,0 +1,131 @@
+package com.empleados.sistema.scheduling;
+
+import com.empleados.sistema.cache.CacheRespuestas;
+import com.empleados.sistema.event.PublicadorEventos;
+import com.empleados.sistema.model.EstadoProyecto;
+import com.empleados.sistema.model.Proyecto;
+import com.empleados.sistema.model.ProyectoArchivado;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.repository.ProyectoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ArchivadorProyectosTest {
+
+    private static final LocalDate CORTE = LocalDate.of(2023, 1, 1);
+
+    @Mock
+    private ProyectoRepository proyectoRepository;
+
+    @Mock
+    private PublicadorEventos publicadorEventos;
+
+    @Mock
+    private CacheRespuestas cacheRespuestas;
+
+    @Mock
+    private BloqueoDistribuido bloqueoDistribuido;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ArchivadorProyectos archivadorProyectos;
+
+    @BeforeEach
+    void setUp() {
+        archivadorProyectos = new ArchivadorProyectos(proyectoRepository, publicadorEventos, cacheRespuestas,
+            bloqueoDistribuido, transactionManager, true, 365, 2, 10, 0);
+        ReflectionTestUtils.setField(archivadorProyectos, "entityManager", entityManager);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocacion -> new SimpleTransactionStatus());
+        lenient().when(bloqueoDistribuido.adquirir(eq(ArchivadorProyectos.TAREA), any())).thenReturn(true);
+    }
+
+    private static Proyecto proyecto(long id) {
+        Proyecto proyecto = new Proyecto("Proyecto " + id, null, LocalDate.of(2020, 1, 1), LocalDate.of(2021, 1, 1));
+        proyecto.setId(id);
+        proyecto.setVersion(3L);
+        return proyecto;
+    }
+
+    @Test
+    void debeCopiarProyectosYAsignacionesAntesDeBorrarlos() {
+        // Arrange
+        when(proyectoRepository.findIdsArchivables(eq(CORTE), eq(0L), any(Pageable.class))).thenReturn(List.of(5L));
+        when(proyectoRepository.findAsignacionesByProyectoIds(List.of(5L)))
+            .thenReturn(List.of(new Object[]{5L, 10L}, new Object[]{5L, 11L}));
+        when(proyectoRepository.findAllById(List.of(5L))).thenReturn(List.of(proyecto(5L)));
+
+        // Act
+        int archivados = archivadorProyectos.ejecutar(CORTE);
+
+        // Assert
+        assertEquals(1, archivados);
+        ArgumentCaptor<ProyectoArchivado> copia = ArgumentCaptor.forClass(ProyectoArchivado.class);
+        InOrder orden = inOrder(entityManager, proyectoRepository);
+        orden.verify(entityManager).persist(copia.capture());
+        orden.verify(entityManager).flush();
+        orden.verify(proyectoRepository).eliminarAsignaciones(List.of(5L));
+        orden.verify(proyectoRepository).eliminarPorIds(List.of(5L));
+        assertEquals(Set.of(10L, 11L), copia.getValue().getEmpleadoIds());
+        assertEquals(EstadoProyecto.ARCHIVADO, copia.getValue().aProyecto().getEstado());
+        verify(publicadorEventos).publicarTodos(argThat(eventos -> eventos.size() == 1
+            && eventos.get(0).getTipoCambio() == TipoCambio.ARCHIVADO));
+        assertEquals(2L, archivadorProyectos.obtenerEstadisticas().get("asignacionesArchivadas"));
+    }
+
+    @Test
+    void debeAcotarLosLotesPorEjecucion() {
+        // Arrange: siempre hay un lote completo pendiente
+        archivadorProyectos = new ArchivadorProyectos(proyectoRepository, publicadorEventos, cacheRespuestas,
+            bloqueoDistribuido, transactionManager, true, 365, 1, 3, 0);
+        ReflectionTestUtils.setField(archivadorProyectos, "entityManager", entityManager);
+        when(proyectoRepository.findIdsArchivables(eq(CORTE), anyLong(), any(Pageable.class)))
+            .thenAnswer(invocacion -> List.of((Long) invocacion.getArgument(1) + 1));
+        when(proyectoRepository.findAsignacionesByProyectoIds(anyCollection())).thenReturn(Collections.emptyList());
+        when(proyectoRepository.findAllById(anyIterable())).thenReturn(Collections.emptyList());
+
+        // Act
+        int archivados = archivadorProyectos.ejecutar(CORTE);
+
+        // Assert
+        assertEquals(3, archivados);
+        verify(proyectoRepository, times(3)).eliminarPorIds(anyCollection());
+        verify(bloqueoDistribuido).liberar(eq(ArchivadorProyectos.TAREA), any(), any());
+    }
+
+    @Test
+    void debeOmitirLaEjecucionSiOtraInstanciaTieneElArriendo() {
+        // Arrange
+        when(bloqueoDistribuido.adquirir(eq(ArchivadorProyectos.TAREA), any())).thenReturn(false);
+
+        // Act
+        int archivados = archivadorProyectos.ejecutar(CORTE);
+
+        // Assert
+        assertEquals(-1, archivados);
+        verifyNoInteractions(proyectoRepository, entityManager);
+    }
+}
@@ -0,0 +1,110 @@
+package com.empleados.sistema.scheduling;
+
+import com.empleados.sistema.cache.CacheRespuestas;
+import com.empleados.sistema.event.PublicadorEventos;
+import com.empleados.sistema.model.EstadoProyecto;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.ProyectoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CicloVidaProyectosTest {
+
+    private static final LocalDate HOY = LocalDate.of(2024, 3, 1);
+
+    @Mock
+    private ProyectoRepository proyectoRepository;
+
+    @Mock
+    private PublicadorEventos publicadorEventos;
+
+    @Mock
+    private CacheRespuestas cacheRespuestas;
+
+    @Mock
+    private BloqueoDistribuido bloqueoDistribuido;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CicloVidaProyectos cicloVidaProyectos;
+
+    @BeforeEach
+    void setUp() {
+        cicloVidaProyectos = new CicloVidaProyectos(proyectoRepository, publicadorEventos, cacheRespuestas,
+            bloqueoDistribuido, transactionManager, true, 2, 60000, 1000);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocacion -> new SimpleTransactionStatus());
+    }
+
+    @Test
+    void debeFinalizarProyectosVencidosPorTramos() {
+        // Arrange
+        when(bloqueoDistribuido.adquirir(eq(CicloVidaProyectos.TAREA), any())).thenReturn(true);
+        when(proyectoRepository.findIdsActivosVencidos(eq(HOY), eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 4L));
+        when(proyectoRepository.findIdsActivosVencidos(eq(HOY), eq(4L), any(Pageable.class))).thenReturn(List.of(7L));
+
+        // Act
+        int finalizados = cicloVidaProyectos.ejecutar(HOY);
+
+        // Assert
+        assertEquals(3, finalizados);
+        verify(proyectoRepository).finalizarVencidos(eq(List.of(1L, 4L)), eq(HOY), any());
+        verify(proyectoRepository).finalizarVencidos(eq(List.of(7L)), eq(HOY), any());
+        verify(publicadorEventos, times(2)).publicarTodos(argThat(eventos ->
+            eventos.stream().allMatch(e -> e.getTipoEntidad() == TipoEntidad.PROYECTO)));
+        verify(cacheRespuestas).invalidar(anyCollection());
+        verify(bloqueoDistribuido).liberar(eq(CicloVidaProyectos.TAREA), any(), any());
+        assertEquals(3L, cicloVidaProyectos.obtenerEstadisticas().get("proyectosFinalizados"));
+    }
+
+    @Test
+    void debeOmitirLaEjecucionSiOtraInstanciaTieneElArriendo() {
+        // Arrange
+        when(bloqueoDistribuido.adquirir(eq(CicloVidaProyectos.TAREA), any())).thenReturn(false);
+
+        // Act
+        int finalizados = cicloVidaProyectos.ejecutar(HOY);
+
+        // Assert
+        assertEquals(-1, finalizados);
+        verifyNoInteractions(proyectoRepository, publicadorEventos);
+        verify(bloqueoDistribuido, never()).liberar(any(), any(), any());
+        assertEquals(1L, cicloVidaProyectos.obtenerEstadisticas().get("omitidasPorOtraInstancia"));
+    }
+
+    @Test
+    void debeLiberarElArriendoAunqueFalleLaEjecucion() {
+        // Arrange
+        when(bloqueoDistribuido.adquirir(eq(CicloVidaProyectos.TAREA), any())).thenReturn(true);
+        when(proyectoRepository.findIdsActivosVencidos(eq(HOY), eq(0L), any(Pageable.class)))
+            .thenThrow(new IllegalStateException("Base no disponible"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> cicloVidaProyectos.ejecutar(HOY));
+        verify(bloqueoDistribuido).liberar(eq(CicloVidaProyectos.TAREA), any(), any());
+        assertEquals("Base no disponible", cicloVidaProyectos.obtenerEstadisticas().get("ultimoError"));
+    }
+
+    @Test
+    void debeCalcularElEstadoSegunLaFechaDeFin() {
+        // Act & Assert
+        assertEquals(EstadoProyecto.ACTIVO, EstadoProyecto.segun(null, HOY));
+        assertEquals(EstadoProyecto.ACTIVO, EstadoProyecto.segun(HOY.plusDays(1), HOY));
+        assertEquals(EstadoProyecto.FINALIZADO, EstadoProyecto.segun(HOY, HOY));
+        assertEquals(EstadoProyecto.FINALIZADO, EstadoProyecto.segun(HOY.minusDays(3), HOY));
+    }
+}
@@ -2,18 +2,25 @@ package com.empleados.sistema.service;
 
 import com.empleados.sistema.exception.EmailDuplicadoException;
 import com.empleados.sistema.exception.EmpleadoNoEncontradoException;
+import com.empleados.sistema.event.PublicadorEventos;
+import com.empleados.sistema.index.IndiceEmails;
 import com.empleados.sistema.model.Departamento;
 import com.empleados.sistema.model.Empleado;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.readmodel.ModeloLectura;
 import com.empleados.sistema.repository.DepartamentoRepository;
 import com.empleados.sistema.repository.EmpleadoRepository;
 import com.empleados.sistema.repository.ProyectoRepository;
 import com.empleados.sistema.service.impl.EmpleadoServiceImpl;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -37,6 +44,15 @@ public class EmpleadoServiceTest {
     @Mock
     private ProyectoRepository proyectoRepository;
 
+    @Mock
+    private IndiceEmails indiceEmails;
+
+    @Mock
+    private PublicadorEventos publicadorEventos;
+
+    @Mock
+    private ModeloLectura modeloLectura;
+
     @InjectMocks
     private EmpleadoServiceImpl empleadoService;
 
@@ -64,8 +80,8 @@ public class EmpleadoServiceTest {
     @Test
     void debeGuardarEmpleadoCorrectamente() {
         // Arrange
-        when(empleadoRepository.existsByEmail(anyString())).thenReturn(false);
-        when(empleadoRepository.save(any(Empleado.class))).thenReturn(empleado);
+        when(indiceEmails.buscarId(anyString())).thenReturn(null);
+        when(empleadoRepository.saveAndFlush(any(Empleado.class))).thenReturn(empleado);
 
         // Act
         Empleado resultado = empleadoService.guardar(empleado);
@@ -73,14 +89,16 @@ public class EmpleadoServiceTest {
         // Assert
         assertNotNull(resultado);
         assertEquals("juan.perez@empresa.com", resultado.getEmail());
-        verify(empleadoRepository, times(1)).existsByEmail("juan.perez@empresa.com");
-        verify(empleadoRepository, times(1)).save(empleado);
+        verify(indiceEmails, times(1)).buscarId("juan.perez@empresa.com");
+        verify(empleadoRepository, never()).existsByEmail(anyString());
+        verify(empleadoRepository, times(1)).saveAndFlush(empleado);
+        verify(publicadorEventos, times(1)).publicar(TipoEntidad.EMPLEADO, 1L, TipoCambio.CREADO);
     }
 
     @Test
     void debeLanzarExcepcionCuandoEmailYaExiste() {
         // Arrange
-        when(empleadoRepository.existsByEmail(anyString())).thenReturn(true);
+        when(indiceEmails.buscarId(anyString())).thenReturn(2L);
 
         // Act & Assert
         EmailDuplicadoException exception = assertThrows(
@@ -89,8 +107,8 @@ public class EmpleadoServiceTest {
         );
 
         assertTrue(exception.getMessage().contains("juan.perez@empresa.com"));
-        verify(empleadoRepository, times(1)).existsByEmail("juan.perez@empresa.com");
-        verify(empleadoRepository, never()).save(any(Empleado.class));
+        verify(indiceEmails, times(1)).buscarId("juan.perez@empresa.com");
+        verify(empleadoRepository, never()).saveAndFlush(any(Empleado.class));
     }
 
     @Test
@@ -160,7 +178,7 @@ public class EmpleadoServiceTest {
         empleadoActualizado.setSalario(new BigDecimal("55000.00"));
 
         when(empleadoRepository.findById(anyLong())).thenReturn(Optional.of(empleado));
-        when(empleadoRepository.save(any(Empleado.class))).thenReturn(empleadoActualizado);
+        when(empleadoRepository.saveAndFlush(any(Empleado.class))).thenReturn(empleadoActualizado);
 
         // Act
         Empleado resultado = empleadoService.actualizar(1L, empleadoActualizado);
@@ -170,7 +188,50 @@ public class EmpleadoServiceTest {
         assertEquals("Juan Carlos", resultado.getNombre());
         assertEquals(new BigDecimal("55000.00"), resultado.getSalario());
         verify(empleadoRepository, times(1)).findById(1L);
-        verify(empleadoRepository, times(1)).save(any(Empleado.class));
+        verify(empleadoRepository, times(1)).saveAndFlush(any(Empleado.class));
+    }
+
+    @Test
+    void debeTraducirViolacionDeEmailUnicoAEmailDuplicado() {
+        // Arrange
+        ConstraintViolationException violacion = new ConstraintViolationException(
+            "Unique index or primary key violation", null, "PUBLIC.UK_EMPLEADOS_EMAIL_INDEX_A");
+        when(indiceEmails.buscarId(anyString())).thenReturn(null);
+        when(empleadoRepository.saveAndFlush(any(Empleado.class)))
+            .thenThrow(new DataIntegrityViolationException("duplicado", violacion));
+
+        // Act & Assert
+        EmailDuplicadoException exception = assertThrows(
+            EmailDuplicadoException.class,
+            () -> empleadoService.guardar(empleado)
+        );
+
+        assertTrue(exception.getMessage().contains("juan.perez@empresa.com"));
+    }
+
+    @Test
+    void debeBuscarEnLaBaseSiElIndiceNoTieneElEmail() {
+        // Arrange
+        when(indiceEmails.buscarId("juan.perez@empresa.com")).thenReturn(null);
+        when(empleadoRepository.findByEmail("juan.perez@empresa.com")).thenReturn(Optional.of(empleado));
+
+        // Act
+        Empleado resultado = empleadoService.buscarPorEmail("juan.perez@empresa.com");
+
+        // Assert
+        assertEquals(1L, resultado.getId());
+        verify(empleadoRepository, times(1)).findByEmail("juan.perez@empresa.com");
+    }
+
+    @Test
+    void debeLanzarExcepcionSiNiElIndiceNiLaBaseTienenElEmail() {
+        // Arrange
+        when(indiceEmails.buscarId("noexiste@empresa.com")).thenReturn(null);
+        when(empleadoRepository.findByEmail("noexiste@empresa.com")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EmpleadoNoEncontradoException.class,
+            () -> empleadoService.buscarPorEmail("noexiste@empresa.com"));
     }
 
     @Test
@@ -0,0 +1,127 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.dto.DetalleDepartamento;
+import com.empleados.sistema.exception.DepartamentoNoEncontradoException;
+import com.empleados.sistema.model.Departamento;
+import com.empleados.sistema.model.Proyecto;
+import com.empleados.sistema.repository.DepartamentoRepository;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import com.empleados.sistema.repository.ProyectoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConsultaCompuestaServiceTest {
+
+    @Mock
+    private DepartamentoRepository departamentoRepository;
+
+    @Mock
+    private EmpleadoRepository empleadoRepository;
+
+    @Mock
+    private ProyectoRepository proyectoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ConsultaCompuestaServiceImpl consultaCompuestaService;
+
+    @BeforeEach
+    void setUp() {
+        consultaCompuestaService = new ConsultaCompuestaServiceImpl(departamentoRepository, empleadoRepository,
+            proyectoRepository, transactionManager, 4, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        consultaCompuestaService.detener();
+    }
+
+    private static Departamento departamento() {
+        Departamento departamento = new Departamento();
+        departamento.setId(1L);
+        departamento.setNombre("IT");
+        return departamento;
+    }
+
+    @Test
+    void debeArmarDetalleCompletoConUnaConsultaPorParte() {
+        // Arrange
+        Proyecto proyecto = new Proyecto();
+        proyecto.setId(10L);
+        proyecto.setNombre("Migración");
+        when(departamentoRepository.findById(1L)).thenReturn(Optional.of(departamento()));
+        when(empleadoRepository.findFilasPorDepartamento(1L)).thenReturn(List.of(
+            new Object[]{1L, "Juan", "Pérez", "juan@empresa.com", LocalDate.of(2020, 1, 1), new BigDecimal("50000.00")},
+            new Object[]{2L, "Ana", "Gómez", "ana@empresa.com", LocalDate.of(2021, 1, 1), new BigDecimal("40000.00")}));
+        when(empleadoRepository.findAsignacionesPorDepartamento(1L)).thenReturn(List.<Object[]>of(new Object[]{1L, 10L}));
+        when(proyectoRepository.findConEmpleadosDelDepartamento(1L)).thenReturn(List.of(proyecto));
+
+        // Act
+        DetalleDepartamento detalle = consultaCompuestaService.obtenerDetalleDepartamento(1L, null);
+
+        // Assert
+        assertEquals("IT", detalle.nombre());
+        assertEquals(2, detalle.empleados().size());
+        assertEquals(List.of(10L), detalle.empleados().get(0).proyectoIds());
+        assertEquals(List.of(), detalle.empleados().get(1).proyectoIds());
+        assertEquals(1, detalle.proyectos().size());
+        assertEquals(2, detalle.agregados().cantidadEmpleados());
+        assertEquals(new BigDecimal("45000.00"), detalle.agregados().salarioPromedio());
+        // Los agregados salen de las mismas filas que los miembros
+        verify(empleadoRepository, never()).resumirPorDepartamento(anyLong());
+        verify(empleadoRepository, never()).findById(anyLong());
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+
+    @Test
+    void debeConsultarSoloLasPartesPedidas() {
+        // Arrange
+        when(departamentoRepository.findById(1L)).thenReturn(Optional.of(departamento()));
+        when(empleadoRepository.resumirPorDepartamento(1L))
+            .thenReturn(List.<Object[]>of(new Object[]{0L, BigDecimal.ZERO}));
+
+        // Act
+        DetalleDepartamento detalle = consultaCompuestaService.obtenerDetalleDepartamento(1L, List.of("agregados"));
+
+        // Assert
+        assertNull(detalle.empleados());
+        assertNull(detalle.proyectos());
+        assertEquals(BigDecimal.ZERO, detalle.agregados().salarioPromedio());
+        verify(empleadoRepository, never()).findFilasPorDepartamento(anyLong());
+        verifyNoInteractions(proyectoRepository);
+    }
+
+    @Test
+    void debeLanzarExcepcionSiElDepartamentoNoExiste() {
+        // Arrange
+        when(departamentoRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(DepartamentoNoEncontradoException.class,
+            () -> consultaCompuestaService.obtenerDetalleDepartamento(99L, List.of("empleados")));
+    }
+
+    @Test
+    void debeRechazarPartesDesconocidas() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> consultaCompuestaService.obtenerDetalleDepartamento(1L, List.of("empleados.sueldos")));
+        verifyNoInteractions(departamentoRepository);
+    }
+}
@@ -0,0 +1,175 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.dto.ResultadoDedicacion;
+import com.empleados.sistema.event.PublicadorEventos;
+import com.empleados.sistema.exception.ProyectoNoEncontradoException;
+import com.empleados.sistema.model.Dedicacion;
+import com.empleados.sistema.model.Empleado;
+import com.empleados.sistema.model.Proyecto;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.DedicacionRepository;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import com.empleados.sistema.repository.ProyectoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DedicacionServiceTest {
+
+    @Mock
+    private EmpleadoRepository empleadoRepository;
+
+    @Mock
+    private ProyectoRepository proyectoRepository;
+
+    @Mock
+    private DedicacionRepository dedicacionRepository;
+
+    @Mock
+    private PublicadorEventos publicadorEventos;
+
+    private DedicacionServiceImpl crearServicio(int porcentajePorDefecto) {
+        return crearServicio(porcentajePorDefecto, false);
+    }
+
+    private DedicacionServiceImpl crearServicio(int porcentajePorDefecto, boolean controlarSinPorcentaje) {
+        return new DedicacionServiceImpl(empleadoRepository, proyectoRepository, dedicacionRepository,
+            publicadorEventos, 100, porcentajePorDefecto, controlarSinPorcentaje);
+    }
+
+    private Empleado empleadoBloqueado() {
+        Empleado empleado = new Empleado("Juan", "Pérez", "juan@empresa.com", LocalDate.of(2020, 1, 1),
+            new BigDecimal("50000.00"));
+        empleado.setId(1L);
+        when(empleadoRepository.findByIdParaActualizar(1L)).thenReturn(Optional.of(empleado));
+        return empleado;
+    }
+
+    private void proyecto(long id, LocalDate inicio, LocalDate fin) {
+        Proyecto proyecto = new Proyecto("Proyecto " + id, null, inicio, fin);
+        proyecto.setId(id);
+        when(proyectoRepository.findById(id)).thenReturn(Optional.of(proyecto));
+    }
+
+    // El empleado ya está al 60% en el proyecto 20 durante todo 2024
+    private void asignadoAl60PorCiento() {
+        when(dedicacionRepository.findAsignacionesConDedicacion(1L)).thenReturn(List.<Object[]>of(
+            new Object[]{20L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 60}));
+    }
+
+    @Test
+    void noDebeRechazarPorDefectoUnaAsignacionSinPorcentajeQueSolapa() {
+        // Arrange
+        DedicacionServiceImpl dedicacionService = crearServicio(100);
+        Empleado empleado = empleadoBloqueado();
+        proyecto(10L, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31));
+        asignadoAl60PorCiento();
+
+        // Act
+        dedicacionService.asignarConPorcentajePorDefecto(1L, 10L);
+
+        // Assert
+        assertEquals(1, empleado.getProyectos().size());
+        verify(empleadoRepository).save(empleado);
+        verify(publicadorEventos).publicar(TipoEntidad.EMPLEADO, 1L, TipoCambio.ASIGNADO, 10L);
+    }
+
+    @Test
+    void debeRechazarConConflictoUnaAsignacionSinPorcentajeQueSobreasignaSiSeControla() {
+        // Arrange
+        DedicacionServiceImpl dedicacionService = crearServicio(100, true);
+        Empleado empleado = empleadoBloqueado();
+        proyecto(10L, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31));
+        asignadoAl60PorCiento();
+
+        // Act & Assert
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+            () -> dedicacionService.asignarConPorcentajePorDefecto(1L, 10L));
+        assertTrue(ex.getMessage().contains("160%"));
+        assertTrue(ex.getMessage().contains("desde el 2024-06-01 hasta el 2024-08-31"));
+        assertTrue(empleado.getProyectos().isEmpty());
+        verify(empleadoRepository, never()).save(any());
+        verifyNoInteractions(publicadorEventos);
+    }
+
+    @Test
+    void debeAsignarSinPorcentajeSiNoSuperaElLimite() {
+        // Arrange
+        DedicacionServiceImpl dedicacionService = crearServicio(40, true);
+        Empleado empleado = empleadoBloqueado();
+        proyecto(10L, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31));
+        asignadoAl60PorCiento();
+
+        // Act
+        dedicacionService.asignarConPorcentajePorDefecto(1L, 10L);
+
+        // Assert
+        assertEquals(1, empleado.getProyectos().size());
+        verify(empleadoRepository).save(empleado);
+        verify(dedicacionRepository, never()).save(any());
+        verify(publicadorEventos).publicar(TipoEntidad.EMPLEADO, 1L, TipoCambio.ASIGNADO, 10L);
+    }
+
+    @Test
+    void noDebeCambiarUnaDedicacionExistenteAlAsignarSinPorcentaje() {
+        // Arrange: ya está en el proyecto 20; reasignarlo sin porcentaje no vuelve a controlar ni lo toca
+        DedicacionServiceImpl dedicacionService = crearServicio(100);
+        empleadoBloqueado();
+        proyecto(20L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        when(dedicacionRepository.findAsignacionesConDedicacion(1L)).thenReturn(List.<Object[]>of(
+            new Object[]{20L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 60},
+            new Object[]{30L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 60}));
+
+        // Act
+        dedicacionService.asignarConPorcentajePorDefecto(1L, 20L);
+
+        // Assert
+        verify(empleadoRepository, never()).save(any());
+        verify(dedicacionRepository, never()).save(any());
+    }
+
+    @Test
+    void debePermitirBajarElPorcentajeAunqueEsteSobreasignado() {
+        // Arrange
+        DedicacionServiceImpl dedicacionService = crearServicio(100);
+        empleadoBloqueado();
+        proyecto(20L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        when(dedicacionRepository.findAsignacionesConDedicacion(1L)).thenReturn(List.<Object[]>of(
+            new Object[]{20L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 80},
+            new Object[]{30L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 60}));
+        when(dedicacionRepository.findByEmpleadoIdAndProyectoId(1L, 20L))
+            .thenReturn(Optional.of(new Dedicacion(1L, 20L, 80)));
+
+        // Act
+        ResultadoDedicacion resultado = dedicacionService.asignar(1L, 20L, 50);
+
+        // Assert
+        assertEquals(110, resultado.maximo());
+        verify(dedicacionRepository).save(argThat(dedicacion -> dedicacion.getPorcentaje() == 50));
+    }
+
+    @Test
+    void debeRechazarProyectoInexistenteSinAsignar() {
+        // Arrange
+        DedicacionServiceImpl dedicacionService = crearServicio(100);
+        empleadoBloqueado();
+        when(proyectoRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ProyectoNoEncontradoException.class,
+            () -> dedicacionService.asignarConPorcentajePorDefecto(1L, 99L));
+        verifyNoInteractions(publicadorEventos);
+    }
+}
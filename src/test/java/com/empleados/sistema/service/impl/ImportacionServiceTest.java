@@ -0,0 +1,270 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.dto.ErrorImportacion;
+import com.empleados.sistema.dto.EstadoImportacion;
+import com.empleados.sistema.repository.DepartamentoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ImportacionServiceTest {
+
+    @Mock
+    private EscritorLoteEmpleados escritor;
+
+    @Mock
+    private DepartamentoRepository departamentoRepository;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<Integer> tamanosLote = new CopyOnWriteArrayList<>();
+
+    private ImportacionServiceImpl importacionService;
+
+    private ImportacionServiceImpl crearServicio(int tamanoLote, int capacidadCola, int escritores) {
+        return crearServicio(tamanoLote, capacidadCola, escritores, 60_000);
+    }
+
+    private ImportacionServiceImpl crearServicio(int tamanoLote, int capacidadCola, int escritores, long esperaMaximaMs) {
+        importacionService = new ImportacionServiceImpl(escritor, departamentoRepository, validator, objectMapper,
+            tamanoLote, 8, 1, 1, 1000, 50, capacidadCola, escritores, escritores, esperaMaximaMs);
+        return importacionService;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (importacionService != null) {
+            importacionService.detener();
+        }
+    }
+
+    private void escritorGuardaTodo() {
+        when(escritor.escribir(anyList())).thenAnswer(invocacion -> {
+            List<FilaImportacion> filas = invocacion.getArgument(0);
+            tamanosLote.add(filas.size());
+            return new EscritorLoteEmpleados.Resultado(filas.size(), List.of());
+        });
+    }
+
+    // Un elemento por línea: el elemento i queda en la línea i + 1
+    private static String empleadoJson(int i) {
+        return "{\"nombre\":\"Nombre" + i + "\",\"apellido\":\"Apellido\",\"email\":\"empleado" + i +
+            "@empresa.com\",\"fechaContratacion\":\"2024-01-10\",\"salario\":1000}";
+    }
+
+    private static String arregloJson(List<String> elementos) {
+        return "[\n" + String.join(",\n", elementos) + "\n]";
+    }
+
+    private static String arregloJson(int cantidad) {
+        List<String> elementos = new ArrayList<>();
+        for (int i = 1; i <= cantidad; i++) {
+            elementos.add(empleadoJson(i));
+        }
+        return arregloJson(elementos);
+    }
+
+    private static InputStream flujo(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void debeEscribirLosElementosEnLotes() {
+        // Arrange
+        escritorGuardaTodo();
+        crearServicio(2, 100, 1);
+
+        // Act
+        EstadoImportacion estado = importacionService.importarJson(flujo(arregloJson(5)));
+
+        // Assert
+        assertEquals(EstadoImportacion.Estado.COMPLETADA, estado.getEstado());
+        assertEquals(5, estado.getRegistrosProcesados());
+        assertEquals(5, estado.getImportados());
+        assertEquals(5, tamanosLote.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(tamanosLote.size() >= 3);
+        assertTrue(tamanosLote.stream().allMatch(tamano -> tamano >= 1 && tamano <= 2));
+    }
+
+    @Test
+    void debeInformarElementosInvalidosConSuLinea() {
+        // Arrange
+        escritorGuardaTodo();
+        crearServicio(10, 100, 2);
+        String json = arregloJson(List.of(
+            empleadoJson(1),
+            empleadoJson(2).replace("2024-01-10", "no-es-fecha"),
+            empleadoJson(3).replace("empleado3@empresa.com", "sin-arroba"),
+            empleadoJson(4)));
+
+        // Act
+        EstadoImportacion estado = importacionService.importarJson(flujo(json));
+
+        // Assert
+        assertEquals(EstadoImportacion.Estado.COMPLETADA, estado.getEstado());
+        assertEquals(4, estado.getRegistrosProcesados());
+        assertEquals(2, estado.getImportados());
+        assertEquals(2, estado.getConErrores());
+        List<Long> lineas = estado.getErrores().stream().map(ErrorImportacion::linea).sorted().toList();
+        assertEquals(List.of(3L, 4L), lineas);
+        assertTrue(estado.getErrores().stream()
+            .anyMatch(error -> error.linea() == 3 && error.mensaje().startsWith("Elemento inválido")));
+        assertTrue(estado.getErrores().stream()
+            .anyMatch(error -> error.linea() == 4 && error.mensaje().contains("email")));
+    }
+
+    @Test
+    void debeFallarSiElContenidoNoEsUnArreglo() {
+        // Arrange
+        crearServicio(10, 100, 2);
+
+        // Act
+        EstadoImportacion estado = importacionService.importarJson(flujo(empleadoJson(1)));
+
+        // Assert
+        assertEquals(EstadoImportacion.Estado.FALLIDA, estado.getEstado());
+        assertEquals("Se espera un arreglo JSON de empleados", estado.getMensaje());
+        verify(escritor, never()).escribir(anyList());
+    }
+
+    @Test
+    void debeFallarSiElementoNoEsUnObjeto() {
+        // Arrange
+        crearServicio(10, 100, 2);
+
+        // Act
+        EstadoImportacion estado = importacionService.importarJson(flujo("[1, 2]"));
+
+        // Assert
+        assertEquals(EstadoImportacion.Estado.FALLIDA, estado.getEstado());
+        assertEquals("Cada elemento del arreglo debe ser un objeto", estado.getMensaje());
+    }
+
+    @Test
+    void debeFallarConJsonMalFormado() {
+        // Arrange
+        escritorGuardaTodo();
+        crearServicio(10, 100, 2);
+        String json = "[\n" + empleadoJson(1) + ",\n{\"nombre\": \"Trunco\", ";
+
+        // Act
+        EstadoImportacion estado = importacionService.importarJson(flujo(json));
+
+        // Assert
+        assertEquals(EstadoImportacion.Estado.FALLIDA, estado.getEstado());
+        assertTrue(estado.getMensaje().startsWith("JSON inválido"));
+        // Lo leído antes del error igual se escribe
+        assertEquals(1, estado.getImportados());
+    }
+
+    @Test
+    void debeFrenarLaLecturaMientrasLosEscritoresNoVacianLaCola() throws Exception {
+        // Arrange: un escritor trabado en el primer lote y una cola de un elemento
+        CountDownLatch escribiendo = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(escritor.escribir(anyList())).thenAnswer(invocacion -> {
+            List<FilaImportacion> filas = invocacion.getArgument(0);
+            escribiendo.countDown();
+            liberar.await();
+            tamanosLote.add(filas.size());
+            return new EscritorLoteEmpleados.Resultado(filas.size(), List.of());
+        });
+        crearServicio(1, 1, 1);
+        byte[] contenido = arregloJson(2000).getBytes(StandardCharsets.UTF_8);
+        AtomicLong bytesLeidos = new AtomicLong();
+        InputStream entrada = new FilterInputStream(new ByteArrayInputStream(contenido)) {
+            @Override
+            public int read(byte[] destino, int desde, int largo) throws IOException {
+                int leidos = super.read(destino, desde, largo);
+                if (leidos > 0) {
+                    bytesLeidos.addAndGet(leidos);
+                }
+                return leidos;
+            }
+        };
+        AtomicReference<EstadoImportacion> resultado = new AtomicReference<>();
+        Thread lector = new Thread(() -> resultado.set(importacionService.importarJson(entrada)));
+
+        // Act
+        lector.start();
+        assertTrue(escribiendo.await(5, TimeUnit.SECONDS));
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (lector.getState() != Thread.State.WAITING && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        long leidosConEscritorTrabado = bytesLeidos.get();
+        liberar.countDown();
+        lector.join(TimeUnit.SECONDS.toMillis(30));
+
+        // Assert
+        assertEquals(Thread.State.TERMINATED, lector.getState());
+        assertTrue(leidosConEscritorTrabado < contenido.length / 4,
+            "Se leyeron " + leidosConEscritorTrabado + " de " + contenido.length + " bytes con la cola llena");
+        assertEquals(EstadoImportacion.Estado.COMPLETADA, resultado.get().getEstado());
+        assertEquals(2000, resultado.get().getImportados());
+        assertTrue(tamanosLote.stream().allMatch(tamano -> tamano == 1));
+    }
+
+    @Test
+    void debeAbortarSiLosEscritoresMueren() {
+        // Arrange: el escritor muere con un Error que no se reporta como fallo de lote
+        when(escritor.escribir(anyList())).thenThrow(new AssertionError("escritor caído"));
+        crearServicio(1, 1, 1);
+
+        // Act
+        EstadoImportacion estado = assertTimeoutPreemptively(Duration.ofSeconds(10),
+            () -> importacionService.importarJson(flujo(arregloJson(2000))));
+
+        // Assert
+        assertEquals(EstadoImportacion.Estado.FALLIDA, estado.getEstado());
+        assertTrue(estado.getMensaje().contains("escritor"));
+    }
+
+    @Test
+    void debeAbortarSiLaEscrituraNoAvanza() {
+        // Arrange: un escritor que nunca vuelve y una espera máxima corta
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(escritor.escribir(anyList())).thenAnswer(invocacion -> {
+            liberar.await();
+            return new EscritorLoteEmpleados.Resultado(0, List.of());
+        });
+        crearServicio(1, 1, 1, 200);
+
+        // Act
+        EstadoImportacion estado;
+        try {
+            estado = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> importacionService.importarJson(flujo(arregloJson(50))));
+        } finally {
+            liberar.countDown();
+        }
+
+        // Assert
+        assertEquals(EstadoImportacion.Estado.FALLIDA, estado.getEstado());
+        assertEquals("La escritura de la importación no avanzó en 200 ms", estado.getMensaje());
+    }
+}
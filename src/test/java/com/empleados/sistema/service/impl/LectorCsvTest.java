@@ -0,0 +1,51 @@
+package com.empleados.sistema.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LectorCsvTest {
+
+    @Test
+    void debeLeerRegistrosConComillasYSaltosDeLinea() throws IOException {
+        // Arrange
+        String contenido = "nombre,apellido,email\r\n" +
+                "Juan,\"Pérez, hijo\",juan@empresa.com\n" +
+                "\n" +
+                "Ana,\"Gómez\nSegunda línea\",\"ana\"\"x\"\"@empresa.com\"\n";
+        LectorCsv lector = new LectorCsv(new StringReader(contenido));
+
+        // Act
+        List<String> encabezado = lector.siguiente();
+        List<String> primero = lector.siguiente();
+        long lineaPrimero = lector.getLineaRegistro();
+        List<String> segundo = lector.siguiente();
+        long lineaSegundo = lector.getLineaRegistro();
+
+        // Assert
+        assertEquals(List.of("nombre", "apellido", "email"), encabezado);
+        assertEquals(List.of("Juan", "Pérez, hijo", "juan@empresa.com"), primero);
+        assertEquals(2, lineaPrimero);
+        assertEquals(List.of("Ana", "Gómez\nSegunda línea", "ana\"x\"@empresa.com"), segundo);
+        assertEquals(4, lineaSegundo);
+        assertNull(lector.siguiente());
+    }
+
+    @Test
+    void debeLeerUltimoRegistroSinSaltoFinal() throws IOException {
+        // Arrange
+        LectorCsv lector = new LectorCsv(new StringReader("a,b\n1,"));
+
+        // Act
+        lector.siguiente();
+        List<String> registro = lector.siguiente();
+
+        // Assert
+        assertEquals(List.of("1", ""), registro);
+        assertNull(lector.siguiente());
+    }
+}
@@ -0,0 +1,82 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.dto.OperacionLote;
+import com.empleados.sistema.dto.OperacionLote.TipoOperacion;
+import com.empleados.sistema.dto.ResultadoLote;
+import com.empleados.sistema.dto.ResultadoLote.EstadoOperacion;
+import com.empleados.sistema.dto.SolicitudLote;
+import com.empleados.sistema.dto.SolicitudLote.ModoLote;
+import com.empleados.sistema.model.Empleado;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import com.empleados.sistema.service.LoteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Contra JPA real: los servicios son @Transactional, así que una operación fallida marca su transacción
+// como rollback-only y no debe arrastrar a las demás
+@SpringBootTest
+@ActiveProfiles("test")
+public class LoteServiceIntegracionTest {
+
+    @Autowired
+    private LoteService loteService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    private static OperacionLote crear(String email) {
+        return new OperacionLote(TipoOperacion.CREAR_EMPLEADO, null, null, null,
+            new Empleado("Lote", "Prueba", email, LocalDate.of(2024, 1, 10), new BigDecimal("1000.00")));
+    }
+
+    @Test
+    void debeConfirmarLasExitosasAunqueUnaFalleDentroDelServicio() {
+        // Arrange
+        String sufijo = UUID.randomUUID().toString();
+        String primero = "primero-" + sufijo + "@empresa.com";
+        String segundo = "segundo-" + sufijo + "@empresa.com";
+        SolicitudLote solicitud = new SolicitudLote(ModoLote.MEJOR_ESFUERZO, List.of(
+            crear(primero),
+            new OperacionLote(TipoOperacion.ELIMINAR_EMPLEADO, Long.MAX_VALUE, null, null, null),
+            crear(segundo)));
+
+        // Act
+        ResultadoLote resultado = loteService.ejecutar(solicitud);
+
+        // Assert
+        assertTrue(resultado.confirmado());
+        assertEquals(2, resultado.exitosas());
+        assertEquals(EstadoOperacion.OK, resultado.resultados().get(0).estado());
+        assertEquals(EstadoOperacion.ERROR, resultado.resultados().get(1).estado());
+        assertEquals(404, resultado.resultados().get(1).status());
+        assertEquals(EstadoOperacion.OK, resultado.resultados().get(2).estado());
+        assertTrue(empleadoRepository.findByEmail(primero).isPresent());
+        assertTrue(empleadoRepository.findByEmail(segundo).isPresent());
+    }
+
+    @Test
+    void debeRevertirTodoEnModoTodoONada() {
+        // Arrange
+        String email = "revertido-" + UUID.randomUUID() + "@empresa.com";
+        SolicitudLote solicitud = new SolicitudLote(ModoLote.TODO_O_NADA, List.of(
+            crear(email),
+            new OperacionLote(TipoOperacion.ELIMINAR_EMPLEADO, Long.MAX_VALUE, null, null, null)));
+
+        // Act
+        ResultadoLote resultado = loteService.ejecutar(solicitud);
+
+        // Assert
+        assertFalse(resultado.confirmado());
+        assertEquals(EstadoOperacion.REVERTIDA, resultado.resultados().get(0).estado());
+        assertTrue(empleadoRepository.findByEmail(email).isEmpty());
+    }
+}
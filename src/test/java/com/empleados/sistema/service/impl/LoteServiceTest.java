@@ -0,0 +1,123 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.dto.OperacionLote;
+import com.empleados.sistema.dto.OperacionLote.TipoOperacion;
+import com.empleados.sistema.dto.ResultadoLote;
+import com.empleados.sistema.dto.ResultadoLote.EstadoOperacion;
+import com.empleados.sistema.dto.SolicitudLote;
+import com.empleados.sistema.dto.SolicitudLote.ModoLote;
+import com.empleados.sistema.exception.ProyectoNoEncontradoException;
+import com.empleados.sistema.service.DepartamentoService;
+import com.empleados.sistema.service.EmpleadoService;
+import com.empleados.sistema.service.ProyectoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LoteServiceTest {
+
+    @Mock
+    private EmpleadoService empleadoService;
+
+    @Mock
+    private DepartamentoService departamentoService;
+
+    @Mock
+    private ProyectoService proyectoService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LoteServiceImpl loteService;
+
+    @BeforeEach
+    void setUp() {
+        loteService = new LoteServiceImpl(empleadoService, departamentoService, proyectoService, transactionManager, 10);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocacion -> new SimpleTransactionStatus());
+    }
+
+    private static OperacionLote asignarProyecto(long empleadoId, long proyectoId) {
+        return new OperacionLote(TipoOperacion.ASIGNAR_PROYECTO, empleadoId, null, proyectoId, null);
+    }
+
+    @Test
+    void debeRevertirTodoSiFallaUnaOperacionEnModoTodoONada() {
+        // Arrange
+        doThrow(new ProyectoNoEncontradoException("Proyecto no encontrado con ID: 99"))
+            .when(empleadoService).asignarAProyecto(2L, 99L);
+        SolicitudLote solicitud = new SolicitudLote(null, List.of(
+            asignarProyecto(1L, 10L), asignarProyecto(2L, 99L), asignarProyecto(3L, 10L)));
+
+        // Act
+        ResultadoLote resultado = loteService.ejecutar(solicitud);
+
+        // Assert
+        assertFalse(resultado.confirmado());
+        assertEquals(ModoLote.TODO_O_NADA, resultado.modo());
+        assertEquals(EstadoOperacion.REVERTIDA, resultado.resultados().get(0).estado());
+        assertEquals(EstadoOperacion.ERROR, resultado.resultados().get(1).estado());
+        assertEquals(404, resultado.resultados().get(1).status());
+        assertEquals(EstadoOperacion.NO_EJECUTADA, resultado.resultados().get(2).estado());
+        verify(empleadoService, never()).asignarAProyecto(3L, 10L);
+        verify(transactionManager).commit(argThat(TransactionStatus::isRollbackOnly));
+    }
+
+    @Test
+    void debeConfirmarLasExitosasEnModoMejorEsfuerzo() {
+        // Arrange
+        doThrow(new ProyectoNoEncontradoException("Proyecto no encontrado con ID: 99"))
+            .when(empleadoService).asignarAProyecto(2L, 99L);
+        SolicitudLote solicitud = new SolicitudLote(ModoLote.MEJOR_ESFUERZO, List.of(
+            asignarProyecto(1L, 10L), asignarProyecto(2L, 99L),
+            new OperacionLote(TipoOperacion.FINALIZAR_PROYECTO, null, null, 10L, null)));
+
+        // Act
+        ResultadoLote resultado = loteService.ejecutar(solicitud);
+
+        // Assert
+        assertTrue(resultado.confirmado());
+        assertEquals(2, resultado.exitosas());
+        assertEquals(1, resultado.fallidas());
+        assertEquals(EstadoOperacion.ERROR, resultado.resultados().get(1).estado());
+        verify(proyectoService).finalizarProyecto(10L);
+        // Una transacción por operación: la fallida se revierte sola
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void debeInformarCamposFaltantesComoErrorDeLaOperacion() {
+        // Arrange
+        SolicitudLote solicitud = new SolicitudLote(ModoLote.MEJOR_ESFUERZO, List.of(
+            new OperacionLote(TipoOperacion.ELIMINAR_EMPLEADO, null, null, null, null)));
+
+        // Act
+        ResultadoLote resultado = loteService.ejecutar(solicitud);
+
+        // Assert
+        assertEquals(400, resultado.resultados().get(0).status());
+        verifyNoInteractions(empleadoService);
+    }
+
+    @Test
+    void debeRechazarLotesVaciosOExcesivos() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> loteService.ejecutar(new SolicitudLote(null, List.of())));
+        assertThrows(IllegalArgumentException.class, () -> loteService.ejecutar(new SolicitudLote(null,
+            Collections.nCopies(11, asignarProyecto(1L, 1L)))));
+    }
+}
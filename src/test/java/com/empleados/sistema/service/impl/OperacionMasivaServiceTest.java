@@ -0,0 +1,136 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.cache.CacheRespuestas;
+import com.empleados.sistema.dto.ResultadoOperacionMasiva;
+import com.empleados.sistema.event.PublicadorEventos;
+import com.empleados.sistema.exception.DepartamentoNoEncontradoException;
+import com.empleados.sistema.model.Departamento;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.repository.DepartamentoRepository;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OperacionMasivaServiceTest {
+
+    @Mock
+    private EmpleadoRepository empleadoRepository;
+
+    @Mock
+    private DepartamentoRepository departamentoRepository;
+
+    @Mock
+    private PublicadorEventos publicadorEventos;
+
+    @Mock
+    private CacheRespuestas cacheRespuestas;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OperacionMasivaServiceImpl operacionMasivaService;
+
+    @BeforeEach
+    void setUp() {
+        operacionMasivaService = new OperacionMasivaServiceImpl(empleadoRepository, departamentoRepository,
+            publicadorEventos, cacheRespuestas, transactionManager, 2, BigDecimal.valueOf(100));
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocacion -> new SimpleTransactionStatus());
+    }
+
+    @Test
+    void debeAjustarSalariosPorTramos() {
+        // Arrange
+        when(departamentoRepository.existsById(1L)).thenReturn(true);
+        when(empleadoRepository.findIdsPorDepartamento(eq(1L), eq(0L), any(Pageable.class))).thenReturn(List.of(3L, 5L));
+        when(empleadoRepository.findIdsPorDepartamento(eq(1L), eq(5L), any(Pageable.class))).thenReturn(List.of(8L));
+        when(empleadoRepository.ajustarSalarios(anyCollection(), eq(1L), any(), any())).thenReturn(2, 1);
+
+        // Act
+        ResultadoOperacionMasiva resultado = operacionMasivaService.ajustarSalarios(1L, BigDecimal.TEN);
+
+        // Assert
+        assertTrue(resultado.completa());
+        assertEquals(3L, resultado.filasAfectadas());
+        assertEquals(2, resultado.tramos());
+        verify(empleadoRepository).ajustarSalarios(eq(List.of(3L, 5L)), eq(1L),
+            argThat(factor -> factor.compareTo(new BigDecimal("1.1")) == 0), any());
+        verify(empleadoRepository, never()).findIdsPorDepartamento(eq(1L), eq(8L), any(Pageable.class));
+        verify(publicadorEventos).publicarTodos(argThat(eventos -> eventos.size() == 2
+            && eventos.stream().allMatch(e -> e.getTipoCambio() == TipoCambio.ACTUALIZADO)));
+        verify(cacheRespuestas).invalidar(anyCollection());
+    }
+
+    @Test
+    void debeRechazarPorcentajeFueraDeRango() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> operacionMasivaService.ajustarSalarios(1L, BigDecimal.valueOf(-100)));
+        assertThrows(IllegalArgumentException.class,
+            () -> operacionMasivaService.ajustarSalarios(1L, BigDecimal.valueOf(150)));
+        verifyNoInteractions(empleadoRepository);
+    }
+
+    @Test
+    void debeTransferirEmpleadosConElDestinoEnLosEventos() {
+        // Arrange
+        Departamento destino = new Departamento();
+        when(departamentoRepository.existsById(anyLong())).thenReturn(true);
+        when(departamentoRepository.getReferenceById(2L)).thenReturn(destino);
+        when(empleadoRepository.findIdsPorDepartamento(eq(1L), eq(0L), any(Pageable.class))).thenReturn(List.of(4L));
+        when(empleadoRepository.transferirDepartamento(eq(List.of(4L)), eq(1L), eq(destino), any())).thenReturn(1);
+
+        // Act
+        ResultadoOperacionMasiva resultado = operacionMasivaService.transferirEmpleados(1L, 2L);
+
+        // Assert
+        assertTrue(resultado.completa());
+        assertEquals(1L, resultado.filasAfectadas());
+        verify(publicadorEventos).publicarTodos(argThat(eventos -> eventos.size() == 1
+            && eventos.get(0).getTipoCambio() == TipoCambio.TRANSFERIDO
+            && Long.valueOf(2L).equals(eventos.get(0).getRelacionadoId())));
+    }
+
+    @Test
+    void debeInformarLoAplicadoSiFallaUnTramoIntermedio() {
+        // Arrange
+        when(departamentoRepository.existsById(1L)).thenReturn(true);
+        when(empleadoRepository.findIdsPorDepartamento(eq(1L), eq(0L), any(Pageable.class))).thenReturn(List.of(3L, 5L));
+        when(empleadoRepository.findIdsPorDepartamento(eq(1L), eq(5L), any(Pageable.class)))
+            .thenThrow(new IllegalStateException("Conexión perdida"));
+        when(empleadoRepository.ajustarSalarios(anyCollection(), eq(1L), any(), any())).thenReturn(2);
+
+        // Act
+        ResultadoOperacionMasiva resultado = operacionMasivaService.ajustarSalarios(1L, BigDecimal.ONE);
+
+        // Assert
+        assertFalse(resultado.completa());
+        assertEquals(2L, resultado.filasAfectadas());
+        assertEquals("Conexión perdida", resultado.error());
+        verify(cacheRespuestas).invalidar(anyCollection());
+    }
+
+    @Test
+    void debeLanzarExcepcionCuandoElDepartamentoNoExiste() {
+        // Arrange
+        when(departamentoRepository.existsById(9L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(DepartamentoNoEncontradoException.class,
+            () -> operacionMasivaService.transferirEmpleados(9L, 2L));
+        verifyNoInteractions(publicadorEventos);
+    }
+}
@@ -0,0 +1,137 @@
+package com.empleados.sistema.service.impl;
+
+import com.empleados.sistema.dto.RespuestaSincronizacion;
+import com.empleados.sistema.event.DespachadorEventos;
+import com.empleados.sistema.model.Empleado;
+import com.empleados.sistema.model.EventoOutbox;
+import com.empleados.sistema.model.Proyecto;
+import com.empleados.sistema.model.TipoCambio;
+import com.empleados.sistema.model.TipoEntidad;
+import com.empleados.sistema.repository.EmpleadoRepository;
+import com.empleados.sistema.repository.EventoOutboxRepository;
+import com.empleados.sistema.repository.ProyectoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SincronizacionServiceTest {
+
+    @Mock
+    private EmpleadoRepository empleadoRepository;
+
+    @Mock
+    private ProyectoRepository proyectoRepository;
+
+    @Mock
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Mock
+    private DespachadorEventos despachadorEventos;
+
+    private SincronizacionServiceImpl sincronizacionService;
+
+    @BeforeEach
+    void setUp() {
+        sincronizacionService = new SincronizacionServiceImpl(empleadoRepository, proyectoRepository,
+            eventoOutboxRepository, despachadorEventos, 2, 10, 720);
+    }
+
+    private static Empleado empleado(long id) {
+        Empleado empleado = new Empleado();
+        empleado.setId(id);
+        return empleado;
+    }
+
+    private static EventoOutbox evento(long id, TipoEntidad tipo, long entidadId, TipoCambio cambio) {
+        EventoOutbox evento = new EventoOutbox(tipo, entidadId, cambio, null);
+        evento.setId(id);
+        return evento;
+    }
+
+    @Test
+    void debeCopiarPorIdYDespuesSeguirPorElOutboxDesdeElCursorInicial() {
+        // Arrange
+        when(despachadorEventos.getCursorConfirmado()).thenReturn(10L).thenReturn(12L);
+        when(empleadoRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(empleado(1L)));
+        when(proyectoRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+            .thenReturn(List.<Proyecto>of());
+        when(eventoOutboxRepository.findEntreIds(eq(10L), eq(12L), anyCollection(), any(Pageable.class)))
+            .thenReturn(List.of(evento(11L, TipoEntidad.EMPLEADO, 1L, TipoCambio.ACTUALIZADO),
+                evento(12L, TipoEntidad.EMPLEADO, 7L, TipoCambio.ELIMINADO)));
+        when(empleadoRepository.findAllById(Set.of(1L, 7L))).thenReturn(List.of(empleado(1L)));
+        when(proyectoRepository.findAllById(Set.of())).thenReturn(List.of());
+
+        // Act
+        RespuestaSincronizacion primera = sincronizacionService.sincronizar(null, null);
+        RespuestaSincronizacion segunda = sincronizacionService.sincronizar(primera.token(), null);
+
+        // Assert
+        assertTrue(primera.completo());
+        assertFalse(primera.hayMas());
+        assertEquals(1, primera.empleados().size());
+        assertTrue(primera.eliminados().isEmpty());
+
+        assertFalse(segunda.completo());
+        assertTrue(segunda.hayMas());
+        assertEquals(1, segunda.empleados().size());
+        assertEquals(1, segunda.eliminados().size());
+        assertEquals(7L, segunda.eliminados().get(0).id());
+        assertEquals(12L, TokenSincronizacion.decodificar(segunda.token()).cursor());
+    }
+
+    @Test
+    void noDebeAvanzarMasAllaDelCursorConfirmado() {
+        // Arrange
+        String token = new TokenSincronizacion(10L, TokenSincronizacion.COPIA_TERMINADA,
+            TokenSincronizacion.COPIA_TERMINADA, Instant.now()).codificar();
+        when(despachadorEventos.getCursorConfirmado()).thenReturn(10L);
+        when(eventoOutboxRepository.findMinId()).thenReturn(1L);
+
+        // Act
+        RespuestaSincronizacion respuesta = sincronizacionService.sincronizar(token, null);
+
+        // Assert
+        assertFalse(respuesta.hayMas());
+        assertEquals(10L, TokenSincronizacion.decodificar(respuesta.token()).cursor());
+        verify(eventoOutboxRepository, never()).findEntreIds(anyLong(), anyLong(), anyCollection(), any());
+    }
+
+    @Test
+    void debeRechazarTokenInvalido() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> sincronizacionService.sincronizar("no-es-un-token", null));
+    }
+
+    @Test
+    void debePedirResincronizacionCompletaSiLosEventosYaSePurgaron() {
+        // Arrange
+        String viejo = new TokenSincronizacion(5L, TokenSincronizacion.COPIA_TERMINADA,
+            TokenSincronizacion.COPIA_TERMINADA, Instant.now().minus(1, ChronoUnit.HOURS)).codificar();
+        when(despachadorEventos.getCursorConfirmado()).thenReturn(50L);
+        when(eventoOutboxRepository.findMinId()).thenReturn(20L);
+        when(empleadoRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(List.of());
+        when(proyectoRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(List.of());
+
+        // Act
+        RespuestaSincronizacion respuesta = sincronizacionService.sincronizar(viejo, null);
+
+        // Assert
+        assertTrue(respuesta.completo());
+        verify(empleadoRepository).findByIdGreaterThanOrderByIdAsc(eq(0L), any());
+        assertEquals(50L, TokenSincronizacion.decodificar(respuesta.token()).cursor());
+    }
+}
@@ -0,0 +1,151 @@
+package com.empleados.sistema.staffing;
+
+import com.empleados.sistema.staffing.LineaTiempoDedicacion.Tramo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LineaTiempoDedicacionTest {
+
+    @Test
+    void debeSumarLosPorcentajesDeLasAsignacionesSolapadas() {
+        // Arrange
+        LineaTiempoDedicacion linea = LineaTiempoDedicacion.construir(
+            new int[]{0, 5, 20},
+            new int[]{10, 14, LineaTiempoDedicacion.SIN_FIN},
+            new int[]{60, 50, 30}, 3);
+
+        // Act & Assert
+        assertEquals(0, linea.nivelEn(-1));
+        assertEquals(60, linea.nivelEn(4));
+        assertEquals(110, linea.nivelEn(5));
+        assertEquals(110, linea.nivelEn(10));
+        assertEquals(50, linea.nivelEn(11));
+        assertEquals(0, linea.nivelEn(15));
+        assertEquals(30, linea.nivelEn(1_000_000));
+        assertEquals(110, linea.maximo());
+    }
+
+    @Test
+    void debeCalcularElMaximoDentroDeUnRango() {
+        // Arrange
+        LineaTiempoDedicacion linea = LineaTiempoDedicacion.construir(
+            new int[]{0, 5, 20},
+            new int[]{10, 14, LineaTiempoDedicacion.SIN_FIN},
+            new int[]{60, 50, 30}, 3);
+
+        // Act & Assert
+        assertEquals(60, linea.maximoEn(0, 4));
+        assertEquals(110, linea.maximoEn(3, 7));
+        assertEquals(50, linea.maximoEn(11, 19));
+        assertEquals(0, linea.maximoEn(LineaTiempoDedicacion.SIN_INICIO, -1));
+        assertEquals(30, linea.maximoEn(100, LineaTiempoDedicacion.SIN_FIN));
+        assertEquals(0, linea.maximoEn(10, 5));
+    }
+
+    @Test
+    void debeInformarLosPeriodosPorEncimaDelLimite() {
+        // Arrange: 60% + 50% entre los días 5 y 10, y una asignación sin inicio que se cruza con otra abierta
+        LineaTiempoDedicacion linea = LineaTiempoDedicacion.construir(
+            new int[]{0, 5, LineaTiempoDedicacion.SIN_INICIO, 30},
+            new int[]{10, 14, 40, LineaTiempoDedicacion.SIN_FIN},
+            new int[]{60, 50, 40, 70}, 4);
+
+        // Act
+        List<Tramo> excesos = linea.excesos(100);
+
+        // Assert
+        assertEquals(List.of(
+            new Tramo(5, 10, 150),
+            new Tramo(30, 40, 110)), excesos);
+    }
+
+    @Test
+    void debeUnirTramosConsecutivosDeUnMismoExceso() {
+        // Arrange: el nivel pasa de 120 a 150 sin bajar del límite
+        LineaTiempoDedicacion linea = LineaTiempoDedicacion.construir(
+            new int[]{0, 0, 5},
+            new int[]{9, 9, 9},
+            new int[]{60, 60, 30}, 3);
+
+        // Act
+        List<Tramo> excesos = linea.excesos(100);
+
+        // Assert
+        assertEquals(List.of(new Tramo(0, 9, 150)), excesos);
+        assertEquals(List.of(new Tramo(0, 4, 120), new Tramo(5, 9, 150)), linea.tramos());
+    }
+
+    @Test
+    void noDebeCrearPuntosDeCambioCuandoUnaAsignacionTerminaYOtraEmpiezaSeguido() {
+        // Arrange
+        LineaTiempoDedicacion linea = LineaTiempoDedicacion.construir(
+            new int[]{0, 10},
+            new int[]{9, 19},
+            new int[]{50, 50}, 2);
+
+        // Act & Assert
+        assertEquals(2, linea.getPuntosDeCambio());
+        assertEquals(List.of(new Tramo(0, 19, 50)), linea.tramos());
+        assertTrue(linea.excesos(50).isEmpty());
+    }
+
+    @Test
+    void debeIgnorarAsignacionesSinPorcentajeOConFechasInvertidas() {
+        // Arrange
+        LineaTiempoDedicacion linea = LineaTiempoDedicacion.construir(
+            new int[]{0, 10, 0},
+            new int[]{5, 5, 5},
+            new int[]{0, 80, 40}, 3);
+
+        // Act & Assert
+        assertEquals(40, linea.maximo());
+        assertEquals(List.of(new Tramo(0, 5, 40)), linea.tramos());
+    }
+
+    @Test
+    void debeRechazarPorcentajesFueraDeRango() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> LineaTiempoDedicacion.construir(
+            new int[]{0}, new int[]{5}, new int[]{LineaTiempoDedicacion.PORCENTAJE_MAXIMO + 1}, 1));
+        assertThrows(IllegalArgumentException.class, () -> LineaTiempoDedicacion.construir(
+            new int[]{0}, new int[]{5}, new int[]{-10}, 1));
+    }
+
+    @Test
+    void debeCoincidirConLaSumaDiaPorDia() {
+        // Arrange
+        Random random = new Random(42);
+        for (int prueba = 0; prueba < 500; prueba++) {
+            int cantidad = random.nextInt(12);
+            int[] inicios = new int[cantidad];
+            int[] fines = new int[cantidad];
+            int[] porcentajes = new int[cantidad];
+            for (int i = 0; i < cantidad; i++) {
+                inicios[i] = random.nextInt(60);
+                fines[i] = random.nextInt(8) == 0 ? LineaTiempoDedicacion.SIN_FIN : inicios[i] + random.nextInt(30);
+                porcentajes[i] = 10 * random.nextInt(11);
+            }
+
+            // Act
+            LineaTiempoDedicacion linea = LineaTiempoDedicacion.construir(inicios, fines, porcentajes, cantidad);
+
+            // Assert
+            for (int dia = -1; dia < 100; dia++) {
+                int esperado = 0;
+                for (int i = 0; i < cantidad; i++) {
+                    if (inicios[i] <= dia && dia <= fines[i]) {
+                        esperado += porcentajes[i];
+                    }
+                }
+                assertEquals(esperado, linea.nivelEn(dia));
+                for (Tramo exceso : linea.excesos(100)) {
+                    assertTrue(linea.nivelEn(dia) > 100 || dia < exceso.desde() || dia > exceso.hasta());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.empleados.sistema.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RespuestaErrorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void debeEscaparComillasBarrasYCaracteresDeControl() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/empleados/a\\b\"c");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String mensaje = "Valor \"inválido\" en C:\\datos\n\tlínea 2";
+
+        // Act
+        new RespuestaError(objectMapper).escribir(request, response, 400, "Datos inválidos", mensaje);
+
+        // Assert
+        assertEquals(400, response.getStatus());
+        assertEquals("application/json", response.getContentType());
+        JsonNode cuerpo = objectMapper.readTree(response.getContentAsByteArray());
+        assertEquals(400, cuerpo.get("status").asInt());
+        assertEquals("Datos inválidos", cuerpo.get("error").asText());
+        assertEquals(mensaje, cuerpo.get("message").asText());
+        assertEquals("/api/empleados/a\\b\"c", cuerpo.get("path").asText());
+        assertTrue(cuerpo.hasNonNull("timestamp"));
+        assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+    }
+}